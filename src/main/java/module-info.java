@@ -10,6 +10,8 @@ module se.uu.ub.cora.clientbasicdata {
 	exports se.uu.ub.cora.clientbasicdata.converter.datatojson;
 	exports se.uu.ub.cora.clientbasicdata.converter.jsontodata;
 
+	uses se.uu.ub.cora.json.parser.JsonParser;
+
 	provides se.uu.ub.cora.clientdata.ClientDataFactory with BasicClientDataFactory;
 
 	provides se.uu.ub.cora.clientdata.converter.JsonToClientDataConverterFactory
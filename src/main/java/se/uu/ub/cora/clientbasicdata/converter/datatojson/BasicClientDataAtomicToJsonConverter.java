@@ -27,8 +27,8 @@ import se.uu.ub.cora.json.builder.JsonObjectBuilder;
 
 public final class BasicClientDataAtomicToJsonConverter implements ClientDataToJsonConverter {
 
-	private ClientDataAtomic dataAtomic;
-	JsonBuilderFactory factory;
+	private final ClientDataAtomic dataAtomic;
+	final JsonBuilderFactory factory;
 
 	public static ClientDataToJsonConverter usingJsonBuilderFactoryAndDataAtomic(
 			JsonBuilderFactory factory, ClientDataAtomic dataAtomic) {
@@ -25,8 +25,8 @@ import se.uu.ub.cora.json.builder.JsonBuilderFactory;
 import se.uu.ub.cora.json.builder.JsonObjectBuilder;
 
 public final class BasicClientDataAttributeToJsonConverter implements ClientDataToJsonConverter {
-	private ClientDataAttribute dataAttribute;
-	JsonBuilderFactory factory;
+	private final ClientDataAttribute dataAttribute;
+	final JsonBuilderFactory factory;
 
 	public static ClientDataToJsonConverter usingJsonBuilderFactoryAndDataAttribute(
 			JsonBuilderFactory factory, ClientDataAttribute dataAttribute) {
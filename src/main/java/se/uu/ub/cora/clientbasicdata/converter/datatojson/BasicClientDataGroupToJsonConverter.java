@@ -1,5 +1,5 @@
 /*
- * Copyright 2015 Uppsala University Library
+ * Copyright 2015, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -29,12 +29,15 @@ import se.uu.ub.cora.json.builder.JsonArrayBuilder;
 import se.uu.ub.cora.json.builder.JsonBuilderFactory;
 import se.uu.ub.cora.json.builder.JsonObjectBuilder;
 
+/**
+ * BasicClientDataGroupToJsonConverter converts a ClientDataGroup to json. The converter keeps no
+ * state between conversions, so it can be used several times and from several threads.
+ */
 public class BasicClientDataGroupToJsonConverter implements ClientDataToJsonConverter {
 
-	private ClientDataGroup dataGroup;
-	JsonObjectBuilder dataGroupJsonObjectBuilder;
-	JsonBuilderFactory jsonBuilderFactory;
-	ClientDataToJsonConverterFactory converterFactory;
+	private final ClientDataGroup dataGroup;
+	final JsonBuilderFactory jsonBuilderFactory;
+	final ClientDataToJsonConverterFactory converterFactory;
 
 	public static ClientDataToJsonConverter usingConverterFactoryAndBuilderFactoryAndDataGroup(
 			ClientDataToJsonConverterFactory converterFactory, JsonBuilderFactory builderFactory,
@@ -47,19 +50,19 @@ public class BasicClientDataGroupToJsonConverter implements ClientDataToJsonConv
 		this.converterFactory = converterFactory;
 		this.jsonBuilderFactory = builderFactory;
 		this.dataGroup = dataGroup;
-		dataGroupJsonObjectBuilder = builderFactory.createObjectBuilder();
 	}
 
 	@Override
 	public JsonObjectBuilder toJsonObjectBuilder() {
-		possiblyAddRepeatId();
+		JsonObjectBuilder dataGroupJsonObjectBuilder = jsonBuilderFactory.createObjectBuilder();
+		possiblyAddRepeatId(dataGroupJsonObjectBuilder);
 		if (dataGroup.hasAttributes()) {
-			addAttributesToGroup();
+			addAttributesToGroup(dataGroupJsonObjectBuilder);
 		}
 		if (dataGroup.hasChildren()) {
-			addChildrenToGroup();
+			addChildrenToGroup(dataGroupJsonObjectBuilder);
 		}
-		hookForSubclassesToImplementExtraConversion();
+		hookForSubclassesToImplementExtraConversion(dataGroupJsonObjectBuilder);
 		dataGroupJsonObjectBuilder.addKeyString("name", dataGroup.getNameInData());
 		return dataGroupJsonObjectBuilder;
 	}
@@ -68,12 +71,16 @@ public class BasicClientDataGroupToJsonConverter implements ClientDataToJsonConv
 	 * hookForSubclassesToImplementExtraConversion enables subclasses (converters for
 	 * ClientDataRecordLink and ClientDataResourceLink) to add extra conversion needed to completely
 	 * convert their classes to json
+	 * 
+	 * @param dataGroupJsonObjectBuilder
+	 *            The JsonObjectBuilder for the current conversion of the group
 	 */
-	void hookForSubclassesToImplementExtraConversion() {
+	void hookForSubclassesToImplementExtraConversion(
+			JsonObjectBuilder dataGroupJsonObjectBuilder) {
 		// No default implementation in this class
 	}
 
-	private void possiblyAddRepeatId() {
+	private void possiblyAddRepeatId(JsonObjectBuilder dataGroupJsonObjectBuilder) {
 		if (hasNonEmptyRepeatId()) {
 			dataGroupJsonObjectBuilder.addKeyString("repeatId", dataGroup.getRepeatId());
 		}
@@ -83,7 +90,7 @@ public class BasicClientDataGroupToJsonConverter implements ClientDataToJsonConv
 		return dataGroup.getRepeatId() != null && !"".equals(dataGroup.getRepeatId());
 	}
 
-	private void addAttributesToGroup() {
+	private void addAttributesToGroup(JsonObjectBuilder dataGroupJsonObjectBuilder) {
 		JsonObjectBuilder attributes = jsonBuilderFactory.createObjectBuilder();
 		for (ClientDataAttribute attribute : dataGroup.getAttributes()) {
 			attributes.addKeyString(attribute.getNameInData(), attribute.getValue());
@@ -91,7 +98,7 @@ public class BasicClientDataGroupToJsonConverter implements ClientDataToJsonConv
 		dataGroupJsonObjectBuilder.addKeyJsonObjectBuilder("attributes", attributes);
 	}
 
-	void addChildrenToGroup() {
+	void addChildrenToGroup(JsonObjectBuilder dataGroupJsonObjectBuilder) {
 		JsonArrayBuilder childrenArray = jsonBuilderFactory.createArrayBuilder();
 		for (ClientDataChild dataElement : dataGroup.getChildren()) {
 			ClientConvertible convertible = (ClientConvertible) dataElement;
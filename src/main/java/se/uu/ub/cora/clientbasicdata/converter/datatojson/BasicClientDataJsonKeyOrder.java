@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.converter.datatojson;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * BasicClientDataJsonKeyOrder knows the order in which the keys of a json object are written by the
+ * builders from {@link se.uu.ub.cora.json.builder.JsonBuilderFactory}, so that json can be written
+ * without first building it.
+ * <p>
+ * The builders keep the keys of an object in a HashMap and write them in the iteration order of
+ * that map, which only depends on which keys are added and in what order. The order is therefore
+ * calculated once, using a HashMap, for each combination of present keys and reused for all
+ * objects of the same kind.
+ * <p>
+ * The written json is only the same as the json from the builders as long as the builders keep
+ * their keys in a {@link HashMap} and the JDK iterates a HashMap in the same order as the one used
+ * here. This class is therefore coupled to the implementation of the builders and of HashMap, and
+ * the writer tests compare the written json with the json from the builders for every combination
+ * of present keys of every kind of object, so that a change of either is found by the tests.
+ */
+final class BasicClientDataJsonKeyOrder {
+	private final String[] keys;
+	private final int[][] ordersByPresentKeys;
+
+	/**
+	 * usingKeysInInsertionOrder creates a key order for objects with some or all of the entered
+	 * keys, added in the entered order.
+	 */
+	static BasicClientDataJsonKeyOrder usingKeysInInsertionOrder(String... keys) {
+		return new BasicClientDataJsonKeyOrder(keys);
+	}
+
+	/**
+	 * presentIf returns the bit for the key with the entered index if present is true, to be
+	 * combined into the presentKeys used by {@link #getOrder(int)}.
+	 */
+	static int presentIf(boolean present, int index) {
+		return present ? 1 << index : 0;
+	}
+
+	private BasicClientDataJsonKeyOrder(String[] keys) {
+		this.keys = keys;
+		ordersByPresentKeys = new int[1 << keys.length][];
+		for (int presentKeys = 0; presentKeys < ordersByPresentKeys.length; presentKeys++) {
+			ordersByPresentKeys[presentKeys] = calculateOrder(presentKeys);
+		}
+	}
+
+	private int[] calculateOrder(int presentKeys) {
+		Map<String, Integer> keysAsInBuilder = new HashMap<>();
+		for (int index = 0; index < keys.length; index++) {
+			if ((presentKeys & (1 << index)) != 0) {
+				keysAsInBuilder.put(keys[index], index);
+			}
+		}
+		return keysAsInBuilder.values().stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	String getKey(int index) {
+		return keys[index];
+	}
+
+	/**
+	 * getOrder returns the indexes of the present keys in the order they are written. The returned
+	 * array is shared and must not be changed.
+	 */
+	int[] getOrder(int presentKeys) {
+		return ordersByPresentKeys[presentKeys];
+	}
+}
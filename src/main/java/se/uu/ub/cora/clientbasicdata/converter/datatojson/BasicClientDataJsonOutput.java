@@ -0,0 +1,158 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.converter.datatojson;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * BasicClientDataJsonOutput writes the parts of json directly to a Writer, formatted and escaped in
+ * the same way as by the builders from {@link se.uu.ub.cora.json.builder.JsonBuilderFactory}.
+ * <p>
+ * With an indentFactor above zero, objects and arrays with more than one entry get one entry per
+ * line, indented by indentFactor spaces for each level, while objects and arrays with one entry are
+ * kept on the same line. With indentFactor zero, no whitespace is written.
+ */
+final class BasicClientDataJsonOutput {
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+	private final Writer writer;
+	private final int indentFactor;
+
+	static BasicClientDataJsonOutput usingWriterAndIndentFactor(Writer writer, int indentFactor) {
+		return new BasicClientDataJsonOutput(writer, indentFactor);
+	}
+
+	private BasicClientDataJsonOutput(Writer writer, int indentFactor) {
+		this.writer = writer;
+		this.indentFactor = indentFactor;
+	}
+
+	void startObject() throws IOException {
+		writer.write('{');
+	}
+
+	/**
+	 * startEntry writes the key of an entry in an object, and returns the indent to use when
+	 * writing the value.
+	 */
+	int startEntry(int entryIndex, int numberOfEntries, String key, int indent)
+			throws IOException {
+		int valueIndent = startElement(entryIndex, numberOfEntries, indent);
+		writeString(key);
+		writer.write(':');
+		if (indentFactor > 0) {
+			writer.write(' ');
+		}
+		return valueIndent;
+	}
+
+	void endObject(int numberOfEntries, int indent) throws IOException {
+		possiblyBreakLine(numberOfEntries, indent);
+		writer.write('}');
+	}
+
+	void startArray() throws IOException {
+		writer.write('[');
+	}
+
+	/**
+	 * startElement writes what comes before an element in an array, and returns the indent to use
+	 * when writing the element.
+	 */
+	int startElement(int elementIndex, int numberOfElements, int indent) throws IOException {
+		if (elementIndex > 0) {
+			writer.write(',');
+		}
+		if (numberOfElements == 1) {
+			return indent;
+		}
+		int elementIndent = indent + indentFactor;
+		breakLine(elementIndent);
+		return elementIndent;
+	}
+
+	void endArray(int numberOfElements, int indent) throws IOException {
+		possiblyBreakLine(numberOfElements, indent);
+		writer.write(']');
+	}
+
+	private void possiblyBreakLine(int numberOfEntries, int indent) throws IOException {
+		if (numberOfEntries > 1) {
+			breakLine(indent);
+		}
+	}
+
+	private void breakLine(int indent) throws IOException {
+		if (indentFactor > 0) {
+			writer.write('\n');
+		}
+		for (int i = 0; i < indent; i++) {
+			writer.write(' ');
+		}
+	}
+
+	/**
+	 * writeString writes the entered string quoted, escaping characters in the same way as the
+	 * builders. Runs of characters that need no escaping are written in one call.
+	 */
+	void writeString(String string) throws IOException {
+		writer.write('"');
+		int start = 0;
+		char previous = 0;
+		for (int i = 0; i < string.length(); i++) {
+			char c = string.charAt(i);
+			if (needsEscaping(c, previous)) {
+				writer.write(string, start, i - start);
+				writeEscaped(c);
+				start = i + 1;
+			}
+			previous = c;
+		}
+		writer.write(string, start, string.length() - start);
+		writer.write('"');
+	}
+
+	private boolean needsEscaping(char c, char previous) {
+		return c == '"' || c == '\\' || (c == '/' && previous == '<') || isWrittenAsUnicode(c);
+	}
+
+	private boolean isWrittenAsUnicode(char c) {
+		return c < ' ' || (c >= '\u0080' && c < '\u00a0') || (c >= '\u2000' && c < '\u2100');
+	}
+
+	private void writeEscaped(char c) throws IOException {
+		writer.write('\\');
+		switch (c) {
+		case '\b' -> writer.write('b');
+		case '\t' -> writer.write('t');
+		case '\n' -> writer.write('n');
+		case '\f' -> writer.write('f');
+		case '\r' -> writer.write('r');
+		case '"', '\\', '/' -> writer.write(c);
+		default -> writeUnicode(c);
+		}
+	}
+
+	private void writeUnicode(char c) throws IOException {
+		writer.write('u');
+		for (int shift = 12; shift >= 0; shift -= 4) {
+			writer.write(HEX_DIGITS[(c >> shift) & 0xF]);
+		}
+	}
+}
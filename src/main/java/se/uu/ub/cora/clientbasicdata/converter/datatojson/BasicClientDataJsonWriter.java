@@ -0,0 +1,451 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.converter.datatojson;
+
+import static se.uu.ub.cora.clientbasicdata.converter.datatojson.BasicClientDataJsonKeyOrder.presentIf;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import se.uu.ub.cora.clientdata.ClientConvertible;
+import se.uu.ub.cora.clientdata.ClientData;
+import se.uu.ub.cora.clientdata.ClientDataAtomic;
+import se.uu.ub.cora.clientdata.ClientDataAttribute;
+import se.uu.ub.cora.clientdata.ClientDataChild;
+import se.uu.ub.cora.clientdata.ClientDataGroup;
+import se.uu.ub.cora.clientdata.ClientDataList;
+import se.uu.ub.cora.clientdata.ClientDataRecordLink;
+import se.uu.ub.cora.clientdata.ClientDataResourceLink;
+
+/**
+ * BasicClientDataJsonWriter writes ClientData as json directly to a Writer or an OutputStream,
+ * without first building the json using {@link se.uu.ub.cora.json.builder.JsonObjectBuilder}s and
+ * without creating the json as a String.
+ * <p>
+ * The written json is the same, character by character, as the json created by the converters from
+ * {@link BasicClientDataToJsonConverterFactory}, with the pretty format matching
+ * {@link se.uu.ub.cora.clientdata.converter.ClientDataToJsonConverter#toJson()} and the compact
+ * format matching
+ * {@link se.uu.ub.cora.clientdata.converter.ClientDataToJsonConverter#toJsonCompactFormat()}. When
+ * created with a baseUrl, read action links are written for links in the same way as for
+ * converters factored using
+ * {@link BasicClientDataToJsonConverterFactory#factorUsingBaseUrlAndConvertible(String, ClientConvertible)}.
+ * <p>
+ * A BasicClientDataJsonWriter is immutable and can be used from several threads.
+ */
+public final class BasicClientDataJsonWriter {
+	private static final int PRETTY_INDENT_FACTOR = 4;
+	private static final int COMPACT_INDENT_FACTOR = 0;
+	private static final String NAME = "name";
+	private static final String VALUE = "value";
+	private static final String REPEAT_ID = "repeatId";
+	private static final String ATTRIBUTES = "attributes";
+	private static final String CHILDREN = "children";
+	private static final String ACTION_LINKS = "actionLinks";
+	private static final String READ = "read";
+	private static final String GET = "GET";
+	private static final String RECORD_ACCEPT = "application/vnd.cora.record+json";
+
+	private static final BasicClientDataJsonKeyOrder GROUP_KEYS = BasicClientDataJsonKeyOrder
+			.usingKeysInInsertionOrder(REPEAT_ID, ATTRIBUTES, CHILDREN, ACTION_LINKS, NAME);
+	private static final int GROUP_REPEAT_ID = 0;
+	private static final int GROUP_ATTRIBUTES = 1;
+	private static final int GROUP_CHILDREN = 2;
+	private static final int GROUP_ACTION_LINKS = 3;
+	private static final int GROUP_NAME = 4;
+
+	private static final BasicClientDataJsonKeyOrder ATOMIC_KEYS = BasicClientDataJsonKeyOrder
+			.usingKeysInInsertionOrder(NAME, VALUE, REPEAT_ID, ATTRIBUTES);
+	private static final int ATOMIC_NAME = 0;
+	private static final int ATOMIC_VALUE = 1;
+	private static final int ATOMIC_REPEAT_ID = 2;
+	private static final int ATOMIC_ATTRIBUTES = 3;
+
+	private static final BasicClientDataJsonKeyOrder RESOURCE_KEYS = BasicClientDataJsonKeyOrder
+			.usingKeysInInsertionOrder(NAME, CHILDREN, REPEAT_ID, ACTION_LINKS);
+	private static final int RESOURCE_LINK_NAME = 0;
+	private static final int RESOURCE_LINK_CHILDREN = 1;
+	private static final int RESOURCE_LINK_REPEAT_ID = 2;
+	private static final int RESOURCE_LINK_ACTION_LINKS = 3;
+
+	private static final BasicClientDataJsonKeyOrder RESOURCE_CHILD_KEYS = BasicClientDataJsonKeyOrder
+			.usingKeysInInsertionOrder("linkedRecordType", "linkedRecordId", "mimeType");
+	private static final int ALL_RESOURCE_LINK_CHILDREN = 0b111;
+	private static final int LINKED_RECORD_TYPE = 0;
+	private static final int LINKED_RECORD_ID = 1;
+
+	private static final BasicClientDataJsonKeyOrder READ_ACTION_KEYS = BasicClientDataJsonKeyOrder
+			.usingKeysInInsertionOrder("rel", "url", "requestMethod", "accept");
+	private static final int READ_ACTION_REL = 0;
+	private static final int READ_ACTION_URL = 1;
+	private static final int READ_ACTION_REQUEST_METHOD = 2;
+	private static final int READ_ACTION_ACCEPT = 3;
+
+	private static final BasicClientDataJsonKeyOrder LIST_KEYS = BasicClientDataJsonKeyOrder
+			.usingKeysInInsertionOrder("totalNo", "fromNo", "toNo", "containDataOfType", "data");
+	private static final int LIST_TOTAL_NO = 0;
+	private static final int LIST_FROM_NO = 1;
+	private static final int LIST_TO_NO = 2;
+	private static final int LIST_CONTAIN_DATA_OF_TYPE = 3;
+	private static final int LIST_DATA = 4;
+
+	private final int indentFactor;
+	private final String baseUrl;
+
+	/**
+	 * usingPrettyFormat creates a writer that writes json in the same format as
+	 * {@link se.uu.ub.cora.clientdata.converter.ClientDataToJsonConverter#toJson()}, without
+	 * action links for links.
+	 */
+	public static BasicClientDataJsonWriter usingPrettyFormat() {
+		return new BasicClientDataJsonWriter(PRETTY_INDENT_FACTOR, null);
+	}
+
+	/**
+	 * usingCompactFormat creates a writer that writes json in the same format as
+	 * {@link se.uu.ub.cora.clientdata.converter.ClientDataToJsonConverter#toJsonCompactFormat()},
+	 * without action links for links.
+	 */
+	public static BasicClientDataJsonWriter usingCompactFormat() {
+		return new BasicClientDataJsonWriter(COMPACT_INDENT_FACTOR, null);
+	}
+
+	/**
+	 * usingPrettyFormatAndBaseUrl creates a writer that writes json in the same format as
+	 * {@link #usingPrettyFormat()}, with read action links for links that has a read action.
+	 * 
+	 * @param baseUrl
+	 *            A String with the base url used to create the urls of the read action links
+	 */
+	public static BasicClientDataJsonWriter usingPrettyFormatAndBaseUrl(String baseUrl) {
+		return new BasicClientDataJsonWriter(PRETTY_INDENT_FACTOR, baseUrl);
+	}
+
+	/**
+	 * usingCompactFormatAndBaseUrl creates a writer that writes json in the same format as
+	 * {@link #usingCompactFormat()}, with read action links for links that has a read action.
+	 * 
+	 * @param baseUrl
+	 *            A String with the base url used to create the urls of the read action links
+	 */
+	public static BasicClientDataJsonWriter usingCompactFormatAndBaseUrl(String baseUrl) {
+		return new BasicClientDataJsonWriter(COMPACT_INDENT_FACTOR, baseUrl);
+	}
+
+	private BasicClientDataJsonWriter(int indentFactor, String baseUrl) {
+		this.indentFactor = indentFactor;
+		this.baseUrl = baseUrl;
+	}
+
+	/**
+	 * write writes the entered convertible as json to the entered writer. The writer is neither
+	 * flushed nor closed.
+	 * 
+	 * @param convertible
+	 *            The {@link ClientConvertible} to write as json
+	 * @param writer
+	 *            The Writer to write the json to
+	 * @throws IOException
+	 *             if writing to the writer fails
+	 */
+	public void write(ClientConvertible convertible, Writer writer) throws IOException {
+		BasicClientDataJsonOutput out = BasicClientDataJsonOutput
+				.usingWriterAndIndentFactor(writer, indentFactor);
+		writeConvertible(out, convertible, 0);
+	}
+
+	/**
+	 * write writes the entered convertible as json, encoded as UTF-8, to the entered outputStream.
+	 * The outputStream is flushed but not closed.
+	 * 
+	 * @param convertible
+	 *            The {@link ClientConvertible} to write as json
+	 * @param outputStream
+	 *            The OutputStream to write the json to
+	 * @throws IOException
+	 *             if writing to the outputStream fails
+	 */
+	public void write(ClientConvertible convertible, OutputStream outputStream)
+			throws IOException {
+		Writer writer = new BufferedWriter(
+				new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+		write(convertible, writer);
+		writer.flush();
+	}
+
+	private void writeConvertible(BasicClientDataJsonOutput out, ClientConvertible convertible,
+			int indent) throws IOException {
+		if (convertible instanceof ClientDataList dataList) {
+			writeList(out, dataList, indent);
+		} else if (convertible instanceof ClientDataResourceLink resourceLink) {
+			writeResourceLink(out, resourceLink, indent);
+		} else if (convertible instanceof ClientDataGroup dataGroup) {
+			writeGroup(out, dataGroup, indent);
+		} else if (convertible instanceof ClientDataAtomic dataAtomic) {
+			writeAtomic(out, dataAtomic, indent);
+		} else {
+			writeAttribute(out, (ClientDataAttribute) convertible, indent);
+		}
+	}
+
+	private void writeObject(BasicClientDataJsonOutput out, BasicClientDataJsonKeyOrder keyOrder,
+			int presentKeys, int indent, ValueWriter valueWriter) throws IOException {
+		int[] order = keyOrder.getOrder(presentKeys);
+		out.startObject();
+		for (int i = 0; i < order.length; i++) {
+			int valueIndent = out.startEntry(i, order.length, keyOrder.getKey(order[i]), indent);
+			valueWriter.writeValue(order[i], valueIndent);
+		}
+		out.endObject(order.length, indent);
+	}
+
+	private void writeList(BasicClientDataJsonOutput out, ClientDataList dataList, int indent)
+			throws IOException {
+		out.startObject();
+		int valueIndent = out.startEntry(0, 1, "dataList", indent);
+		int presentKeys = presentIf(dataList.getTotalNumberOfTypeInStorage() != null, LIST_TOTAL_NO)
+				| presentIf(dataList.getFromNo() != null, LIST_FROM_NO)
+				| presentIf(dataList.getToNo() != null, LIST_TO_NO)
+				| presentIf(dataList.getContainDataOfType() != null, LIST_CONTAIN_DATA_OF_TYPE)
+				| presentIf(true, LIST_DATA);
+		writeObject(out, LIST_KEYS, presentKeys, valueIndent,
+				(key, dataIndent) -> writeListValue(out, dataList, key, dataIndent));
+		out.endObject(1, indent);
+	}
+
+	private void writeListValue(BasicClientDataJsonOutput out, ClientDataList dataList, int key,
+			int indent) throws IOException {
+		switch (key) {
+		case LIST_TOTAL_NO -> out.writeString(dataList.getTotalNumberOfTypeInStorage());
+		case LIST_FROM_NO -> out.writeString(dataList.getFromNo());
+		case LIST_TO_NO -> out.writeString(dataList.getToNo());
+		case LIST_CONTAIN_DATA_OF_TYPE -> out.writeString(dataList.getContainDataOfType());
+		default -> writeData(out, dataList.getDataList(), indent);
+		}
+	}
+
+	private void writeData(BasicClientDataJsonOutput out, List<ClientData> data, int indent)
+			throws IOException {
+		out.startArray();
+		int elementIndex = 0;
+		for (ClientData element : data) {
+			int elementIndent = out.startElement(elementIndex, data.size(), indent);
+			writeConvertible(out, element, elementIndent);
+			elementIndex++;
+		}
+		out.endArray(data.size(), indent);
+	}
+
+	private void writeGroup(BasicClientDataJsonOutput out, ClientDataGroup dataGroup, int indent)
+			throws IOException {
+		int presentKeys = presentIf(hasNonEmptyRepeatId(dataGroup.getRepeatId()), GROUP_REPEAT_ID)
+				| presentIf(dataGroup.hasAttributes(), GROUP_ATTRIBUTES)
+				| presentIf(dataGroup.hasChildren(), GROUP_CHILDREN)
+				| presentIf(isRecordLinkWithReadAction(dataGroup), GROUP_ACTION_LINKS)
+				| presentIf(dataGroup.getNameInData() != null, GROUP_NAME);
+		writeObject(out, GROUP_KEYS, presentKeys, indent,
+				(key, valueIndent) -> writeGroupValue(out, dataGroup, key, valueIndent));
+	}
+
+	private boolean hasNonEmptyRepeatId(String repeatId) {
+		return repeatId != null && !"".equals(repeatId);
+	}
+
+	private boolean isRecordLinkWithReadAction(ClientDataGroup dataGroup) {
+		return baseUrl != null && dataGroup instanceof ClientDataRecordLink recordLink
+				&& recordLink.hasReadAction();
+	}
+
+	private void writeGroupValue(BasicClientDataJsonOutput out, ClientDataGroup dataGroup, int key,
+			int indent) throws IOException {
+		switch (key) {
+		case GROUP_REPEAT_ID -> out.writeString(dataGroup.getRepeatId());
+		case GROUP_ATTRIBUTES -> writeAttributes(out, dataGroup.getAttributes(), indent);
+		case GROUP_CHILDREN -> writeChildren(out, dataGroup.getChildren(), indent);
+		case GROUP_ACTION_LINKS -> writeRecordLinkActionLinks(out,
+				(ClientDataRecordLink) dataGroup, indent);
+		default -> out.writeString(dataGroup.getNameInData());
+		}
+	}
+
+	private void writeChildren(BasicClientDataJsonOutput out, List<ClientDataChild> children,
+			int indent) throws IOException {
+		out.startArray();
+		int childIndex = 0;
+		for (ClientDataChild child : children) {
+			int childIndent = out.startElement(childIndex, children.size(), indent);
+			writeConvertible(out, (ClientConvertible) child, childIndent);
+			childIndex++;
+		}
+		out.endArray(children.size(), indent);
+	}
+
+	private void writeRecordLinkActionLinks(BasicClientDataJsonOutput out,
+			ClientDataRecordLink recordLink, int indent) throws IOException {
+		String url = baseUrl + String.join("/", recordLink.getLinkedRecordType(),
+				recordLink.getLinkedRecordId());
+		writeReadActionLink(out, url, RECORD_ACCEPT, indent);
+	}
+
+	private void writeReadActionLink(BasicClientDataJsonOutput out, String url, String accept,
+			int indent) throws IOException {
+		out.startObject();
+		int valueIndent = out.startEntry(0, 1, READ, indent);
+		int presentKeys = presentIf(true, READ_ACTION_REL) | presentIf(true, READ_ACTION_URL)
+				| presentIf(true, READ_ACTION_REQUEST_METHOD)
+				| presentIf(accept != null, READ_ACTION_ACCEPT);
+		writeObject(out, READ_ACTION_KEYS, presentKeys, valueIndent,
+				(key, unused) -> out.writeString(getReadActionValue(key, url, accept)));
+		out.endObject(1, indent);
+	}
+
+	private String getReadActionValue(int key, String url, String accept) {
+		return switch (key) {
+		case READ_ACTION_REL -> READ;
+		case READ_ACTION_URL -> url;
+		case READ_ACTION_REQUEST_METHOD -> GET;
+		default -> accept;
+		};
+	}
+
+	private void writeResourceLink(BasicClientDataJsonOutput out,
+			ClientDataResourceLink resourceLink, int indent) throws IOException {
+		int presentKeys = presentIf(resourceLink.getNameInData() != null, RESOURCE_LINK_NAME)
+				| presentIf(true, RESOURCE_LINK_CHILDREN)
+				| presentIf(resourceLink.hasRepeatId(), RESOURCE_LINK_REPEAT_ID)
+				| presentIf(resourceLink.hasReadAction() && baseUrl != null,
+						RESOURCE_LINK_ACTION_LINKS);
+		writeObject(out, RESOURCE_KEYS, presentKeys, indent,
+				(key, valueIndent) -> writeResourceLinkValue(out, resourceLink, key,
+						valueIndent));
+	}
+
+	private void writeResourceLinkValue(BasicClientDataJsonOutput out,
+			ClientDataResourceLink resourceLink, int key, int indent) throws IOException {
+		switch (key) {
+		case RESOURCE_LINK_NAME -> out.writeString(resourceLink.getNameInData());
+		case RESOURCE_LINK_CHILDREN -> writeResourceLinkChildren(out, resourceLink, indent);
+		case RESOURCE_LINK_REPEAT_ID -> out.writeString(resourceLink.getRepeatId());
+		default -> writeResourceLinkActionLinks(out, resourceLink, indent);
+		}
+	}
+
+	private void writeResourceLinkChildren(BasicClientDataJsonOutput out,
+			ClientDataResourceLink resourceLink, int indent) throws IOException {
+		int[] order = RESOURCE_CHILD_KEYS.getOrder(ALL_RESOURCE_LINK_CHILDREN);
+		out.startArray();
+		for (int i = 0; i < order.length; i++) {
+			int childIndent = out.startElement(i, order.length, indent);
+			writeNameAndValue(out, RESOURCE_CHILD_KEYS.getKey(order[i]),
+					getResourceLinkChildValue(resourceLink, order[i]), childIndent);
+		}
+		out.endArray(order.length, indent);
+	}
+
+	private String getResourceLinkChildValue(ClientDataResourceLink resourceLink, int child) {
+		return switch (child) {
+		case LINKED_RECORD_TYPE -> resourceLink.getType();
+		case LINKED_RECORD_ID -> resourceLink.getId();
+		default -> resourceLink.getMimeType();
+		};
+	}
+
+	private void writeNameAndValue(BasicClientDataJsonOutput out, String name, String value,
+			int indent) throws IOException {
+		int presentKeys = presentIf(true, ATOMIC_NAME) | presentIf(value != null, ATOMIC_VALUE);
+		writeObject(out, ATOMIC_KEYS, presentKeys, indent,
+				(key, unused) -> out.writeString(key == ATOMIC_NAME ? name : value));
+	}
+
+	private void writeResourceLinkActionLinks(BasicClientDataJsonOutput out,
+			ClientDataResourceLink resourceLink, int indent) throws IOException {
+		String url = baseUrl + resourceLink.getType() + "/" + resourceLink.getId() + "/"
+				+ resourceLink.getNameInData();
+		writeReadActionLink(out, url, resourceLink.getMimeType(), indent);
+	}
+
+	private void writeAtomic(BasicClientDataJsonOutput out, ClientDataAtomic dataAtomic,
+			int indent) throws IOException {
+		int presentKeys = presentIf(dataAtomic.getNameInData() != null, ATOMIC_NAME)
+				| presentIf(dataAtomic.getValue() != null, ATOMIC_VALUE)
+				| presentIf(hasNonEmptyRepeatId(dataAtomic.getRepeatId()), ATOMIC_REPEAT_ID)
+				| presentIf(dataAtomic.hasAttributes(), ATOMIC_ATTRIBUTES);
+		writeObject(out, ATOMIC_KEYS, presentKeys, indent,
+				(key, valueIndent) -> writeAtomicValue(out, dataAtomic, key, valueIndent));
+	}
+
+	private void writeAtomicValue(BasicClientDataJsonOutput out, ClientDataAtomic dataAtomic,
+			int key, int indent) throws IOException {
+		switch (key) {
+		case ATOMIC_NAME -> out.writeString(dataAtomic.getNameInData());
+		case ATOMIC_VALUE -> out.writeString(dataAtomic.getValue());
+		case ATOMIC_REPEAT_ID -> out.writeString(dataAtomic.getRepeatId());
+		default -> writeAttributes(out, dataAtomic.getAttributes(), indent);
+		}
+	}
+
+	private void writeAttribute(BasicClientDataJsonOutput out, ClientDataAttribute attribute,
+			int indent) throws IOException {
+		writeAttributes(out, List.of(attribute), indent);
+	}
+
+	/**
+	 * Attributes can have any names, so they are ordered by adding them to a HashMap in the same
+	 * way as the builders do, where a null value removes the attribute.
+	 */
+	private void writeAttributes(BasicClientDataJsonOutput out,
+			Collection<ClientDataAttribute> attributes, int indent) throws IOException {
+		Map<String, String> attributesAsInBuilder = new HashMap<>();
+		for (ClientDataAttribute attribute : attributes) {
+			possiblyAddAttribute(attributesAsInBuilder, attribute);
+		}
+		out.startObject();
+		int entryIndex = 0;
+		int numberOfEntries = attributesAsInBuilder.size();
+		for (Entry<String, String> attribute : attributesAsInBuilder.entrySet()) {
+			out.startEntry(entryIndex, numberOfEntries, attribute.getKey(), indent);
+			out.writeString(attribute.getValue());
+			entryIndex++;
+		}
+		out.endObject(numberOfEntries, indent);
+	}
+
+	private void possiblyAddAttribute(Map<String, String> attributesAsInBuilder,
+			ClientDataAttribute attribute) {
+		if (attribute.getValue() == null) {
+			attributesAsInBuilder.remove(attribute.getNameInData());
+		} else {
+			attributesAsInBuilder.put(attribute.getNameInData(), attribute.getValue());
+		}
+	}
+
+	@FunctionalInterface
+	private interface ValueWriter {
+		void writeValue(int key, int valueIndent) throws IOException;
+	}
+}
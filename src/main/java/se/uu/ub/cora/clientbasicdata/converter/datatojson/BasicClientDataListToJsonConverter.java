@@ -1,5 +1,5 @@
 /*
- * Copyright 2015, 2019, 2021 Uppsala University Library
+ * Copyright 2015, 2019, 2021, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -28,11 +28,9 @@ import se.uu.ub.cora.json.builder.JsonBuilderFactory;
 import se.uu.ub.cora.json.builder.JsonObjectBuilder;
 
 public class BasicClientDataListToJsonConverter implements ClientDataToJsonConverter {
-	ClientDataToJsonConverterFactory converterFactory;
-	JsonBuilderFactory builderFactory;
-	ClientDataList dataList;
-	private JsonObjectBuilder dataListBuilder;
-	private JsonArrayBuilder dataBuilder;
+	final ClientDataToJsonConverterFactory converterFactory;
+	final JsonBuilderFactory builderFactory;
+	final ClientDataList dataList;
 
 	public static BasicClientDataListToJsonConverter usingJsonFactoryForDataList(
 			ClientDataToJsonConverterFactory converterFactory, JsonBuilderFactory builderFactory,
@@ -45,30 +43,33 @@ public class BasicClientDataListToJsonConverter implements ClientDataToJsonConve
 		this.converterFactory = converterFactory;
 		this.builderFactory = builderFactory;
 		this.dataList = dataList;
-		dataListBuilder = builderFactory.createObjectBuilder();
 	}
 
 	@Override
 	public JsonObjectBuilder toJsonObjectBuilder() {
-		addBasicListInfoToDataListBuilder();
-		createDataBuilderAndAddAsDataToDataListBuilder();
-		addAllRecordsOrGroupsFromListToDataBuilder();
-		return createRootBuilderAndAddDataListBuilder();
+		JsonObjectBuilder dataListBuilder = builderFactory.createObjectBuilder();
+		addBasicListInfoToDataListBuilder(dataListBuilder);
+		JsonArrayBuilder dataBuilder = createDataBuilderAndAddAsDataToDataListBuilder(
+				dataListBuilder);
+		addAllRecordsOrGroupsFromListToDataBuilder(dataBuilder);
+		return createRootBuilderAndAddDataListBuilder(dataListBuilder);
 	}
 
-	private void addBasicListInfoToDataListBuilder() {
+	private void addBasicListInfoToDataListBuilder(JsonObjectBuilder dataListBuilder) {
 		dataListBuilder.addKeyString("totalNo", dataList.getTotalNumberOfTypeInStorage());
 		dataListBuilder.addKeyString("fromNo", dataList.getFromNo());
 		dataListBuilder.addKeyString("toNo", dataList.getToNo());
 		dataListBuilder.addKeyString("containDataOfType", dataList.getContainDataOfType());
 	}
 
-	private void createDataBuilderAndAddAsDataToDataListBuilder() {
-		dataBuilder = builderFactory.createArrayBuilder();
+	private JsonArrayBuilder createDataBuilderAndAddAsDataToDataListBuilder(
+			JsonObjectBuilder dataListBuilder) {
+		JsonArrayBuilder dataBuilder = builderFactory.createArrayBuilder();
 		dataListBuilder.addKeyJsonArrayBuilder("data", dataBuilder);
+		return dataBuilder;
 	}
 
-	private void addAllRecordsOrGroupsFromListToDataBuilder() {
+	private void addAllRecordsOrGroupsFromListToDataBuilder(JsonArrayBuilder dataBuilder) {
 		for (ClientData data : dataList.getDataList()) {
 			ClientDataToJsonConverter dataConverter = converterFactory.factorUsingConvertible(data);
 			JsonObjectBuilder jsonObjectBuilder = dataConverter.toJsonObjectBuilder();
@@ -76,7 +77,8 @@ public class BasicClientDataListToJsonConverter implements ClientDataToJsonConve
 		}
 	}
 
-	private JsonObjectBuilder createRootBuilderAndAddDataListBuilder() {
+	private JsonObjectBuilder createRootBuilderAndAddDataListBuilder(
+			JsonObjectBuilder dataListBuilder) {
 		JsonObjectBuilder rootWrappingJsonObjectBuilder = builderFactory.createObjectBuilder();
 		rootWrappingJsonObjectBuilder.addKeyJsonObjectBuilder("dataList", dataListBuilder);
 		return rootWrappingJsonObjectBuilder;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2021 Uppsala University Library
+ * Copyright 2021, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -30,8 +30,8 @@ public class BasicClientDataRecordLinkToJsonConverter extends BasicClientDataGro
 	private static final String READ = "read";
 	private static final String GET = "GET";
 
-	String baseURL;
-	ClientDataRecordLink dataRecordLink;
+	final String baseURL;
+	final ClientDataRecordLink dataRecordLink;
 
 	public static BasicClientDataRecordLinkToJsonConverter usingConverterFactoryAndJsonBuilderFactoryAndDataRecordLinkAndBaseUrl(
 			ClientDataToJsonConverterFactory converterFactory, JsonBuilderFactory jsonBuilderFactory,
@@ -49,17 +49,18 @@ public class BasicClientDataRecordLinkToJsonConverter extends BasicClientDataGro
 	}
 
 	@Override
-	void hookForSubclassesToImplementExtraConversion() {
-		possiblyAddActionLink();
+	void hookForSubclassesToImplementExtraConversion(
+			JsonObjectBuilder dataGroupJsonObjectBuilder) {
+		possiblyAddActionLink(dataGroupJsonObjectBuilder);
 	}
 
-	private void possiblyAddActionLink() {
+	private void possiblyAddActionLink(JsonObjectBuilder dataGroupJsonObjectBuilder) {
 		if (dataRecordLink.hasReadAction()) {
-			createReadActionLink();
+			createReadActionLink(dataGroupJsonObjectBuilder);
 		}
 	}
 
-	private void createReadActionLink() {
+	private void createReadActionLink(JsonObjectBuilder dataGroupJsonObjectBuilder) {
 		JsonObjectBuilder actionLinksObject = jsonBuilderFactory.createObjectBuilder();
 		dataGroupJsonObjectBuilder.addKeyJsonObjectBuilder("actionLinks", actionLinksObject);
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2021, 2023, 2025 Uppsala University Library
+ * Copyright 2021, 2023, 2025, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -33,13 +33,12 @@ import se.uu.ub.cora.json.builder.JsonObjectBuilder;
 
 public class BasicClientDataResourceLinkToJsonConverter implements ClientDataToJsonConverter {
 
-	private ClientDataResourceLink dataResourceLink;
-	private Optional<String> baseUrl;
-	private JsonBuilderFactory jsonBuilderFactory;
-	private JsonObjectBuilder jsonObjectBuilder;
 	private static final String READ = "read";
 	private static final String GET = "GET";
-	private ClientDataToJsonConverterFactory converterFactory;
+	private final ClientDataResourceLink dataResourceLink;
+	private final Optional<String> baseUrl;
+	private final JsonBuilderFactory jsonBuilderFactory;
+	private final ClientDataToJsonConverterFactory converterFactory;
 
 	public static BasicClientDataResourceLinkToJsonConverter usingConverterFactoryJsonBuilderFactoryAndDataResourceLinkAndRecordUrl(
 			ClientDataToJsonConverterFactory converterFactory, JsonBuilderFactory factory,
@@ -60,13 +59,13 @@ public class BasicClientDataResourceLinkToJsonConverter implements ClientDataToJ
 		this.jsonBuilderFactory = jsonBuilderFactory;
 	}
 
-	private void possiblyAddActionLink() {
+	private void possiblyAddActionLink(JsonObjectBuilder jsonObjectBuilder) {
 		if (dataResourceLink.hasReadAction() && baseUrl.isPresent()) {
-			createReadActionLink();
+			createReadActionLink(jsonObjectBuilder);
 		}
 	}
 
-	private void createReadActionLink() {
+	private void createReadActionLink(JsonObjectBuilder jsonObjectBuilder) {
 		JsonObjectBuilder actionLinksObject = jsonBuilderFactory.createObjectBuilder();
 		JsonObjectBuilder readAction = buildReadAction();
 		actionLinksObject.addKeyJsonObjectBuilder(READ, readAction);
@@ -93,19 +92,19 @@ public class BasicClientDataResourceLinkToJsonConverter implements ClientDataToJ
 
 	@Override
 	public JsonObjectBuilder toJsonObjectBuilder() {
-		jsonObjectBuilder = jsonBuilderFactory.createObjectBuilder();
-		addNameInData();
-		addChildren();
-		possiblyAddRepeatId();
-		possiblyAddActionLink();
+		JsonObjectBuilder jsonObjectBuilder = jsonBuilderFactory.createObjectBuilder();
+		addNameInData(jsonObjectBuilder);
+		addChildren(jsonObjectBuilder);
+		possiblyAddRepeatId(jsonObjectBuilder);
+		possiblyAddActionLink(jsonObjectBuilder);
 		return jsonObjectBuilder;
 	}
 
-	private void addNameInData() {
+	private void addNameInData(JsonObjectBuilder jsonObjectBuilder) {
 		jsonObjectBuilder.addKeyString("name", dataResourceLink.getNameInData());
 	}
 
-	void addChildren() {
+	void addChildren(JsonObjectBuilder jsonObjectBuilder) {
 		Map<String, String> childrenToBe = collectResourceLinkFields();
 		JsonArrayBuilder childrenArray = createJsonChildren(childrenToBe);
 		jsonObjectBuilder.addKeyJsonArrayBuilder("children", childrenArray);
@@ -135,7 +134,7 @@ public class BasicClientDataResourceLinkToJsonConverter implements ClientDataToJ
 		return child;
 	}
 
-	private void possiblyAddRepeatId() {
+	private void possiblyAddRepeatId(JsonObjectBuilder jsonObjectBuilder) {
 		if (dataResourceLink.hasRepeatId()) {
 			jsonObjectBuilder.addKeyString("repeatId", dataResourceLink.getRepeatId());
 		}
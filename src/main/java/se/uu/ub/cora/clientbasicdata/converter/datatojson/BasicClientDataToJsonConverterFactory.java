@@ -1,5 +1,5 @@
 /*
- * Copyright 2015, 2019, 2021, 2025 Uppsala University Library
+ * Copyright 2015, 2019, 2021, 2025, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -32,10 +32,17 @@ import se.uu.ub.cora.clientdata.converter.ClientDataToJsonConverter;
 import se.uu.ub.cora.clientdata.converter.ClientDataToJsonConverterFactory;
 import se.uu.ub.cora.json.builder.JsonBuilderFactory;
 
+/**
+ * BasicClientDataToJsonConverterFactory factors converters from ClientData to json.
+ * <p>
+ * The factory is immutable and can be used from several threads, with or without a baseUrl.
+ * {@link #factorUsingBaseUrlAndConvertible(String, ClientConvertible)} does not change the factory,
+ * instead the factored converter, and the converters it factors for children, use a factory for the
+ * entered baseUrl.
+ */
 public class BasicClientDataToJsonConverterFactory implements ClientDataToJsonConverterFactory {
-	JsonBuilderFactory builderFactory;
-	String baseUrl;
-	String recordUrl;
+	final JsonBuilderFactory builderFactory;
+	final String baseUrl;
 
 	/**
 	 * withoutActionLinksUsingBuilderFactory will factor {@link ClientDataToJsonConverter}s that
@@ -53,7 +60,12 @@ public class BasicClientDataToJsonConverterFactory implements ClientDataToJsonCo
 	}
 
 	BasicClientDataToJsonConverterFactory(JsonBuilderFactory factory) {
+		this(factory, null);
+	}
+
+	private BasicClientDataToJsonConverterFactory(JsonBuilderFactory factory, String baseUrl) {
 		this.builderFactory = factory;
+		this.baseUrl = baseUrl;
 	}
 
 	@Override
@@ -113,8 +125,14 @@ public class BasicClientDataToJsonConverterFactory implements ClientDataToJsonCo
 	@Override
 	public ClientDataToJsonConverter factorUsingBaseUrlAndConvertible(String baseUrl,
 			ClientConvertible convertible) {
-		this.baseUrl = baseUrl;
+		return withBaseUrl(baseUrl).factorUsingConvertible(convertible);
+	}
 
-		return factorUsingConvertible(convertible);
+	/**
+	 * withBaseUrl returns a factory, using the same JsonBuilderFactory as this factory, that
+	 * factors converters using the entered baseUrl.
+	 */
+	BasicClientDataToJsonConverterFactory withBaseUrl(String baseUrl) {
+		return new BasicClientDataToJsonConverterFactory(builderFactory, baseUrl);
 	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2021 Uppsala University Library
+ * Copyright 2021, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -18,8 +18,6 @@
  */
 package se.uu.ub.cora.clientbasicdata.converter.datatojson;
 
-import java.util.List;
-
 import se.uu.ub.cora.clientbasicdata.data.BasicClientDataAtomic;
 import se.uu.ub.cora.clientbasicdata.data.BasicClientDataGroup;
 import se.uu.ub.cora.clientdata.ClientAction;
@@ -34,23 +32,16 @@ public class BasicClientRecordActionsToJsonConverterImp
 	private static final String RECORD_TYPE = "recordType";
 	private static final String ACCEPT = "accept";
 	private static final String CONTENT_TYPE = "contentType";
+	private static final String GET = "GET";
+	private static final String POST = "POST";
+	private static final String WORK_ORDER_PATH = "workOrder/";
 	private static final String APPLICATION_VND_CORA_RECORD_LIST_JSON = "application/vnd.cora.recordList+json";
 	private static final String APPLICATION_VND_CORA_RECORD_JSON = "application/vnd.cora.record+json";
 	private static final String APPLICATION_VND_CORA_RECORDGROUP_JSON = "application/vnd.cora.recordgroup+json";
 
-	ClientDataToJsonConverterFactory converterFactory;
-	JsonBuilderFactory builderFactory;
-	String baseUrl;
-	private JsonObjectBuilder mainBuilder;
-	private List<ClientAction> actions;
-	private String recordType;
-	private String recordId;
-	private String currentLowerCaseAction;
-	private JsonObjectBuilder currentLinkBuilder;
-	private String currentRequestMethod;
-	private String currentUrl;
-	private String currentAccept;
-	private BasicClientActionsConverterData actionsConverterData;
+	final ClientDataToJsonConverterFactory converterFactory;
+	final JsonBuilderFactory builderFactory;
+	final String baseUrl;
 
 	public static BasicClientRecordActionsToJsonConverterImp usingConverterFactoryAndBuilderFactoryAndBaseUrl(
 			ClientDataToJsonConverterFactory converterFactory, JsonBuilderFactory builderFactory,
@@ -65,161 +56,139 @@ public class BasicClientRecordActionsToJsonConverterImp
 		this.converterFactory = converterFactory;
 		this.builderFactory = builderFactory;
 		this.baseUrl = baseUrl;
-		mainBuilder = builderFactory.createObjectBuilder();
 	}
 
 	@Override
 	public JsonObjectBuilder toJsonObjectBuilder(
 			BasicClientActionsConverterData actionsConverterData) {
-		this.actionsConverterData = actionsConverterData;
-		actions = actionsConverterData.actions;
-		recordType = actionsConverterData.recordType;
-		recordId = actionsConverterData.recordId;
-
-		createJsonForActions();
+		JsonObjectBuilder mainBuilder = builderFactory.createObjectBuilder();
+		for (ClientAction action : actionsConverterData.actions) {
+			JsonObjectBuilder linkBuilder = builderFactory.createObjectBuilder();
+			mainBuilder.addKeyJsonObjectBuilder(action.name().toLowerCase(), linkBuilder);
+			createJsonForAction(linkBuilder, action, actionsConverterData);
+		}
 		return mainBuilder;
 	}
 
-	private void createJsonForActions() {
-		for (ClientAction action : actions) {
-			setStandardForAction(action);
-
-			possiblyCreateActionsForAll(action);
-			possiblyCreateUploadActionForBinaryAndItsChildren(action);
-			possiblyCreateSearchActionForSearchOrRecordType(action);
-			if (RECORD_TYPE.equals(recordType)) {
-				possiblyCreateActionsForRecordType(action);
-			}
+	private void createJsonForAction(JsonObjectBuilder linkBuilder, ClientAction action,
+			BasicClientActionsConverterData data) {
+		possiblyCreateActionsForAll(linkBuilder, action, data);
+		possiblyCreateUploadActionForBinaryAndItsChildren(linkBuilder, action, data);
+		possiblyCreateSearchActionForSearchOrRecordType(linkBuilder, action, data);
+		if (RECORD_TYPE.equals(data.recordType)) {
+			possiblyCreateActionsForRecordType(linkBuilder, action, data);
 		}
 	}
 
-	private void possiblyCreateActionsForAll(ClientAction action) {
+	private void possiblyCreateActionsForAll(JsonObjectBuilder linkBuilder, ClientAction action,
+			BasicClientActionsConverterData data) {
+		String urlForActionsOnThisRecord = baseUrl + data.recordType + "/" + data.recordId;
 		if (action == ClientAction.READ) {
-			addStandardParametersToCurrentLinkBuilder();
-			currentLinkBuilder.addKeyString(ACCEPT, currentAccept);
+			addStandardParameters(linkBuilder, action, urlForActionsOnThisRecord, GET);
+			linkBuilder.addKeyString(ACCEPT, APPLICATION_VND_CORA_RECORD_JSON);
 		} else if (action == ClientAction.UPDATE) {
-			currentRequestMethod = "POST";
-			addStandardParametersToCurrentLinkBuilder();
-			currentLinkBuilder.addKeyString(ACCEPT, currentAccept);
-			currentLinkBuilder.addKeyString(CONTENT_TYPE, APPLICATION_VND_CORA_RECORDGROUP_JSON);
+			addStandardParameters(linkBuilder, action, urlForActionsOnThisRecord, POST);
+			linkBuilder.addKeyString(ACCEPT, APPLICATION_VND_CORA_RECORD_JSON);
+			linkBuilder.addKeyString(CONTENT_TYPE, APPLICATION_VND_CORA_RECORDGROUP_JSON);
 		} else if (action == ClientAction.READ_INCOMING_LINKS) {
-			currentUrl = currentUrl + "/incomingLinks";
-			addStandardParametersToCurrentLinkBuilder();
-			currentLinkBuilder.addKeyString(ACCEPT, APPLICATION_VND_CORA_RECORD_LIST_JSON);
+			addStandardParameters(linkBuilder, action,
+					urlForActionsOnThisRecord + "/incomingLinks", GET);
+			linkBuilder.addKeyString(ACCEPT, APPLICATION_VND_CORA_RECORD_LIST_JSON);
 		} else if (action == ClientAction.DELETE) {
-			currentRequestMethod = "DELETE";
-			addStandardParametersToCurrentLinkBuilder();
+			addStandardParameters(linkBuilder, action, urlForActionsOnThisRecord, "DELETE");
 		} else if (action == ClientAction.INDEX) {
-			currentRequestMethod = "POST";
-			currentUrl = baseUrl + "workOrder/";
-			addStandardParametersToCurrentLinkBuilder();
-			currentLinkBuilder.addKeyString(ACCEPT, currentAccept);
-			currentLinkBuilder.addKeyString(CONTENT_TYPE, APPLICATION_VND_CORA_RECORDGROUP_JSON);
-			createBody();
+			addStandardParameters(linkBuilder, action, baseUrl + WORK_ORDER_PATH, POST);
+			linkBuilder.addKeyString(ACCEPT, APPLICATION_VND_CORA_RECORD_JSON);
+			linkBuilder.addKeyString(CONTENT_TYPE, APPLICATION_VND_CORA_RECORDGROUP_JSON);
+			createBody(linkBuilder, data);
 		}
 	}
 
-	private void possiblyCreateUploadActionForBinaryAndItsChildren(ClientAction action) {
+	private void possiblyCreateUploadActionForBinaryAndItsChildren(JsonObjectBuilder linkBuilder,
+			ClientAction action, BasicClientActionsConverterData data) {
 		if (action == ClientAction.UPLOAD) {
-			currentRequestMethod = "POST";
-			currentUrl = baseUrl + recordType + "/" + recordId + "/master";
-			addStandardParametersToCurrentLinkBuilder();
-			currentLinkBuilder.addKeyString(CONTENT_TYPE, "multipart/form-data");
+			String url = baseUrl + data.recordType + "/" + data.recordId + "/master";
+			addStandardParameters(linkBuilder, action, url, POST);
+			linkBuilder.addKeyString(CONTENT_TYPE, "multipart/form-data");
 		}
 	}
 
-	private void possiblyCreateSearchActionForSearchOrRecordType(ClientAction action) {
+	private void possiblyCreateSearchActionForSearchOrRecordType(JsonObjectBuilder linkBuilder,
+			ClientAction action, BasicClientActionsConverterData data) {
 		if (action == ClientAction.SEARCH) {
-			String searchIdOrRecordId = setSearchRecordId();
-			currentUrl = baseUrl + "searchResult/" + searchIdOrRecordId;
-			addStandardParametersToCurrentLinkBuilder();
-			currentLinkBuilder.addKeyString(ACCEPT, APPLICATION_VND_CORA_RECORD_LIST_JSON);
+			String searchIdOrRecordId = setSearchRecordId(data);
+			addStandardParameters(linkBuilder, action,
+					baseUrl + "searchResult/" + searchIdOrRecordId, GET);
+			linkBuilder.addKeyString(ACCEPT, APPLICATION_VND_CORA_RECORD_LIST_JSON);
 		}
 	}
 
-	private String setSearchRecordId() {
-		if (searchIdIsSpecifiedOnThisRecord()) {
-			return actionsConverterData.searchRecordId;
+	private String setSearchRecordId(BasicClientActionsConverterData data) {
+		if (searchIdIsSpecifiedOnThisRecord(data)) {
+			return data.searchRecordId;
 		}
-		return recordId;
+		return data.recordId;
 	}
 
-	private boolean searchIdIsSpecifiedOnThisRecord() {
-		return actionsConverterData.searchRecordId != null;
+	private boolean searchIdIsSpecifiedOnThisRecord(BasicClientActionsConverterData data) {
+		return data.searchRecordId != null;
 	}
 
-	private void possiblyCreateActionsForRecordType(ClientAction action) {
+	private void possiblyCreateActionsForRecordType(JsonObjectBuilder linkBuilder,
+			ClientAction action, BasicClientActionsConverterData data) {
+		String urlForRecordTypeActions = baseUrl + data.recordId + "/";
 		if (action == ClientAction.CREATE) {
-			currentRequestMethod = "POST";
-			String urlForRecordTypeActions = baseUrl + recordId + "/";
-			currentUrl = urlForRecordTypeActions;
-			addStandardParametersToCurrentLinkBuilder();
-			currentLinkBuilder.addKeyString(ACCEPT, currentAccept);
-			currentLinkBuilder.addKeyString(CONTENT_TYPE, APPLICATION_VND_CORA_RECORDGROUP_JSON);
+			addStandardParameters(linkBuilder, action, urlForRecordTypeActions, POST);
+			linkBuilder.addKeyString(ACCEPT, APPLICATION_VND_CORA_RECORD_JSON);
+			linkBuilder.addKeyString(CONTENT_TYPE, APPLICATION_VND_CORA_RECORDGROUP_JSON);
 		} else if (action == ClientAction.LIST) {
-			currentRequestMethod = "GET";
-			String urlForRecordTypeActions = baseUrl + recordId + "/";
-			currentUrl = urlForRecordTypeActions;
-			currentAccept = APPLICATION_VND_CORA_RECORD_LIST_JSON;
-			addStandardParametersToCurrentLinkBuilder();
-			currentLinkBuilder.addKeyString(ACCEPT, currentAccept);
+			addStandardParameters(linkBuilder, action, urlForRecordTypeActions, GET);
+			linkBuilder.addKeyString(ACCEPT, APPLICATION_VND_CORA_RECORD_LIST_JSON);
 		} else if (action == ClientAction.BATCH_INDEX) {
-			currentRequestMethod = "POST";
-			currentUrl = baseUrl + "index/" + recordId + "/";
-			addStandardParametersToCurrentLinkBuilder();
-			currentLinkBuilder.addKeyString(ACCEPT, currentAccept);
-			currentLinkBuilder.addKeyString(CONTENT_TYPE, APPLICATION_VND_CORA_RECORD_JSON);
+			addStandardParameters(linkBuilder, action, baseUrl + "index/" + data.recordId + "/",
+					POST);
+			linkBuilder.addKeyString(ACCEPT, APPLICATION_VND_CORA_RECORD_JSON);
+			linkBuilder.addKeyString(CONTENT_TYPE, APPLICATION_VND_CORA_RECORD_JSON);
 		} else if (action == ClientAction.VALIDATE) {
-			createActionLinkForValidate();
+			createActionLinkForValidate(linkBuilder, action);
 		}
 	}
 
-	private void createActionLinkForValidate() {
-		currentRequestMethod = "POST";
-		currentUrl = baseUrl + "workOrder/";
-		addStandardParametersToCurrentLinkBuilder();
-		currentLinkBuilder.addKeyString(ACCEPT, currentAccept);
-		currentLinkBuilder.addKeyString(CONTENT_TYPE, "application/vnd.cora.workorder+json");
-	}
-
-	private void setStandardForAction(ClientAction action) {
-		currentLowerCaseAction = action.name().toLowerCase();
-		currentLinkBuilder = builderFactory.createObjectBuilder();
-		currentRequestMethod = "GET";
-		String urlForActionsOnThisRecord = baseUrl + recordType + "/" + recordId;
-		currentUrl = urlForActionsOnThisRecord;
-		currentAccept = APPLICATION_VND_CORA_RECORD_JSON;
-		mainBuilder.addKeyJsonObjectBuilder(currentLowerCaseAction, currentLinkBuilder);
+	private void createActionLinkForValidate(JsonObjectBuilder linkBuilder, ClientAction action) {
+		addStandardParameters(linkBuilder, action, baseUrl + WORK_ORDER_PATH, POST);
+		linkBuilder.addKeyString(ACCEPT, APPLICATION_VND_CORA_RECORD_JSON);
+		linkBuilder.addKeyString(CONTENT_TYPE, "application/vnd.cora.workorder+json");
 	}
 
-	private void createBody() {
-		JsonObjectBuilder workOrderBuilder = convertBody();
-		currentLinkBuilder.addKeyJsonObjectBuilder("body", workOrderBuilder);
+	private void createBody(JsonObjectBuilder linkBuilder, BasicClientActionsConverterData data) {
+		JsonObjectBuilder workOrderBuilder = convertBody(data);
+		linkBuilder.addKeyJsonObjectBuilder("body", workOrderBuilder);
 	}
 
-	private JsonObjectBuilder convertBody() {
-		BasicClientDataGroup workOrder = createWorkOrderDataGroup();
+	private JsonObjectBuilder convertBody(BasicClientActionsConverterData data) {
+		BasicClientDataGroup workOrder = createWorkOrderDataGroup(data);
 		ClientDataToJsonConverter workOrderConverter = converterFactory
 				.factorUsingConvertible(workOrder);
 		return workOrderConverter.toJsonObjectBuilder();
 	}
 
-	private BasicClientDataGroup createWorkOrderDataGroup() {
+	private BasicClientDataGroup createWorkOrderDataGroup(BasicClientActionsConverterData data) {
 		BasicClientDataGroup workOrder = BasicClientDataGroup.withNameInData("workOrder");
 		BasicClientDataGroup recordTypeGroup = BasicClientDataGroup.withNameInData(RECORD_TYPE);
 		recordTypeGroup.addChild(
 				BasicClientDataAtomic.withNameInDataAndValue("linkedRecordType", RECORD_TYPE));
 		recordTypeGroup.addChild(
-				BasicClientDataAtomic.withNameInDataAndValue("linkedRecordId", recordType));
+				BasicClientDataAtomic.withNameInDataAndValue("linkedRecordId", data.recordType));
 		workOrder.addChild(recordTypeGroup);
-		workOrder.addChild(BasicClientDataAtomic.withNameInDataAndValue("recordId", recordId));
+		workOrder.addChild(BasicClientDataAtomic.withNameInDataAndValue("recordId", data.recordId));
 		workOrder.addChild(BasicClientDataAtomic.withNameInDataAndValue("type", "index"));
 		return workOrder;
 	}
 
-	private void addStandardParametersToCurrentLinkBuilder() {
-		currentLinkBuilder.addKeyString("rel", currentLowerCaseAction);
-		currentLinkBuilder.addKeyString("url", currentUrl);
-		currentLinkBuilder.addKeyString("requestMethod", currentRequestMethod);
+	private void addStandardParameters(JsonObjectBuilder linkBuilder, ClientAction action,
+			String url, String requestMethod) {
+		linkBuilder.addKeyString("rel", action.name().toLowerCase());
+		linkBuilder.addKeyString("url", url);
+		linkBuilder.addKeyString("requestMethod", requestMethod);
 	}
 }
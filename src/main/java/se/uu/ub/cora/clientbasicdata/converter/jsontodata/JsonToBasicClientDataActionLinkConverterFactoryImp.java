@@ -39,7 +39,12 @@ public class JsonToBasicClientDataActionLinkConverterFactoryImp
 
 	@Override
 	public JsonToBasicClientDataActionLinkConverter factor(JsonObject jsonObject) {
-		return new JsonToBasicClientDataActionLinkConverterImp(jsonObject, factory);
+		JsonToBasicClientDataActionLinkConverterImp converter = new JsonToBasicClientDataActionLinkConverterImp(
+				jsonObject, factory);
+		if (factory instanceof JsonToBasicClientDataConverterFactoryImp factoryImp) {
+			converter.useStringInterner(factoryImp.getStringInterner());
+		}
+		return converter;
 	}
 
 }
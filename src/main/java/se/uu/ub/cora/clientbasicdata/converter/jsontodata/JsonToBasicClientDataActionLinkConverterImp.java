@@ -33,6 +33,8 @@ public class JsonToBasicClientDataActionLinkConverterImp
 	private JsonObject jsonObject;
 	protected JsonToClientDataConverterFactory factory;
 	private ClientActionLink actionLink;
+	private JsonToBasicClientDataStringInterner interner = JsonToBasicClientDataStringInterner
+			.getShared();
 
 	public JsonToBasicClientDataActionLinkConverterImp(JsonObject jsonObject,
 			JsonToClientDataConverterFactory factory) {
@@ -40,6 +42,14 @@ public class JsonToBasicClientDataActionLinkConverterImp
 		this.factory = factory;
 	}
 
+	/**
+	 * useStringInterner makes the converter intern strings using the entered interner instead of
+	 * the shared interner.
+	 */
+	void useStringInterner(JsonToBasicClientDataStringInterner interner) {
+		this.interner = interner;
+	}
+
 	public static JsonToBasicClientDataActionLinkConverterImp forJsonObjectUsingFactory(
 			JsonObject jsonObject, JsonToClientDataConverterFactory factory) {
 		return new JsonToBasicClientDataActionLinkConverterImp(jsonObject, factory);
@@ -87,7 +97,8 @@ public class JsonToBasicClientDataActionLinkConverterImp
 	}
 
 	private void setRequestMethod() {
-		String requestMethod = getStringValueFromJsonObjectUsingKey("requestMethod");
+		String requestMethod = interner
+				.intern(getStringValueFromJsonObjectUsingKey("requestMethod"));
 		actionLink.setRequestMethod(requestMethod);
 	}
 
@@ -99,14 +110,15 @@ public class JsonToBasicClientDataActionLinkConverterImp
 
 	private void possiblySetContentType() {
 		if (jsonObject.containsKey("contentType")) {
-			String contentType = getStringValueFromJsonObjectUsingKey("contentType");
+			String contentType = interner
+					.intern(getStringValueFromJsonObjectUsingKey("contentType"));
 			actionLink.setContentType(contentType);
 		}
 	}
 
 	private void possiblySetAccept() {
 		if (jsonObject.containsKey("accept")) {
-			String accept = getStringValueFromJsonObjectUsingKey("accept");
+			String accept = interner.intern(getStringValueFromJsonObjectUsingKey("accept"));
 			actionLink.setAccept(accept);
 		}
 	}
@@ -37,18 +37,44 @@ public final class JsonToBasicClientDataAtomicConverter implements JsonToClientD
 	private static final int ONE_OPTIONAL_KEY_PRESENT = 3;
 	private static final String NAME = "name";
 	private static final String VALUE = "value";
+	private static final String LINKED_RECORD_TYPE = "linkedRecordType";
 	private JsonObject jsonObject;
+	private boolean trusted;
+	private JsonToBasicClientDataStringInterner interner = JsonToBasicClientDataStringInterner
+			.getShared();
 
 	static JsonToBasicClientDataAtomicConverter forJsonObject(JsonObject jsonObject) {
 		return new JsonToBasicClientDataAtomicConverter(jsonObject);
 	}
 
+	/**
+	 * forTrustedJsonObject creates a converter that does not validate the json, see
+	 * {@link JsonToBasicClientDataConverterFactoryImp#usingTrustedMode()}.
+	 */
+	static JsonToBasicClientDataAtomicConverter forTrustedJsonObject(JsonObject jsonObject) {
+		JsonToBasicClientDataAtomicConverter converter = new JsonToBasicClientDataAtomicConverter(
+				jsonObject);
+		converter.trusted = true;
+		return converter;
+	}
+
 	private JsonToBasicClientDataAtomicConverter(JsonObject jsonObject) {
 		this.jsonObject = jsonObject;
 	}
 
+	/**
+	 * useStringInterner makes the converter intern strings using the entered interner instead of
+	 * the shared interner.
+	 */
+	void useStringInterner(JsonToBasicClientDataStringInterner interner) {
+		this.interner = interner;
+	}
+
 	@Override
 	public ClientConvertible toInstance() {
+		if (trusted) {
+			return convertJsonToDataAtomic();
+		}
 		try {
 			return tryToInstantiate();
 		} catch (Exception e) {
@@ -120,18 +146,25 @@ public final class JsonToBasicClientDataAtomicConverter implements JsonToClientD
 	}
 
 	private BasicClientDataAtomic createFromJsonWithNameInDataAndValue() {
-		String nameInData = getStringFromJson(NAME);
-		String value = getStringFromJson(VALUE);
+		String nameInData = interner.intern(getStringFromJson(NAME));
+		String value = possiblyInternValue(nameInData, getStringFromJson(VALUE));
 		return BasicClientDataAtomic.withNameInDataAndValue(nameInData, value);
 	}
 
+	private String possiblyInternValue(String nameInData, String value) {
+		if (LINKED_RECORD_TYPE.equals(nameInData)) {
+			return interner.intern(value);
+		}
+		return value;
+	}
+
 	private String getStringFromJson(String key) {
 		return jsonObject.getValueAsJsonString(key).getStringValue();
 	}
 
 	private void addRepeatIdFromJson(BasicClientDataAtomic dataAtomic) {
 		if (jsonObject.containsKey(REPEAT_ID)) {
-			dataAtomic.setRepeatId(jsonObject.getValueAsJsonString(REPEAT_ID).getStringValue());
+			dataAtomic.setRepeatId(interner.intern(getStringFromJson(REPEAT_ID)));
 		}
 	}
 
@@ -147,6 +180,7 @@ public final class JsonToBasicClientDataAtomicConverter implements JsonToClientD
 	private void addAttributeToGroup(ClientDataChild dataAtomic,
 			Entry<String, JsonValue> attributeEntry) {
 		String value = ((JsonString) attributeEntry.getValue()).getStringValue();
-		dataAtomic.addAttributeByIdWithValue(attributeEntry.getKey(), value);
+		dataAtomic.addAttributeByIdWithValue(interner.intern(attributeEntry.getKey()),
+				interner.intern(value));
 	}
 }
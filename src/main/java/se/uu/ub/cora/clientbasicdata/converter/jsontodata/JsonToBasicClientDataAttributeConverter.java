@@ -30,17 +30,42 @@ import se.uu.ub.cora.json.parser.JsonValue;
 public final class JsonToBasicClientDataAttributeConverter implements JsonToClientDataConverter {
 
 	private JsonObject jsonObject;
+	private boolean trusted;
+	private JsonToBasicClientDataStringInterner interner = JsonToBasicClientDataStringInterner
+			.getShared();
 
 	static JsonToBasicClientDataAttributeConverter forJsonObject(JsonObject jsonObject) {
 		return new JsonToBasicClientDataAttributeConverter(jsonObject);
 	}
 
+	/**
+	 * forTrustedJsonObject creates a converter that does not validate the json, see
+	 * {@link JsonToBasicClientDataConverterFactoryImp#usingTrustedMode()}.
+	 */
+	static JsonToBasicClientDataAttributeConverter forTrustedJsonObject(JsonObject jsonObject) {
+		JsonToBasicClientDataAttributeConverter converter = new JsonToBasicClientDataAttributeConverter(
+				jsonObject);
+		converter.trusted = true;
+		return converter;
+	}
+
 	private JsonToBasicClientDataAttributeConverter(JsonObject jsonObject) {
 		this.jsonObject = jsonObject;
 	}
 
+	/**
+	 * useStringInterner makes the converter intern strings using the entered interner instead of
+	 * the shared interner.
+	 */
+	void useStringInterner(JsonToBasicClientDataStringInterner interner) {
+		this.interner = interner;
+	}
+
 	@Override
 	public ClientConvertible toInstance() {
+		if (trusted) {
+			return convertJsonToAttribute();
+		}
 		try {
 			return tryToInstantiate();
 		} catch (Exception e) {
@@ -50,9 +75,14 @@ public final class JsonToBasicClientDataAttributeConverter implements JsonToClie
 
 	private ClientConvertible tryToInstantiate() {
 		validateJsonData();
+		return convertJsonToAttribute();
+	}
+
+	private ClientConvertible convertJsonToAttribute() {
 		String nameInData = getNameInDataFromJsonObject();
 		JsonString value = (JsonString) jsonObject.getValue(nameInData);
-		return BasicClientDataAttribute.withNameInDataAndValue(nameInData, value.getStringValue());
+		return BasicClientDataAttribute.withNameInDataAndValue(interner.intern(nameInData),
+				interner.intern(value.getStringValue()));
 	}
 
 	private String getNameInDataFromJsonObject() {
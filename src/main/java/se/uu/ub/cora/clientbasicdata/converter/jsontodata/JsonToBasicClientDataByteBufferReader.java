@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.converter.jsontodata;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * JsonToBasicClientDataByteBufferReader is an internal Reader that decodes UTF-8 directly from a
+ * ByteBuffer into the char array of the caller, so that bytes, including memory mapped files, can
+ * be read without first being copied into a String or a byte array on the heap.
+ * <p>
+ * Malformed UTF-8 is reported as a CharacterCodingException.
+ */
+final class JsonToBasicClientDataByteBufferReader extends Reader {
+	private final ByteBuffer bytes;
+	private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+			.onMalformedInput(CodingErrorAction.REPORT)
+			.onUnmappableCharacter(CodingErrorAction.REPORT);
+	private boolean flushed;
+
+	/**
+	 * usingByteBuffer creates a reader for the bytes between the position and the limit of the
+	 * entered buffer. The position of the entered buffer is not changed.
+	 */
+	static JsonToBasicClientDataByteBufferReader usingByteBuffer(ByteBuffer bytes) {
+		return new JsonToBasicClientDataByteBufferReader(bytes.duplicate());
+	}
+
+	private JsonToBasicClientDataByteBufferReader(ByteBuffer bytes) {
+		this.bytes = bytes;
+	}
+
+	@Override
+	public int read(char[] chars, int offset, int length) throws IOException {
+		if (flushed) {
+			return -1;
+		}
+		if (length == 0) {
+			return 0;
+		}
+		CharBuffer out = CharBuffer.wrap(chars, offset, length);
+		decodeInto(out);
+		int numberRead = out.position() - offset;
+		return numberRead == 0 && flushed ? -1 : numberRead;
+	}
+
+	private void decodeInto(CharBuffer out) throws IOException {
+		CoderResult result = decoder.decode(bytes, out, true);
+		if (result.isError()) {
+			result.throwException();
+		}
+		if (result.isUnderflow()) {
+			decoder.flush(out);
+			flushed = true;
+		}
+	}
+
+	@Override
+	public void close() {
+		// nothing to close, the buffer is owned by the caller
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015, 2022, 2023, 2025 Uppsala University Library
+ * Copyright 2015, 2022, 2023, 2025, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -19,40 +19,226 @@
 
 package se.uu.ub.cora.clientbasicdata.converter.jsontodata;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.concurrent.Executor;
 
+import se.uu.ub.cora.clientbasicdata.converter.jsontodata.JsonToBasicClientDataShapePlan.Shape;
 import se.uu.ub.cora.clientdata.converter.JsonToClientDataConverter;
 import se.uu.ub.cora.clientdata.converter.JsonToClientDataConverterFactory;
-import se.uu.ub.cora.json.parser.JsonArray;
 import se.uu.ub.cora.json.parser.JsonObject;
 import se.uu.ub.cora.json.parser.JsonParseException;
 import se.uu.ub.cora.json.parser.JsonParser;
+import se.uu.ub.cora.json.parser.JsonString;
 import se.uu.ub.cora.json.parser.JsonValue;
 import se.uu.ub.cora.json.parser.org.OrgJsonParser;
 
 public class JsonToBasicClientDataConverterFactoryImp implements JsonToClientDataConverterFactory {
 
-	private static final int NUM_OF_RESOURCELINK_CHILDREN = 3;
+	private final JsonToBasicClientDataActionLinkConverterFactory actionLinkConverterFactory = JsonToBasicClientDataActionLinkConverterFactoryImp
+			.usingJsonToClientDataConverterFactory(this);
+	private final JsonToClientDataFactories converterFactories = new JsonToClientDataFactories(
+			this, actionLinkConverterFactory);
+	private final JsonToBasicClientDataConverterOptions options;
+	private final boolean trusted;
+	private final JsonToBasicClientDataShapePlan shapePlan;
+	private final JsonToBasicClientDataProjection projection;
+	private final JsonToBasicClientDataStringInterner interner;
+
+	public JsonToBasicClientDataConverterFactoryImp() {
+		// needed for ServiceLoader
+		this(JsonToBasicClientDataConverterOptions.defaultOptions());
+	}
+
+	private JsonToBasicClientDataConverterFactoryImp(
+			JsonToBasicClientDataConverterOptions options) {
+		this.options = options;
+		trusted = options.isTrusted();
+		shapePlan = options.usesShapeLearning()
+				? JsonToBasicClientDataShapePlan.usingDefaultMaxSize()
+				: null;
+		projection = options.getProjection().orElse(null);
+		interner = options.getStringInterner()
+				.orElseGet(JsonToBasicClientDataStringInterner::getShared);
+	}
+
+	/**
+	 * usingOptions creates a factory using the entered options, making it possible to combine
+	 * options, such as trusted mode together with parallel decoding of large dataLists. See
+	 * {@link JsonToBasicClientDataConverterOptions}.
+	 * 
+	 * @param options
+	 *            The JsonToBasicClientDataConverterOptions to use
+	 * @return A JsonToBasicClientDataConverterFactoryImp using the entered options
+	 */
+	public static JsonToBasicClientDataConverterFactoryImp usingOptions(
+			JsonToBasicClientDataConverterOptions options) {
+		return new JsonToBasicClientDataConverterFactoryImp(options);
+	}
+
+	/**
+	 * usingExecutorForDataListsOfMinimumSize creates a factory where the records in a dataList are
+	 * converted in parallel on the entered executor, if the dataList contains at least
+	 * minimumSizeForParallelDecoding records. All other conversions are done on the calling
+	 * thread, as by a factory created using the default constructor.
+	 * 
+	 * @param executor
+	 *            An Executor to convert records on, such as a ForkJoinPool or an executor using
+	 *            virtual threads
+	 * @param minimumSizeForParallelDecoding
+	 *            The smallest number of records in a dataList that is converted in parallel
+	 * @return A JsonToBasicClientDataConverterFactoryImp using parallel decoding of large dataLists
+	 */
+	public static JsonToBasicClientDataConverterFactoryImp usingExecutorForDataListsOfMinimumSize(
+			Executor executor, int minimumSizeForParallelDecoding) {
+		return usingOptions(JsonToBasicClientDataConverterOptions.defaultOptions()
+				.withExecutorForDataListsOfMinimumSize(executor, minimumSizeForParallelDecoding));
+	}
+
+	/**
+	 * usingJsonParser creates a factory that parses json strings using the entered parser instead
+	 * of the default {@link OrgJsonParser}. The same parser instance is used for all calls, so it
+	 * must be thread safe if the factory is used from several threads.
+	 * 
+	 * @param jsonParser
+	 *            A JsonParser to parse json strings with
+	 * @return A JsonToBasicClientDataConverterFactoryImp using the entered parser
+	 */
+	public static JsonToBasicClientDataConverterFactoryImp usingJsonParser(JsonParser jsonParser) {
+		return usingOptions(
+				JsonToBasicClientDataConverterOptions.defaultOptions().withJsonParser(jsonParser));
+	}
+
+	/**
+	 * usingJsonParserFromServiceLoader creates a factory that parses json strings using the first
+	 * {@link JsonParser} implementation found using {@link ServiceLoader}. If no implementation is
+	 * found, the default {@link OrgJsonParser} is used.
+	 * <p>
+	 * The same parser instance is used for all calls, see {@link #usingJsonParser(JsonParser)}.
+	 * 
+	 * @return A JsonToBasicClientDataConverterFactoryImp using the found parser
+	 */
+	public static JsonToBasicClientDataConverterFactoryImp usingJsonParserFromServiceLoader() {
+		Optional<JsonParser> foundParser = ServiceLoader.load(JsonParser.class).findFirst();
+		return usingJsonParser(foundParser.orElseGet(OrgJsonParser::new));
+	}
 
 	@Override
 	public JsonToClientDataConverter factorUsingString(String jsonString) {
 
-		JsonParser jsonParser = new OrgJsonParser();
-		JsonObject json = jsonParser.parseStringAsObject(jsonString);
+		JsonObject json = getJsonParser().parseStringAsObject(jsonString);
 
 		return factorUsingJsonObject(json);
 	}
 
+	/**
+	 * getJsonParser returns the parser set for this factory, or a new {@link OrgJsonParser} if no
+	 * parser is set.
+	 */
+	JsonParser getJsonParser() {
+		return options.getJsonParser().orElseGet(OrgJsonParser::new);
+	}
+
+	boolean isTrusted() {
+		return trusted;
+	}
+
+	/**
+	 * getStringInterner returns the interner used by the converters created by this factory, the
+	 * shared interner unless another interner is set in the options.
+	 */
+	JsonToBasicClientDataStringInterner getStringInterner() {
+		return interner;
+	}
+
 	@Override
 	public JsonToClientDataConverter factorUsingJsonObject(JsonObject json) {
 		verifyJsonObject(json);
 		return createJsonToClientDataConverter(json);
 	}
 
+	/**
+	 * usingTrustedMode creates a factory for json known to be correct, such as json read from a
+	 * Cora server. Converters created by the factory build data without validating key counts, key
+	 * presence or the children of links, and without adding context to errors. Invalid json can
+	 * therefore give other errors, or data that does not follow the Cora data format, than a
+	 * factory created using the default constructor, which validates all json.
+	 * <p>
+	 * Records, resource links, action links and authentication are still validated, as they are
+	 * read once per record rather than once per data element.
+	 * 
+	 * @return A JsonToBasicClientDataConverterFactoryImp using trusted mode
+	 */
+	public static JsonToBasicClientDataConverterFactoryImp usingTrustedMode() {
+		return usingOptions(
+				JsonToBasicClientDataConverterOptions.defaultOptions().withTrustedMode());
+	}
+
+	/**
+	 * usingShapeLearning creates a factory that learns the shape of elements with children, that
+	 * is if they are groups, record groups, record links or resource links, by nameInData. For
+	 * lists where the records have the same structure, the shape of an element seen before is
+	 * predicted, so that the names of its children do not have to be read from the json before the
+	 * element is converted.
+	 * <p>
+	 * Each prediction is checked against the converted children, and an element with another
+	 * shape than predicted is converted again without prediction. A nameInData seen with more than
+	 * one shape is never predicted again. The converted data and any errors are therefore the same
+	 * as for a factory created using the default constructor.
+	 * <p>
+	 * The learned shapes are kept by the factory, so the same factory should be used for all
+	 * conversions that are to share learned shapes.
+	 * 
+	 * @return A JsonToBasicClientDataConverterFactoryImp using shape learning
+	 */
+	public static JsonToBasicClientDataConverterFactoryImp usingShapeLearning() {
+		return usingOptions(
+				JsonToBasicClientDataConverterOptions.defaultOptions().withShapeLearning());
+	}
+
+	/**
+	 * usingProjection creates a factory that only converts the parts of each record selected by
+	 * the entered projection, such as recordInfo and a few fields needed for a list view. Parts
+	 * that are not selected are skipped without being converted. See
+	 * {@link JsonToBasicClientDataProjection} for how parts are selected.
+	 * <p>
+	 * The projection is used for records, on their own or in a dataList. Other json, such as a
+	 * group on its own, is converted whole.
+	 * <p>
+	 * The selected parts are validated as by the default factory, unless the projection is
+	 * combined with trusted mode. Children that are not selected are skipped without being
+	 * validated, so errors in them are not reported.
+	 * 
+	 * @param projection
+	 *            A JsonToBasicClientDataProjection selecting the parts of records to convert
+	 * @return A JsonToBasicClientDataConverterFactoryImp using the projection
+	 */
+	public static JsonToBasicClientDataConverterFactoryImp usingProjection(
+			JsonToBasicClientDataProjection projection) {
+		return usingOptions(
+				JsonToBasicClientDataConverterOptions.defaultOptions().withProjection(projection));
+	}
+
+	/**
+	 * usingLazyRecordParts creates a factory that converts records where actionLinks, permissions
+	 * and otherProtocols are kept as json and decoded when they are first used. Each action link is
+	 * decoded on its own, so reading one action link does not convert the others, such as the
+	 * workOrder body of the index action link.
+	 * <p>
+	 * The records are thread safe to read, but errors in actionLinks, permissions and
+	 * otherProtocols are reported as a JsonParseException when the part is first used, not when
+	 * the record is converted.
+	 * 
+	 * @return A JsonToBasicClientDataConverterFactoryImp creating records with lazy parts
+	 */
+	public static JsonToBasicClientDataConverterFactoryImp usingLazyRecordParts() {
+		return usingOptions(
+				JsonToBasicClientDataConverterOptions.defaultOptions().withLazyRecordParts());
+	}
+
 	private JsonToClientDataConverter createJsonToClientDataConverter(JsonObject json) {
 		if (isDataList(json)) {
-			return JsonToBasicClientDataListConverter.usingDataConverterAndJsonObject(this, json);
+			return createJsonToClientDataListConverter(json);
 		}
 		if (isRecord(json)) {
 			return createJsonToClientDataRecordConverter(json);
@@ -61,105 +247,228 @@ public class JsonToBasicClientDataConverterFactoryImp implements JsonToClientDat
 			return determineElementWithChildrenAndReturnConverter(json);
 		}
 		if (isAtomicData(json)) {
-			return JsonToBasicClientDataAtomicConverter.forJsonObject(json);
+			return createJsonToClientDataAtomicConverter(json);
 		}
 		if (isAuthentication(json)) {
 			return createJsonToClientDataAuthenticationConverter(json);
 		}
-		return JsonToBasicClientDataAttributeConverter.forJsonObject(json);
+		return createJsonToClientDataAttributeConverter(json);
+	}
+
+	private JsonToClientDataConverter createJsonToClientDataAtomicConverter(JsonObject json) {
+		JsonToBasicClientDataAtomicConverter converter = trusted
+				? JsonToBasicClientDataAtomicConverter.forTrustedJsonObject(json)
+				: JsonToBasicClientDataAtomicConverter.forJsonObject(json);
+		converter.useStringInterner(interner);
+		return converter;
+	}
+
+	private JsonToClientDataConverter createJsonToClientDataAttributeConverter(JsonObject json) {
+		JsonToBasicClientDataAttributeConverter converter = trusted
+				? JsonToBasicClientDataAttributeConverter.forTrustedJsonObject(json)
+				: JsonToBasicClientDataAttributeConverter.forJsonObject(json);
+		converter.useStringInterner(interner);
+		return converter;
 	}
 
 	private JsonToClientDataConverter determineElementWithChildrenAndReturnConverter(
 			JsonObject json) {
-		if (isRecordGroup(json)) {
-			return JsonToBasicClientDataRecordGroupConverter.forJsonObject(json);
+		if (shapePlan != null) {
+			return createConverterUsingShapePlan(json);
 		}
-		if (isResourceLink(json)) {
-			return JsonToBasicClientDataResourceLinkConverter
-					.usingActionLinkConverterFactoryforJsonObject(
-							createActionLinkConverterFactory(), json);
+		return createConverterForElementWithChildren(json);
+	}
+
+	private JsonToClientDataConverter createConverterUsingShapePlan(JsonObject json) {
+		Optional<String> nameInData = getNameInDataIfString(json);
+		if (nameInData.isEmpty()) {
+			return createConverterForElementWithChildren(json);
 		}
-		if (isRecordLink(json)) {
-			return JsonToBasicClientDataRecordLinkConverter
-					.forJsonObject(createActionLinkConverterFactory(), json);
+		Optional<Shape> predictedShape = shapePlan.getPredictedShape(nameInData.get());
+		if (predictedShape.isPresent()) {
+			return JsonToBasicClientDataPredictedShapeConverter.usingFactoryAndPlanAndPrediction(
+					this, shapePlan, nameInData.get(), predictedShape.get(), json);
 		}
-		return JsonToBasicClientDataGroupConverter.forJsonObject(json);
+		Shape shape = classifyChildren(json);
+		shapePlan.learn(nameInData.get(), shape);
+		return createConverterForShape(shape, json);
 	}
 
-	private boolean isDataList(JsonObject json) {
-		return json.containsKey("dataList");
+	private Optional<String> getNameInDataIfString(JsonObject json) {
+		if (json.containsKey("name") && json.getValue("name") instanceof JsonString name) {
+			return Optional.of(name.getStringValue());
+		}
+		return Optional.empty();
 	}
 
-	private boolean isRecord(JsonObject jsonObject) {
-		return jsonObject.containsKey("record");
+	private JsonToClientDataConverter createConverterForElementWithChildren(JsonObject json) {
+		return createConverterForShape(classifyChildren(json), json);
 	}
 
-	private boolean isAuthentication(JsonObject jsonObject) {
-		return jsonObject.containsKey("authentication");
+	/**
+	 * classifyChildren determines the shape of an element with children in one pass over the
+	 * children in the json, without collecting their names.
+	 */
+	Shape classifyChildren(JsonObject json) {
+		JsonToBasicClientDataShapeCheck shapeCheck = JsonToBasicClientDataShapeCheck
+				.forClassification();
+		for (JsonValue child : json.getValueAsJsonArray("children")) {
+			shapeCheck.addChild(getNameInDataFromChild((JsonObject) child));
+		}
+		return shapeCheck.getShape();
 	}
 
-	private JsonToClientDataConverter createJsonToClientDataRecordConverter(JsonObject json) {
-		JsonToClientDataFactories factories = createConverterFactories();
-		return JsonToBasicClientDataRecordConverter.usingConverterFactoriesAndJsonObject(factories,
+	JsonToClientDataConverter createConverterForShape(Shape shape, JsonObject json) {
+		return switch (shape) {
+			case RECORD_GROUP -> createJsonToClientDataRecordGroupConverter(json);
+			case RESOURCE_LINK -> createJsonToClientDataResourceLinkConverter(json);
+			case RECORD_LINK -> createJsonToClientDataRecordLinkConverter(json);
+			default -> createJsonToClientDataGroupConverter(json);
+		};
+	}
+
+	/**
+	 * createConverterCheckingPredictedShape creates a converter for the predicted shape that feeds
+	 * the names of the children it converts to the entered shape check, and stops converting
+	 * children as soon as the check finds that the element has another shape.
+	 */
+	JsonToClientDataConverter createConverterCheckingPredictedShape(Shape predictedShape,
+			JsonObject json, JsonToBasicClientDataShapeCheck shapeCheck) {
+		if (predictedShape == Shape.RESOURCE_LINK) {
+			JsonToBasicClientDataResourceLinkConverter converter = createJsonToClientDataResourceLinkConverter(
+					json);
+			converter.useShapeCheck(shapeCheck);
+			return converter;
+		}
+		if (predictedShape == Shape.RECORD_GROUP) {
+			JsonToBasicClientDataRecordGroupConverter converter = createJsonToClientDataRecordGroupConverter(
+					json);
+			converter.useShapeCheck(shapeCheck);
+			return converter;
+		}
+		JsonToBasicClientDataGroupConverter converter = predictedShape == Shape.RECORD_LINK
+				? createJsonToClientDataRecordLinkConverter(json)
+				: createJsonToClientDataGroupConverter(json);
+		converter.useShapeCheck(shapeCheck);
+		return converter;
+	}
+
+	private JsonToBasicClientDataResourceLinkConverter createJsonToClientDataResourceLinkConverter(
+			JsonObject json) {
+		JsonToBasicClientDataResourceLinkConverter converter = JsonToBasicClientDataResourceLinkConverter
+				.usingActionLinkConverterFactoryforJsonObject(actionLinkConverterFactory, json);
+		converter.useStringInterner(interner);
+		return converter;
+	}
+
+	private JsonToBasicClientDataRecordGroupConverter createJsonToClientDataRecordGroupConverter(
+			JsonObject json) {
+		JsonToBasicClientDataRecordGroupConverter converter = trusted
+				? JsonToBasicClientDataRecordGroupConverter.forTrustedJsonObject(this, json)
+				: JsonToBasicClientDataRecordGroupConverter.usingChildConverterFactory(this, json);
+		converter.useStringInterner(interner);
+		return converter;
+	}
+
+	private JsonToBasicClientDataRecordLinkConverter createJsonToClientDataRecordLinkConverter(
+			JsonObject json) {
+		JsonToBasicClientDataRecordLinkConverter converter = createRecordLinkConverterForTrustedOrNot(
 				json);
+		converter.useStringInterner(interner);
+		return converter;
 	}
 
-	private JsonToClientDataConverter createJsonToClientDataAuthenticationConverter(
+	private JsonToBasicClientDataRecordLinkConverter createRecordLinkConverterForTrustedOrNot(
 			JsonObject json) {
-		JsonToClientDataFactories factories = createConverterFactories();
-		return JsonToBasicClientDataAuthenticationConverter
-				.usingConverterFactoriesAndJsonObject(factories, json);
+		if (trusted) {
+			return JsonToBasicClientDataRecordLinkConverter
+					.forTrustedJsonObject(actionLinkConverterFactory, this, json);
+		}
+		JsonToBasicClientDataRecordLinkConverter converter = JsonToBasicClientDataRecordLinkConverter
+				.forJsonObject(actionLinkConverterFactory, json);
+		converter.useChildConverterFactory(this);
+		return converter;
 	}
 
-	private JsonToClientDataFactories createConverterFactories() {
-		JsonToBasicClientDataActionLinkConverterFactory converterFactory = createActionLinkConverterFactory();
-		return new JsonToClientDataFactories(this, converterFactory);
+	private JsonToBasicClientDataGroupConverter createJsonToClientDataGroupConverter(
+			JsonObject json) {
+		JsonToBasicClientDataGroupConverter converter = createGroupConverterForTrustedOrNot(json);
+		converter.useStringInterner(interner);
+		return converter;
 	}
 
-	private JsonToBasicClientDataActionLinkConverterFactory createActionLinkConverterFactory() {
-		return JsonToBasicClientDataActionLinkConverterFactoryImp
-				.usingJsonToClientDataConverterFactory(this);
+	private JsonToBasicClientDataGroupConverter createGroupConverterForTrustedOrNot(
+			JsonObject json) {
+		if (trusted) {
+			return JsonToBasicClientDataGroupConverter.forTrustedJsonObject(this, json);
+		}
+		JsonToBasicClientDataGroupConverter converter = JsonToBasicClientDataGroupConverter
+				.forJsonObject(json);
+		converter.useChildConverterFactory(this);
+		return converter;
 	}
 
-	private void verifyJsonObject(JsonObject json) {
-		if (!(json instanceof JsonObject)) {
-			throw new JsonParseException("Json value is not an object, can not convert");
+	private JsonToClientDataConverter createJsonToClientDataListConverter(JsonObject json) {
+		JsonToBasicClientDataListConverter converter = createListConverterForTrustedOrNot(json);
+		Optional<Executor> dataListExecutor = options.getDataListExecutor();
+		if (dataListExecutor.isPresent()) {
+			converter.useExecutorForDataListsOfMinimumSize(dataListExecutor.get(),
+					options.getMinimumSizeForParallelDecoding());
+		}
+		return converter;
+	}
+
+	private JsonToBasicClientDataListConverter createListConverterForTrustedOrNot(
+			JsonObject json) {
+		if (trusted) {
+			return JsonToBasicClientDataListConverter.usingDataConverterAndTrustedJsonObject(this,
+					json);
 		}
+		return JsonToBasicClientDataListConverter.usingDataConverterAndJsonObject(this, json);
 	}
 
-	private boolean isRecordGroup(JsonObject jsonObject) {
-		return recordInfoExists(jsonObject);
+	private boolean isDataList(JsonObject json) {
+		return json.containsKey("dataList");
 	}
 
-	private boolean recordInfoExists(JsonObject jsonObject) {
-		List<String> foundNames = extractChildNames(jsonObject);
-		return foundNames.contains("recordInfo");
+	private boolean isRecord(JsonObject jsonObject) {
+		return jsonObject.containsKey("record");
+	}
+
+	private boolean isAuthentication(JsonObject jsonObject) {
+		return jsonObject.containsKey("authentication");
 	}
 
-	private boolean isResourceLink(JsonObject json) {
-		List<String> foundNames = extractChildNames(json);
-		return foundNames.size() == NUM_OF_RESOURCELINK_CHILDREN
-				&& foundNames.contains("linkedRecordType") && foundNames.contains("linkedRecordId")
-				&& foundNames.contains("mimeType");
+	private JsonToClientDataConverter createJsonToClientDataRecordConverter(JsonObject json) {
+		JsonToBasicClientDataRecordConverter converter = createRecordConverterWithOrWithoutProjection(
+				json);
+		converter.useStringInterner(interner);
+		if (options.usesLazyRecordParts()) {
+			converter.useLazyRecordParts();
+		}
+		return converter;
 	}
 
-	private boolean isRecordLink(JsonObject json) {
-		List<String> foundNames = extractChildNames(json);
-		return correctChildrenForLink(foundNames);
+	private JsonToBasicClientDataRecordConverter createRecordConverterWithOrWithoutProjection(
+			JsonObject json) {
+		if (projection != null) {
+			return JsonToBasicClientDataRecordConverter.usingFactoriesAndJsonObjectAndProjection(
+					this, actionLinkConverterFactory, json, projection);
+		}
+		return JsonToBasicClientDataRecordConverter
+				.usingConverterFactoriesAndJsonObject(converterFactories, json);
 	}
 
-	private boolean correctChildrenForLink(List<String> foundNames) {
-		return foundNames.contains("linkedRecordType") && foundNames.contains("linkedRecordId");
+	private JsonToClientDataConverter createJsonToClientDataAuthenticationConverter(
+			JsonObject json) {
+		return JsonToBasicClientDataAuthenticationConverter
+				.usingConverterFactoriesAndJsonObject(converterFactories, json);
 	}
 
-	private List<String> extractChildNames(JsonObject jsonObject) {
-		JsonArray childrenArray = jsonObject.getValueAsJsonArray("children");
-		List<String> foundNames = new ArrayList<>();
-		for (JsonValue child : childrenArray) {
-			String name = getNameInDataFromChild((JsonObject) child);
-			foundNames.add(name);
+	private void verifyJsonObject(JsonObject json) {
+		if (!(json instanceof JsonObject)) {
+			throw new JsonParseException("Json value is not an object, can not convert");
 		}
-		return foundNames;
 	}
 
 	private boolean isAtomicData(JsonObject jsonObject) {
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.converter.jsontodata;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import se.uu.ub.cora.json.parser.JsonParser;
+
+/**
+ * JsonToBasicClientDataConverterOptions holds the options used by a
+ * {@link JsonToBasicClientDataConverterFactoryImp}, see
+ * {@link JsonToBasicClientDataConverterFactoryImp#usingOptions(JsonToBasicClientDataConverterOptions)}.
+ * <p>
+ * Options are started from {@link #defaultOptions()} and each with method returns new options with
+ * one more option set, so that options can be combined, for example trusted mode together with
+ * parallel decoding of large dataLists. The only options that can not be combined are a projection
+ * and lazy record parts, as lazy record parts would decode parts of the record not selected by the
+ * projection.
+ * <p>
+ * JsonToBasicClientDataConverterOptions is immutable and can be used from several threads.
+ */
+public final class JsonToBasicClientDataConverterOptions {
+	private static final JsonToBasicClientDataConverterOptions DEFAULT_OPTIONS = new JsonToBasicClientDataConverterOptions();
+	private final Executor dataListExecutor;
+	private final int minimumSizeForParallelDecoding;
+	private final boolean trusted;
+	private final boolean shapeLearning;
+	private final JsonToBasicClientDataProjection projection;
+	private final boolean lazyRecordParts;
+	private final JsonParser jsonParser;
+	private final JsonToBasicClientDataStringInterner stringInterner;
+
+	/**
+	 * defaultOptions returns the options used by a factory created using the default constructor,
+	 * where all json is validated and converted on the calling thread.
+	 *
+	 * @return JsonToBasicClientDataConverterOptions with no option set
+	 */
+	public static JsonToBasicClientDataConverterOptions defaultOptions() {
+		return DEFAULT_OPTIONS;
+	}
+
+	private JsonToBasicClientDataConverterOptions() {
+		this(new Builder());
+	}
+
+	private JsonToBasicClientDataConverterOptions(Builder builder) {
+		dataListExecutor = builder.dataListExecutor;
+		minimumSizeForParallelDecoding = builder.minimumSizeForParallelDecoding;
+		trusted = builder.trusted;
+		shapeLearning = builder.shapeLearning;
+		projection = builder.projection;
+		lazyRecordParts = builder.lazyRecordParts;
+		jsonParser = builder.jsonParser;
+		stringInterner = builder.stringInterner;
+	}
+
+	/**
+	 * withExecutorForDataListsOfMinimumSize returns options where the records in a dataList are
+	 * converted in parallel on the entered executor, see
+	 * {@link JsonToBasicClientDataConverterFactoryImp#usingExecutorForDataListsOfMinimumSize(Executor, int)}.
+	 */
+	public JsonToBasicClientDataConverterOptions withExecutorForDataListsOfMinimumSize(
+			Executor executor, int minimumSizeForParallelDecoding) {
+		Builder builder = new Builder(this);
+		builder.dataListExecutor = executor;
+		builder.minimumSizeForParallelDecoding = minimumSizeForParallelDecoding;
+		return new JsonToBasicClientDataConverterOptions(builder);
+	}
+
+	/**
+	 * withTrustedMode returns options for json known to be correct, see
+	 * {@link JsonToBasicClientDataConverterFactoryImp#usingTrustedMode()}.
+	 */
+	public JsonToBasicClientDataConverterOptions withTrustedMode() {
+		Builder builder = new Builder(this);
+		builder.trusted = true;
+		return new JsonToBasicClientDataConverterOptions(builder);
+	}
+
+	/**
+	 * withShapeLearning returns options where the shape of elements with children is learned by
+	 * nameInData, see {@link JsonToBasicClientDataConverterFactoryImp#usingShapeLearning()}. Each
+	 * factory created using the options learns shapes of its own.
+	 */
+	public JsonToBasicClientDataConverterOptions withShapeLearning() {
+		Builder builder = new Builder(this);
+		builder.shapeLearning = true;
+		return new JsonToBasicClientDataConverterOptions(builder);
+	}
+
+	/**
+	 * withProjection returns options where only the parts of each record selected by the entered
+	 * projection are converted, see
+	 * {@link JsonToBasicClientDataConverterFactoryImp#usingProjection(JsonToBasicClientDataProjection)}.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if lazy record parts are already set
+	 */
+	public JsonToBasicClientDataConverterOptions withProjection(
+			JsonToBasicClientDataProjection projection) {
+		throwErrorIfProjectionAndLazyRecordParts(projection != null, lazyRecordParts);
+		Builder builder = new Builder(this);
+		builder.projection = projection;
+		return new JsonToBasicClientDataConverterOptions(builder);
+	}
+
+	private static void throwErrorIfProjectionAndLazyRecordParts(boolean projectionIsSet,
+			boolean lazyRecordPartsIsSet) {
+		if (projectionIsSet && lazyRecordPartsIsSet) {
+			throw new IllegalArgumentException(
+					"A projection can not be combined with lazy record parts.");
+		}
+	}
+
+	/**
+	 * withLazyRecordParts returns options where actionLinks, permissions and otherProtocols of
+	 * records are decoded when first used, see
+	 * {@link JsonToBasicClientDataConverterFactoryImp#usingLazyRecordParts()}.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if a projection is already set
+	 */
+	public JsonToBasicClientDataConverterOptions withLazyRecordParts() {
+		throwErrorIfProjectionAndLazyRecordParts(projection != null, true);
+		Builder builder = new Builder(this);
+		builder.lazyRecordParts = true;
+		return new JsonToBasicClientDataConverterOptions(builder);
+	}
+
+	/**
+	 * withJsonParser returns options where json strings are parsed using the entered parser, see
+	 * {@link JsonToBasicClientDataConverterFactoryImp#usingJsonParser(JsonParser)}.
+	 */
+	public JsonToBasicClientDataConverterOptions withJsonParser(JsonParser jsonParser) {
+		Builder builder = new Builder(this);
+		builder.jsonParser = jsonParser;
+		return new JsonToBasicClientDataConverterOptions(builder);
+	}
+
+	/**
+	 * withStringInterner returns options where nameInData, attribute values and other repeated
+	 * strings are interned using the entered interner instead of the shared interner, for example
+	 * an interner created using
+	 * {@link JsonToBasicClientDataStringInterner#usingWellKnownStringsAndMaxSize(int)} with a size
+	 * fitting the metadata of the converted records.
+	 */
+	public JsonToBasicClientDataConverterOptions withStringInterner(
+			JsonToBasicClientDataStringInterner stringInterner) {
+		Builder builder = new Builder(this);
+		builder.stringInterner = stringInterner;
+		return new JsonToBasicClientDataConverterOptions(builder);
+	}
+
+	Optional<Executor> getDataListExecutor() {
+		return Optional.ofNullable(dataListExecutor);
+	}
+
+	int getMinimumSizeForParallelDecoding() {
+		return minimumSizeForParallelDecoding;
+	}
+
+	boolean isTrusted() {
+		return trusted;
+	}
+
+	boolean usesShapeLearning() {
+		return shapeLearning;
+	}
+
+	Optional<JsonToBasicClientDataProjection> getProjection() {
+		return Optional.ofNullable(projection);
+	}
+
+	boolean usesLazyRecordParts() {
+		return lazyRecordParts;
+	}
+
+	Optional<JsonParser> getJsonParser() {
+		return Optional.ofNullable(jsonParser);
+	}
+
+	Optional<JsonToBasicClientDataStringInterner> getStringInterner() {
+		return Optional.ofNullable(stringInterner);
+	}
+
+	/**
+	 * Builder collects the values of new options, starting from the values of existing options.
+	 */
+	private static final class Builder {
+		private Executor dataListExecutor;
+		private int minimumSizeForParallelDecoding;
+		private boolean trusted;
+		private boolean shapeLearning;
+		private JsonToBasicClientDataProjection projection;
+		private boolean lazyRecordParts;
+		private JsonParser jsonParser;
+		private JsonToBasicClientDataStringInterner stringInterner;
+
+		private Builder() {
+		}
+
+		private Builder(JsonToBasicClientDataConverterOptions options) {
+			dataListExecutor = options.dataListExecutor;
+			minimumSizeForParallelDecoding = options.minimumSizeForParallelDecoding;
+			trusted = options.trusted;
+			shapeLearning = options.shapeLearning;
+			projection = options.projection;
+			lazyRecordParts = options.lazyRecordParts;
+			jsonParser = options.jsonParser;
+			stringInterner = options.stringInterner;
+		}
+	}
+}
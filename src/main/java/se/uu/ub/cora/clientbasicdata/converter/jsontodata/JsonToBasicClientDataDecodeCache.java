@@ -0,0 +1,198 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.converter.jsontodata;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import se.uu.ub.cora.clientbasicdata.data.BasicClientDataFreezable;
+import se.uu.ub.cora.clientdata.ClientConvertible;
+import se.uu.ub.cora.clientdata.converter.JsonToClientDataConverterFactory;
+
+/**
+ * JsonToBasicClientDataDecodeCache keeps converted client data by the json it was converted from,
+ * so that json seen before, such as the same metadata or recordType records fetched over and over,
+ * costs one hash of the json instead of a parse and a conversion.
+ * <p>
+ * Results are looked up by a 64 bit hash of the json bytes, and the bytes are compared before a
+ * cached result is returned, so a hash collision never returns data for other json. Cached results
+ * are frozen before they are cached, and the same instance is returned to every caller, which can
+ * read it from several threads at the same time, see {@link BasicClientDataFreezable}. Results that
+ * can not be frozen, such as a dataList, are converted every time and not cached.
+ * <p>
+ * The cache holds at most maxSize results, and evicts the least recently used result when full.
+ * It is thread safe. Json is converted outside the lock, so two threads missing on the same json
+ * at the same time may both convert it.
+ */
+public final class JsonToBasicClientDataDecodeCache {
+	private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class,
+			ByteOrder.LITTLE_ENDIAN);
+	private static final long SEED = 0x9E3779B97F4A7C15L;
+	private static final long MULTIPLIER = 0xC2B2AE3D27D4EB4FL;
+	private final JsonToBasicClientDataStreamDecoder decoder;
+	private final int maxSize;
+	private final Map<Long, CachedResult> results;
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	/**
+	 * usingConverterFactoryAndMaxSize creates a cache converting json using the entered factory
+	 * and holding at most maxSize results
+	 * 
+	 * @param converterFactory
+	 *            A JsonToClientDataConverterFactory used to convert json not in the cache
+	 * @param maxSize
+	 *            An int with the max number of results to hold, must be at least 1
+	 * @return A JsonToBasicClientDataDecodeCache
+	 */
+	public static JsonToBasicClientDataDecodeCache usingConverterFactoryAndMaxSize(
+			JsonToClientDataConverterFactory converterFactory, int maxSize) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("Max size must be at least 1, was: " + maxSize);
+		}
+		return new JsonToBasicClientDataDecodeCache(converterFactory, maxSize);
+	}
+
+	private JsonToBasicClientDataDecodeCache(JsonToClientDataConverterFactory converterFactory,
+			int maxSize) {
+		this.decoder = JsonToBasicClientDataStreamDecoder.usingConverterFactory(converterFactory);
+		this.maxSize = maxSize;
+		results = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	/**
+	 * decode returns the cached result for the entered json, or converts the json and possibly
+	 * caches the result
+	 * 
+	 * @param json
+	 *            A String with json
+	 * @return A ClientConvertible with the converted data, frozen if it can be frozen
+	 * @throws se.uu.ub.cora.json.parser.JsonParseException
+	 *             if the json can not be converted
+	 */
+	public ClientConvertible decode(String json) {
+		return decode(json.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * decode returns the cached result for the entered json, read as UTF-8, or converts the json
+	 * and possibly caches the result.
+	 * 
+	 * @param bytes
+	 *            A byte array with json
+	 * @return A ClientConvertible with the converted data, frozen if it can be frozen
+	 * @throws se.uu.ub.cora.json.parser.JsonParseException
+	 *             if the json can not be converted
+	 */
+	public ClientConvertible decode(byte[] bytes) {
+		long hash = hash(bytes);
+		ClientConvertible cached = getCachedResult(hash, bytes);
+		if (cached != null) {
+			return cached;
+		}
+		ClientConvertible converted = decoder.decode(bytes);
+		possiblyCache(hash, bytes, converted);
+		return converted;
+	}
+
+	private synchronized ClientConvertible getCachedResult(long hash, byte[] bytes) {
+		CachedResult cachedResult = results.get(hash);
+		if (cachedResult != null && Arrays.equals(cachedResult.bytes, bytes)) {
+			hits++;
+			return cachedResult.result;
+		}
+		misses++;
+		return null;
+	}
+
+	private void possiblyCache(long hash, byte[] bytes, ClientConvertible converted) {
+		if (converted instanceof BasicClientDataFreezable freezable) {
+			freezable.freeze();
+			cache(hash, new CachedResult(bytes.clone(), converted));
+		}
+	}
+
+	private synchronized void cache(long hash, CachedResult cachedResult) {
+		results.put(hash, cachedResult);
+		if (results.size() > maxSize) {
+			evictLeastRecentlyUsed();
+		}
+	}
+
+	private void evictLeastRecentlyUsed() {
+		Long eldest = results.keySet().iterator().next();
+		results.remove(eldest);
+		evictions++;
+	}
+
+	/**
+	 * getStatistics returns the number of hits, misses and evictions since the cache was created,
+	 * and the number of results currently held
+	 * 
+	 * @return A JsonToBasicClientDataDecodeCacheStatistics with the current statistics
+	 */
+	public synchronized JsonToBasicClientDataDecodeCacheStatistics getStatistics() {
+		return new JsonToBasicClientDataDecodeCacheStatistics(hits, misses, evictions,
+				results.size());
+	}
+
+	/**
+	 * clear removes all cached results, the statistics are kept
+	 */
+	public synchronized void clear() {
+		results.clear();
+	}
+
+	/**
+	 * hash reads the bytes eight at a time, the quality of the hash only affects how often a
+	 * collision makes json be converted again, never which result is returned.
+	 */
+	static long hash(byte[] bytes) {
+		long hash = SEED ^ bytes.length;
+		int index = 0;
+		for (; index + Long.BYTES <= bytes.length; index += Long.BYTES) {
+			hash = mix(hash ^ (long) LONGS.get(bytes, index));
+		}
+		for (; index < bytes.length; index++) {
+			hash = mix(hash ^ bytes[index]);
+		}
+		return finish(hash);
+	}
+
+	private static long mix(long hash) {
+		return Long.rotateLeft(hash * MULTIPLIER, 31) * SEED;
+	}
+
+	private static long finish(long hash) {
+		long finished = hash ^ (hash >>> 33);
+		finished *= 0xFF51AFD7ED558CCDL;
+		finished ^= finished >>> 33;
+		finished *= 0xC4CEB9FE1A85EC53L;
+		return finished ^ (finished >>> 33);
+	}
+
+	private record CachedResult(byte[] bytes, ClientConvertible result) {
+	}
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.converter.jsontodata;
+
+/**
+ * JsonToBasicClientDataDecodeCacheStatistics is a snapshot of the statistics of a
+ * {@link JsonToBasicClientDataDecodeCache}.
+ * 
+ * @param hits
+ *            The number of decodes answered from the cache
+ * @param misses
+ *            The number of decodes where the json was converted
+ * @param evictions
+ *            The number of results removed to keep the cache within its max size
+ * @param size
+ *            The number of results currently held by the cache
+ */
+public record JsonToBasicClientDataDecodeCacheStatistics(long hits, long misses, long evictions,
+		int size) {
+}
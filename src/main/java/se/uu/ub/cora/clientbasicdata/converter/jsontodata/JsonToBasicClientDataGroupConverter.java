@@ -25,6 +25,7 @@ import se.uu.ub.cora.clientbasicdata.data.BasicClientDataGroup;
 import se.uu.ub.cora.clientdata.ClientConvertible;
 import se.uu.ub.cora.clientdata.ClientDataChild;
 import se.uu.ub.cora.clientdata.converter.JsonToClientDataConverter;
+import se.uu.ub.cora.clientdata.converter.JsonToClientDataConverterFactory;
 import se.uu.ub.cora.json.parser.JsonArray;
 import se.uu.ub.cora.json.parser.JsonObject;
 import se.uu.ub.cora.json.parser.JsonParseException;
@@ -39,17 +40,63 @@ public class JsonToBasicClientDataGroupConverter implements JsonToClientDataConv
 	private static final int NUM_OF_ALLOWED_KEYS_AT_TOP_LEVEL = 4;
 	protected JsonObject jsonObject;
 	protected BasicClientDataGroup dataGroup;
+	protected boolean trusted;
+	private JsonToClientDataConverterFactory childConverterFactory;
+	private JsonToBasicClientDataStringInterner interner = JsonToBasicClientDataStringInterner
+			.getShared();
+	private JsonToBasicClientDataShapeCheck shapeCheck;
 
 	static JsonToBasicClientDataGroupConverter forJsonObject(JsonObject jsonObject) {
 		return new JsonToBasicClientDataGroupConverter(jsonObject);
 	}
 
+	/**
+	 * forTrustedJsonObject creates a converter that does not validate the json, see
+	 * {@link JsonToBasicClientDataConverterFactoryImp#usingTrustedMode()}. Children are converted
+	 * using the entered factory.
+	 */
+	static JsonToBasicClientDataGroupConverter forTrustedJsonObject(
+			JsonToClientDataConverterFactory childConverterFactory, JsonObject jsonObject) {
+		JsonToBasicClientDataGroupConverter converter = new JsonToBasicClientDataGroupConverter(
+				jsonObject);
+		converter.useTrustedMode(childConverterFactory);
+		return converter;
+	}
+
 	protected JsonToBasicClientDataGroupConverter(JsonObject jsonObject) {
 		this.jsonObject = jsonObject;
 	}
 
+	/**
+	 * useStringInterner makes the converter intern strings using the entered interner instead of
+	 * the shared interner.
+	 */
+	void useStringInterner(JsonToBasicClientDataStringInterner interner) {
+		this.interner = interner;
+	}
+
+	/**
+	 * useShapeCheck makes the converter feed the names of converted children to the entered shape
+	 * check, and stop converting children when the check finds another shape than predicted.
+	 */
+	void useShapeCheck(JsonToBasicClientDataShapeCheck shapeCheck) {
+		this.shapeCheck = shapeCheck;
+	}
+
+	void useTrustedMode(JsonToClientDataConverterFactory childConverterFactory) {
+		trusted = true;
+		this.childConverterFactory = childConverterFactory;
+	}
+
+	void useChildConverterFactory(JsonToClientDataConverterFactory childConverterFactory) {
+		this.childConverterFactory = childConverterFactory;
+	}
+
 	@Override
 	public ClientConvertible toInstance() {
+		if (trusted) {
+			return createDataGroupInstance();
+		}
 		try {
 			return tryToInstanciate();
 		} catch (Exception e) {
@@ -63,7 +110,7 @@ public class JsonToBasicClientDataGroupConverter implements JsonToClientDataConv
 	}
 
 	private String getNameInDataFromJsonObject() {
-		return jsonObject.getValueAsJsonString("name").getStringValue();
+		return interner.intern(jsonObject.getValueAsJsonString("name").getStringValue());
 	}
 
 	protected void validateOnlyCorrectKeysAtTopLevel() {
@@ -127,7 +174,8 @@ public class JsonToBasicClientDataGroupConverter implements JsonToClientDataConv
 
 	private void addRepeatIdToGroup() {
 		if (hasRepeatId()) {
-			dataGroup.setRepeatId(jsonObject.getValueAsJsonString("repeatId").getStringValue());
+			dataGroup.setRepeatId(
+					interner.intern(jsonObject.getValueAsJsonString("repeatId").getStringValue()));
 		}
 
 	}
@@ -149,7 +197,8 @@ public class JsonToBasicClientDataGroupConverter implements JsonToClientDataConv
 
 	private void addAttributeToGroup(Entry<String, JsonValue> attributeEntry) {
 		String value = ((JsonString) attributeEntry.getValue()).getStringValue();
-		dataGroup.addAttributeByIdWithValue(attributeEntry.getKey(), value);
+		dataGroup.addAttributeByIdWithValue(interner.intern(attributeEntry.getKey()),
+				interner.intern(value));
 	}
 
 	private boolean hasChildren() {
@@ -159,14 +208,30 @@ public class JsonToBasicClientDataGroupConverter implements JsonToClientDataConv
 	private void addChildrenToGroup() {
 		JsonArray children = jsonObject.getValueAsJsonArray(CHILDREN);
 		for (JsonValue child : children) {
-			addChildToGroup((JsonObject) child);
+			ClientDataChild convertedChild = addChildToGroup((JsonObject) child);
+			if (childDoesNotMatchPredictedShape(convertedChild)) {
+				return;
+			}
 		}
 	}
 
-	private void addChildToGroup(JsonObject child) {
-		JsonToBasicClientDataConverterFactoryImp jsonToDataConverterFactoryImp = new JsonToBasicClientDataConverterFactoryImp();
-		JsonToClientDataConverter childJsonToDataConverter = jsonToDataConverterFactoryImp
+	private ClientDataChild addChildToGroup(JsonObject child) {
+		JsonToClientDataConverter childJsonToDataConverter = getChildConverterFactory()
 				.factorUsingJsonObject(child);
-		dataGroup.addChild((ClientDataChild) childJsonToDataConverter.toInstance());
+		ClientDataChild convertedChild = (ClientDataChild) childJsonToDataConverter.toInstance();
+		dataGroup.addChild(convertedChild);
+		return convertedChild;
+	}
+
+	private boolean childDoesNotMatchPredictedShape(ClientDataChild convertedChild) {
+		return shapeCheck != null
+				&& !shapeCheck.addChildAndCheckPrediction(convertedChild.getNameInData());
+	}
+
+	private JsonToClientDataConverterFactory getChildConverterFactory() {
+		if (childConverterFactory == null) {
+			childConverterFactory = new JsonToBasicClientDataConverterFactoryImp();
+		}
+		return childConverterFactory;
 	}
 }
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.converter.jsontodata;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import se.uu.ub.cora.clientbasicdata.data.BasicClientDataRecordLazyParts;
+import se.uu.ub.cora.clientdata.ClientAction;
+import se.uu.ub.cora.clientdata.ClientActionLink;
+import se.uu.ub.cora.json.parser.JsonObject;
+import se.uu.ub.cora.json.parser.JsonParseException;
+import se.uu.ub.cora.json.parser.JsonString;
+import se.uu.ub.cora.json.parser.JsonValue;
+
+/**
+ * JsonToBasicClientDataLazyRecordParts keeps the json for actionLinks, permissions and
+ * otherProtocols of a record and decodes them when the record first asks for them, see
+ * {@link JsonToBasicClientDataConverterFactoryImp#usingLazyRecordParts()}. Only those three json
+ * objects are kept, so that the json for the data of the record can be collected once the record
+ * is converted.
+ * <p>
+ * To find the action link for an action, only the rel of each action link is read, the requested
+ * action link is then converted on its own. Errors are reported in the same way as when the record
+ * is converted.
+ */
+final class JsonToBasicClientDataLazyRecordParts implements BasicClientDataRecordLazyParts {
+	private static final String REL = "rel";
+	private final JsonToBasicClientDataActionLinkConverterFactory actionLinkConverterFactory;
+	private final JsonObject actionLinks;
+	private final JsonObject permissions;
+	private final JsonObject otherProtocols;
+	private JsonToBasicClientDataStringInterner interner = JsonToBasicClientDataStringInterner
+			.getShared();
+	private Map<ClientAction, JsonObject> actionLinksByAction;
+
+	/**
+	 * usingActionLinkConverterFactoryAndParts creates lazy parts for the entered json objects, a
+	 * part that is missing in the record is entered as null.
+	 */
+	static JsonToBasicClientDataLazyRecordParts usingActionLinkConverterFactoryAndParts(
+			JsonToBasicClientDataActionLinkConverterFactory actionLinkConverterFactory,
+			JsonObject actionLinks, JsonObject permissions, JsonObject otherProtocols) {
+		return new JsonToBasicClientDataLazyRecordParts(actionLinkConverterFactory, actionLinks,
+				permissions, otherProtocols);
+	}
+
+	private JsonToBasicClientDataLazyRecordParts(
+			JsonToBasicClientDataActionLinkConverterFactory actionLinkConverterFactory,
+			JsonObject actionLinks, JsonObject permissions, JsonObject otherProtocols) {
+		this.actionLinkConverterFactory = actionLinkConverterFactory;
+		this.actionLinks = actionLinks;
+		this.permissions = permissions;
+		this.otherProtocols = otherProtocols;
+	}
+
+	/**
+	 * useStringInterner makes the lazy parts intern permissions using the entered interner instead
+	 * of the shared interner.
+	 */
+	void useStringInterner(JsonToBasicClientDataStringInterner interner) {
+		this.interner = interner;
+	}
+
+	@Override
+	public Optional<ClientActionLink> decodeActionLink(ClientAction action) {
+		return decodeReportingErrors(() -> tryToDecodeActionLink(action));
+	}
+
+	private <T> T decodeReportingErrors(Supplier<T> decoder) {
+		try {
+			return decoder.get();
+		} catch (Exception e) {
+			throw new JsonParseException("Error parsing jsonRecord: " + e.getMessage(), e);
+		}
+	}
+
+	private Optional<ClientActionLink> tryToDecodeActionLink(ClientAction action) {
+		possiblyIndexActionLinks();
+		JsonObject actionLink = actionLinksByAction.get(action);
+		if (actionLink == null) {
+			return Optional.empty();
+		}
+		return Optional.of(convertActionLink(actionLink));
+	}
+
+	private ClientActionLink convertActionLink(JsonObject actionLink) {
+		return actionLinkConverterFactory.factor(actionLink).toInstance();
+	}
+
+	private void possiblyIndexActionLinks() {
+		if (actionLinksByAction == null) {
+			actionLinksByAction = indexActionLinks();
+		}
+	}
+
+	private Map<ClientAction, JsonObject> indexActionLinks() {
+		Map<ClientAction, JsonObject> index = new EnumMap<>(ClientAction.class);
+		if (actionLinks != null) {
+			for (Entry<String, JsonValue> actionLinkEntry : actionLinks.entrySet()) {
+				JsonObject actionLink = (JsonObject) actionLinkEntry.getValue();
+				index.put(readAction(actionLink), actionLink);
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * An action link without rel is converted, so that the error is the same as when the record is
+	 * converted.
+	 */
+	private ClientAction readAction(JsonObject actionLink) {
+		if (actionLink.containsKey(REL)) {
+			String rel = actionLink.getValueAsJsonString(REL).getStringValue();
+			return ClientAction.valueOf(rel.toUpperCase());
+		}
+		return convertActionLink(actionLink).getAction();
+	}
+
+	@Override
+	public Set<String> decodeReadPermissions() {
+		return decodeReportingErrors(() -> tryToDecodePermissions("read"));
+	}
+
+	@Override
+	public Set<String> decodeWritePermissions() {
+		return decodeReportingErrors(() -> tryToDecodePermissions("write"));
+	}
+
+	private Set<String> tryToDecodePermissions(String permissionType) {
+		if (permissions == null || !permissions.containsKey(permissionType)) {
+			return Collections.emptySet();
+		}
+		Set<String> decoded = new LinkedHashSet<>();
+		for (JsonValue value : permissions.getValueAsJsonArray(permissionType)) {
+			decoded.add(interner.intern(((JsonString) value).getStringValue()));
+		}
+		return decoded;
+	}
+
+	@Override
+	public Map<String, Map<String, String>> decodeProtocols() {
+		return decodeReportingErrors(this::tryToDecodeProtocols);
+	}
+
+	private Map<String, Map<String, String>> tryToDecodeProtocols() {
+		Map<String, Map<String, String>> protocols = new HashMap<>();
+		if (otherProtocols != null) {
+			for (Entry<String, JsonValue> protocolEntry : otherProtocols.entrySet()) {
+				protocols.put(protocolEntry.getKey(),
+						readProtocolProperties((JsonObject) protocolEntry.getValue()));
+			}
+		}
+		return protocols;
+	}
+
+	private Map<String, String> readProtocolProperties(JsonObject protocol) {
+		Map<String, String> properties = new HashMap<>();
+		for (Entry<String, JsonValue> property : protocol.entrySet()) {
+			properties.put(property.getKey(), ((JsonString) property.getValue()).getStringValue());
+		}
+		return properties;
+	}
+}
@@ -2,6 +2,11 @@ package se.uu.ub.cora.clientbasicdata.converter.jsontodata;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import se.uu.ub.cora.clientbasicdata.data.BasicClientDataList;
 import se.uu.ub.cora.clientdata.ClientConvertible;
@@ -16,19 +21,23 @@ import se.uu.ub.cora.json.parser.JsonValue;
 
 public class JsonToBasicClientDataListConverter implements JsonToClientDataConverter {
 
-	private static final String ERROR_DATALIST_MUST_EXISTS = "DataList must exist and must be an object.";
-	private static final String ERROR_DATALIST_NOT_ARRAY = "Data in Datalist is not an Array.";
+	static final String ERROR_DATALIST_MUST_EXISTS = "DataList must exist and must be an object.";
+	static final String ERROR_DATALIST_NOT_ARRAY = "Data in Datalist is not an Array.";
 	private static final int ALLOWED_KEYS_FISRT_LEVEL = 1;
-	private static final int ALLOWED_KEYS_SECOND_LEVEL = 5;
-	private static final String ERROR_DATALIST_ONLY_ONE_KEY = "DataList must have only one key: datalist";
-	private static final String ERROR_PARSING_GENERAL = "Error parsing json: ";
+	private static final int CHUNKS_PER_THREAD = 4;
+	static final int ALLOWED_KEYS_SECOND_LEVEL = 5;
+	static final String ERROR_DATALIST_ONLY_ONE_KEY = "DataList must have only one key: datalist";
+	static final String ERROR_PARSING_GENERAL = "Error parsing json: ";
 	private JsonToClientDataConverterFactory dataConverterFactory;
 	private JsonObject json;
 	private JsonObject jsonDataList;
-	private static final List<String> DATA_LIST_KEYS = List.of("fromNo", "data", "totalNo",
+	static final List<String> DATA_LIST_KEYS = List.of("fromNo", "data", "totalNo",
 			"containDataOfType", "toNo");
 	private JsonArray recordsArray;
 	private ClientDataList dataList;
+	private Executor executor;
+	private int minimumSizeForParallelDecoding;
+	private boolean trusted;
 
 	public JsonToBasicClientDataListConverter(JsonToClientDataConverterFactory dataConverterFactory,
 			JsonObject json) {
@@ -42,12 +51,69 @@ public class JsonToBasicClientDataListConverter implements JsonToClientDataConve
 
 	}
 
+	/**
+	 * usingDataConverterAndTrustedJsonObject creates a converter that does not validate the json,
+	 * see {@link JsonToBasicClientDataConverterFactoryImp#usingTrustedMode()}.
+	 */
+	static JsonToBasicClientDataListConverter usingDataConverterAndTrustedJsonObject(
+			JsonToClientDataConverterFactory dataConverterFactory, JsonObject json) {
+		JsonToBasicClientDataListConverter converter = new JsonToBasicClientDataListConverter(
+				dataConverterFactory, json);
+		converter.trusted = true;
+		return converter;
+	}
+
+	/**
+	 * usingDataConverterAndJsonObjectAndExecutor creates a converter that converts the records in
+	 * data in parallel on the entered executor, if data contains at least
+	 * minimumSizeForParallelDecoding records. Smaller lists are converted on the calling thread.
+	 * <p>
+	 * The records are split into four chunks for each thread that can convert records at the same
+	 * time, that is the parallelism of a ForkJoinPool or the maximum pool size of a
+	 * ThreadPoolExecutor, but no more threads than there are available processors.
+	 * <p>
+	 * The records are added to the dataList in the same order as in the json, and if more than one
+	 * record fails to convert, the error for the first failing record is thrown as it is, just as
+	 * when converting on the calling thread.
+	 */
+	public static JsonToBasicClientDataListConverter usingDataConverterAndJsonObjectAndExecutor(
+			JsonToClientDataConverterFactory dataConverterFactory, JsonObject json,
+			Executor executor, int minimumSizeForParallelDecoding) {
+		JsonToBasicClientDataListConverter converter = new JsonToBasicClientDataListConverter(
+				dataConverterFactory, json);
+		converter.useExecutorForDataListsOfMinimumSize(executor, minimumSizeForParallelDecoding);
+		return converter;
+	}
+
+	/**
+	 * useExecutorForDataListsOfMinimumSize makes the converter convert the records in data in
+	 * parallel, in the same way as a converter created using
+	 * {@link #usingDataConverterAndJsonObjectAndExecutor(JsonToClientDataConverterFactory, JsonObject, Executor, int)},
+	 * also when it is created for trusted json.
+	 */
+	void useExecutorForDataListsOfMinimumSize(Executor executor,
+			int minimumSizeForParallelDecoding) {
+		this.executor = executor;
+		this.minimumSizeForParallelDecoding = minimumSizeForParallelDecoding;
+	}
+
 	@Override
 	public ClientConvertible toInstance() {
-		tryToValidateJsonAndSetDataList();
+		if (trusted) {
+			setDataListFromTrustedJson();
+		} else {
+			tryToValidateJsonAndSetDataList();
+		}
 		return dataList;
 	}
 
+	private void setDataListFromTrustedJson() {
+		jsonDataList = json.getValueAsJsonObject("dataList");
+		createAndSetDataList();
+		recordsArray = jsonDataList.getValueAsJsonArray("data");
+		addDataRecords();
+	}
+
 	private void tryToValidateJsonAndSetDataList() {
 		try {
 			validateJsonAndSetDataList();
@@ -128,10 +194,123 @@ public class JsonToBasicClientDataListConverter implements JsonToClientDataConve
 	}
 
 	private void addDataRecords() {
+		if (shouldDecodeInParallel()) {
+			addDataRecordsConvertedInParallel(copyRecords());
+		} else {
+			for (JsonValue jsonValue : recordsArray) {
+				dataList.addData(convertRecord(jsonValue));
+			}
+		}
+	}
+
+	private boolean shouldDecodeInParallel() {
+		return executor != null && hasAtLeastNumberOfRecords(minimumSizeForParallelDecoding);
+	}
+
+	private boolean hasAtLeastNumberOfRecords(int numberOfRecords) {
+		int count = 0;
 		for (JsonValue jsonValue : recordsArray) {
-			JsonToClientDataConverter recordConverter = dataConverterFactory
-					.factorUsingJsonObject((JsonObject) jsonValue);
-			dataList.addData((ClientData) recordConverter.toInstance());
+			count++;
+			if (count >= numberOfRecords) {
+				return true;
+			}
+		}
+		return count >= numberOfRecords;
+	}
+
+	private List<JsonValue> copyRecords() {
+		List<JsonValue> records = new ArrayList<>();
+		recordsArray.forEach(records::add);
+		return records;
+	}
+
+	private ClientData convertRecord(JsonValue jsonValue) {
+		JsonToClientDataConverter recordConverter = dataConverterFactory
+				.factorUsingJsonObject((JsonObject) jsonValue);
+		return (ClientData) recordConverter.toInstance();
+	}
+
+	private void addDataRecordsConvertedInParallel(List<JsonValue> records) {
+		List<RecordChunk> chunks = splitIntoChunks(records);
+		CompletableFuture<?>[] futures = new CompletableFuture<?>[chunks.size()];
+		for (int i = 0; i < chunks.size(); i++) {
+			futures[i] = CompletableFuture.runAsync(chunks.get(i)::convert, executor);
+		}
+		waitForChunks(futures);
+		for (RecordChunk chunk : chunks) {
+			chunk.throwErrorIfConversionFailed();
+			chunk.converted.forEach(dataList::addData);
+		}
+	}
+
+	private void waitForChunks(CompletableFuture<?>[] futures) {
+		try {
+			CompletableFuture.allOf(futures).join();
+		} catch (CompletionException e) {
+			throw JsonToBasicClientDataListConverter.<RuntimeException> rethrow(e.getCause());
+		}
+	}
+
+	/**
+	 * rethrow throws the entered throwable as it is, also if it is a checked exception thrown by a
+	 * converter, so that an error from a chunk surfaces in the same way as when the records are
+	 * converted on the calling thread.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T extends Throwable> T rethrow(Throwable throwable) throws T {
+		throw (T) throwable;
+	}
+
+	private List<RecordChunk> splitIntoChunks(List<JsonValue> records) {
+		int numberOfChunks = getNumberOfThreads() * CHUNKS_PER_THREAD;
+		int chunkSize = Math.max(1, (records.size() + numberOfChunks - 1) / numberOfChunks);
+		List<RecordChunk> chunks = new ArrayList<>();
+		for (int start = 0; start < records.size(); start += chunkSize) {
+			int end = Math.min(start + chunkSize, records.size());
+			chunks.add(new RecordChunk(records.subList(start, end)));
+		}
+		return chunks;
+	}
+
+	private int getNumberOfThreads() {
+		int availableProcessors = Runtime.getRuntime().availableProcessors();
+		if (executor instanceof ForkJoinPool forkJoinPool) {
+			return Math.min(forkJoinPool.getParallelism(), availableProcessors);
+		}
+		if (executor instanceof ThreadPoolExecutor threadPoolExecutor) {
+			return Math.min(threadPoolExecutor.getMaximumPoolSize(), availableProcessors);
+		}
+		return availableProcessors;
+	}
+
+	/**
+	 * RecordChunk converts a consecutive part of the records in data. Conversion stops at the first
+	 * record that fails, and the error is kept so that it can be reported in record order once all
+	 * chunks are done.
+	 */
+	private final class RecordChunk {
+		private final List<JsonValue> records;
+		private final List<ClientData> converted = new ArrayList<>();
+		private Throwable error;
+
+		private RecordChunk(List<JsonValue> records) {
+			this.records = records;
+		}
+
+		private void convert() {
+			try {
+				for (JsonValue jsonValue : records) {
+					converted.add(convertRecord(jsonValue));
+				}
+			} catch (Throwable e) {
+				error = e;
+			}
+		}
+
+		private void throwErrorIfConversionFailed() {
+			if (error != null) {
+				throw JsonToBasicClientDataListConverter.<RuntimeException> rethrow(error);
+			}
 		}
 	}
 
@@ -175,4 +354,12 @@ public class JsonToBasicClientDataListConverter implements JsonToClientDataConve
 		return json;
 	}
 
+	public Executor onlyForTestGetExecutor() {
+		return executor;
+	}
+
+	public int onlyForTestGetMinimumSizeForParallelDecoding() {
+		return minimumSizeForParallelDecoding;
+	}
+
 }
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.converter.jsontodata;
+
+import static se.uu.ub.cora.clientbasicdata.converter.jsontodata.JsonToBasicClientDataListConverter.ALLOWED_KEYS_SECOND_LEVEL;
+import static se.uu.ub.cora.clientbasicdata.converter.jsontodata.JsonToBasicClientDataListConverter.DATA_LIST_KEYS;
+import static se.uu.ub.cora.clientbasicdata.converter.jsontodata.JsonToBasicClientDataListConverter.ERROR_DATALIST_MUST_EXISTS;
+import static se.uu.ub.cora.clientbasicdata.converter.jsontodata.JsonToBasicClientDataListConverter.ERROR_DATALIST_NOT_ARRAY;
+import static se.uu.ub.cora.clientbasicdata.converter.jsontodata.JsonToBasicClientDataListConverter.ERROR_DATALIST_ONLY_ONE_KEY;
+import static se.uu.ub.cora.clientbasicdata.converter.jsontodata.JsonToBasicClientDataListConverter.ERROR_PARSING_GENERAL;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import se.uu.ub.cora.clientdata.ClientData;
+import se.uu.ub.cora.json.parser.JsonParseException;
+
+/**
+ * JsonToBasicClientDataListIterator gives access to a json dataList while it is being read. The
+ * header of the dataList, totalNo, fromNo, toNo and containDataOfType, is read when the iterator is
+ * created, and the records in data are then read and converted one at a time as they are requested
+ * using {@link #next()} or {@link #stream()}.
+ * <p>
+ * Errors are reported as JsonParseExceptions with the same messages as when converting the dataList
+ * using {@link JsonToBasicClientDataListConverter}. Errors in the json after the last record, such
+ * as extra keys, are reported by the call to {@link #hasNext()} that reaches the end of data.
+ * <p>
+ * An iterator can own the source it reads from, such as the file channel used for a file too large
+ * to be memory mapped. The source is closed when the end of the dataList has been read, when
+ * reading the header fails, or when the iterator, or its stream, is closed, so the iterator should
+ * be used in a try-with-resources statement. Sources given by the caller are never closed.
+ * <p>
+ * JsonToBasicClientDataListIterator is not thread safe.
+ */
+public final class JsonToBasicClientDataListIterator
+		implements Iterator<ClientData>, AutoCloseable {
+	private static final String DATA_LIST = "dataList";
+	private static final String DATA = "data";
+	private static final String ERROR_DATA_BEFORE_HEADER = "Keys totalNo, fromNo, toNo and "
+			+ "containDataOfType must come before data when reading a dataList incrementally.";
+	private static final Closeable NOTHING_TO_CLOSE = () -> {
+	};
+
+	private final JsonToBasicClientDataStreamDecoder decoder;
+	private final JsonToBasicClientDataTokenReader tokenReader;
+	private final Closeable source;
+	private final Map<String, String> header = new HashMap<>();
+	private boolean nextIsRead;
+	private boolean hasNext;
+	private boolean endIsRead;
+
+	static JsonToBasicClientDataListIterator usingDecoderAndTokenReader(
+			JsonToBasicClientDataStreamDecoder decoder,
+			JsonToBasicClientDataTokenReader tokenReader) {
+		return new JsonToBasicClientDataListIterator(decoder, tokenReader, NOTHING_TO_CLOSE);
+	}
+
+	/**
+	 * usingDecoderAndTokenReaderOwningSource creates an iterator that closes the entered source,
+	 * that the token reader reads from, when it is done with it.
+	 */
+	static JsonToBasicClientDataListIterator usingDecoderAndTokenReaderOwningSource(
+			JsonToBasicClientDataStreamDecoder decoder,
+			JsonToBasicClientDataTokenReader tokenReader, Closeable source) {
+		return new JsonToBasicClientDataListIterator(decoder, tokenReader, source);
+	}
+
+	private JsonToBasicClientDataListIterator(JsonToBasicClientDataStreamDecoder decoder,
+			JsonToBasicClientDataTokenReader tokenReader, Closeable source) {
+		this.decoder = decoder;
+		this.tokenReader = tokenReader;
+		this.source = source;
+		tryToReadHeaderOrCloseSource();
+	}
+
+	private void tryToReadHeaderOrCloseSource() {
+		try {
+			tryToReadHeader();
+		} catch (RuntimeException e) {
+			closeSourceAfterError(e);
+			throw e;
+		}
+	}
+
+	private void closeSourceAfterError(RuntimeException error) {
+		try {
+			source.close();
+		} catch (IOException e) {
+			error.addSuppressed(e);
+		}
+	}
+
+	private void tryToReadHeader() {
+		try {
+			readToStartOfDataList();
+			readHeaderUntilData();
+			readStartOfData();
+		} catch (Exception e) {
+			throw createParseError(e);
+		}
+	}
+
+	private JsonParseException createParseError(Exception e) {
+		return new JsonParseException(ERROR_PARSING_GENERAL + e.getMessage(), e);
+	}
+
+	private void readToStartOfDataList() {
+		tokenReader.beginObject();
+		if (!tokenReader.hasNext() || !DATA_LIST.equals(tokenReader.nextKey())
+				|| tokenReader.peekValueStart() != '{') {
+			throw new JsonParseException(ERROR_DATALIST_MUST_EXISTS);
+		}
+		tokenReader.beginObject();
+	}
+
+	private void readHeaderUntilData() {
+		while (tokenReader.hasNext()) {
+			String key = tokenReader.nextKey();
+			if (DATA.equals(key)) {
+				throwErrorIfHeaderIsIncomplete();
+				return;
+			}
+			readHeaderValue(key);
+		}
+		throwErrorForMissingKeys();
+	}
+
+	private void readHeaderValue(String key) {
+		if (!DATA_LIST_KEYS.contains(key) || header.containsKey(key)) {
+			throw createNumberOfKeysError();
+		}
+		header.put(key, decoder.readStringValue(tokenReader, key));
+	}
+
+	private JsonParseException createNumberOfKeysError() {
+		return new JsonParseException(
+				"Datalist must have " + ALLOWED_KEYS_SECOND_LEVEL + " key childs.");
+	}
+
+	private void throwErrorIfHeaderIsIncomplete() {
+		if (header.size() != ALLOWED_KEYS_SECOND_LEVEL - 1) {
+			throw new JsonParseException(ERROR_DATA_BEFORE_HEADER);
+		}
+	}
+
+	private void throwErrorForMissingKeys() {
+		List<String> missingKeys = new ArrayList<>();
+		for (String key : DATA_LIST_KEYS) {
+			if (!header.containsKey(key)) {
+				missingKeys.add(key);
+			}
+		}
+		throw new JsonParseException(
+				"It must contains child with key: " + String.join(", ", missingKeys));
+	}
+
+	private void readStartOfData() {
+		if (tokenReader.peekValueStart() != '[') {
+			throw new JsonParseException(ERROR_DATALIST_NOT_ARRAY);
+		}
+		tokenReader.beginArray();
+	}
+
+	public String getContainDataOfType() {
+		return header.get("containDataOfType");
+	}
+
+	public String getTotalNumberOfTypeInStorage() {
+		return header.get("totalNo");
+	}
+
+	public String getFromNo() {
+		return header.get("fromNo");
+	}
+
+	public String getToNo() {
+		return header.get("toNo");
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (!nextIsRead) {
+			tryToReadIfThereIsANextRecord();
+		}
+		return hasNext;
+	}
+
+	private void tryToReadIfThereIsANextRecord() {
+		try {
+			readIfThereIsANextRecord();
+		} catch (Exception e) {
+			throw createParseError(e);
+		}
+	}
+
+	private void readIfThereIsANextRecord() {
+		hasNext = !endIsRead && tokenReader.hasNext();
+		nextIsRead = true;
+		if (!hasNext && !endIsRead) {
+			readEndOfDataList();
+			endIsRead = true;
+			close();
+		}
+	}
+
+	private void readEndOfDataList() {
+		tokenReader.endArray();
+		if (tokenReader.hasNext()) {
+			throw createNumberOfKeysError();
+		}
+		tokenReader.endObject();
+		if (tokenReader.hasNext()) {
+			throw new JsonParseException(ERROR_DATALIST_ONLY_ONE_KEY);
+		}
+		tokenReader.endObject();
+		tokenReader.expectEndOfInput();
+	}
+
+	/**
+	 * next reads and converts the next record in data.
+	 *
+	 * @return The converted record as ClientData
+	 * @throws NoSuchElementException
+	 *             if there are no more records
+	 * @throws JsonParseException
+	 *             if the record can not be read or converted
+	 */
+	@Override
+	public ClientData next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException("No more records in dataList.");
+		}
+		nextIsRead = false;
+		return tryToReadAndConvertRecord();
+	}
+
+	private ClientData tryToReadAndConvertRecord() {
+		try {
+			return decoder.convertRecord(tokenReader.readRawValue());
+		} catch (Exception e) {
+			throw createParseError(e);
+		}
+	}
+
+	/**
+	 * stream returns the remaining records in data as an ordered, sequential Stream, read and
+	 * converted as the stream is consumed.
+	 *
+	 * @return A Stream of the remaining records as ClientData
+	 */
+	public Stream<ClientData> stream() {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this,
+				Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(this::close);
+	}
+
+	/**
+	 * close closes the source of the iterator if the iterator owns it, and does nothing otherwise.
+	 * Closing an iterator more than once has no further effect.
+	 * 
+	 * @throws JsonParseException
+	 *             if the source can not be closed
+	 */
+	@Override
+	public void close() {
+		try {
+			source.close();
+		} catch (IOException e) {
+			throw new JsonParseException("Error reading json: " + e.getMessage(), e);
+		}
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.converter.jsontodata;
+
+import se.uu.ub.cora.clientbasicdata.converter.jsontodata.JsonToBasicClientDataShapePlan.Shape;
+import se.uu.ub.cora.clientdata.ClientConvertible;
+import se.uu.ub.cora.clientdata.converter.JsonToClientDataConverter;
+import se.uu.ub.cora.json.parser.JsonObject;
+
+/**
+ * JsonToBasicClientDataPredictedShapeConverter converts an element with children using the
+ * converter for a shape predicted by a {@link JsonToBasicClientDataShapePlan}, without first
+ * reading the names of the children from the json.
+ * <p>
+ * The prediction is checked while the children are converted, one name at a time without
+ * collecting them, and the conversion stops at the first child that does not match the prediction.
+ * If the element turns out to have another shape, it is converted again in the same way as without
+ * a plan, and the nameInData is marked as varying in the plan. If the conversion fails for an
+ * element that has the predicted shape, the json is invalid and the error is thrown without
+ * converting the element again, it is the same error as without a plan as the same converter is
+ * used. Invalid json for an element does therefore neither stop the shape of valid elements with the
+ * same nameInData from being predicted, nor make the work grow with the depth of the element.
+ */
+final class JsonToBasicClientDataPredictedShapeConverter implements JsonToClientDataConverter {
+	private final JsonToBasicClientDataConverterFactoryImp factory;
+	private final JsonToBasicClientDataShapePlan shapePlan;
+	private final String nameInData;
+	private final Shape predictedShape;
+	private final JsonObject json;
+
+	static JsonToBasicClientDataPredictedShapeConverter usingFactoryAndPlanAndPrediction(
+			JsonToBasicClientDataConverterFactoryImp factory,
+			JsonToBasicClientDataShapePlan shapePlan, String nameInData, Shape predictedShape,
+			JsonObject json) {
+		return new JsonToBasicClientDataPredictedShapeConverter(factory, shapePlan, nameInData,
+				predictedShape, json);
+	}
+
+	private JsonToBasicClientDataPredictedShapeConverter(
+			JsonToBasicClientDataConverterFactoryImp factory,
+			JsonToBasicClientDataShapePlan shapePlan, String nameInData, Shape predictedShape,
+			JsonObject json) {
+		this.factory = factory;
+		this.shapePlan = shapePlan;
+		this.nameInData = nameInData;
+		this.predictedShape = predictedShape;
+		this.json = json;
+	}
+
+	@Override
+	public ClientConvertible toInstance() {
+		JsonToBasicClientDataShapeCheck shapeCheck = JsonToBasicClientDataShapeCheck
+				.forPredictedShape(predictedShape);
+		ClientConvertible converted;
+		try {
+			converted = factory
+					.createConverterCheckingPredictedShape(predictedShape, json, shapeCheck)
+					.toInstance();
+		} catch (RuntimeException e) {
+			return convertAfterFailedConversion(e);
+		}
+		if (shapeCheck.hasPredictedShape()) {
+			return converted;
+		}
+		return convertUsingOtherShape(factory.classifyChildren(json));
+	}
+
+	private ClientConvertible convertAfterFailedConversion(RuntimeException exception) {
+		Shape shape = factory.classifyChildren(json);
+		if (shape == predictedShape) {
+			throw exception;
+		}
+		return convertUsingOtherShape(shape);
+	}
+
+	private ClientConvertible convertUsingOtherShape(Shape shape) {
+		shapePlan.markAsVarying(nameInData);
+		return factory.createConverterForShape(shape, json).toInstance();
+	}
+
+	Shape onlyForTestGetPredictedShape() {
+		return predictedShape;
+	}
+}
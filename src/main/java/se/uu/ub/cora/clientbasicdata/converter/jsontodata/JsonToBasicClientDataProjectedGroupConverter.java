@@ -0,0 +1,180 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.converter.jsontodata;
+
+import java.util.Map.Entry;
+import java.util.Optional;
+
+import se.uu.ub.cora.clientbasicdata.converter.jsontodata.JsonToBasicClientDataShapePlan.Shape;
+import se.uu.ub.cora.clientbasicdata.data.BasicClientDataGroup;
+import se.uu.ub.cora.clientbasicdata.data.BasicClientDataRecordGroup;
+import se.uu.ub.cora.clientdata.ClientConvertible;
+import se.uu.ub.cora.clientdata.ClientDataChild;
+import se.uu.ub.cora.clientdata.converter.JsonToClientDataConverter;
+import se.uu.ub.cora.json.parser.JsonObject;
+import se.uu.ub.cora.json.parser.JsonParseException;
+import se.uu.ub.cora.json.parser.JsonString;
+import se.uu.ub.cora.json.parser.JsonValue;
+
+/**
+ * JsonToBasicClientDataProjectedGroupConverter converts a group using a
+ * {@link JsonToBasicClientDataProjection}, only converting the children selected by the
+ * projection. Children not selected are skipped without being converted.
+ * <p>
+ * Selected children are converted whole using the factory, unless only parts of a child group are
+ * selected, in which case the child group is converted using this converter with the projection
+ * for the child.
+ * <p>
+ * The keys of each converted group are validated in the same way as by
+ * {@link JsonToBasicClientDataGroupConverter} and
+ * {@link JsonToBasicClientDataRecordGroupConverter}, unless the factory uses trusted mode.
+ * Children that are not selected are not validated.
+ */
+final class JsonToBasicClientDataProjectedGroupConverter implements JsonToClientDataConverter {
+	private static final String NAME = "name";
+	private static final String CHILDREN = "children";
+	private static final String ATTRIBUTES = "attributes";
+	private static final String REPEAT_ID = "repeatId";
+	private final JsonToBasicClientDataConverterFactoryImp factory;
+	private final JsonToBasicClientDataProjection projection;
+	private final JsonObject jsonObject;
+	private final boolean recordGroup;
+	private final JsonToBasicClientDataStringInterner interner;
+	private BasicClientDataGroup dataGroup;
+
+	/**
+	 * forRecordGroup creates a converter that converts the entered json to a
+	 * BasicClientDataRecordGroup.
+	 */
+	static JsonToBasicClientDataProjectedGroupConverter forRecordGroup(
+			JsonToBasicClientDataConverterFactoryImp factory,
+			JsonToBasicClientDataProjection projection, JsonObject jsonObject) {
+		return new JsonToBasicClientDataProjectedGroupConverter(factory, projection, jsonObject,
+				true);
+	}
+
+	/**
+	 * forGroup creates a converter that converts the entered json to a BasicClientDataGroup.
+	 */
+	static JsonToBasicClientDataProjectedGroupConverter forGroup(
+			JsonToBasicClientDataConverterFactoryImp factory,
+			JsonToBasicClientDataProjection projection, JsonObject jsonObject) {
+		return new JsonToBasicClientDataProjectedGroupConverter(factory, projection, jsonObject,
+				false);
+	}
+
+	private JsonToBasicClientDataProjectedGroupConverter(
+			JsonToBasicClientDataConverterFactoryImp factory,
+			JsonToBasicClientDataProjection projection, JsonObject jsonObject,
+			boolean recordGroup) {
+		this.factory = factory;
+		interner = factory.getStringInterner();
+		this.projection = projection;
+		this.jsonObject = jsonObject;
+		this.recordGroup = recordGroup;
+	}
+
+	@Override
+	public ClientConvertible toInstance() {
+		try {
+			return createDataGroupInstance();
+		} catch (Exception e) {
+			throw new JsonParseException("Error parsing jsonObject: " + e.getMessage(), e);
+		}
+	}
+
+	private ClientConvertible createDataGroupInstance() {
+		if (!factory.isTrusted()) {
+			validateOnlyCorrectKeysAtTopLevel();
+		}
+		createInstanceOfDataElement(interner.intern(getStringValue(jsonObject, NAME)));
+		possiblyAddRepeatId();
+		possiblyAddAttributes();
+		addSelectedChildren();
+		return dataGroup;
+	}
+
+	private void validateOnlyCorrectKeysAtTopLevel() {
+		if (recordGroup) {
+			JsonToBasicClientDataRecordGroupConverter.usingChildConverterFactory(factory, jsonObject)
+					.validateOnlyCorrectKeysAtTopLevel();
+		} else {
+			JsonToBasicClientDataGroupConverter.forJsonObject(jsonObject)
+					.validateOnlyCorrectKeysAtTopLevel();
+		}
+	}
+
+	private String getStringValue(JsonObject json, String key) {
+		return json.getValueAsJsonString(key).getStringValue();
+	}
+
+	private void createInstanceOfDataElement(String nameInData) {
+		if (recordGroup) {
+			dataGroup = BasicClientDataRecordGroup.withNameInData(nameInData);
+		} else {
+			dataGroup = BasicClientDataGroup.withNameInData(nameInData);
+		}
+	}
+
+	private void possiblyAddRepeatId() {
+		if (jsonObject.containsKey(REPEAT_ID)) {
+			dataGroup.setRepeatId(interner.intern(getStringValue(jsonObject, REPEAT_ID)));
+		}
+	}
+
+	private void possiblyAddAttributes() {
+		if (jsonObject.containsKey(ATTRIBUTES)) {
+			JsonObject attributes = jsonObject.getValueAsJsonObject(ATTRIBUTES);
+			for (Entry<String, JsonValue> attributeEntry : attributes.entrySet()) {
+				String value = ((JsonString) attributeEntry.getValue()).getStringValue();
+				dataGroup.addAttributeByIdWithValue(interner.intern(attributeEntry.getKey()),
+						interner.intern(value));
+			}
+		}
+	}
+
+	private void addSelectedChildren() {
+		for (JsonValue child : jsonObject.getValueAsJsonArray(CHILDREN)) {
+			possiblyAddChild((JsonObject) child);
+		}
+	}
+
+	private void possiblyAddChild(JsonObject child) {
+		Optional<JsonToBasicClientDataProjection> childProjection = projection
+				.getProjectionForChild(getStringValue(child, NAME));
+		if (childProjection.isPresent()) {
+			JsonToClientDataConverter converter = createChildConverter(childProjection.get(),
+					child);
+			dataGroup.addChild((ClientDataChild) converter.toInstance());
+		}
+	}
+
+	private JsonToClientDataConverter createChildConverter(
+			JsonToBasicClientDataProjection childProjection, JsonObject child) {
+		if (!childProjection.selectsAll() && isGroup(child)) {
+			return forGroup(factory, childProjection, child);
+		}
+		return factory.factorUsingJsonObject(child);
+	}
+
+	private boolean isGroup(JsonObject child) {
+		return child.containsKey(CHILDREN)
+				&& factory.classifyChildren(child) == Shape.GROUP;
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.converter.jsontodata;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * JsonToBasicClientDataProjection describes the parts of a record that should be converted from
+ * json, when only some parts of each record are needed, such as for list views.
+ * <p>
+ * A projection is created from paths, where each path is a number of names separated by /. Paths
+ * starting with actionLinks, permissions or otherProtocols select those parts of the record, for
+ * example actionLinks/read selects the read action link and permissions selects all permissions.
+ * All other paths select elements in the data of the record by nameInData, starting below the
+ * record group, for example recordInfo/id selects the id in recordInfo.
+ * <p>
+ * A selected element is converted with all its content. Groups on the way to a selected element
+ * are converted with their attributes and repeatId, but only with their selected children. As
+ * links, resource links and atomics are always converted whole, a path continuing below one of
+ * them, such as title/value for an atomic title, selects the whole element.
+ * <p>
+ * A JsonToBasicClientDataProjection is immutable and can be used from several threads.
+ */
+public final class JsonToBasicClientDataProjection {
+	private static final String PATH_SEPARATOR = "/";
+	private final Map<String, JsonToBasicClientDataProjection> selectedChildren = new HashMap<>();
+	private boolean selectsAll;
+
+	/**
+	 * usingPaths creates a projection selecting the entered paths.
+	 *
+	 * @param paths
+	 *            A Collection of paths, such as recordInfo/id or actionLinks/read
+	 * @return A JsonToBasicClientDataProjection selecting the paths
+	 * @throws IllegalArgumentException
+	 *             if a path is empty or contains an empty name
+	 */
+	public static JsonToBasicClientDataProjection usingPaths(Collection<String> paths) {
+		return new JsonToBasicClientDataProjection(paths);
+	}
+
+	public static JsonToBasicClientDataProjection usingPaths(String... paths) {
+		return usingPaths(List.of(paths));
+	}
+
+	private JsonToBasicClientDataProjection() {
+	}
+
+	private JsonToBasicClientDataProjection(Collection<String> paths) {
+		for (String path : paths) {
+			addPath(path);
+		}
+	}
+
+	private void addPath(String path) {
+		String[] names = path.split(PATH_SEPARATOR, -1);
+		JsonToBasicClientDataProjection current = this;
+		for (String name : names) {
+			throwErrorIfNameIsEmpty(path, name);
+			current = current.selectedChildren.computeIfAbsent(name,
+					key -> new JsonToBasicClientDataProjection());
+		}
+		current.selectsAll = true;
+	}
+
+	private void throwErrorIfNameIsEmpty(String path, String name) {
+		if (name.isEmpty()) {
+			throw new IllegalArgumentException("Invalid projection path: " + path);
+		}
+	}
+
+	/**
+	 * selectsAll returns true if everything below this part of the projection is selected.
+	 */
+	boolean selectsAll() {
+		return selectsAll;
+	}
+
+	/**
+	 * getProjectionForChild returns the projection for the child with the entered name, or an
+	 * empty Optional if the child is not selected.
+	 */
+	Optional<JsonToBasicClientDataProjection> getProjectionForChild(String name) {
+		if (selectsAll) {
+			return Optional.of(this);
+		}
+		return Optional.ofNullable(selectedChildren.get(name));
+	}
+
+	boolean selectsChild(String name) {
+		return selectsAll || selectedChildren.containsKey(name);
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2023 Uppsala University Library
+ * Copyright 2023, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -41,12 +41,18 @@ public class JsonToBasicClientDataRecordConverter implements JsonToClientDataCon
 
 	private static final String PERMISSIONS = "permissions";
 	private static final String ACTION_LINKS = "actionLinks";
+	private static final String OTHER_PROTOCOLS = "otherProtocols";
 	private static final int NUM_OF_ALLOWED_KEYS = 4;
 	private JsonObject json;
 	private JsonObject jsonRecord;
 	private JsonToClientDataConverterFactory factory;
 	private ClientDataRecord clientDataRecord;
 	private JsonToBasicClientDataActionLinkConverterFactory actionLinkConverterFactory;
+	private JsonToBasicClientDataConverterFactoryImp projectingFactory;
+	private JsonToBasicClientDataProjection projection;
+	private boolean lazyRecordParts;
+	private JsonToBasicClientDataStringInterner interner = JsonToBasicClientDataStringInterner
+			.getShared();
 
 	private JsonToBasicClientDataRecordConverter(JsonToClientDataConverterFactory factory,
 			JsonToBasicClientDataActionLinkConverterFactory actionLinkConverterFactory,
@@ -56,12 +62,44 @@ public class JsonToBasicClientDataRecordConverter implements JsonToClientDataCon
 		this.json = json;
 	}
 
+	/**
+	 * useStringInterner makes the converter intern strings using the entered interner instead of
+	 * the shared interner.
+	 */
+	void useStringInterner(JsonToBasicClientDataStringInterner interner) {
+		this.interner = interner;
+	}
+
 	public static JsonToBasicClientDataRecordConverter usingConverterFactoriesAndJsonObject(
 			JsonToClientDataFactories factories, JsonObject json) {
 		return new JsonToBasicClientDataRecordConverter(factories.dataConverterFactory(),
 				factories.actionLinkConverterFactory(), json);
 	}
 
+	/**
+	 * usingFactoriesAndJsonObjectAndProjection creates a converter that only converts the parts of
+	 * the record selected by the entered projection, see {@link JsonToBasicClientDataProjection}.
+	 */
+	static JsonToBasicClientDataRecordConverter usingFactoriesAndJsonObjectAndProjection(
+			JsonToBasicClientDataConverterFactoryImp factory,
+			JsonToBasicClientDataActionLinkConverterFactory actionLinkConverterFactory,
+			JsonObject json, JsonToBasicClientDataProjection projection) {
+		JsonToBasicClientDataRecordConverter converter = new JsonToBasicClientDataRecordConverter(
+				factory, actionLinkConverterFactory, json);
+		converter.projectingFactory = factory;
+		converter.projection = projection;
+		return converter;
+	}
+
+	/**
+	 * useLazyRecordParts makes the converter create a record that decodes its action links,
+	 * permissions and protocols when they are first used, see
+	 * {@link JsonToBasicClientDataConverterFactoryImp#usingLazyRecordParts()}.
+	 */
+	void useLazyRecordParts() {
+		lazyRecordParts = true;
+	}
+
 	@Override
 	public ClientConvertible toInstance() {
 		try {
@@ -78,6 +116,9 @@ public class JsonToBasicClientDataRecordConverter implements JsonToClientDataCon
 
 		ClientDataRecordGroup clientDataRecordGroup = convertDataRecordGroup();
 
+		if (lazyRecordParts) {
+			return createRecordWithLazyParts(clientDataRecordGroup);
+		}
 		clientDataRecord = BasicClientDataRecord.withDataRecordGroup(clientDataRecordGroup);
 		possiblyAddActionLinks();
 		possiblyAddPermissions();
@@ -85,6 +126,24 @@ public class JsonToBasicClientDataRecordConverter implements JsonToClientDataCon
 		return clientDataRecord;
 	}
 
+	private ClientDataRecord createRecordWithLazyParts(
+			ClientDataRecordGroup clientDataRecordGroup) {
+		JsonToBasicClientDataLazyRecordParts lazyParts = JsonToBasicClientDataLazyRecordParts
+				.usingActionLinkConverterFactoryAndParts(actionLinkConverterFactory,
+						getPartOrNull(ACTION_LINKS), getPartOrNull(PERMISSIONS),
+						getPartOrNull(OTHER_PROTOCOLS));
+		lazyParts.useStringInterner(interner);
+		return BasicClientDataRecord.withDataRecordGroupAndLazyParts(clientDataRecordGroup,
+				lazyParts);
+	}
+
+	private JsonObject getPartOrNull(String part) {
+		if (jsonRecord.containsKey(part)) {
+			return jsonRecord.getValueAsJsonObject(part);
+		}
+		return null;
+	}
+
 	private void validateOnlyRecordKeyAtTopLevel() {
 		if (!json.containsKey("record")) {
 			throw new JsonParseException("Record data must contain key: record");
@@ -117,19 +176,42 @@ public class JsonToBasicClientDataRecordConverter implements JsonToClientDataCon
 
 	private ClientDataRecordGroup convertDataRecordGroup() {
 		JsonObject jsonDataObject = jsonRecord.getValueAsJsonObject("data");
-		JsonToClientDataConverter converter = factory.factorUsingJsonObject(jsonDataObject);
+		JsonToClientDataConverter converter = createDataRecordGroupConverter(jsonDataObject);
 		return (ClientDataRecordGroup) converter.toInstance();
 	}
 
+	private JsonToClientDataConverter createDataRecordGroupConverter(JsonObject jsonDataObject) {
+		if (projection != null) {
+			return JsonToBasicClientDataProjectedGroupConverter.forRecordGroup(projectingFactory,
+					projection, jsonDataObject);
+		}
+		return factory.factorUsingJsonObject(jsonDataObject);
+	}
+
+	private boolean isSelected(String part) {
+		return projection == null || projection.selectsChild(part);
+	}
+
+	private boolean isSelected(String part, String name) {
+		return projection == null || projection.getProjectionForChild(part)
+				.map(partProjection -> partProjection.selectsChild(name)).orElse(false);
+	}
+
 	private void possiblyAddActionLinks() {
-		if (jsonRecord.containsKey(ACTION_LINKS)) {
+		if (jsonRecord.containsKey(ACTION_LINKS) && isSelected(ACTION_LINKS)) {
 			JsonObject actionLinks = jsonRecord.getValueAsJsonObject(ACTION_LINKS);
 			for (Map.Entry<String, JsonValue> actionLinkEntry : actionLinks.entrySet()) {
-				convertAndAddActionLink(actionLinkEntry);
+				possiblyConvertAndAddActionLink(actionLinkEntry);
 			}
 		}
 	}
 
+	private void possiblyConvertAndAddActionLink(Map.Entry<String, JsonValue> actionLinkEntry) {
+		if (isSelected(ACTION_LINKS, actionLinkEntry.getKey())) {
+			convertAndAddActionLink(actionLinkEntry);
+		}
+	}
+
 	private void convertAndAddActionLink(Map.Entry<String, JsonValue> actionLinkEntry) {
 		JsonToBasicClientDataActionLinkConverter actionLinkConverter = actionLinkConverterFactory
 				.factor((JsonObject) actionLinkEntry.getValue());
@@ -138,7 +220,7 @@ public class JsonToBasicClientDataRecordConverter implements JsonToClientDataCon
 	}
 
 	private void possiblyAddPermissions() {
-		if (jsonRecord.containsKey(PERMISSIONS)) {
+		if (jsonRecord.containsKey(PERMISSIONS) && isSelected(PERMISSIONS)) {
 			JsonObject permissions = jsonRecord.getValueAsJsonObject(PERMISSIONS);
 			possiblyAddReadPermissions(permissions);
 			possiblyAddWritePermissions(permissions);
@@ -146,7 +228,7 @@ public class JsonToBasicClientDataRecordConverter implements JsonToClientDataCon
 	}
 
 	private void possiblyAddWritePermissions(JsonObject permissions) {
-		if (permissions.containsKey("write")) {
+		if (permissions.containsKey("write") && isSelected(PERMISSIONS, "write")) {
 			JsonArray writePermissions = permissions.getValueAsJsonArray("write");
 			addWritePermissions(writePermissions);
 		}
@@ -160,7 +242,7 @@ public class JsonToBasicClientDataRecordConverter implements JsonToClientDataCon
 	}
 
 	private void possiblyAddReadPermissions(JsonObject permissions) {
-		if (permissions.containsKey("read")) {
+		if (permissions.containsKey("read") && isSelected(PERMISSIONS, "read")) {
 			JsonArray readPermissions = permissions.getValueAsJsonArray("read");
 			addReadPermissions(readPermissions);
 		}
@@ -174,19 +256,25 @@ public class JsonToBasicClientDataRecordConverter implements JsonToClientDataCon
 	}
 
 	private String getJsonValueAsString(JsonString value) {
-		return value.getStringValue();
+		return interner.intern(value.getStringValue());
 	}
 
 	private void possiblyOtherProtocols() {
-		if (jsonRecord.containsKey("otherProtocols")) {
-			JsonObject otherProtocols = jsonRecord.getValueAsJsonObject("otherProtocols");
+		if (jsonRecord.containsKey(OTHER_PROTOCOLS) && isSelected(OTHER_PROTOCOLS)) {
+			JsonObject otherProtocols = jsonRecord.getValueAsJsonObject(OTHER_PROTOCOLS);
 			for (Entry<String, JsonValue> protocolEntry : otherProtocols.entrySet()) {
-				addProtocolToDataRecord(protocolEntry);
+				possiblyAddProtocolToDataRecord(protocolEntry);
 			}
 		}
 
 	}
 
+	private void possiblyAddProtocolToDataRecord(Entry<String, JsonValue> protocolEntry) {
+		if (isSelected(OTHER_PROTOCOLS, protocolEntry.getKey())) {
+			addProtocolToDataRecord(protocolEntry);
+		}
+	}
+
 	private void addProtocolToDataRecord(Entry<String, JsonValue> protocolEntry) {
 		Map<String, String> properites = readProtocolProperties(protocolEntry);
 		clientDataRecord.putProtocol(protocolEntry.getKey(), properites);
@@ -6,6 +6,7 @@ import se.uu.ub.cora.clientbasicdata.data.BasicClientDataRecordGroup;
 import se.uu.ub.cora.clientdata.ClientConvertible;
 import se.uu.ub.cora.clientdata.ClientDataChild;
 import se.uu.ub.cora.clientdata.converter.JsonToClientDataConverter;
+import se.uu.ub.cora.clientdata.converter.JsonToClientDataConverterFactory;
 import se.uu.ub.cora.json.parser.JsonArray;
 import se.uu.ub.cora.json.parser.JsonObject;
 import se.uu.ub.cora.json.parser.JsonParseException;
@@ -18,18 +19,65 @@ public class JsonToBasicClientDataRecordGroupConverter implements JsonToClientDa
 	private static final String ATTRIBUTES = "attributes";
 	private static final int NUM_OF_ALLOWED_KEYS_AT_TOP_LEVEL = 3;
 	protected BasicClientDataRecordGroup dataGroup;
+	private boolean trusted;
+	private JsonToClientDataConverterFactory childConverterFactory;
 	private JsonObject jsonObject;
+	private JsonToBasicClientDataStringInterner interner = JsonToBasicClientDataStringInterner
+			.getShared();
+	private JsonToBasicClientDataShapeCheck shapeCheck;
 
 	static JsonToClientDataConverter forJsonObject(JsonObject jsonObject) {
 		return new JsonToBasicClientDataRecordGroupConverter(jsonObject);
 	}
 
+	/**
+	 * forTrustedJsonObject creates a converter that does not validate the json, see
+	 * {@link JsonToBasicClientDataConverterFactoryImp#usingTrustedMode()}. Children are converted
+	 * using the entered factory.
+	 */
+	static JsonToBasicClientDataRecordGroupConverter forTrustedJsonObject(
+			JsonToClientDataConverterFactory childConverterFactory, JsonObject jsonObject) {
+		JsonToBasicClientDataRecordGroupConverter converter = new JsonToBasicClientDataRecordGroupConverter(
+				jsonObject);
+		converter.trusted = true;
+		converter.childConverterFactory = childConverterFactory;
+		return converter;
+	}
+
+	static JsonToBasicClientDataRecordGroupConverter usingChildConverterFactory(
+			JsonToClientDataConverterFactory childConverterFactory, JsonObject jsonObject) {
+		JsonToBasicClientDataRecordGroupConverter converter = new JsonToBasicClientDataRecordGroupConverter(
+				jsonObject);
+		converter.childConverterFactory = childConverterFactory;
+		return converter;
+	}
+
 	private JsonToBasicClientDataRecordGroupConverter(JsonObject jsonObject) {
 		this.jsonObject = jsonObject;
 	}
 
+	/**
+	 * useStringInterner makes the converter intern strings using the entered interner instead of
+	 * the shared interner.
+	 */
+	void useStringInterner(JsonToBasicClientDataStringInterner interner) {
+		this.interner = interner;
+	}
+
+	/**
+	 * useShapeCheck makes the converter feed the names of converted children to the entered shape
+	 * check, and stop converting children when the check finds that the element is not a record
+	 * group.
+	 */
+	void useShapeCheck(JsonToBasicClientDataShapeCheck shapeCheck) {
+		this.shapeCheck = shapeCheck;
+	}
+
 	@Override
 	public ClientConvertible toInstance() {
+		if (trusted) {
+			return createDataGroupInstance();
+		}
 		try {
 			return tryToInstanciate();
 		} catch (Exception e) {
@@ -43,7 +91,7 @@ public class JsonToBasicClientDataRecordGroupConverter implements JsonToClientDa
 	}
 
 	private String getNameInDataFromJsonObject() {
-		return jsonObject.getValueAsJsonString("name").getStringValue();
+		return interner.intern(jsonObject.getValueAsJsonString("name").getStringValue());
 	}
 
 	protected void validateOnlyCorrectKeysAtTopLevel() {
@@ -106,7 +154,8 @@ public class JsonToBasicClientDataRecordGroupConverter implements JsonToClientDa
 
 	private void addAttributeToGroup(Entry<String, JsonValue> attributeEntry) {
 		String value = ((JsonString) attributeEntry.getValue()).getStringValue();
-		dataGroup.addAttributeByIdWithValue(attributeEntry.getKey(), value);
+		dataGroup.addAttributeByIdWithValue(interner.intern(attributeEntry.getKey()),
+				interner.intern(value));
 	}
 
 	private boolean hasChildren() {
@@ -116,15 +165,31 @@ public class JsonToBasicClientDataRecordGroupConverter implements JsonToClientDa
 	private void addChildrenToGroup() {
 		JsonArray children = jsonObject.getValueAsJsonArray(CHILDREN);
 		for (JsonValue child : children) {
-			addChildToGroup((JsonObject) child);
+			ClientDataChild convertedChild = addChildToGroup((JsonObject) child);
+			if (childDoesNotMatchPredictedShape(convertedChild)) {
+				return;
+			}
 		}
 	}
 
-	private void addChildToGroup(JsonObject child) {
-		JsonToBasicClientDataConverterFactoryImp jsonToDataConverterFactoryImp = new JsonToBasicClientDataConverterFactoryImp();
-		JsonToClientDataConverter childJsonToDataConverter = jsonToDataConverterFactoryImp
+	private ClientDataChild addChildToGroup(JsonObject child) {
+		JsonToClientDataConverter childJsonToDataConverter = getChildConverterFactory()
 				.factorUsingJsonObject(child);
-		dataGroup.addChild((ClientDataChild) childJsonToDataConverter.toInstance());
+		ClientDataChild convertedChild = (ClientDataChild) childJsonToDataConverter.toInstance();
+		dataGroup.addChild(convertedChild);
+		return convertedChild;
+	}
+
+	private boolean childDoesNotMatchPredictedShape(ClientDataChild convertedChild) {
+		return shapeCheck != null
+				&& !shapeCheck.addChildAndCheckPrediction(convertedChild.getNameInData());
+	}
+
+	private JsonToClientDataConverterFactory getChildConverterFactory() {
+		if (childConverterFactory == null) {
+			childConverterFactory = new JsonToBasicClientDataConverterFactoryImp();
+		}
+		return childConverterFactory;
 	}
 
 }
@@ -25,6 +25,7 @@ import se.uu.ub.cora.clientdata.ClientActionLink;
 import se.uu.ub.cora.clientdata.ClientConvertible;
 import se.uu.ub.cora.clientdata.ClientDataGroup;
 import se.uu.ub.cora.clientdata.converter.JsonToClientDataConverter;
+import se.uu.ub.cora.clientdata.converter.JsonToClientDataConverterFactory;
 import se.uu.ub.cora.json.parser.JsonObject;
 import se.uu.ub.cora.json.parser.JsonParseException;
 import se.uu.ub.cora.json.parser.JsonValue;
@@ -48,6 +49,20 @@ public class JsonToBasicClientDataRecordLinkConverter extends JsonToBasicClientD
 		return new JsonToBasicClientDataRecordLinkConverter(actionLinkConverterFactory, jsonObject);
 	}
 
+	/**
+	 * forTrustedJsonObject creates a converter that does not validate the json, see
+	 * {@link JsonToBasicClientDataConverterFactoryImp#usingTrustedMode()}. Children are converted
+	 * using the entered childConverterFactory.
+	 */
+	static JsonToBasicClientDataRecordLinkConverter forTrustedJsonObject(
+			JsonToBasicClientDataActionLinkConverterFactory actionLinkConverterFactory,
+			JsonToClientDataConverterFactory childConverterFactory, JsonObject jsonObject) {
+		JsonToBasicClientDataRecordLinkConverter converter = new JsonToBasicClientDataRecordLinkConverter(
+				actionLinkConverterFactory, jsonObject);
+		converter.useTrustedMode(childConverterFactory);
+		return converter;
+	}
+
 	private JsonToBasicClientDataRecordLinkConverter(
 			JsonToBasicClientDataActionLinkConverterFactory actionLinkConverterFactory,
 			JsonObject jsonObject) {
@@ -58,7 +73,9 @@ public class JsonToBasicClientDataRecordLinkConverter extends JsonToBasicClientD
 	@Override
 	public ClientConvertible toInstance() {
 		recordLink = (BasicClientDataRecordLink) super.toInstance();
-		throwErrorIfLinkChildrenAreIncorrect();
+		if (!trusted) {
+			throwErrorIfLinkChildrenAreIncorrect();
+		}
 		possiblyAddActionLinks();
 		return recordLink;
 	}
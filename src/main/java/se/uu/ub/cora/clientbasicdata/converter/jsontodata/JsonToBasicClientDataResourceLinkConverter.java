@@ -50,6 +50,9 @@ public class JsonToBasicClientDataResourceLinkConverter implements JsonToClientD
 			+ "contain name,children[linkedRecordType,linkedRecordId,mimeType] and repeatId.";
 	private JsonObject resourceLinkAsJson;
 	private JsonToBasicClientDataActionLinkConverterFactory actionLinkConverterFactory;
+	private JsonToBasicClientDataStringInterner interner = JsonToBasicClientDataStringInterner
+			.getShared();
+	private JsonToBasicClientDataShapeCheck shapeCheck;
 
 	public static JsonToBasicClientDataResourceLinkConverter usingActionLinkConverterFactoryforJsonObject(
 			JsonToBasicClientDataActionLinkConverterFactory actionLinkConverterFactory,
@@ -65,6 +68,22 @@ public class JsonToBasicClientDataResourceLinkConverter implements JsonToClientD
 		this.resourceLinkAsJson = resourceLinkAsJson;
 	}
 
+	/**
+	 * useStringInterner makes the converter intern strings using the entered interner instead of
+	 * the shared interner.
+	 */
+	void useStringInterner(JsonToBasicClientDataStringInterner interner) {
+		this.interner = interner;
+	}
+
+	/**
+	 * useShapeCheck makes the converter feed the names of the children to the entered shape check,
+	 * and stop reading children when the check finds that the element is not a resource link.
+	 */
+	void useShapeCheck(JsonToBasicClientDataShapeCheck shapeCheck) {
+		this.shapeCheck = shapeCheck;
+	}
+
 	@Override
 	public ClientConvertible toInstance() {
 		Map<String, String> fields = validateJsonAndCollectFields();
@@ -164,14 +183,21 @@ public class JsonToBasicClientDataResourceLinkConverter implements JsonToClientD
 			String name = getValueAsStringFromJsonObject(childrenObject, NAME);
 			String value = getValueAsStringFromJsonObject(childrenObject, VALUE);
 			childrenFields.put(name, value);
+			if (childDoesNotMatchPredictedShape(name)) {
+				return childrenFields;
+			}
 		}
 		return childrenFields;
 	}
 
+	private boolean childDoesNotMatchPredictedShape(String childName) {
+		return shapeCheck != null && !shapeCheck.addChildAndCheckPrediction(childName);
+	}
+
 	private BasicClientDataResourceLink createResourceLink(Map<String, String> fields) {
 		var resourceLink = BasicClientDataResourceLink.withNameInDataAndTypeAndIdAndMimeType(
-				fields.get(NAME), fields.get(LINKED_RECORD_TYPE), fields.get(LINKED_RECORD_ID),
-				fields.get(MIME_TYPE));
+				interner.intern(fields.get(NAME)), interner.intern(fields.get(LINKED_RECORD_TYPE)),
+				fields.get(LINKED_RECORD_ID), interner.intern(fields.get(MIME_TYPE)));
 		possiblyAddRepeatIdToResourceLink(fields, resourceLink);
 		return resourceLink;
 	}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.converter.jsontodata;
+
+import se.uu.ub.cora.clientbasicdata.converter.jsontodata.JsonToBasicClientDataShapePlan.Shape;
+
+/**
+ * JsonToBasicClientDataShapeCheck determines the shape of an element with children from the names
+ * of its children, one name at a time without collecting them.
+ * <p>
+ * A check created for a predicted shape is fed the names of the children as they are converted,
+ * and reports as soon as a child makes the predicted shape impossible, so that the converter can
+ * stop converting children of an element that will be converted again using another shape.
+ */
+final class JsonToBasicClientDataShapeCheck {
+	private static final int NUM_OF_RESOURCELINK_CHILDREN = 3;
+	private static final int RECORD_INFO = 1;
+	private static final int LINKED_RECORD_TYPE = 2;
+	private static final int LINKED_RECORD_ID = 4;
+	private static final int MIME_TYPE = 8;
+	private static final int RECORD_LINK_CHILDREN = LINKED_RECORD_TYPE | LINKED_RECORD_ID;
+	private static final int RESOURCE_LINK_CHILDREN = RECORD_LINK_CHILDREN | MIME_TYPE;
+	private final Shape predictedShape;
+	private int foundChildren;
+	private int numberOfChildren;
+	private boolean mismatch;
+
+	static JsonToBasicClientDataShapeCheck forClassification() {
+		return new JsonToBasicClientDataShapeCheck(null);
+	}
+
+	static JsonToBasicClientDataShapeCheck forPredictedShape(Shape predictedShape) {
+		return new JsonToBasicClientDataShapeCheck(predictedShape);
+	}
+
+	private JsonToBasicClientDataShapeCheck(Shape predictedShape) {
+		this.predictedShape = predictedShape;
+	}
+
+	void addChild(String childNameInData) {
+		foundChildren |= flagForChild(childNameInData);
+		numberOfChildren++;
+	}
+
+	/**
+	 * addChildAndCheckPrediction adds the name of a converted child and returns false as soon as
+	 * the element can no longer have the predicted shape, no matter what children follow.
+	 */
+	boolean addChildAndCheckPrediction(String childNameInData) {
+		addChild(childNameInData);
+		if (!mismatch && canNotHavePredictedShape()) {
+			mismatch = true;
+		}
+		return !mismatch;
+	}
+
+	private int flagForChild(String childName) {
+		return switch (childName) {
+			case "recordInfo" -> RECORD_INFO;
+			case "linkedRecordType" -> LINKED_RECORD_TYPE;
+			case "linkedRecordId" -> LINKED_RECORD_ID;
+			case "mimeType" -> MIME_TYPE;
+			default -> 0;
+		};
+	}
+
+	private boolean canNotHavePredictedShape() {
+		if (isRecordGroup()) {
+			return predictedShape != Shape.RECORD_GROUP;
+		}
+		return switch (predictedShape) {
+			case GROUP -> isRecordLink();
+			case RESOURCE_LINK -> numberOfChildren > NUM_OF_RESOURCELINK_CHILDREN;
+			default -> false;
+		};
+	}
+
+	/**
+	 * hasMismatch returns true if a child added using
+	 * {@link #addChildAndCheckPrediction(String)} made the predicted shape impossible.
+	 */
+	boolean hasMismatch() {
+		return mismatch;
+	}
+
+	boolean hasPredictedShape() {
+		return !mismatch && getShape() == predictedShape;
+	}
+
+	Shape getShape() {
+		if (isRecordGroup()) {
+			return Shape.RECORD_GROUP;
+		}
+		if (isResourceLink()) {
+			return Shape.RESOURCE_LINK;
+		}
+		if (isRecordLink()) {
+			return Shape.RECORD_LINK;
+		}
+		return Shape.GROUP;
+	}
+
+	private boolean isRecordGroup() {
+		return (foundChildren & RECORD_INFO) != 0;
+	}
+
+	private boolean isResourceLink() {
+		return numberOfChildren == NUM_OF_RESOURCELINK_CHILDREN
+				&& hasAllChildren(RESOURCE_LINK_CHILDREN);
+	}
+
+	private boolean isRecordLink() {
+		return hasAllChildren(RECORD_LINK_CHILDREN);
+	}
+
+	private boolean hasAllChildren(int requiredChildren) {
+		return (foundChildren & requiredChildren) == requiredChildren;
+	}
+}
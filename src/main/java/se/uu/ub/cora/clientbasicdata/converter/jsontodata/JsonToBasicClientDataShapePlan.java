@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.converter.jsontodata;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JsonToBasicClientDataShapePlan keeps the shapes learned for elements with children, by
+ * nameInData, so that the shape of an element seen before can be predicted without first reading
+ * the names of its children.
+ * <p>
+ * A nameInData seen with more than one shape is marked as varying, and is from then on never
+ * predicted. The plan is thread safe and bounded in the same way as
+ * {@link JsonToBasicClientDataStringInterner}, when maxSize names are stored no more shapes are
+ * learned.
+ */
+final class JsonToBasicClientDataShapePlan {
+	private static final int DEFAULT_MAX_SIZE = 10_000;
+
+	enum Shape {
+		RECORD_GROUP, RESOURCE_LINK, RECORD_LINK, GROUP, VARYING
+	}
+
+	private final Map<String, Shape> shapesByNameInData = new ConcurrentHashMap<>();
+	private final int maxSize;
+
+	static JsonToBasicClientDataShapePlan usingDefaultMaxSize() {
+		return new JsonToBasicClientDataShapePlan(DEFAULT_MAX_SIZE);
+	}
+
+	static JsonToBasicClientDataShapePlan usingMaxSize(int maxSize) {
+		return new JsonToBasicClientDataShapePlan(maxSize);
+	}
+
+	private JsonToBasicClientDataShapePlan(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	Optional<Shape> getPredictedShape(String nameInData) {
+		Shape shape = shapesByNameInData.get(nameInData);
+		if (shape == null || shape == Shape.VARYING) {
+			return Optional.empty();
+		}
+		return Optional.of(shape);
+	}
+
+	void learn(String nameInData, Shape shape) {
+		Shape learned = shapesByNameInData.get(nameInData);
+		if (learned == null) {
+			possiblyStore(nameInData, shape);
+		} else if (learned != shape) {
+			markAsVarying(nameInData);
+		}
+	}
+
+	private void possiblyStore(String nameInData, Shape shape) {
+		if (shapesByNameInData.size() < maxSize) {
+			Shape previous = shapesByNameInData.putIfAbsent(nameInData, shape);
+			if (previous != null && previous != shape) {
+				markAsVarying(nameInData);
+			}
+		}
+	}
+
+	void markAsVarying(String nameInData) {
+		shapesByNameInData.put(nameInData, Shape.VARYING);
+	}
+
+	int size() {
+		return shapesByNameInData.size();
+	}
+}
@@ -0,0 +1,505 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.converter.jsontodata;
+
+import static se.uu.ub.cora.clientbasicdata.converter.jsontodata.JsonToBasicClientDataListConverter.ALLOWED_KEYS_SECOND_LEVEL;
+import static se.uu.ub.cora.clientbasicdata.converter.jsontodata.JsonToBasicClientDataListConverter.DATA_LIST_KEYS;
+import static se.uu.ub.cora.clientbasicdata.converter.jsontodata.JsonToBasicClientDataListConverter.ERROR_DATALIST_MUST_EXISTS;
+import static se.uu.ub.cora.clientbasicdata.converter.jsontodata.JsonToBasicClientDataListConverter.ERROR_DATALIST_NOT_ARRAY;
+import static se.uu.ub.cora.clientbasicdata.converter.jsontodata.JsonToBasicClientDataListConverter.ERROR_DATALIST_ONLY_ONE_KEY;
+import static se.uu.ub.cora.clientbasicdata.converter.jsontodata.JsonToBasicClientDataListConverter.ERROR_PARSING_GENERAL;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import se.uu.ub.cora.clientbasicdata.data.BasicClientDataList;
+import se.uu.ub.cora.clientdata.ClientConvertible;
+import se.uu.ub.cora.clientdata.ClientData;
+import se.uu.ub.cora.clientdata.converter.JsonToClientDataConverterFactory;
+import se.uu.ub.cora.json.parser.JsonObject;
+import se.uu.ub.cora.json.parser.JsonParseException;
+import se.uu.ub.cora.json.parser.JsonParser;
+import se.uu.ub.cora.json.parser.org.OrgJsonParser;
+
+/**
+ * JsonToBasicClientDataStreamDecoder converts json read from a Reader, an InputStream, bytes or a
+ * file to client data, without first parsing a whole dataList into one tree of json objects. Bytes
+ * are decoded as UTF-8 while they are read, and files are memory mapped or read through a buffer,
+ * see {@link #decode(Path)}.
+ * <p>
+ * For a dataList the outer structure is read token by token. Each record in data is copied as json
+ * text into a String, parsed into json objects with the json parser of the converter factory and
+ * converted, one record at a time. This bounds the memory used for a large dataList to the json of
+ * one record next to the converted data, but it is not a low allocation path: every record is
+ * allocated as text, as parsed json objects and as client data, which is one copy more than when
+ * the converter factory converts a parsed record.
+ * <p>
+ * Other json documents, such as a single record, are read into one String and converted using the
+ * converter factory, so they gain nothing from being decoded by this class.
+ * <p>
+ * The result, validation rules and error messages are the same as when converting the same json
+ * using {@link JsonToBasicClientDataConverterFactoryImp}.
+ */
+public final class JsonToBasicClientDataStreamDecoder {
+	private static final String DATA_LIST = "dataList";
+	private static final String DATA = "data";
+	/**
+	 * MAX_MAPPED_FILE_SIZE is the largest file, in bytes, that can be memory mapped into one
+	 * ByteBuffer.
+	 */
+	public static final long MAX_MAPPED_FILE_SIZE = Integer.MAX_VALUE;
+	private final JsonToClientDataConverterFactory converterFactory;
+	private final JsonParser jsonParser;
+
+	public static JsonToBasicClientDataStreamDecoder usingConverterFactory(
+			JsonToClientDataConverterFactory converterFactory) {
+		return new JsonToBasicClientDataStreamDecoder(converterFactory);
+	}
+
+	private JsonToBasicClientDataStreamDecoder(JsonToClientDataConverterFactory converterFactory) {
+		this.converterFactory = converterFactory;
+		jsonParser = createJsonParser(converterFactory);
+	}
+
+	private static JsonParser createJsonParser(JsonToClientDataConverterFactory converterFactory) {
+		if (converterFactory instanceof JsonToBasicClientDataConverterFactoryImp factoryImp) {
+			return factoryImp.getJsonParser();
+		}
+		return new OrgJsonParser();
+	}
+
+	/**
+	 * decode reads json from the entered InputStream, using UTF-8, and converts it to client data.
+	 * The stream is read to its end but not closed.
+	 * 
+	 * @param inputStream
+	 *            An InputStream to read json from
+	 * @return A ClientConvertible with the converted data
+	 * @throws JsonParseException
+	 *             if the json can not be read or converted
+	 */
+	public ClientConvertible decode(InputStream inputStream) {
+		return decode(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * decode reads json, as UTF-8, from the entered bytes and converts it to client data.
+	 * 
+	 * @param bytes
+	 *            A byte array with json
+	 * @return A ClientConvertible with the converted data
+	 * @throws JsonParseException
+	 *             if the json can not be read or converted
+	 */
+	public ClientConvertible decode(byte[] bytes) {
+		return decode(ByteBuffer.wrap(bytes));
+	}
+
+	/**
+	 * decode reads json, as UTF-8, from the bytes between the position and the limit of the
+	 * entered buffer and converts it to client data. The position of the buffer is not changed.
+	 * 
+	 * @param bytes
+	 *            A ByteBuffer with json, heap, direct or memory mapped
+	 * @return A ClientConvertible with the converted data
+	 * @throws JsonParseException
+	 *             if the json can not be read or converted
+	 */
+	public ClientConvertible decode(ByteBuffer bytes) {
+		return decode(JsonToBasicClientDataByteBufferReader.usingByteBuffer(bytes));
+	}
+
+	/**
+	 * decode converts the json in the file at the entered path, read as UTF-8, to client data.
+	 * <p>
+	 * For a file with a dataList, the content of the file is not copied into the heap, only the
+	 * json of the record currently being converted is. Files up to {@link #MAX_MAPPED_FILE_SIZE}
+	 * bytes are memory mapped, larger files are read through a buffer.
+	 * <p>
+	 * A file with any other json document, such as a single record, is read into one String before
+	 * it is converted, as described in the documentation of this class, and must therefore fit in
+	 * the heap.
+	 * 
+	 * @param path
+	 *            A Path to a file with json
+	 * @return A ClientConvertible with the converted data
+	 * @throws JsonParseException
+	 *             if the file can not be read, or the json can not be read or converted
+	 */
+	public ClientConvertible decode(Path path) {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return decodeFile(channel);
+		} catch (IOException e) {
+			throw createReadError(e);
+		}
+	}
+
+	private ClientConvertible decodeFile(FileChannel channel) throws IOException {
+		long size = channel.size();
+		if (size > MAX_MAPPED_FILE_SIZE) {
+			return decode(Channels.newReader(channel, StandardCharsets.UTF_8));
+		}
+		return decode(channel.map(MapMode.READ_ONLY, 0, size));
+	}
+
+	private JsonParseException createReadError(IOException e) {
+		return new JsonParseException("Error reading json: " + e.getMessage(), e);
+	}
+
+	/**
+	 * decode reads json from the entered Reader and converts it to client data. The reader is read
+	 * to its end but not closed.
+	 * 
+	 * @param reader
+	 *            A Reader to read json from
+	 * @return A ClientConvertible with the converted data
+	 * @throws JsonParseException
+	 *             if the json can not be read or converted
+	 */
+	public ClientConvertible decode(Reader reader) {
+		JsonToBasicClientDataTokenReader tokenReader = JsonToBasicClientDataTokenReader
+				.usingReader(reader);
+		tokenReader.startCapture();
+		tokenReader.beginObject();
+		if (tokenReader.hasNext()) {
+			String firstKey = tokenReader.nextKey();
+			if (DATA_LIST.equals(firstKey)) {
+				tokenReader.stopCapture();
+				return tryToDecodeDataList(tokenReader);
+			}
+			tokenReader.skipValue();
+		}
+		skipRemainingKeysAndEndOfInput(tokenReader);
+		return converterFactory.factorUsingString(tokenReader.stopCapture()).toInstance();
+	}
+
+	private void skipRemainingKeysAndEndOfInput(JsonToBasicClientDataTokenReader tokenReader) {
+		while (tokenReader.hasNext()) {
+			tokenReader.nextKey();
+			tokenReader.skipValue();
+		}
+		tokenReader.endObject();
+		tokenReader.expectEndOfInput();
+	}
+
+	/**
+	 * decodeDataListIncrementally reads the header of a dataList from the entered InputStream,
+	 * using UTF-8, and returns an iterator that reads and converts the records in data one at a
+	 * time, as they are requested. The stream is not closed.
+	 * 
+	 * @param inputStream
+	 *            An InputStream to read a json dataList from
+	 * @return A JsonToBasicClientDataListIterator with the header of the dataList read
+	 * @throws JsonParseException
+	 *             if the header of the dataList can not be read
+	 * @see #decodeDataListIncrementally(Reader)
+	 */
+	public JsonToBasicClientDataListIterator decodeDataListIncrementally(InputStream inputStream) {
+		return decodeDataListIncrementally(
+				new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * decodeDataListIncrementally reads the header of a dataList, as UTF-8, from the bytes between
+	 * the position and the limit of the entered buffer. The position of the buffer is not changed.
+	 * 
+	 * @param bytes
+	 *            A ByteBuffer with a json dataList, heap, direct or memory mapped
+	 * @return A JsonToBasicClientDataListIterator with the header of the dataList read
+	 * @throws JsonParseException
+	 *             if the header of the dataList can not be read
+	 * @see #decodeDataListIncrementally(Reader)
+	 */
+	public JsonToBasicClientDataListIterator decodeDataListIncrementally(ByteBuffer bytes) {
+		return decodeDataListIncrementally(
+				JsonToBasicClientDataByteBufferReader.usingByteBuffer(bytes));
+	}
+
+	/**
+	 * decodeDataListIncrementally reads the header of the dataList in the file at the entered path,
+	 * as UTF-8, so that records in large export files can be read without the file being copied
+	 * into the heap.
+	 * <p>
+	 * In the same way as for {@link #decode(Path)}, files up to {@link #MAX_MAPPED_FILE_SIZE} bytes
+	 * are memory mapped, and the mapping stays valid while the returned iterator is in use. Larger
+	 * files are read through a buffer from a file channel owned by the returned iterator, which is
+	 * closed when the end of the dataList is read or when the iterator is closed, so the iterator
+	 * should be used in a try-with-resources statement.
+	 * 
+	 * @param path
+	 *            A Path to a file with a json dataList
+	 * @return A JsonToBasicClientDataListIterator with the header of the dataList read
+	 * @throws JsonParseException
+	 *             if the file can not be read or the header of the dataList can not be read
+	 * @see #decodeDataListIncrementally(Reader)
+	 */
+	public JsonToBasicClientDataListIterator decodeDataListIncrementally(Path path) {
+		FileChannel channel = openFile(path);
+		try {
+			return decodeFileIncrementally(channel);
+		} catch (IOException e) {
+			throw createReadErrorAndClose(e, channel);
+		}
+	}
+
+	private FileChannel openFile(Path path) {
+		try {
+			return FileChannel.open(path, StandardOpenOption.READ);
+		} catch (IOException e) {
+			throw createReadError(e);
+		}
+	}
+
+	private JsonToBasicClientDataListIterator decodeFileIncrementally(FileChannel channel)
+			throws IOException {
+		long size = channel.size();
+		if (size > MAX_MAPPED_FILE_SIZE) {
+			JsonToBasicClientDataTokenReader tokenReader = JsonToBasicClientDataTokenReader
+					.usingReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+			return JsonToBasicClientDataListIterator.usingDecoderAndTokenReaderOwningSource(this,
+					tokenReader, channel);
+		}
+		try (channel) {
+			return decodeDataListIncrementally(channel.map(MapMode.READ_ONLY, 0, size));
+		}
+	}
+
+	private JsonParseException createReadErrorAndClose(IOException error, FileChannel channel) {
+		try {
+			channel.close();
+		} catch (IOException e) {
+			error.addSuppressed(e);
+		}
+		return createReadError(error);
+	}
+
+	/**
+	 * decodeDataListIncrementally reads the header of a dataList from the entered Reader and
+	 * returns an iterator that reads and converts the records in data one at a time, as they are
+	 * requested. Only the json of the record currently being converted is held in memory, no matter
+	 * how many records the dataList contains.
+	 * <p>
+	 * As the header is returned before data is read, the keys totalNo, fromNo, toNo and
+	 * containDataOfType must come before the key data in the json. The reader is not closed.
+	 * 
+	 * @param reader
+	 *            A Reader to read a json dataList from
+	 * @return A JsonToBasicClientDataListIterator with the header of the dataList read
+	 * @throws JsonParseException
+	 *             if the header of the dataList can not be read
+	 */
+	public JsonToBasicClientDataListIterator decodeDataListIncrementally(Reader reader) {
+		JsonToBasicClientDataTokenReader tokenReader = JsonToBasicClientDataTokenReader
+				.usingReader(reader);
+		return JsonToBasicClientDataListIterator.usingDecoderAndTokenReader(this, tokenReader);
+	}
+
+	private ClientConvertible tryToDecodeDataList(JsonToBasicClientDataTokenReader tokenReader) {
+		try {
+			return decodeDataList(tokenReader);
+		} catch (Exception e) {
+			throw new JsonParseException(ERROR_PARSING_GENERAL + e.getMessage(), e);
+		}
+	}
+
+	private ClientConvertible decodeDataList(JsonToBasicClientDataTokenReader tokenReader) {
+		if (tokenReader.peekValueStart() != '{') {
+			throw new JsonParseException(ERROR_DATALIST_MUST_EXISTS);
+		}
+		DataListParts parts = readDataListParts(tokenReader);
+		throwErrorIfMoreKeysOnFirstLevel(tokenReader);
+		return createDataList(parts);
+	}
+
+	private DataListParts readDataListParts(JsonToBasicClientDataTokenReader tokenReader) {
+		DataListParts parts = new DataListParts();
+		tokenReader.beginObject();
+		while (tokenReader.hasNext()) {
+			String key = tokenReader.nextKey();
+			parts.numberOfKeys++;
+			readDataListValue(tokenReader, parts, key);
+		}
+		tokenReader.endObject();
+		return parts;
+	}
+
+	private void readDataListValue(JsonToBasicClientDataTokenReader tokenReader,
+			DataListParts parts, String key) {
+		if (DATA.equals(key)) {
+			readData(tokenReader, parts);
+		} else if (DATA_LIST_KEYS.contains(key)) {
+			readHeaderValue(tokenReader, parts, key);
+		} else {
+			tokenReader.skipValue();
+		}
+	}
+
+	private void readHeaderValue(JsonToBasicClientDataTokenReader tokenReader,
+			DataListParts parts, String key) {
+		if (tokenReader.peekValueStart() == '"') {
+			parts.stringValues.put(key, tokenReader.readString());
+		} else {
+			parts.rawNonStringValues.put(key, tokenReader.readRawValue());
+		}
+	}
+
+	private void readData(JsonToBasicClientDataTokenReader tokenReader, DataListParts parts) {
+		parts.dataFound = true;
+		if (tokenReader.peekValueStart() != '[') {
+			parts.dataIsNotAnArray = true;
+			tokenReader.skipValue();
+			return;
+		}
+		tokenReader.beginArray();
+		while (tokenReader.hasNext()) {
+			readAndPossiblyConvertRecord(tokenReader, parts);
+		}
+		tokenReader.endArray();
+	}
+
+	private void readAndPossiblyConvertRecord(JsonToBasicClientDataTokenReader tokenReader,
+			DataListParts parts) {
+		if (parts.conversionError != null) {
+			tokenReader.skipValue();
+			return;
+		}
+		String rawRecord = tokenReader.readRawValue();
+		try {
+			parts.data.add(convertRecord(rawRecord));
+		} catch (RuntimeException e) {
+			parts.conversionError = e;
+		}
+	}
+
+	ClientData convertRecord(String rawRecord) {
+		JsonObject jsonRecord = jsonParser.parseStringAsObject(rawRecord);
+		return (ClientData) converterFactory.factorUsingJsonObject(jsonRecord).toInstance();
+	}
+
+	private void throwErrorIfMoreKeysOnFirstLevel(JsonToBasicClientDataTokenReader tokenReader) {
+		if (tokenReader.hasNext()) {
+			throw new JsonParseException(ERROR_DATALIST_ONLY_ONE_KEY);
+		}
+		tokenReader.endObject();
+		tokenReader.expectEndOfInput();
+	}
+
+	private ClientConvertible createDataList(DataListParts parts) {
+		validateKeys(parts);
+		BasicClientDataList dataList = BasicClientDataList
+				.withContainDataOfType(getStringValue(parts, "containDataOfType"));
+		dataList.setFromNo(getStringValue(parts, "fromNo"));
+		dataList.setTotalNo(getStringValue(parts, "totalNo"));
+		dataList.setToNo(getStringValue(parts, "toNo"));
+		throwErrorIfDataCouldNotBeConverted(parts);
+		for (ClientData data : parts.data) {
+			dataList.addData(data);
+		}
+		return dataList;
+	}
+
+	private void validateKeys(DataListParts parts) {
+		if (parts.numberOfKeys != ALLOWED_KEYS_SECOND_LEVEL) {
+			throw new JsonParseException(
+					"Datalist must have " + ALLOWED_KEYS_SECOND_LEVEL + " key childs.");
+		}
+		List<String> missingKeys = new ArrayList<>();
+		for (String key : DATA_LIST_KEYS) {
+			if (isMissing(parts, key)) {
+				missingKeys.add(key);
+			}
+		}
+		if (!missingKeys.isEmpty()) {
+			throw new JsonParseException(
+					"It must contains child with key: " + String.join(", ", missingKeys));
+		}
+	}
+
+	private boolean isMissing(DataListParts parts, String key) {
+		if (DATA.equals(key)) {
+			return !parts.dataFound;
+		}
+		return !parts.stringValues.containsKey(key) && !parts.rawNonStringValues.containsKey(key);
+	}
+
+	private String getStringValue(DataListParts parts, String key) {
+		if (parts.rawNonStringValues.containsKey(key)) {
+			return convertNonStringValue(key, parts.rawNonStringValues.get(key));
+		}
+		return parts.stringValues.get(key);
+	}
+
+	/**
+	 * readStringValue reads the next value from the entered token reader as a string, the
+	 * characters of a string value are read directly from the token.
+	 */
+	String readStringValue(JsonToBasicClientDataTokenReader tokenReader, String key) {
+		if (tokenReader.peekValueStart() == '"') {
+			return tokenReader.readString();
+		}
+		return convertNonStringValue(key, tokenReader.readRawValue());
+	}
+
+	/**
+	 * convertNonStringValue converts a raw json value that is not a string as the value of the
+	 * entered key of a parsed json object, so that it fails with the same error as when converting
+	 * the json using the converter factory. It is only used for json that is not valid client data.
+	 */
+	private String convertNonStringValue(String key, String rawValue) {
+		String json = "{\"" + key + "\":" + rawValue + "}";
+		return jsonParser.parseStringAsObject(json).getValueAsJsonString(key).getStringValue();
+	}
+
+	private void throwErrorIfDataCouldNotBeConverted(DataListParts parts) {
+		if (parts.dataIsNotAnArray) {
+			throw new JsonParseException(ERROR_DATALIST_NOT_ARRAY);
+		}
+		if (parts.conversionError != null) {
+			throw parts.conversionError;
+		}
+	}
+
+	/**
+	 * DataListParts collects what is read from a dataList. Errors are kept until the whole dataList
+	 * is read, so that they are reported in the same order as by
+	 * {@link JsonToBasicClientDataListConverter}.
+	 */
+	private static final class DataListParts {
+		private final Map<String, String> stringValues = new HashMap<>();
+		private final Map<String, String> rawNonStringValues = new HashMap<>();
+		private final List<ClientData> data = new ArrayList<>();
+		private int numberOfKeys;
+		private boolean dataFound;
+		private boolean dataIsNotAnArray;
+		private RuntimeException conversionError;
+	}
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.converter.jsontodata;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JsonToBasicClientDataStringInterner makes sure that equal strings read while converting json to
+ * data, such as nameInData, attribute names and linked record types, are represented by one shared
+ * String instance.
+ * <p>
+ * The interner is thread safe and bounded, when maxSize strings are stored, strings not already
+ * known are returned as they are. The bound is not exact under concurrent use, it can be exceeded
+ * by the number of threads adding strings at the same time. Stored strings are never evicted, so an
+ * interner that is full keeps the strings it stored first for as long as it lives.
+ * <p>
+ * Converters use the shared interner unless a factory is given an interner of its own through
+ * {@link JsonToBasicClientDataConverterOptions#withStringInterner(JsonToBasicClientDataStringInterner)},
+ * which is useful when the shared interner has been filled by strings from other metadata.
+ */
+public final class JsonToBasicClientDataStringInterner {
+	private static final int DEFAULT_MAX_SIZE = 10_000;
+	private static final List<String> WELL_KNOWN_STRINGS = List.of("recordInfo", "id", "type",
+			"dataDivider", "validationType", "linkedRecordType", "linkedRecordId",
+			"linkedRepeatId", "linkedPath", "createdBy", "tsCreated", "updated", "updatedBy",
+			"tsUpdated", "permissionUnit", "visibility", "tsVisibility", "inTrashBin", "system",
+			"recordType", "user", "text", "textPart", "lang", "mimeType", "master", "binary",
+			"children", "name", "value", "repeatId", "attributes", "true", "false", "GET", "POST",
+			"DELETE", "application/vnd.cora.record+json",
+			"application/vnd.cora.recordgroup+json", "application/vnd.cora.recordList+json");
+	private static final JsonToBasicClientDataStringInterner SHARED = createSharedInterner();
+
+	private final Map<String, String> strings = new ConcurrentHashMap<>();
+	private final int maxSize;
+
+	private static JsonToBasicClientDataStringInterner createSharedInterner() {
+		return usingWellKnownStringsAndMaxSize(DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * getShared returns the interner used by the json to data converters in this package. It is
+	 * pre-seeded with names commonly used in Cora data.
+	 *
+	 * @return The shared JsonToBasicClientDataStringInterner
+	 */
+	public static JsonToBasicClientDataStringInterner getShared() {
+		return SHARED;
+	}
+
+	public static JsonToBasicClientDataStringInterner usingMaxSize(int maxSize) {
+		return new JsonToBasicClientDataStringInterner(maxSize);
+	}
+
+	/**
+	 * usingWellKnownStringsAndMaxSize returns a new interner pre-seeded with the same names as the
+	 * shared interner. The pre-seeded names count towards maxSize.
+	 *
+	 * @param maxSize
+	 *            The maximum number of strings to store
+	 * @return A new JsonToBasicClientDataStringInterner
+	 */
+	public static JsonToBasicClientDataStringInterner usingWellKnownStringsAndMaxSize(
+			int maxSize) {
+		JsonToBasicClientDataStringInterner interner = usingMaxSize(maxSize);
+		for (String wellKnown : WELL_KNOWN_STRINGS) {
+			interner.intern(wellKnown);
+		}
+		return interner;
+	}
+
+	private JsonToBasicClientDataStringInterner(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * intern returns a previously stored string equal to the entered string if one exists,
+	 * otherwise the entered string is stored, if there is room for it, and returned.
+	 *
+	 * @param string
+	 *            A String to intern, can be null
+	 * @return A String equal to the entered string
+	 */
+	public String intern(String string) {
+		if (string == null) {
+			return null;
+		}
+		String stored = strings.get(string);
+		if (stored != null) {
+			return stored;
+		}
+		return possiblyStore(string);
+	}
+
+	private String possiblyStore(String string) {
+		if (strings.size() >= maxSize) {
+			return string;
+		}
+		String previous = strings.putIfAbsent(string, string);
+		return previous == null ? string : previous;
+	}
+
+	public int size() {
+		return strings.size();
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+}
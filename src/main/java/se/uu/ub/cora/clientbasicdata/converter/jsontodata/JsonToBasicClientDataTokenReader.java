@@ -0,0 +1,357 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.converter.jsontodata;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+import se.uu.ub.cora.json.parser.JsonParseException;
+
+/**
+ * JsonToBasicClientDataTokenReader is an internal pull reader for json, reading from a Reader
+ * through a fixed size buffer. It is used to step through the outer structure of large json
+ * documents, while values that should be converted are read as raw json text, one value at a time.
+ * <p>
+ * The reader checks the json syntax of everything it reads, including that literals are true,
+ * false or null and that numbers follow the json number grammar, but it does not convert numbers
+ * or literals, as they are only skipped or returned as raw text.
+ */
+final class JsonToBasicClientDataTokenReader {
+	private static final int BUFFER_SIZE = 8192;
+	private static final int END_OF_INPUT = -1;
+	private static final int HEX_DIGITS_IN_UNICODE_ESCAPE = 4;
+	private static final int HEX_RADIX = 16;
+
+	private final Reader reader;
+	private final char[] buffer = new char[BUFFER_SIZE];
+	private int position;
+	private int limit;
+	private long consumed;
+	private StringBuilder capture;
+	private boolean[] firstInContainer = new boolean[16];
+	private int depth;
+
+	static JsonToBasicClientDataTokenReader usingReader(Reader reader) {
+		return new JsonToBasicClientDataTokenReader(reader);
+	}
+
+	private JsonToBasicClientDataTokenReader(Reader reader) {
+		this.reader = reader;
+	}
+
+	/**
+	 * peekValueStart skips whitespace and returns the first character of the next value without
+	 * consuming it, making it possible to see if the next value is an object, an array or a
+	 * string.
+	 */
+	char peekValueStart() {
+		skipWhitespace();
+		return (char) peekOrThrowEndOfInput();
+	}
+
+	void beginObject() {
+		skipWhitespace();
+		expect('{');
+		enterContainer();
+	}
+
+	private void enterContainer() {
+		if (depth == firstInContainer.length) {
+			firstInContainer = Arrays.copyOf(firstInContainer, depth * 2);
+		}
+		firstInContainer[depth] = true;
+		depth++;
+	}
+
+	void endObject() {
+		skipWhitespace();
+		expect('}');
+		depth--;
+	}
+
+	void beginArray() {
+		skipWhitespace();
+		expect('[');
+		enterContainer();
+	}
+
+	void endArray() {
+		skipWhitespace();
+		expect(']');
+		depth--;
+	}
+
+	/**
+	 * hasNext returns true if the current object or array has one more key or value, consuming the
+	 * separating comma if needed.
+	 */
+	boolean hasNext() {
+		skipWhitespace();
+		int next = peekOrThrowEndOfInput();
+		if (next == '}' || next == ']') {
+			return false;
+		}
+		if (!firstInContainer[depth - 1]) {
+			expect(',');
+		}
+		firstInContainer[depth - 1] = false;
+		return true;
+	}
+
+	String nextKey() {
+		skipWhitespace();
+		String key = readString();
+		skipWhitespace();
+		expect(':');
+		return key;
+	}
+
+	String readString() {
+		skipWhitespace();
+		expect('"');
+		StringBuilder string = new StringBuilder();
+		char next = read();
+		while (next != '"') {
+			if (next == '\\') {
+				string.append(readEscapedCharacter());
+			} else if (next < ' ') {
+				throw createUnexpectedCharacterError(next);
+			} else {
+				string.append(next);
+			}
+			next = read();
+		}
+		return string.toString();
+	}
+
+	private char readEscapedCharacter() {
+		char escaped = read();
+		return switch (escaped) {
+			case '"', '\\', '/' -> escaped;
+			case 'b' -> '\b';
+			case 'f' -> '\f';
+			case 'n' -> '\n';
+			case 'r' -> '\r';
+			case 't' -> '\t';
+			case 'u' -> readUnicodeEscape();
+			default -> throw createUnexpectedCharacterError(escaped);
+		};
+	}
+
+	private char readUnicodeEscape() {
+		int codeUnit = 0;
+		for (int i = 0; i < HEX_DIGITS_IN_UNICODE_ESCAPE; i++) {
+			char hexDigit = read();
+			int digit = Character.digit(hexDigit, HEX_RADIX);
+			if (digit == -1) {
+				throw createUnexpectedCharacterError(hexDigit);
+			}
+			codeUnit = codeUnit * HEX_RADIX + digit;
+		}
+		return (char) codeUnit;
+	}
+
+	/**
+	 * readRawValue reads the next value and returns it as json text, exactly as it was written.
+	 */
+	String readRawValue() {
+		skipWhitespace();
+		if (capture != null) {
+			int start = capture.length();
+			skipValue();
+			return capture.substring(start);
+		}
+		startCapture();
+		skipValue();
+		return stopCapture();
+	}
+
+	void skipValue() {
+		char valueStart = peekValueStart();
+		if (valueStart == '{') {
+			skipObject();
+		} else if (valueStart == '[') {
+			skipArray();
+		} else if (valueStart == '"') {
+			readString();
+		} else {
+			skipLiteral();
+		}
+	}
+
+	private void skipObject() {
+		beginObject();
+		while (hasNext()) {
+			nextKey();
+			skipValue();
+		}
+		endObject();
+	}
+
+	private void skipArray() {
+		beginArray();
+		while (hasNext()) {
+			skipValue();
+		}
+		endArray();
+	}
+
+	private void skipLiteral() {
+		char literalStart = peekValueStart();
+		if (literalStart == 't') {
+			expectWord("true");
+		} else if (literalStart == 'f') {
+			expectWord("false");
+		} else if (literalStart == 'n') {
+			expectWord("null");
+		} else {
+			skipNumber();
+		}
+	}
+
+	private void expectWord(String word) {
+		for (int i = 0; i < word.length(); i++) {
+			expect(word.charAt(i));
+		}
+	}
+
+	private void skipNumber() {
+		possiblySkip('-');
+		if (!possiblySkip('0')) {
+			skipDigits();
+		}
+		if (possiblySkip('.')) {
+			skipDigits();
+		}
+		if (possiblySkip('e') || possiblySkip('E')) {
+			if (!possiblySkip('+')) {
+				possiblySkip('-');
+			}
+			skipDigits();
+		}
+	}
+
+	private boolean possiblySkip(char character) {
+		if (peek() == character) {
+			read();
+			return true;
+		}
+		return false;
+	}
+
+	private void skipDigits() {
+		if (!isDigit(peek())) {
+			throw createUnexpectedCharacterError(read());
+		}
+		while (isDigit(peek())) {
+			read();
+		}
+	}
+
+	private boolean isDigit(int character) {
+		return character >= '0' && character <= '9';
+	}
+
+	/**
+	 * startCapture makes the reader keep a copy of all characters read, until
+	 * {@link #stopCapture()} is called.
+	 */
+	void startCapture() {
+		capture = new StringBuilder();
+	}
+
+	String stopCapture() {
+		String captured = capture.toString();
+		capture = null;
+		return captured;
+	}
+
+	void expectEndOfInput() {
+		skipWhitespace();
+		if (peek() != END_OF_INPUT) {
+			throw createUnexpectedCharacterError(read());
+		}
+	}
+
+	private void skipWhitespace() {
+		while (isWhitespace(peek())) {
+			read();
+		}
+	}
+
+	private boolean isWhitespace(int character) {
+		return character == ' ' || character == '\n' || character == '\r' || character == '\t';
+	}
+
+	private void expect(char expected) {
+		char next = read();
+		if (next != expected) {
+			throw createUnexpectedCharacterError(next);
+		}
+	}
+
+	private JsonParseException createUnexpectedCharacterError(char character) {
+		return new JsonParseException(
+				"Unexpected character '" + character + "' at position " + (consumed - 1) + ".");
+	}
+
+	private char read() {
+		int next = peekOrThrowEndOfInput();
+		position++;
+		consumed++;
+		if (capture != null) {
+			capture.append((char) next);
+		}
+		return (char) next;
+	}
+
+	private int peekOrThrowEndOfInput() {
+		int next = peek();
+		if (next == END_OF_INPUT) {
+			throw new JsonParseException("Unexpected end of json at position " + consumed + ".");
+		}
+		return next;
+	}
+
+	private int peek() {
+		if (position >= limit) {
+			fillBuffer();
+		}
+		if (limit == END_OF_INPUT) {
+			return END_OF_INPUT;
+		}
+		return buffer[position];
+	}
+
+	/**
+	 * fillBuffer reads until the reader returns at least one character or the end of input, as a
+	 * reader may return without reading any characters.
+	 */
+	private void fillBuffer() {
+		try {
+			do {
+				limit = reader.read(buffer, 0, BUFFER_SIZE);
+			} while (limit == 0);
+			position = 0;
+		} catch (IOException e) {
+			throw new JsonParseException("Error reading json: " + e.getMessage(), e);
+		}
+	}
+}
@@ -0,0 +1,369 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.converter.jsontodata;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import se.uu.ub.cora.json.parser.JsonArray;
+import se.uu.ub.cora.json.parser.JsonObject;
+import se.uu.ub.cora.json.parser.JsonParseException;
+import se.uu.ub.cora.json.parser.JsonParser;
+import se.uu.ub.cora.json.parser.JsonString;
+import se.uu.ub.cora.json.parser.JsonValue;
+import se.uu.ub.cora.json.parser.org.OrgJsonParser;
+
+/**
+ * JsonToBasicClientDataValidator checks that json has the structure needed to be converted by
+ * {@link JsonToBasicClientDataConverterFactoryImp}, without converting it. It is intended for
+ * checking large imports before they are converted.
+ * <p>
+ * The json is checked in one pass, and every error found is reported with the path to the json
+ * that has the error, instead of stopping at the first error. A dataList, a record or a single
+ * data element can be validated. Errors in the structure of one element do not stop its children
+ * or siblings from being validated.
+ * <p>
+ * A JsonToBasicClientDataValidator has no state and can be used from several threads.
+ */
+public final class JsonToBasicClientDataValidator {
+	private static final String ROOT = "$";
+	private static final String DATA_LIST = "dataList";
+	private static final String RECORD = "record";
+	private static final String DATA = "data";
+	private static final String NAME = "name";
+	private static final String VALUE = "value";
+	private static final String CHILDREN = "children";
+	private static final String ATTRIBUTES = "attributes";
+	private static final String REPEAT_ID = "repeatId";
+	private static final String ACTION_LINKS = "actionLinks";
+	private static final String PERMISSIONS = "permissions";
+	private static final String OTHER_PROTOCOLS = "otherProtocols";
+	private static final String LINKED_RECORD_TYPE = "linkedRecordType";
+	private static final Set<String> DATA_LIST_KEYS = Set.of("fromNo", "toNo", "totalNo",
+			"containDataOfType", DATA);
+	private static final Set<String> RECORD_KEYS = Set.of(DATA, ACTION_LINKS, PERMISSIONS,
+			OTHER_PROTOCOLS);
+	private static final Set<String> ATOMIC_KEYS = Set.of(NAME, VALUE, REPEAT_ID, ATTRIBUTES);
+	private static final Set<String> GROUP_KEYS = Set.of(NAME, CHILDREN, REPEAT_ID, ATTRIBUTES);
+	private static final Set<String> LINK_KEYS = Set.of(NAME, CHILDREN, REPEAT_ID, ATTRIBUTES,
+			ACTION_LINKS);
+	private static final Set<String> PERMISSION_KEYS = Set.of("read", "write");
+	private static final Set<String> ACTION_LINK_REQUIRED_KEYS = Set.of("rel", "url",
+			"requestMethod");
+
+	/**
+	 * validate parses and validates the entered json string. If the string is not a json object,
+	 * one error with the message from the parser is returned.
+	 * 
+	 * @param json
+	 *            A String with the json to validate
+	 * @return A List with all errors found, empty if the json is valid
+	 */
+	public List<JsonToBasicClientDataValidationError> validate(String json) {
+		JsonParser jsonParser = new OrgJsonParser();
+		JsonObject jsonObject;
+		try {
+			jsonObject = jsonParser.parseStringAsObject(json);
+		} catch (JsonParseException e) {
+			return List.of(new JsonToBasicClientDataValidationError(ROOT, e.getMessage()));
+		}
+		return validate(jsonObject);
+	}
+
+	/**
+	 * validate validates the entered, already parsed, json
+	 * 
+	 * @param json
+	 *            A JsonObject to validate
+	 * @return A List with all errors found, empty if the json is valid
+	 */
+	public List<JsonToBasicClientDataValidationError> validate(JsonObject json) {
+		Validation validation = new Validation();
+		validation.validateTopLevel(json);
+		return validation.errors;
+	}
+
+	private static final class Validation {
+		private final List<JsonToBasicClientDataValidationError> errors = new ArrayList<>();
+		private final StringBuilder path = new StringBuilder(ROOT);
+
+		private void addError(String message) {
+			errors.add(new JsonToBasicClientDataValidationError(path.toString(), message));
+		}
+
+		private void addErrorForKey(String key, String message) {
+			int mark = enterKey(key);
+			addError(message);
+			leave(mark);
+		}
+
+		private int enterKey(String key) {
+			int mark = path.length();
+			path.append('.').append(key);
+			return mark;
+		}
+
+		private int enterIndex(int index) {
+			int mark = path.length();
+			path.append('[').append(index).append(']');
+			return mark;
+		}
+
+		private void leave(int mark) {
+			path.setLength(mark);
+		}
+
+		void validateTopLevel(JsonObject json) {
+			if (json.containsKey(DATA_LIST)) {
+				validateOnlyKey(json, DATA_LIST);
+				validateUnderKey(json, DATA_LIST, this::validateDataList);
+			} else if (json.containsKey(RECORD)) {
+				validateOnlyKey(json, RECORD);
+				validateUnderKey(json, RECORD, this::validateRecord);
+			} else {
+				validateElement(json);
+			}
+		}
+
+		private void validateOnlyKey(JsonObject json, String key) {
+			for (String otherKey : json.keySet()) {
+				if (!key.equals(otherKey)) {
+					addErrorForKey(otherKey, "Only key " + key + " is allowed");
+				}
+			}
+		}
+
+		private void validateUnderKey(JsonObject json, String key, ObjectValidator validator) {
+			int mark = enterKey(key);
+			JsonValue value = json.getValue(key);
+			if (value instanceof JsonObject jsonObject) {
+				validator.validate(jsonObject);
+			} else {
+				addError("Value must be an object");
+			}
+			leave(mark);
+		}
+
+		private void validateDataList(JsonObject dataList) {
+			validateRequiredKeys(dataList, DATA_LIST_KEYS);
+			validateAllowedKeys(dataList, DATA_LIST_KEYS);
+			for (String key : DATA_LIST_KEYS) {
+				if (!DATA.equals(key)) {
+					validateOptionalString(dataList, key);
+				}
+			}
+			validateArrayOfObjects(dataList, DATA, this::validateTopLevel);
+		}
+
+		private void validateRecord(JsonObject jsonRecord) {
+			validateRequiredKey(jsonRecord, DATA);
+			validateAllowedKeys(jsonRecord, RECORD_KEYS);
+			if (jsonRecord.containsKey(DATA)) {
+				validateUnderKey(jsonRecord, DATA, this::validateElement);
+			}
+			validateOptionalObject(jsonRecord, ACTION_LINKS, this::validateActionLinks);
+			validateOptionalObject(jsonRecord, PERMISSIONS, this::validatePermissions);
+			validateOptionalObject(jsonRecord, OTHER_PROTOCOLS, this::validateOtherProtocols);
+		}
+
+		private void validateActionLinks(JsonObject actionLinks) {
+			for (String key : actionLinks.keySet()) {
+				validateUnderKey(actionLinks, key, this::validateActionLink);
+			}
+		}
+
+		private void validateActionLink(JsonObject actionLink) {
+			validateRequiredKeys(actionLink, ACTION_LINK_REQUIRED_KEYS);
+			for (String key : ACTION_LINK_REQUIRED_KEYS) {
+				validateOptionalString(actionLink, key);
+			}
+			if (actionLink.containsKey("body")) {
+				validateUnderKey(actionLink, "body", this::validateElement);
+			}
+		}
+
+		private void validatePermissions(JsonObject permissions) {
+			validateAllowedKeys(permissions, PERMISSION_KEYS);
+			for (String key : PERMISSION_KEYS) {
+				validateOptionalArrayOfStrings(permissions, key);
+			}
+		}
+
+		private void validateOtherProtocols(JsonObject otherProtocols) {
+			for (String key : otherProtocols.keySet()) {
+				validateUnderKey(otherProtocols, key, this::validateObjectOfStrings);
+			}
+		}
+
+		private void validateElement(JsonObject element) {
+			validateName(element);
+			if (element.containsKey(CHILDREN)) {
+				validateElementWithChildren(element);
+			} else if (element.containsKey(VALUE)) {
+				validateAtomic(element);
+			} else {
+				addError("Data must contain key: children or value");
+			}
+		}
+
+		private void validateName(JsonObject element) {
+			if (!element.containsKey(NAME)) {
+				addError("Data must contain key: name");
+			} else {
+				validateOptionalString(element, NAME);
+			}
+		}
+
+		private void validateAtomic(JsonObject atomic) {
+			validateAllowedKeys(atomic, ATOMIC_KEYS);
+			validateOptionalString(atomic, VALUE);
+			validateRepeatIdAndAttributes(atomic);
+		}
+
+		private void validateRepeatIdAndAttributes(JsonObject element) {
+			validateOptionalString(element, REPEAT_ID);
+			validateOptionalObject(element, ATTRIBUTES, this::validateObjectOfStrings);
+		}
+
+		private void validateElementWithChildren(JsonObject element) {
+			if (isLink(element)) {
+				validateAllowedKeys(element, LINK_KEYS);
+				validateOptionalObject(element, ACTION_LINKS, this::validateActionLinks);
+			} else {
+				validateAllowedKeys(element, GROUP_KEYS);
+			}
+			validateRepeatIdAndAttributes(element);
+			validateArrayOfObjects(element, CHILDREN, this::validateElement);
+		}
+
+		private boolean isLink(JsonObject element) {
+			if (!(element.getValue(CHILDREN) instanceof JsonArray children)) {
+				return false;
+			}
+			for (JsonValue child : children) {
+				if (child instanceof JsonObject childObject
+						&& hasName(childObject, LINKED_RECORD_TYPE)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private boolean hasName(JsonObject element, String nameInData) {
+			return element.containsKey(NAME) && element.getValue(NAME) instanceof JsonString name
+					&& nameInData.equals(name.getStringValue());
+		}
+
+		private void validateRequiredKey(JsonObject json, String key) {
+			if (!json.containsKey(key)) {
+				addError("Must contain key: " + key);
+			}
+		}
+
+		private void validateRequiredKeys(JsonObject json, Set<String> requiredKeys) {
+			for (String key : requiredKeys) {
+				validateRequiredKey(json, key);
+			}
+		}
+
+		private void validateAllowedKeys(JsonObject json, Set<String> allowedKeys) {
+			for (String key : json.keySet()) {
+				if (!allowedKeys.contains(key)) {
+					addErrorForKey(key, "Key is not allowed");
+				}
+			}
+		}
+
+		private void validateOptionalString(JsonObject json, String key) {
+			if (json.containsKey(key) && !(json.getValue(key) instanceof JsonString)) {
+				addErrorForKey(key, "Value must be a String");
+			}
+		}
+
+		private void validateOptionalObject(JsonObject json, String key,
+				ObjectValidator validator) {
+			if (json.containsKey(key)) {
+				validateUnderKey(json, key, validator);
+			}
+		}
+
+		private void validateObjectOfStrings(JsonObject json) {
+			for (String key : json.keySet()) {
+				validateOptionalString(json, key);
+			}
+		}
+
+		private void validateOptionalArrayOfStrings(JsonObject json, String key) {
+			if (json.containsKey(key)) {
+				validateArray(json, key, this::validateString);
+			}
+		}
+
+		private void validateString(JsonValue value) {
+			if (!(value instanceof JsonString)) {
+				addError("Value must be a String");
+			}
+		}
+
+		private void validateArrayOfObjects(JsonObject json, String key,
+				ObjectValidator validator) {
+			if (!json.containsKey(key)) {
+				return;
+			}
+			validateArray(json, key, value -> {
+				if (value instanceof JsonObject jsonObject) {
+					validator.validate(jsonObject);
+				} else {
+					addError("Value must be an object");
+				}
+			});
+		}
+
+		private void validateArray(JsonObject json, String key, ValueValidator validator) {
+			int mark = enterKey(key);
+			if (json.getValue(key) instanceof JsonArray array) {
+				validateArrayValues(array, validator);
+			} else {
+				addError("Value must be an array");
+			}
+			leave(mark);
+		}
+
+		private void validateArrayValues(JsonArray array, ValueValidator validator) {
+			int index = 0;
+			for (JsonValue value : array) {
+				int mark = enterIndex(index);
+				validator.validate(value);
+				leave(mark);
+				index++;
+			}
+		}
+	}
+
+	@FunctionalInterface
+	private interface ObjectValidator {
+		void validate(JsonObject json);
+	}
+
+	@FunctionalInterface
+	private interface ValueValidator {
+		void validate(JsonValue value);
+	}
+}
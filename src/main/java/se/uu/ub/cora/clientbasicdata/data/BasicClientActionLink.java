@@ -24,7 +24,8 @@ import se.uu.ub.cora.clientdata.ClientActionLink;
 import se.uu.ub.cora.clientdata.ClientData;
 import se.uu.ub.cora.clientdata.ClientDataGroup;
 
-public final class BasicClientActionLink implements ClientData, ClientActionLink {
+public final class BasicClientActionLink
+		implements ClientData, ClientActionLink, BasicClientDataFreezable {
 
 	private ClientDataGroup body;
 	private ClientAction action;
@@ -32,6 +33,7 @@ public final class BasicClientActionLink implements ClientData, ClientActionLink
 	private String requestMethod;
 	private String accept;
 	private String contentType;
+	private boolean frozen;
 
 	private BasicClientActionLink(ClientAction action) {
 		this.action = action;
@@ -48,6 +50,7 @@ public final class BasicClientActionLink implements ClientData, ClientActionLink
 
 	@Override
 	public void setURL(String url) {
+		BasicClientDataFreezable.throwErrorIfFrozen(frozen);
 		this.url = url;
 	}
 
@@ -58,6 +61,7 @@ public final class BasicClientActionLink implements ClientData, ClientActionLink
 
 	@Override
 	public void setRequestMethod(String requestMethod) {
+		BasicClientDataFreezable.throwErrorIfFrozen(frozen);
 		this.requestMethod = requestMethod;
 	}
 
@@ -68,6 +72,7 @@ public final class BasicClientActionLink implements ClientData, ClientActionLink
 
 	@Override
 	public void setAccept(String accept) {
+		BasicClientDataFreezable.throwErrorIfFrozen(frozen);
 		this.accept = accept;
 	}
 
@@ -78,6 +83,7 @@ public final class BasicClientActionLink implements ClientData, ClientActionLink
 
 	@Override
 	public void setContentType(String contentType) {
+		BasicClientDataFreezable.throwErrorIfFrozen(frozen);
 		this.contentType = contentType;
 	}
 
@@ -88,6 +94,7 @@ public final class BasicClientActionLink implements ClientData, ClientActionLink
 
 	@Override
 	public void setBody(ClientDataGroup body) {
+		BasicClientDataFreezable.throwErrorIfFrozen(frozen);
 		this.body = body;
 	}
 
@@ -95,4 +102,15 @@ public final class BasicClientActionLink implements ClientData, ClientActionLink
 	public ClientDataGroup getBody() {
 		return body;
 	}
+
+	@Override
+	public void freeze() {
+		BasicClientDataFreezable.freezeIfPossible(body);
+		frozen = true;
+	}
+
+	@Override
+	public boolean isFrozen() {
+		return frozen;
+	}
 }
@@ -20,21 +20,19 @@
 package se.uu.ub.cora.clientbasicdata.data;
 
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.Iterator;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 
 import se.uu.ub.cora.clientdata.ClientDataAtomic;
 import se.uu.ub.cora.clientdata.ClientDataAttribute;
-import se.uu.ub.cora.clientdata.ClientDataMissingException;
 
-public final class BasicClientDataAtomic implements ClientDataAtomic {
+public final class BasicClientDataAtomic implements ClientDataAtomic, BasicClientDataFreezable {
 
 	private String nameInData;
 	private String value;
 	private String repeatId;
-	private Set<ClientDataAttribute> attributes = new HashSet<>();
+	private ClientDataAttribute[] attributes = BasicClientDataAttributes.NO_ATTRIBUTES;
+	private boolean frozen;
 
 	public static BasicClientDataAtomic withNameInDataAndValue(String nameInData, String value) {
 		return new BasicClientDataAtomic(nameInData, value);
@@ -63,43 +61,23 @@ public final class BasicClientDataAtomic implements ClientDataAtomic {
 
 	@Override
 	public void addAttributeByIdWithValue(String nameInData, String value) {
-		possiblyRemovePreviouslyStoredAttribute(nameInData);
-		attributes.add(BasicClientDataAttribute.withNameInDataAndValue(nameInData, value));
-	}
-
-	private void possiblyRemovePreviouslyStoredAttribute(String nameInData) {
-		Iterator<ClientDataAttribute> iterator = attributes.iterator();
-		while (iterator.hasNext()) {
-			possiblyRemoveAttribute(iterator, nameInData);
-		}
-	}
-
-	private void possiblyRemoveAttribute(Iterator<ClientDataAttribute> iterator,
-			String nameInData) {
-		ClientDataAttribute next = iterator.next();
-		if (next.getNameInData().equals(nameInData)) {
-			iterator.remove();
-		}
+		BasicClientDataFreezable.throwErrorIfFrozen(frozen);
+		attributes = BasicClientDataAttributes.addOrReplace(attributes, nameInData, value);
 	}
 
 	@Override
 	public boolean hasAttributes() {
-		return !attributes.isEmpty();
+		return attributes.length > 0;
 	}
 
 	@Override
 	public Collection<ClientDataAttribute> getAttributes() {
-		return attributes;
+		return BasicClientDataAttributes.asCollection(attributes);
 	}
 
 	@Override
 	public ClientDataAttribute getAttribute(String attributeId) {
-		for (ClientDataAttribute dataAttribute : attributes) {
-			if (dataAttribute.getNameInData().equals(attributeId)) {
-				return dataAttribute;
-			}
-		}
-		throw new ClientDataMissingException("Attribute with id " + attributeId + " not found.");
+		return BasicClientDataAttributes.get(attributes, attributeId);
 	}
 
 	@Override
@@ -114,6 +92,7 @@ public final class BasicClientDataAtomic implements ClientDataAtomic {
 
 	@Override
 	public void setRepeatId(String repeatId) {
+		BasicClientDataFreezable.throwErrorIfFrozen(frozen);
 		this.repeatId = repeatId;
 	}
 
@@ -124,12 +103,47 @@ public final class BasicClientDataAtomic implements ClientDataAtomic {
 
 	@Override
 	public Optional<String> getAttributeValue(String nameInData) {
-		for (ClientDataAttribute dataAttribute : attributes) {
-			if (dataAttribute.getNameInData().equals(nameInData)) {
-				return Optional.of(dataAttribute.getValue());
-			}
+		return BasicClientDataAttributes.getValue(attributes, nameInData);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof BasicClientDataAtomic other)) {
+			return false;
 		}
-		return Optional.empty();
+		return Objects.equals(nameInData, other.nameInData) && Objects.equals(value, other.value)
+				&& Objects.equals(repeatId, other.repeatId)
+				&& BasicClientDataAttributes.haveSameAttributes(attributes, other.attributes);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * Objects.hash(nameInData, value, repeatId)
+				+ BasicClientDataAttributes.hashCode(attributes);
+	}
+
+	/**
+	 * copy returns a copy of this atomic that is not frozen.
+	 * 
+	 * @return A BasicClientDataAtomic with the same nameInData, value, repeatId and attributes
+	 */
+	public BasicClientDataAtomic copy() {
+		BasicClientDataAtomic copy = new BasicClientDataAtomic(nameInData, value, repeatId);
+		copy.attributes = attributes;
+		return copy;
+	}
+
+	@Override
+	public void freeze() {
+		frozen = true;
+	}
+
+	@Override
+	public boolean isFrozen() {
+		return frozen;
 	}
 
 }
@@ -19,6 +19,8 @@
 
 package se.uu.ub.cora.clientbasicdata.data;
 
+import java.util.Objects;
+
 import se.uu.ub.cora.clientdata.ClientDataAttribute;
 
 public final class BasicClientDataAttribute implements ClientDataAttribute {
@@ -45,4 +47,20 @@ public final class BasicClientDataAttribute implements ClientDataAttribute {
 		return value;
 	}
 
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof BasicClientDataAttribute other)) {
+			return false;
+		}
+		return Objects.equals(nameInData, other.nameInData) && Objects.equals(value, other.value);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(nameInData, value);
+	}
+
 }
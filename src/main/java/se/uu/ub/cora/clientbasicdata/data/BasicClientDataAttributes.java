@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.data;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Optional;
+
+import se.uu.ub.cora.clientdata.ClientDataAttribute;
+import se.uu.ub.cora.clientdata.ClientDataMissingException;
+
+/**
+ * BasicClientDataAttributes is an internal helper that stores attributes for atomics and groups in
+ * a plain array that is exactly as long as the number of attributes. Data elements without
+ * attributes share {@link #NO_ATTRIBUTES} and do not allocate anything.
+ */
+final class BasicClientDataAttributes {
+	static final ClientDataAttribute[] NO_ATTRIBUTES = new ClientDataAttribute[0];
+
+	private BasicClientDataAttributes() {
+		// prevent instantiation
+	}
+
+	static ClientDataAttribute[] addOrReplace(ClientDataAttribute[] attributes, String nameInData,
+			String value) {
+		ClientDataAttribute attribute = BasicClientDataAttribute.withNameInDataAndValue(nameInData,
+				value);
+		int index = indexOf(attributes, nameInData);
+		if (index >= 0) {
+			ClientDataAttribute[] replaced = attributes.clone();
+			replaced[index] = attribute;
+			return replaced;
+		}
+		ClientDataAttribute[] extended = Arrays.copyOf(attributes, attributes.length + 1);
+		extended[attributes.length] = attribute;
+		return extended;
+	}
+
+	private static int indexOf(ClientDataAttribute[] attributes, String nameInData) {
+		for (int i = 0; i < attributes.length; i++) {
+			if (attributes[i].getNameInData().equals(nameInData)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	static ClientDataAttribute get(ClientDataAttribute[] attributes, String nameInData) {
+		int index = indexOf(attributes, nameInData);
+		if (index >= 0) {
+			return attributes[index];
+		}
+		throw new ClientDataMissingException("Attribute with id " + nameInData + " not found.");
+	}
+
+	static Optional<String> getValue(ClientDataAttribute[] attributes, String nameInData) {
+		int index = indexOf(attributes, nameInData);
+		if (index >= 0) {
+			return Optional.of(attributes[index].getValue());
+		}
+		return Optional.empty();
+	}
+
+	static boolean haveSameAttributes(ClientDataAttribute[] attributes,
+			ClientDataAttribute[] otherAttributes) {
+		if (attributes.length != otherAttributes.length) {
+			return false;
+		}
+		for (ClientDataAttribute attribute : attributes) {
+			if (!containsAttribute(otherAttributes, attribute)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean containsAttribute(ClientDataAttribute[] attributes,
+			ClientDataAttribute attribute) {
+		int index = indexOf(attributes, attribute.getNameInData());
+		return index >= 0 && Objects.equals(attribute.getValue(), attributes[index].getValue());
+	}
+
+	/**
+	 * hashCode returns a hash for the attributes that does not depend on the order of the
+	 * attributes, matching {@link #haveSameAttributes(ClientDataAttribute[], ClientDataAttribute[])}.
+	 */
+	static int hashCode(ClientDataAttribute[] attributes) {
+		int hash = 0;
+		for (ClientDataAttribute attribute : attributes) {
+			hash += 31 * Objects.hashCode(attribute.getNameInData())
+					+ Objects.hashCode(attribute.getValue());
+		}
+		return hash;
+	}
+
+	static Collection<ClientDataAttribute> asCollection(ClientDataAttribute[] attributes) {
+		if (attributes.length == 0) {
+			return Collections.emptyList();
+		}
+		return Collections.unmodifiableList(Arrays.asList(attributes));
+	}
+}
@@ -33,7 +33,7 @@ import se.uu.ub.cora.clientdata.ClientDataRecordLink;
 
 public class BasicClientDataAuthentication implements ClientDataAuthentication {
 
-	private Map<ClientAction, ClientActionLink> actions = new EnumMap<>(ClientAction.class);
+	private Map<ClientAction, ClientActionLink> actions;
 	private ClientDataGroup dataGroup;
 
 	public static BasicClientDataAuthentication withDataGroup(ClientDataGroup dataGroup) {
@@ -80,12 +80,15 @@ public class BasicClientDataAuthentication implements ClientDataAuthentication {
 	}
 
 	public void addActionLink(ClientActionLink action) {
+		if (actions == null) {
+			actions = new EnumMap<>(ClientAction.class);
+		}
 		actions.put(action.getAction(), action);
 	}
 
 	@Override
 	public Optional<ClientActionLink> getActionLink(ClientAction action) {
-		if (actions.containsKey(action)) {
+		if (actions != null && actions.containsKey(action)) {
 			return Optional.of(actions.get(action));
 		}
 		return Optional.empty();
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.data;
+
+import java.util.List;
+
+import se.uu.ub.cora.clientdata.ClientDataChild;
+
+/**
+ * BasicClientDataChange is one change in a {@link BasicClientDataChangeSet}. The change is done in
+ * the group found by following the path of the change from the root group, and concerns the
+ * child identified by the key of the change. Added and moved children are placed at the index
+ * they have among the children of the changed group.
+ */
+public final class BasicClientDataChange {
+	public enum ChangeType {
+		ADDED, REMOVED, REPLACED, MOVED
+	}
+
+	private static final int NO_INDEX = -1;
+
+	private final ChangeType changeType;
+	private final List<Step> path;
+	private final Step childStep;
+	private final ClientDataChild child;
+	private final int index;
+
+	BasicClientDataChange(ChangeType changeType, List<Step> path, Step childStep,
+			ClientDataChild child) {
+		this(changeType, path, childStep, child, NO_INDEX);
+	}
+
+	BasicClientDataChange(ChangeType changeType, List<Step> path, Step childStep,
+			ClientDataChild child, int index) {
+		this.changeType = changeType;
+		this.path = path;
+		this.childStep = childStep;
+		this.child = child;
+		this.index = index;
+	}
+
+	public ChangeType getChangeType() {
+		return changeType;
+	}
+
+	/**
+	 * getChild returns the added child for ADDED changes, the new child for REPLACED changes, the
+	 * removed child for REMOVED changes and the moved child for MOVED changes.
+	 * 
+	 * @return The ClientDataChild the change concerns
+	 */
+	public ClientDataChild getChild() {
+		return child;
+	}
+
+	/**
+	 * getIndex returns the index the child has among the children of the changed group after the
+	 * changes, for ADDED and MOVED changes.
+	 * 
+	 * @return The index of an added or moved child, or -1 for other changes
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * getPathAsString returns the path to the changed child, written as a
+	 * {@link BasicClientDataPath} expression, suitable for logging.
+	 * 
+	 * @return A String with the path of the changed child
+	 */
+	public String getPathAsString() {
+		StringBuilder pathString = new StringBuilder();
+		for (Step step : path) {
+			pathString.append(step.key()).append('/');
+		}
+		return pathString.append(childStep.key()).toString();
+	}
+
+	List<Step> getPath() {
+		return path;
+	}
+
+	Step getChildStep() {
+		return childStep;
+	}
+
+	@Override
+	public String toString() {
+		return changeType + " " + getPathAsString();
+	}
+
+	/**
+	 * Step identifies one child in a group, as the occurrence:th child matching the key.
+	 */
+	record Step(BasicClientDataChildKey key, int occurrence) {
+	}
+}
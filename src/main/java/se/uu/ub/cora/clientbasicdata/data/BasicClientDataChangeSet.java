@@ -0,0 +1,390 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import se.uu.ub.cora.clientbasicdata.data.BasicClientDataChange.ChangeType;
+import se.uu.ub.cora.clientbasicdata.data.BasicClientDataChange.Step;
+import se.uu.ub.cora.clientdata.ClientDataAtomic;
+import se.uu.ub.cora.clientdata.ClientDataChild;
+import se.uu.ub.cora.clientdata.ClientDataGroup;
+import se.uu.ub.cora.clientdata.ClientDataMissingException;
+import se.uu.ub.cora.clientdata.ClientDataResourceLink;
+
+/**
+ * BasicClientDataChangeSet holds the changes needed to turn one tree of client data into another.
+ * <p>
+ * Children of the two trees are matched by nameInData, repeatId and attributes. Matched groups are
+ * compared recursively, matched atomics and resource links are replaced if their values differ,
+ * and unmatched children are added or removed. Children with the same key are matched in the
+ * order they occur. Added children are placed at the index they have in the changed group, and
+ * matched children that have changed order are moved there, so that applying the changes of
+ * compare(a, b) to a copy of a gives a group equal to b. Only the matched children outside the
+ * longest run of matched children keeping their order are moved.
+ * <p>
+ * A change set can be applied to another tree with {@link #applyTo(BasicClientDataGroup)}, as long
+ * as that tree has the children the changes refer to.
+ */
+public final class BasicClientDataChangeSet {
+	private static final int NOT_MATCHED = -1;
+	private final List<BasicClientDataChange> changes;
+
+	private BasicClientDataChangeSet(List<BasicClientDataChange> changes) {
+		this.changes = Collections.unmodifiableList(changes);
+	}
+
+	/**
+	 * compare returns the changes needed to turn the original group into the changed group. The
+	 * nameInData, attributes and repeatId of the two entered groups are not compared.
+	 * 
+	 * @param original
+	 *            The ClientDataGroup before the changes
+	 * @param changed
+	 *            The ClientDataGroup after the changes
+	 * @return A BasicClientDataChangeSet with the changes
+	 */
+	public static BasicClientDataChangeSet compare(ClientDataGroup original,
+			ClientDataGroup changed) {
+		List<BasicClientDataChange> changes = new ArrayList<>();
+		compareChildren(Collections.emptyList(), original, changed, changes);
+		return new BasicClientDataChangeSet(changes);
+	}
+
+	private static void compareChildren(List<Step> path, ClientDataGroup original,
+			ClientDataGroup changed, List<BasicClientDataChange> changes) {
+		List<ClientDataChild> originalChildren = original.getChildren();
+		List<ClientDataChild> changedChildren = changed.getChildren();
+		List<Step> originalSteps = createSteps(originalChildren);
+		List<Step> changedSteps = createSteps(changedChildren);
+		addRemovedChildren(path, originalSteps, originalChildren, indexSteps(changedSteps),
+				changes);
+		int[] originalIndexes = findOriginalIndexes(changedSteps, indexSteps(originalSteps));
+		boolean[] keepsPosition = findChildrenKeepingPosition(originalIndexes);
+		List<BasicClientDataChange> nestedChanges = new ArrayList<>();
+		for (int i = 0; i < changedChildren.size(); i++) {
+			Step step = changedSteps.get(i);
+			ClientDataChild changedChild = changedChildren.get(i);
+			if (originalIndexes[i] == NOT_MATCHED) {
+				changes.add(new BasicClientDataChange(ChangeType.ADDED, path, step, changedChild,
+						i));
+			} else {
+				compareChild(path, step, originalChildren.get(originalIndexes[i]), changedChild,
+						changes, nestedChanges);
+				addMoveIfPositionChanged(path, step, changedChild, i, keepsPosition[i], changes);
+			}
+		}
+		changes.addAll(nestedChanges);
+	}
+
+	private static List<Step> createSteps(List<ClientDataChild> children) {
+		Map<BasicClientDataChildKey, Integer> occurrences = new HashMap<>();
+		List<Step> steps = new ArrayList<>(children.size());
+		for (ClientDataChild child : children) {
+			BasicClientDataChildKey key = BasicClientDataChildKey.fromChild(child);
+			int occurrence = occurrences.merge(key, 1, Integer::sum) - 1;
+			steps.add(new Step(key, occurrence));
+		}
+		return steps;
+	}
+
+	private static Map<Step, Integer> indexSteps(List<Step> steps) {
+		Map<Step, Integer> indexes = new HashMap<>();
+		for (int i = 0; i < steps.size(); i++) {
+			indexes.put(steps.get(i), i);
+		}
+		return indexes;
+	}
+
+	private static void addRemovedChildren(List<Step> path, List<Step> originalSteps,
+			List<ClientDataChild> originalChildren, Map<Step, Integer> changedIndexes,
+			List<BasicClientDataChange> changes) {
+		for (int i = 0; i < originalSteps.size(); i++) {
+			if (!changedIndexes.containsKey(originalSteps.get(i))) {
+				changes.add(new BasicClientDataChange(ChangeType.REMOVED, path,
+						originalSteps.get(i), originalChildren.get(i)));
+			}
+		}
+	}
+
+	private static int[] findOriginalIndexes(List<Step> changedSteps,
+			Map<Step, Integer> originalIndexes) {
+		int[] indexes = new int[changedSteps.size()];
+		for (int i = 0; i < indexes.length; i++) {
+			indexes[i] = originalIndexes.getOrDefault(changedSteps.get(i), NOT_MATCHED);
+		}
+		return indexes;
+	}
+
+	/**
+	 * findChildrenKeepingPosition returns, for each child in the changed group, if it belongs to
+	 * the longest run of matched children that has the same order in both groups. The run is found
+	 * in n log n time by keeping the last child of the best run of each length.
+	 */
+	private static boolean[] findChildrenKeepingPosition(int[] originalIndexes) {
+		int[] lastOfRun = new int[originalIndexes.length];
+		int[] previousInRun = new int[originalIndexes.length];
+		int longestRun = 0;
+		for (int i = 0; i < originalIndexes.length; i++) {
+			if (originalIndexes[i] != NOT_MATCHED) {
+				int runLength = findRunToExtend(originalIndexes, lastOfRun, longestRun,
+						originalIndexes[i]);
+				previousInRun[i] = runLength > 0 ? lastOfRun[runLength - 1] : NOT_MATCHED;
+				lastOfRun[runLength] = i;
+				longestRun = Math.max(longestRun, runLength + 1);
+			}
+		}
+		boolean[] keepsPosition = new boolean[originalIndexes.length];
+		int child = longestRun > 0 ? lastOfRun[longestRun - 1] : NOT_MATCHED;
+		while (child != NOT_MATCHED) {
+			keepsPosition[child] = true;
+			child = previousInRun[child];
+		}
+		return keepsPosition;
+	}
+
+	private static int findRunToExtend(int[] originalIndexes, int[] lastOfRun, int longestRun,
+			int originalIndex) {
+		int low = 0;
+		int high = longestRun;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (originalIndexes[lastOfRun[middle]] < originalIndex) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private static void addMoveIfPositionChanged(List<Step> path, Step step,
+			ClientDataChild changedChild, int index, boolean keepsPosition,
+			List<BasicClientDataChange> changes) {
+		if (!keepsPosition) {
+			changes.add(
+					new BasicClientDataChange(ChangeType.MOVED, path, step, changedChild, index));
+		}
+	}
+
+	private static void compareChild(List<Step> path, Step step, ClientDataChild original,
+			ClientDataChild changed, List<BasicClientDataChange> changes,
+			List<BasicClientDataChange> nestedChanges) {
+		if (bothAreGroupsOfSameClass(original, changed)) {
+			compareChildren(extendPath(path, step), (ClientDataGroup) original,
+					(ClientDataGroup) changed, nestedChanges);
+		} else if (!childrenHaveSameContent(original, changed)) {
+			changes.add(new BasicClientDataChange(ChangeType.REPLACED, path, step, changed));
+		}
+	}
+
+	private static boolean bothAreGroupsOfSameClass(ClientDataChild original,
+			ClientDataChild changed) {
+		return original instanceof ClientDataGroup && original.getClass() == changed.getClass();
+	}
+
+	private static List<Step> extendPath(List<Step> path, Step step) {
+		List<Step> extendedPath = new ArrayList<>(path.size() + 1);
+		extendedPath.addAll(path);
+		extendedPath.add(step);
+		return Collections.unmodifiableList(extendedPath);
+	}
+
+	private static boolean childrenHaveSameContent(ClientDataChild original,
+			ClientDataChild changed) {
+		if (original == changed) {
+			return true;
+		}
+		if (original instanceof ClientDataAtomic originalAtomic
+				&& changed instanceof ClientDataAtomic changedAtomic) {
+			return Objects.equals(originalAtomic.getValue(), changedAtomic.getValue());
+		}
+		if (original instanceof ClientDataResourceLink originalLink
+				&& changed instanceof ClientDataResourceLink changedLink) {
+			return resourceLinksHaveSameContent(originalLink, changedLink);
+		}
+		return false;
+	}
+
+	private static boolean resourceLinksHaveSameContent(ClientDataResourceLink original,
+			ClientDataResourceLink changed) {
+		return Objects.equals(original.getType(), changed.getType())
+				&& Objects.equals(original.getId(), changed.getId())
+				&& Objects.equals(original.getMimeType(), changed.getMimeType());
+	}
+
+	public List<BasicClientDataChange> getChanges() {
+		return changes;
+	}
+
+	public boolean hasChanges() {
+		return !changes.isEmpty();
+	}
+
+	/**
+	 * applyTo changes the entered group by applying all changes in this change set to it. Added
+	 * and replacing children are copied into the group, and frozen groups along the path of a
+	 * change are replaced by copies before they are changed. The changes of one group are applied
+	 * together, using one pass over the children of the group to find the changed children.
+	 * 
+	 * @param target
+	 *            The BasicClientDataGroup to change
+	 * @throws ClientDataMissingException
+	 *             if a child that a change refers to is not found in the entered group
+	 */
+	public void applyTo(BasicClientDataGroup target) {
+		target.throwErrorIfFrozen();
+		int start = 0;
+		while (start < changes.size()) {
+			int end = findEndOfChangesInSameGroup(start);
+			applyChangesToGroup(target, changes.subList(start, end));
+			start = end;
+		}
+	}
+
+	private int findEndOfChangesInSameGroup(int start) {
+		List<Step> path = changes.get(start).getPath();
+		int end = start + 1;
+		while (end < changes.size() && changes.get(end).getPath().equals(path)) {
+			end++;
+		}
+		return end;
+	}
+
+	private void applyChangesToGroup(BasicClientDataGroup target,
+			List<BasicClientDataChange> groupChanges) {
+		BasicClientDataGroup group = findGroupToChange(target, groupChanges.get(0));
+		List<ClientDataChild> children = group.getChildren();
+		Map<Step, Integer> indexes = indexSteps(createSteps(children));
+		boolean[] takenOut = new boolean[children.size()];
+		List<Insertion> insertions = new ArrayList<>();
+		for (BasicClientDataChange change : groupChanges) {
+			switch (change.getChangeType()) {
+				case ADDED -> insertions.add(new Insertion(change.getIndex(),
+						BasicClientDataGroup.copyOrShareChild(change.getChild())));
+				case REMOVED -> takenOut[indexOfChangedChild(indexes, change)] = true;
+				case REPLACED -> children.set(indexOfChangedChild(indexes, change),
+						BasicClientDataGroup.copyOrShareChild(change.getChild()));
+				case MOVED -> {
+					int index = indexOfChangedChild(indexes, change);
+					takenOut[index] = true;
+					insertions.add(new Insertion(change.getIndex(), children.get(index)));
+				}
+			}
+		}
+		placeChildren(children, takenOut, insertions);
+	}
+
+	private int indexOfChangedChild(Map<Step, Integer> indexes, BasicClientDataChange change) {
+		Integer index = indexes.get(change.getChildStep());
+		if (index == null) {
+			throw createChildNotFoundError(change);
+		}
+		return index;
+	}
+
+	/**
+	 * placeChildren rebuilds the children of a group without the children taken out, and with the
+	 * inserted children at their indexes, in one pass as the insertions are sorted by index.
+	 */
+	private void placeChildren(List<ClientDataChild> children, boolean[] takenOut,
+			List<Insertion> insertions) {
+		if (insertions.isEmpty() && !anyTakenOut(takenOut)) {
+			return;
+		}
+		List<ClientDataChild> placed = new ArrayList<>(children.size() + insertions.size());
+		int nextInsertion = 0;
+		for (int i = 0; i < children.size(); i++) {
+			if (!takenOut[i]) {
+				nextInsertion = addInsertionsAtIndex(placed, insertions, nextInsertion);
+				placed.add(children.get(i));
+			}
+		}
+		for (Insertion insertion : insertions.subList(nextInsertion, insertions.size())) {
+			placed.add(insertion.child());
+		}
+		children.clear();
+		children.addAll(placed);
+	}
+
+	private boolean anyTakenOut(boolean[] takenOut) {
+		for (boolean child : takenOut) {
+			if (child) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private int addInsertionsAtIndex(List<ClientDataChild> placed, List<Insertion> insertions,
+			int nextInsertion) {
+		int next = nextInsertion;
+		while (next < insertions.size() && insertions.get(next).index() <= placed.size()) {
+			placed.add(insertions.get(next).child());
+			next++;
+		}
+		return next;
+	}
+
+	private BasicClientDataGroup findGroupToChange(BasicClientDataGroup target,
+			BasicClientDataChange change) {
+		BasicClientDataGroup group = target;
+		for (Step step : change.getPath()) {
+			group = getChildGroupToChange(group, indexOfChild(group, step, change), change);
+		}
+		return group;
+	}
+
+	private BasicClientDataGroup getChildGroupToChange(BasicClientDataGroup group, int index,
+			BasicClientDataChange change) {
+		if (!(group.getChildren().get(index) instanceof BasicClientDataGroup childGroup)) {
+			throw createChildNotFoundError(change);
+		}
+		if (!childGroup.isFrozen()) {
+			return childGroup;
+		}
+		BasicClientDataGroup copy = childGroup.copy();
+		group.getChildren().set(index, copy);
+		return copy;
+	}
+
+	private int indexOfChild(BasicClientDataGroup group, Step step,
+			BasicClientDataChange change) {
+		List<ClientDataChild> children = group.getChildren();
+		int occurrence = 0;
+		for (int i = 0; i < children.size(); i++) {
+			if (step.key().matches(children.get(i)) && occurrence++ == step.occurrence()) {
+				return i;
+			}
+		}
+		throw createChildNotFoundError(change);
+	}
+
+	private ClientDataMissingException createChildNotFoundError(BasicClientDataChange change) {
+		return new ClientDataMissingException("Child not found for change: " + change);
+	}
+
+	private record Insertion(int index, ClientDataChild child) {
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2022 Uppsala University Library
+ * Copyright 2022, 2026 Uppsala University Library
  * 
  * This file is part of Cora.
  *
@@ -18,21 +18,35 @@
  */
 package se.uu.ub.cora.clientbasicdata.data;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import se.uu.ub.cora.clientdata.ClientDataAttribute;
 import se.uu.ub.cora.clientdata.ClientDataChild;
 import se.uu.ub.cora.clientdata.ClientDataChildFilter;
 
+/**
+ * BasicClientDataChildFilter matches children on nameInData and attributes.
+ * <p>
+ * A child matches if it has as many attributes as have been added to the filter, and each of its
+ * attributes has a value among the possible values added for its name. Each added attribute is
+ * counted, also when the same attribute name is added more than once, in which case the possible
+ * values for the name are merged.
+ * <p>
+ * The filter keeps no state between calls to {@link #childMatches(ClientDataChild)}, and the
+ * possible attribute values are stored in an immutable map that is replaced when an attribute is
+ * added. A filter that is fully set up can therefore be kept as a constant and used from several
+ * threads at the same time.
+ */
 public class BasicClientDataChildFilter implements ClientDataChildFilter {
 
-	private String childNameInData;
-	private int nrOfChildAttributes;
-
-	private List<BasicClientFilterAttribute> filterAttributes = new ArrayList<>();
+	private final String childNameInData;
+	private volatile FilterAttributes filterAttributes = new FilterAttributes(
+			Collections.emptyMap(), 0);
 
 	private BasicClientDataChildFilter(String childNameInData) {
 		this.childNameInData = childNameInData;
@@ -42,53 +56,87 @@ public class BasicClientDataChildFilter implements ClientDataChildFilter {
 		return new BasicClientDataChildFilter(childNameInData);
 	}
 
+	/**
+	 * addAttributeUsingNameInDataAndPossibleValues adds an attribute that matching children must
+	 * have. The possible values are copied, they can contain null and if they are null no value is
+	 * possible for the attribute.
+	 */
 	@Override
-	public void addAttributeUsingNameInDataAndPossibleValues(String attributeName,
+	public synchronized void addAttributeUsingNameInDataAndPossibleValues(String attributeName,
 			Set<String> possibleValues) {
-		BasicClientFilterAttribute filterAttribute = new BasicClientFilterAttribute(attributeName,
-				possibleValues);
-		filterAttributes.add(filterAttribute);
+		FilterAttributes current = filterAttributes;
+		Map<String, Set<String>> extended = new HashMap<>(current.possibleValuesByName());
+		extended.put(attributeName, mergePossibleValues(extended.get(attributeName),
+				possibleValues));
+		filterAttributes = new FilterAttributes(Collections.unmodifiableMap(extended),
+				current.numberOfAttributes() + 1);
+	}
+
+	private Set<String> mergePossibleValues(Set<String> existing, Set<String> added) {
+		Set<String> merged = new HashSet<>();
+		if (existing != null) {
+			merged.addAll(existing);
+		}
+		if (added != null) {
+			merged.addAll(added);
+		}
+		return Collections.unmodifiableSet(merged);
 	}
 
 	@Override
 	public boolean childMatches(ClientDataChild dataChild) {
-		nrOfChildAttributes = getNumberOfAttributes(dataChild);
-		if (childNameMatchesAndHasSameNumberOfAttributes(dataChild)) {
-			return hasSameAttributesAndValuesAreInPossibleValues(dataChild.getAttributes());
+		if (childNameMatches(dataChild)) {
+			return attributesMatch(dataChild);
 		}
 		return false;
 	}
 
-	private boolean hasSameAttributesAndValuesAreInPossibleValues(
-			Collection<ClientDataAttribute> attributes) {
-		return attributes.stream().allMatch(this::matchAnyFilterAttribute);
+	private boolean childNameMatches(ClientDataChild child) {
+		return child.getNameInData().equals(childNameInData);
 	}
 
-	private int getNumberOfAttributes(ClientDataChild child) {
-		if (child.hasAttributes()) {
-			return child.getAttributes().size();
+	private boolean attributesMatch(ClientDataChild dataChild) {
+		FilterAttributes current = filterAttributes;
+		if (!dataChild.hasAttributes()) {
+			return current.numberOfAttributes() == 0;
 		}
-		return 0;
-	}
-
-	private boolean childNameMatchesAndHasSameNumberOfAttributes(ClientDataChild child) {
-		return childNameMatches(child) && hasSameNumberOfAttributes();
+		Collection<ClientDataAttribute> attributes = dataChild.getAttributes();
+		if (attributes.size() != current.numberOfAttributes()) {
+			return false;
+		}
+		return allAttributeValuesAreInPossibleValues(attributes, current.possibleValuesByName());
 	}
 
-	private boolean hasSameNumberOfAttributes() {
-		return filterAttributes.size() == nrOfChildAttributes;
+	private boolean allAttributeValuesAreInPossibleValues(
+			Collection<ClientDataAttribute> attributes, Map<String, Set<String>> possibleValues) {
+		for (ClientDataAttribute attribute : attributes) {
+			if (!attributeValueIsInPossibleValues(attribute, possibleValues)) {
+				return false;
+			}
+		}
+		return true;
 	}
 
-	private boolean childNameMatches(ClientDataChild child) {
-		return child.getNameInData().equals(childNameInData);
+	private boolean attributeValueIsInPossibleValues(ClientDataAttribute attribute,
+			Map<String, Set<String>> possibleValues) {
+		Set<String> possibleValuesForAttribute = possibleValues.get(attribute.getNameInData());
+		return possibleValuesForAttribute != null
+				&& possibleValuesForAttribute.contains(attribute.getValue());
 	}
 
-	private boolean matchAnyFilterAttribute(ClientDataAttribute dataAttribute) {
-		return filterAttributes.stream()
-				.anyMatch(filterAttribute -> filterAttribute.attributeMatches(dataAttribute));
+	String getChildNameInData() {
+		return childNameInData;
 	}
 
 	public String onlyForTestGetChildNameInData() {
 		return childNameInData;
 	}
+
+	/**
+	 * FilterAttributes holds the merged possible values by attribute name together with the number
+	 * of attributes added to the filter, so that both are replaced together.
+	 */
+	private record FilterAttributes(Map<String, Set<String>> possibleValuesByName,
+			int numberOfAttributes) {
+	}
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.data;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import se.uu.ub.cora.clientdata.ClientDataAtomic;
+import se.uu.ub.cora.clientdata.ClientDataAttribute;
+import se.uu.ub.cora.clientdata.ClientDataChild;
+import se.uu.ub.cora.clientdata.ClientDataGroup;
+import se.uu.ub.cora.clientdata.ClientDataResourceLink;
+
+/**
+ * BasicClientDataChildKey identifies a child in a group by nameInData, repeatId and attributes. It
+ * is an internal class used to match children between two trees of client data.
+ */
+record BasicClientDataChildKey(String nameInData, String repeatId,
+		Map<String, String> attributes) {
+
+	static BasicClientDataChildKey fromChild(ClientDataChild child) {
+		return new BasicClientDataChildKey(child.getNameInData(), getRepeatId(child),
+				getAttributes(child));
+	}
+
+	static String getRepeatId(ClientDataChild child) {
+		String repeatId = null;
+		if (child instanceof ClientDataGroup group) {
+			repeatId = group.getRepeatId();
+		} else if (child instanceof ClientDataAtomic atomic) {
+			repeatId = atomic.getRepeatId();
+		} else if (child instanceof ClientDataResourceLink resourceLink) {
+			repeatId = resourceLink.getRepeatId();
+		}
+		return repeatId == null || repeatId.isEmpty() ? null : repeatId;
+	}
+
+	private static Map<String, String> getAttributes(ClientDataChild child) {
+		if (!child.hasAttributes()) {
+			return Collections.emptyMap();
+		}
+		Map<String, String> attributes = new TreeMap<>();
+		for (ClientDataAttribute attribute : child.getAttributes()) {
+			attributes.put(attribute.getNameInData(), attribute.getValue());
+		}
+		return Collections.unmodifiableMap(attributes);
+	}
+
+	boolean matches(ClientDataChild child) {
+		return nameInData.equals(child.getNameInData())
+				&& Objects.equals(repeatId, getRepeatId(child)) && attributesMatch(child);
+	}
+
+	private boolean attributesMatch(ClientDataChild child) {
+		if (!child.hasAttributes()) {
+			return attributes.isEmpty();
+		}
+		if (child.getAttributes().size() != attributes.size()) {
+			return false;
+		}
+		for (ClientDataAttribute attribute : child.getAttributes()) {
+			if (!attribute.getValue().equals(attributes.get(attribute.getNameInData()))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder key = new StringBuilder(nameInData);
+		if (repeatId != null) {
+			key.append('#').append(repeatId);
+		}
+		attributes.forEach((name, value) -> key.append('[').append(name).append('=').append(value)
+				.append(']'));
+		return key.toString();
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import se.uu.ub.cora.clientdata.ClientDataChild;
+import se.uu.ub.cora.clientdata.ClientDataChildFilter;
+
+/**
+ * BasicClientDataChildPartition holds the result of
+ * {@link BasicClientDataGroup#partitionChildrenUsingFilters(ClientDataChildFilter...)}, the
+ * children matching each of the filters and the children not matching any of the filters. A child
+ * matching more than one filter is part of the result for each filter it matches.
+ */
+public final class BasicClientDataChildPartition {
+	private final List<List<ClientDataChild>> matchingChildren;
+	private final List<ClientDataChild> unmatchedChildren = new ArrayList<>();
+
+	static BasicClientDataChildPartition partitionChildrenUsingFilters(
+			List<ClientDataChild> children, ClientDataChildFilter... filters) {
+		BasicClientDataChildPartition partition = new BasicClientDataChildPartition(
+				filters.length);
+		for (ClientDataChild child : children) {
+			partition.addChildToMatchingFilters(child, filters);
+		}
+		return partition;
+	}
+
+	private BasicClientDataChildPartition(int numberOfFilters) {
+		matchingChildren = new ArrayList<>(numberOfFilters);
+		for (int i = 0; i < numberOfFilters; i++) {
+			matchingChildren.add(new ArrayList<>());
+		}
+	}
+
+	private void addChildToMatchingFilters(ClientDataChild child,
+			ClientDataChildFilter... filters) {
+		boolean matched = false;
+		for (int i = 0; i < filters.length; i++) {
+			if (filters[i].childMatches(child)) {
+				matchingChildren.get(i).add(child);
+				matched = true;
+			}
+		}
+		if (!matched) {
+			unmatchedChildren.add(child);
+		}
+	}
+
+	/**
+	 * getChildrenMatchingFilter returns the children matching the filter at the entered position in
+	 * the filters used to create this partition.
+	 * 
+	 * @param filterIndex
+	 *            An int with the position of the filter
+	 * @return An unmodifiable List with the matching children, in the same order as in the group
+	 */
+	public List<ClientDataChild> getChildrenMatchingFilter(int filterIndex) {
+		return Collections.unmodifiableList(matchingChildren.get(filterIndex));
+	}
+
+	/**
+	 * getUnmatchedChildren returns the children not matching any of the filters used to create this
+	 * partition.
+	 * 
+	 * @return An unmodifiable List with the unmatched children, in the same order as in the group
+	 */
+	public List<ClientDataChild> getUnmatchedChildren() {
+		return Collections.unmodifiableList(unmatchedChildren);
+	}
+}
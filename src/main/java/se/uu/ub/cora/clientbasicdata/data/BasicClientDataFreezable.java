@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.data;
+
+/**
+ * BasicClientDataFreezable is implemented by data classes that can be made read only.
+ * <p>
+ * A frozen instance, and all data reachable from it, can be shared between threads as long as it
+ * is frozen before it is published to other threads. All methods that change a frozen instance
+ * throw an {@link UnsupportedOperationException}.
+ */
+public interface BasicClientDataFreezable {
+
+	/**
+	 * freeze makes this instance, and all freezable data it contains, read only. Calling freeze on
+	 * an already frozen instance does nothing.
+	 */
+	void freeze();
+
+	/**
+	 * isFrozen returns if this instance is frozen
+	 * 
+	 * @return A boolean, true if this instance is frozen
+	 */
+	boolean isFrozen();
+
+	/**
+	 * freezeIfPossible freezes the entered data if it is a {@link BasicClientDataFreezable}, other
+	 * data is left as it is.
+	 * 
+	 * @param data
+	 *            An Object to possibly freeze, can be null
+	 */
+	static void freezeIfPossible(Object data) {
+		if (data instanceof BasicClientDataFreezable freezable) {
+			freezable.freeze();
+		}
+	}
+
+	/**
+	 * throwErrorIfFrozen is used by freezable data to fail fast when a frozen instance is changed
+	 * 
+	 * @param frozen
+	 *            A boolean, true if the data about to be changed is frozen
+	 */
+	static void throwErrorIfFrozen(boolean frozen) {
+		if (frozen) {
+			throw new UnsupportedOperationException("Data is frozen and can not be changed.");
+		}
+	}
+}
@@ -20,11 +20,15 @@
 
 package se.uu.ub.cora.clientbasicdata.data;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -37,12 +41,21 @@ import se.uu.ub.cora.clientdata.ClientDataChildFilter;
 import se.uu.ub.cora.clientdata.ClientDataGroup;
 import se.uu.ub.cora.clientdata.ClientDataMissingException;
 
-public class BasicClientDataGroup implements ClientDataGroup {
+public class BasicClientDataGroup implements ClientDataGroup, BasicClientDataFreezable {
 
+	/**
+	 * MIN_CHILDREN_FOR_NAME_INDEX is the number of children a group must have before lookups by
+	 * nameInData are done using the name index instead of scanning all children.
+	 */
+	static final int MIN_CHILDREN_FOR_NAME_INDEX = 8;
 	private String nameInData;
-	private Set<ClientDataAttribute> attributes = new HashSet<>();
-	private List<ClientDataChild> children = new ArrayList<>();
+	private ClientDataAttribute[] attributes = BasicClientDataAttributes.NO_ATTRIBUTES;
+	private ChildList children = new ChildList();
+	private volatile NameIndex nameIndex;
 	private String repeatId;
+	private boolean frozen;
+	private List<ClientDataChild> readOnlyChildren;
+	private int frozenHash;
 	private Predicate<ClientDataChild> isDataAtomic = BasicClientDataAtomic.class::isInstance;
 	private Predicate<ClientDataChild> isDataGroup = BasicClientDataGroup.class::isInstance;
 
@@ -61,9 +74,73 @@ public class BasicClientDataGroup implements ClientDataGroup {
 
 	@Override
 	public boolean containsChildWithNameInData(String nameInData) {
+		if (useNameIndex()) {
+			return getNameIndex().containsKey(nameInData);
+		}
 		return children.stream().anyMatch(filterByNameInData(nameInData));
 	}
 
+	private boolean useNameIndex() {
+		return children.size() >= MIN_CHILDREN_FOR_NAME_INDEX;
+	}
+
+	/**
+	 * getNameIndex returns the name index, building it if it is missing or outdated. The index is
+	 * built in a local map and published once it is complete, so that a reader never sees a
+	 * partially built index.
+	 */
+	private Map<String, List<ClientDataChild>> getNameIndex() {
+		NameIndex index = nameIndex;
+		if (nameIndexIsOutdated(index)) {
+			index = buildNameIndex();
+			nameIndex = index;
+		}
+		return index.childrenByName();
+	}
+
+	private boolean nameIndexIsOutdated(NameIndex index) {
+		return index == null || index.modificationCount() != children.getModificationCount();
+	}
+
+	private NameIndex buildNameIndex() {
+		int modificationCount = children.getModificationCount();
+		Map<String, List<ClientDataChild>> childrenByName = new HashMap<>();
+		for (ClientDataChild child : children) {
+			addChildToNameIndex(childrenByName, child);
+		}
+		return new NameIndex(childrenByName, modificationCount);
+	}
+
+	private void addChildToNameIndex(Map<String, List<ClientDataChild>> childrenByName,
+			ClientDataChild child) {
+		childrenByName.computeIfAbsent(child.getNameInData(), key -> new ArrayList<>(1))
+				.add(child);
+	}
+
+	private Stream<ClientDataChild> getChildrenWithNameInDataStream(String childNameInData) {
+		if (useNameIndex()) {
+			return getNameIndex().getOrDefault(childNameInData, Collections.emptyList()).stream();
+		}
+		return children.stream().filter(filterByNameInData(childNameInData));
+	}
+
+	/**
+	 * getCandidateChildrenForNameInData returns an unmodifiable list that contains all children
+	 * with the entered nameInData, using the name index if this group has one. If there is no index
+	 * all children are returned, so callers must still check the nameInData of each child.
+	 * <p>
+	 * The returned list is a view of the children, not a copy, and must not be used while this
+	 * group is changed. Its iterator throws a ConcurrentModificationException on a best effort
+	 * basis if the group is changed during the iteration.
+	 */
+	List<ClientDataChild> getCandidateChildrenForNameInData(String childNameInData) {
+		if (useNameIndex()) {
+			return Collections.unmodifiableList(
+					getNameIndex().getOrDefault(childNameInData, Collections.emptyList()));
+		}
+		return Collections.unmodifiableList(children);
+	}
+
 	private Predicate<ClientDataChild> filterByNameInData(String childNameInData) {
 		return dataElement -> dataElementsNameInDataIs(dataElement, childNameInData);
 	}
@@ -89,21 +166,17 @@ public class BasicClientDataGroup implements ClientDataGroup {
 	}
 
 	private Stream<BasicClientDataAtomic> getAtomicChildrenWithNameInData(String childNameInData) {
-		return getAtomicChildrenStream().filter(filterByNameInData(childNameInData))
+		return getChildrenWithNameInDataStream(childNameInData).filter(isDataAtomic)
 				.map(BasicClientDataAtomic.class::cast);
 	}
 
-	private Stream<ClientDataChild> getAtomicChildrenStream() {
-		return children.stream().filter(isDataAtomic);
-	}
-
 	@Override
 	public List<ClientDataAtomic> getAllDataAtomicsWithNameInData(String childNameInData) {
 		return getDataAtomicChildrenWithNameInData(childNameInData).toList();
 	}
 
 	private Stream<ClientDataAtomic> getDataAtomicChildrenWithNameInData(String childNameInData) {
-		return getAtomicChildrenStream().filter(filterByNameInData(childNameInData))
+		return getChildrenWithNameInDataStream(childNameInData).filter(isDataAtomic)
 				.map(BasicClientDataAtomic.class::cast);
 	}
 
@@ -119,14 +192,10 @@ public class BasicClientDataGroup implements ClientDataGroup {
 	}
 
 	private Stream<ClientDataGroup> getGroupChildrenWithNameInDataStream(String childNameInData) {
-		return getGroupChildrenStream().filter(filterByNameInData(childNameInData))
+		return getChildrenWithNameInDataStream(childNameInData).filter(isDataGroup)
 				.map(BasicClientDataGroup.class::cast);
 	}
 
-	private Stream<ClientDataChild> getGroupChildrenStream() {
-		return children.stream().filter(isDataGroup);
-	}
-
 	@Override
 	public ClientDataAtomic getFirstDataAtomicWithNameInData(String childNameInData) {
 		Optional<ClientDataAtomic> findFirst = getDataAtomicChildrenWithNameInData(childNameInData)
@@ -151,7 +220,7 @@ public class BasicClientDataGroup implements ClientDataGroup {
 	}
 
 	private Optional<ClientDataChild> possiblyFindFirstChildWithNameInData(String childNameInData) {
-		return children.stream().filter(filterByNameInData(childNameInData)).findFirst();
+		return getChildrenWithNameInDataStream(childNameInData).findFirst();
 	}
 
 	@Override
@@ -161,39 +230,25 @@ public class BasicClientDataGroup implements ClientDataGroup {
 
 	@Override
 	public boolean hasAttributes() {
-		return !attributes.isEmpty();
+		return attributes.length > 0;
 	}
 
 	@Override
 	public void addAttributeByIdWithValue(String nameInData, String value) {
-		possiblyRemovePreviouslyStoredAttribute(nameInData);
-		attributes.add(BasicClientDataAttribute.withNameInDataAndValue(nameInData, value));
-	}
-
-	private void possiblyRemovePreviouslyStoredAttribute(String nameInData) {
-		Iterator<ClientDataAttribute> iterator = attributes.iterator();
-		while (iterator.hasNext()) {
-			possiblyRemoveAttribute(iterator, nameInData);
-		}
-	}
-
-	private void possiblyRemoveAttribute(Iterator<ClientDataAttribute> iterator,
-			String nameInData) {
-		ClientDataAttribute next = iterator.next();
-		if (next.getNameInData().equals(nameInData)) {
-			iterator.remove();
-		}
+		throwErrorIfFrozen();
+		attributes = BasicClientDataAttributes.addOrReplace(attributes, nameInData, value);
 	}
 
 	@Override
 	public boolean removeFirstChildWithNameInData(String childNameInData) {
+		throwErrorIfFrozen();
 		return tryToRemoveChild(childNameInData);
 	}
 
 	private boolean tryToRemoveChild(String childNameInData) {
-		for (ClientDataChild dataElement : children) {
-			if (dataElementsNameInDataIs(dataElement, childNameInData)) {
-				children.remove(dataElement);
+		for (int i = 0; i < children.size(); i++) {
+			if (dataElementsNameInDataIs(children.get(i), childNameInData)) {
+				children.remove(i);
 				return true;
 			}
 		}
@@ -202,7 +257,8 @@ public class BasicClientDataGroup implements ClientDataGroup {
 
 	@Override
 	public boolean removeAllChildrenWithNameInData(String childNameInData) {
-		return getChildren().removeIf(filterByNameInData(childNameInData));
+		throwErrorIfFrozen();
+		return children.removeIf(filterByNameInData(childNameInData));
 	}
 
 	@Override
@@ -212,21 +268,31 @@ public class BasicClientDataGroup implements ClientDataGroup {
 
 	@Override
 	public Collection<ClientDataAttribute> getAttributes() {
-		return attributes;
+		return BasicClientDataAttributes.asCollection(attributes);
 	}
 
 	@Override
 	public List<ClientDataChild> getChildren() {
+		if (frozen) {
+			return readOnlyChildren;
+		}
 		return children;
 	}
 
 	@Override
 	public void addChild(ClientDataChild dataElement) {
+		throwErrorIfFrozen();
+		NameIndex index = nameIndex;
+		boolean nameIndexWasUpToDate = !nameIndexIsOutdated(index);
 		children.add(dataElement);
+		if (nameIndexWasUpToDate) {
+			addChildrenToNameIndex(index, Collections.singletonList(dataElement));
+		}
 	}
 
 	@Override
 	public void setRepeatId(String repeatId) {
+		throwErrorIfFrozen();
 		this.repeatId = repeatId;
 	}
 
@@ -310,17 +376,27 @@ public class BasicClientDataGroup implements ClientDataGroup {
 
 	@Override
 	public ClientDataAttribute getAttribute(String attributeId) {
-		for (ClientDataAttribute dataAttribute : attributes) {
-			if (dataAttribute.getNameInData().equals(attributeId)) {
-				return dataAttribute;
-			}
-		}
-		throw new ClientDataMissingException("Attribute with id " + attributeId + " not found.");
+		return BasicClientDataAttributes.get(attributes, attributeId);
 	}
 
 	@Override
 	public void addChildren(Collection<ClientDataChild> dataElements) {
+		throwErrorIfFrozen();
+		NameIndex index = nameIndex;
+		boolean nameIndexWasUpToDate = !nameIndexIsOutdated(index);
+		int sizeBefore = children.size();
 		children.addAll(dataElements);
+		if (nameIndexWasUpToDate) {
+			addChildrenToNameIndex(index, children.subList(sizeBefore, children.size()));
+		}
+	}
+
+	private void addChildrenToNameIndex(NameIndex index, List<ClientDataChild> addedChildren) {
+		Map<String, List<ClientDataChild>> childrenByName = index.childrenByName();
+		for (ClientDataChild child : addedChildren) {
+			addChildToNameIndex(childrenByName, child);
+		}
+		nameIndex = new NameIndex(childrenByName, children.getModificationCount());
 	}
 
 	@Override
@@ -330,8 +406,7 @@ public class BasicClientDataGroup implements ClientDataGroup {
 	}
 
 	private Stream<ClientDataChild> getChildrenWithNameInData(String childNameInData) {
-		return children.stream().filter(filterByNameInData(childNameInData))
-				.map(ClientDataChild.class::cast);
+		return getChildrenWithNameInDataStream(childNameInData);
 	}
 
 	@Override
@@ -372,12 +447,16 @@ public class BasicClientDataGroup implements ClientDataGroup {
 	}
 
 	private Stream<ClientDataAtomic> getAtomicChildrenWithNameInDataStream(String childNameInData) {
-		return getAtomicChildrenStream().filter(filterByNameInData(childNameInData))
+		return getChildrenWithNameInDataStream(childNameInData).filter(isDataAtomic)
 				.map(BasicClientDataAtomic.class::cast);
 	}
 
 	@Override
 	public List<ClientDataChild> getAllChildrenMatchingFilter(ClientDataChildFilter childFilter) {
+		if (childFilter instanceof BasicClientDataChildFilter basicChildFilter) {
+			return getChildrenWithNameInDataStream(basicChildFilter.getChildNameInData())
+					.filter(basicChildFilter::childMatches).toList();
+		}
 		return filterChildren(childFilter::childMatches);
 	}
 
@@ -385,18 +464,44 @@ public class BasicClientDataGroup implements ClientDataGroup {
 		return children.stream().filter(predicate).toList();
 	}
 
+	/**
+	 * partitionChildrenUsingFilters sorts the children of this group into the children matching
+	 * each of the entered filters and the children not matching any of them, using one pass over
+	 * the children. The result for each filter is the same as calling
+	 * {@link #getAllChildrenMatchingFilter(ClientDataChildFilter)} with that filter.
+	 * 
+	 * @param filters
+	 *            The ClientDataChildFilters to sort the children with
+	 * @return A BasicClientDataChildPartition with the matching children for each filter, in the
+	 *         order the filters were entered, and the unmatched children
+	 */
+	public BasicClientDataChildPartition partitionChildrenUsingFilters(
+			ClientDataChildFilter... filters) {
+		return BasicClientDataChildPartition.partitionChildrenUsingFilters(children, filters);
+	}
+
 	@Override
 	public boolean removeAllChildrenMatchingFilter(ClientDataChildFilter childFilter) {
+		throwErrorIfFrozen();
+		if (noChildCanMatchFilter(childFilter)) {
+			return false;
+		}
 		return removeMatchingChildren(childFilter::childMatches);
 	}
 
+	private boolean noChildCanMatchFilter(ClientDataChildFilter childFilter) {
+		return childFilter instanceof BasicClientDataChildFilter basicChildFilter && useNameIndex()
+				&& !getNameIndex().containsKey(basicChildFilter.getChildNameInData());
+	}
+
 	private boolean removeMatchingChildren(Predicate<? super ClientDataChild> filter) {
+		throwErrorIfFrozen();
 		return children.removeIf(filter);
 	}
 
 	@Override
 	public <T> boolean containsChildOfTypeAndName(Class<T> type, String name) {
-		return children.stream().filter(filterByNameInData(name)).anyMatch(type::isInstance);
+		return getChildrenWithNameInDataStream(name).anyMatch(type::isInstance);
 	}
 
 	@Override
@@ -411,21 +516,23 @@ public class BasicClientDataGroup implements ClientDataGroup {
 
 	private <T extends ClientDataChild> Optional<T> getOptionalFirstChildOfTypeAndName(
 			Class<T> type, String name) {
-		return children.stream().filter(filterByNameInData(name)).map(type::cast).findFirst();
+		return getChildrenWithNameInDataStream(name).map(type::cast).findFirst();
 	}
 
 	@Override
 	public <T extends ClientDataChild> List<T> getChildrenOfTypeAndName(Class<T> type,
 			String name) {
-		return children.stream().filter(filterByNameInData(name)).map(type::cast).toList();
+		return getChildrenWithNameInDataStream(name).map(type::cast).toList();
 	}
 
 	@Override
 	public <T extends ClientDataChild> boolean removeFirstChildWithTypeAndName(Class<T> type,
 			String name) {
+		throwErrorIfFrozen();
 		Optional<T> optionalFirst = getOptionalFirstChildOfTypeAndName(type, name);
 		if (optionalFirst.isPresent()) {
-			return children.remove(optionalFirst.get());
+			children.remove(indexOfChild(optionalFirst.get()));
+			return true;
 		}
 		return false;
 	}
@@ -433,21 +540,268 @@ public class BasicClientDataGroup implements ClientDataGroup {
 	@Override
 	public <T extends ClientDataChild> boolean removeChildrenWithTypeAndName(Class<T> type,
 			String name) {
-		return children.removeAll(getChildrenOfTypeAndName(type, name));
+		throwErrorIfFrozen();
+		Set<ClientDataChild> childrenToRemove = Collections
+				.newSetFromMap(new IdentityHashMap<>());
+		childrenToRemove.addAll(getChildrenOfTypeAndName(type, name));
+		return removeMatchingChildren(childrenToRemove::contains);
 	}
 
 	@Override
 	public Optional<String> getAttributeValue(String nameInData) {
-		for (ClientDataAttribute dataAttribute : attributes) {
-			if (dataAttribute.getNameInData().equals(nameInData)) {
-				return Optional.of(dataAttribute.getValue());
-			}
-		}
-		return Optional.empty();
+		return BasicClientDataAttributes.getValue(attributes, nameInData);
 	}
 
 	@Override
 	public boolean hasRepeatId() {
 		return repeatId != null && !"".equals(repeatId);
 	}
+
+	/**
+	 * freeze makes this group and all its children read only. The name index is built while
+	 * freezing, so that lookups on a frozen group never change its state and can be done from
+	 * several threads at the same time.
+	 */
+	@Override
+	public void freeze() {
+		if (frozen) {
+			return;
+		}
+		for (ClientDataChild child : children) {
+			BasicClientDataFreezable.freezeIfPossible(child);
+		}
+		possiblyBuildNameIndex();
+		readOnlyChildren = Collections.unmodifiableList(children);
+		frozen = true;
+	}
+
+	private void possiblyBuildNameIndex() {
+		if (useNameIndex()) {
+			getNameIndex();
+		}
+	}
+
+	@Override
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	protected void throwErrorIfFrozen() {
+		BasicClientDataFreezable.throwErrorIfFrozen(frozen);
+	}
+
+	/**
+	 * equals compares groups by value. Groups are equal if they are of the same class and have the
+	 * same nameInData, repeatId, attributes and children, where children are compared in order.
+	 * Action links are not compared.
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || obj.getClass() != getClass()) {
+			return false;
+		}
+		BasicClientDataGroup other = (BasicClientDataGroup) obj;
+		if (frozenHashesDiffer(other)) {
+			return false;
+		}
+		return Objects.equals(nameInData, other.nameInData)
+				&& Objects.equals(repeatId, other.repeatId)
+				&& BasicClientDataAttributes.haveSameAttributes(attributes, other.attributes)
+				&& children.equals(other.children);
+	}
+
+	private boolean frozenHashesDiffer(BasicClientDataGroup other) {
+		return frozen && other.frozen && hashCode() != other.hashCode();
+	}
+
+	/**
+	 * hashCode is computed from the hashes of the children of this group. When a group is frozen it
+	 * can not change, and its hash is cached after it has been computed once. As all children of a
+	 * frozen group are frozen, the hashes of a frozen tree are computed bottom up at most once.
+	 */
+	@Override
+	public int hashCode() {
+		if (frozen && frozenHash != 0) {
+			return frozenHash;
+		}
+		int hash = computeHash();
+		if (frozen) {
+			frozenHash = hash;
+		}
+		return hash;
+	}
+
+	private int computeHash() {
+		int hash = Objects.hashCode(nameInData);
+		hash = 31 * hash + Objects.hashCode(repeatId);
+		hash = 31 * hash + BasicClientDataAttributes.hashCode(attributes);
+		return 31 * hash + children.hashCode();
+	}
+
+	/**
+	 * copy returns a deep copy of this group that is not frozen. Frozen children are shared between
+	 * this group and the copy, as they can not be changed, while other children are copied.
+	 * <p>
+	 * Copying a frozen group is cheap, as only the list of children is copied. A frozen group can
+	 * therefore be used as a prototype for many copies, where frozen branches that need to be
+	 * changed in a copy are copied when needed using
+	 * {@link #getFirstGroupWithNameInDataForChange(String)}.
+	 * 
+	 * @return A BasicClientDataGroup, of the same class as this group, that is not frozen
+	 */
+	public BasicClientDataGroup copy() {
+		BasicClientDataGroup copy = createEmptyCopy();
+		copy.attributes = attributes;
+		copy.repeatId = repeatId;
+		copy.children.ensureCapacity(children.size());
+		for (ClientDataChild child : children) {
+			copy.children.add(copyOrShareChild(child));
+		}
+		return copy;
+	}
+
+	/**
+	 * createEmptyCopy returns a new group of the same class as this group with the same
+	 * nameInData, subclasses with more state than a plain group should override this method.
+	 */
+	protected BasicClientDataGroup createEmptyCopy() {
+		return new BasicClientDataGroup(nameInData);
+	}
+
+	static ClientDataChild copyOrShareChild(ClientDataChild child) {
+		if (child instanceof BasicClientDataFreezable freezable && freezable.isFrozen()) {
+			return child;
+		}
+		if (child instanceof BasicClientDataGroup group) {
+			return group.copy();
+		}
+		if (child instanceof BasicClientDataAtomic atomic) {
+			return atomic.copy();
+		}
+		if (child instanceof BasicClientDataResourceLink resourceLink) {
+			return resourceLink.copy();
+		}
+		return child;
+	}
+
+	/**
+	 * getFirstGroupWithNameInDataForChange returns the first group with the entered nameInData,
+	 * like {@link #getFirstGroupWithNameInData(String)}, but makes sure that it can be changed. If
+	 * the found group is frozen it is replaced in this group by a copy, and the copy is returned.
+	 * 
+	 * @param childNameInData
+	 *            A String with the nameInData of the group to get
+	 * @return The first BasicClientDataGroup with the nameInData, that is not frozen
+	 * @throws ClientDataMissingException
+	 *             if no group with the nameInData exists
+	 */
+	public BasicClientDataGroup getFirstGroupWithNameInDataForChange(String childNameInData) {
+		throwErrorIfFrozen();
+		BasicClientDataGroup group = (BasicClientDataGroup) getFirstGroupWithNameInData(
+				childNameInData);
+		if (!group.isFrozen()) {
+			return group;
+		}
+		BasicClientDataGroup copy = group.copy();
+		children.set(indexOfChild(group), copy);
+		return copy;
+	}
+
+	private int indexOfChild(ClientDataChild child) {
+		for (int i = 0; i < children.size(); i++) {
+			if (children.get(i) == child) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * getChildrenModificationCount returns a number that changes every time the children of this
+	 * group are changed, making it possible for subclasses to detect if information they have
+	 * cached about the children is outdated.
+	 */
+	int getChildrenModificationCount() {
+		return children.getModificationCount();
+	}
+
+	/**
+	 * NameIndex holds the children of this group by nameInData together with the modification
+	 * count of the children it was built from.
+	 */
+	private record NameIndex(Map<String, List<ClientDataChild>> childrenByName,
+			int modificationCount) {
+	}
+
+	/**
+	 * ChildList is an internal list of children that exposes a modification count, so that the
+	 * name index can detect when the children have been changed, also when changed through the
+	 * list returned from {@link BasicClientDataGroup#getChildren()} or a sub list of it.
+	 * <p>
+	 * ArrayList does not count replacing a child as a modification, so replacements are counted
+	 * separately, and sub lists are wrapped so that replacements made through them are counted as
+	 * well.
+	 */
+	private static final class ChildList extends ArrayList<ClientDataChild> {
+		private static final long serialVersionUID = 1L;
+		private int replaceCount;
+
+		int getModificationCount() {
+			return modCount + replaceCount;
+		}
+
+		@Override
+		public ClientDataChild set(int index, ClientDataChild element) {
+			replaceCount++;
+			return super.set(index, element);
+		}
+
+		@Override
+		public List<ClientDataChild> subList(int fromIndex, int toIndex) {
+			return new ChildSubList(this, super.subList(fromIndex, toIndex));
+		}
+	}
+
+	private static final class ChildSubList extends AbstractList<ClientDataChild> {
+		private final ChildList root;
+		private final List<ClientDataChild> subList;
+
+		ChildSubList(ChildList root, List<ClientDataChild> subList) {
+			this.root = root;
+			this.subList = subList;
+		}
+
+		@Override
+		public ClientDataChild get(int index) {
+			return subList.get(index);
+		}
+
+		@Override
+		public int size() {
+			return subList.size();
+		}
+
+		@Override
+		public ClientDataChild set(int index, ClientDataChild element) {
+			ClientDataChild replaced = subList.set(index, element);
+			root.replaceCount++;
+			return replaced;
+		}
+
+		@Override
+		public void add(int index, ClientDataChild element) {
+			subList.add(index, element);
+			modCount++;
+		}
+
+		@Override
+		public ClientDataChild remove(int index) {
+			ClientDataChild removed = subList.remove(index);
+			modCount++;
+			return removed;
+		}
+	}
 }
@@ -0,0 +1,396 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import se.uu.ub.cora.clientdata.ClientData;
+import se.uu.ub.cora.clientdata.ClientDataAtomic;
+import se.uu.ub.cora.clientdata.ClientDataAttribute;
+import se.uu.ub.cora.clientdata.ClientDataChild;
+import se.uu.ub.cora.clientdata.ClientDataGroup;
+import se.uu.ub.cora.clientdata.ClientDataList;
+import se.uu.ub.cora.clientdata.ClientDataMissingException;
+import se.uu.ub.cora.clientdata.ClientDataRecord;
+
+/**
+ * BasicClientDataPath is a compiled path expression used to find children deep down in a tree of
+ * client data, starting from a group.
+ * <p>
+ * An expression consists of steps separated by "/", where each step matches children of the
+ * group matched by the previous step. A step is a nameInData, or "*" to match children with any
+ * nameInData, followed by an optional repeatId written as "#repeatId" and any number of attribute
+ * predicates written as "[attributeName=value]". A child matches a step if it has the nameInData
+ * and repeatId and at least the attributes in the step. Examples are
+ * "recordInfo/type/linkedRecordId", "name[type=authorized]/value" and "textPart#1/text".
+ * <p>
+ * Compiled paths are immutable and the most recently used are cached by expression, use
+ * {@link #compile(String)} to get one. Evaluation walks the tree directly without creating
+ * intermediate collections and stops as soon as the requested result is found.
+ * <p>
+ * Evaluation reads the children of the groups in the tree as they are, without copying them. A
+ * compiled path can be used by many threads at the same time, but the groups it is evaluated in
+ * must not be changed during the evaluation, neither by another thread nor by the consumer of
+ * {@link #forEachMatch(ClientDataGroup, Consumer)}. Such changes are detected on a best effort
+ * basis and reported as a ConcurrentModificationException, in the same way as by the iterators of
+ * the java collections. Frozen trees can not be changed, and can be evaluated by any number of
+ * threads.
+ */
+public final class BasicClientDataPath {
+	/**
+	 * MAX_CACHED_PATHS is the number of most recently used paths kept in the cache.
+	 */
+	static final int MAX_CACHED_PATHS = 1_000;
+	private static final String WILDCARD = "*";
+	private static final Map<String, BasicClientDataPath> CACHE = Collections
+			.synchronizedMap(new PathCache());
+
+	private final String expression;
+	private final Step[] steps;
+
+	/**
+	 * compile returns a BasicClientDataPath for the entered expression. The paths of the
+	 * 1000 most recently compiled expressions are cached, so compiling one of
+	 * them again returns the same instance, while compiling an expression that has been evicted
+	 * from the cache returns a new, equivalent, instance.
+	 * 
+	 * @param expression
+	 *            A String with the path expression
+	 * @return A compiled BasicClientDataPath
+	 * @throws IllegalArgumentException
+	 *             if the expression is not a valid path expression
+	 */
+	public static BasicClientDataPath compile(String expression) {
+		if (expression == null) {
+			throw createInvalidExpressionError(expression);
+		}
+		return CACHE.computeIfAbsent(expression, BasicClientDataPath::new);
+	}
+
+	private BasicClientDataPath(String expression) {
+		this.expression = expression;
+		this.steps = parseSteps(expression);
+	}
+
+	private static Step[] parseSteps(String expression) {
+		if (expression.isEmpty()) {
+			throw createInvalidExpressionError(expression);
+		}
+		String[] stepExpressions = expression.split("/", -1);
+		Step[] parsedSteps = new Step[stepExpressions.length];
+		for (int i = 0; i < stepExpressions.length; i++) {
+			parsedSteps[i] = parseStep(expression, stepExpressions[i]);
+		}
+		return parsedSteps;
+	}
+
+	private static IllegalArgumentException createInvalidExpressionError(String expression) {
+		return new IllegalArgumentException("Invalid path expression: " + expression);
+	}
+
+	private static Step parseStep(String expression, String stepExpression) {
+		int predicatesStart = indexOfOrLength(stepExpression, '[');
+		String nameAndRepeatId = stepExpression.substring(0, predicatesStart);
+		int repeatIdStart = indexOfOrLength(nameAndRepeatId, '#');
+		String nameInData = nameAndRepeatId.substring(0, repeatIdStart);
+		String repeatId = parseRepeatId(expression, nameAndRepeatId, repeatIdStart);
+		if (nameInData.isEmpty()) {
+			throw createInvalidExpressionError(expression);
+		}
+		Map<String, String> attributes = parseAttributePredicates(expression,
+				stepExpression.substring(predicatesStart));
+		return new Step(nameInData, repeatId, attributes);
+	}
+
+	private static int indexOfOrLength(String string, char character) {
+		int index = string.indexOf(character);
+		return index == -1 ? string.length() : index;
+	}
+
+	private static String parseRepeatId(String expression, String nameAndRepeatId,
+			int repeatIdStart) {
+		if (repeatIdStart == nameAndRepeatId.length()) {
+			return null;
+		}
+		String repeatId = nameAndRepeatId.substring(repeatIdStart + 1);
+		if (repeatId.isEmpty()) {
+			throw createInvalidExpressionError(expression);
+		}
+		return repeatId;
+	}
+
+	private static Map<String, String> parseAttributePredicates(String expression,
+			String predicates) {
+		Map<String, String> attributes = new LinkedHashMap<>();
+		String remaining = predicates;
+		while (!remaining.isEmpty()) {
+			int end = remaining.indexOf(']');
+			int equals = remaining.indexOf('=');
+			if (remaining.charAt(0) != '[' || end == -1 || equals == -1 || equals > end
+					|| equals == 1) {
+				throw createInvalidExpressionError(expression);
+			}
+			attributes.put(remaining.substring(1, equals), remaining.substring(equals + 1, end));
+			remaining = remaining.substring(end + 1);
+		}
+		return attributes;
+	}
+
+	public String getExpression() {
+		return expression;
+	}
+
+	/**
+	 * forEachMatch calls the entered consumer with every child matching this path, in the order
+	 * they occur in the tree.
+	 * 
+	 * @param group
+	 *            The ClientDataGroup to start the path from
+	 * @param consumer
+	 *            A Consumer to call with each matching child
+	 */
+	public void forEachMatch(ClientDataGroup group, Consumer<ClientDataChild> consumer) {
+		visitMatches(group, 0, child -> {
+			consumer.accept(child);
+			return true;
+		});
+	}
+
+	private boolean visitMatches(ClientDataGroup group, int stepIndex,
+			Predicate<ClientDataChild> visitor) {
+		Step step = steps[stepIndex];
+		for (ClientDataChild child : getCandidateChildren(group, step)) {
+			if (step.matches(child) && !visitMatch(child, stepIndex, visitor)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private List<ClientDataChild> getCandidateChildren(ClientDataGroup group, Step step) {
+		if (group instanceof BasicClientDataGroup basicGroup && !step.matchesAnyName()) {
+			return basicGroup.getCandidateChildrenForNameInData(step.nameInData());
+		}
+		return group.getChildren();
+	}
+
+	private boolean visitMatch(ClientDataChild child, int stepIndex,
+			Predicate<ClientDataChild> visitor) {
+		if (stepIndex == steps.length - 1) {
+			return visitor.test(child);
+		}
+		if (child instanceof ClientDataGroup childGroup) {
+			return visitMatches(childGroup, stepIndex + 1, visitor);
+		}
+		return true;
+	}
+
+	/**
+	 * findFirst returns the first child matching this path.
+	 * 
+	 * @param group
+	 *            The ClientDataGroup to start the path from
+	 * @return An Optional with the first matching child, or an empty Optional if no child matches
+	 */
+	public Optional<ClientDataChild> findFirst(ClientDataGroup group) {
+		FirstMatch firstMatch = new FirstMatch();
+		visitMatches(group, 0, firstMatch);
+		return Optional.ofNullable(firstMatch.child);
+	}
+
+	/**
+	 * getFirst returns the first child matching this path.
+	 * 
+	 * @param group
+	 *            The ClientDataGroup to start the path from
+	 * @return The first matching ClientDataChild
+	 * @throws ClientDataMissingException
+	 *             if no child matches the path
+	 */
+	public ClientDataChild getFirst(ClientDataGroup group) {
+		FirstMatch firstMatch = new FirstMatch();
+		visitMatches(group, 0, firstMatch);
+		if (firstMatch.child == null) {
+			throw new ClientDataMissingException("Child not found for path:" + expression);
+		}
+		return firstMatch.child;
+	}
+
+	/**
+	 * getFirstAtomicValue returns the value of the first atomic matching this path.
+	 * 
+	 * @param group
+	 *            The ClientDataGroup to start the path from
+	 * @return A String with the value of the first matching atomic
+	 * @throws ClientDataMissingException
+	 *             if no atomic matches the path
+	 */
+	public String getFirstAtomicValue(ClientDataGroup group) {
+		FirstMatch firstAtomic = new FirstMatch(ClientDataAtomic.class::isInstance);
+		visitMatches(group, 0, firstAtomic);
+		if (firstAtomic.child == null) {
+			throw new ClientDataMissingException("Atomic value not found for path:" + expression);
+		}
+		return ((ClientDataAtomic) firstAtomic.child).getValue();
+	}
+
+	/**
+	 * getAllMatches returns all children matching this path, in the order they occur in the tree.
+	 * 
+	 * @param group
+	 *            The ClientDataGroup to start the path from
+	 * @return A List with the matching children, empty if no child matches
+	 */
+	public List<ClientDataChild> getAllMatches(ClientDataGroup group) {
+		List<ClientDataChild> matches = new ArrayList<>();
+		forEachMatch(group, matches::add);
+		return matches;
+	}
+
+	/**
+	 * forEachMatchInList calls the entered consumer with every child matching this path in each of
+	 * the records or groups in the entered list. The path is started from the record group of
+	 * records in the list.
+	 * 
+	 * @param list
+	 *            The ClientDataList to find children in
+	 * @param consumer
+	 *            A Consumer to call with each matching child
+	 */
+	public void forEachMatchInList(ClientDataList list, Consumer<ClientDataChild> consumer) {
+		for (ClientData data : list.getDataList()) {
+			ClientDataGroup group = getStartGroup(data);
+			if (group != null) {
+				forEachMatch(group, consumer);
+			}
+		}
+	}
+
+	private ClientDataGroup getStartGroup(ClientData data) {
+		if (data instanceof ClientDataRecord dataRecord
+				&& dataRecord.getDataRecordGroup() instanceof ClientDataGroup recordGroup) {
+			return recordGroup;
+		}
+		if (data instanceof ClientDataGroup group) {
+			return group;
+		}
+		return null;
+	}
+
+	/**
+	 * getAllAtomicValuesInList returns the values of all atomics matching this path in each of the
+	 * records or groups in the entered list, in list order.
+	 * 
+	 * @param list
+	 *            The ClientDataList to find values in
+	 * @return A List with the values of the matching atomics
+	 */
+	public List<String> getAllAtomicValuesInList(ClientDataList list) {
+		List<String> values = new ArrayList<>();
+		forEachMatchInList(list, child -> {
+			if (child instanceof ClientDataAtomic atomic) {
+				values.add(atomic.getValue());
+			}
+		});
+		return values;
+	}
+
+	private static final class FirstMatch implements Predicate<ClientDataChild> {
+		private final Predicate<ClientDataChild> accepted;
+		private ClientDataChild child;
+
+		FirstMatch() {
+			this(anyChild -> true);
+		}
+
+		FirstMatch(Predicate<ClientDataChild> accepted) {
+			this.accepted = accepted;
+		}
+
+		@Override
+		public boolean test(ClientDataChild matchingChild) {
+			if (accepted.test(matchingChild)) {
+				child = matchingChild;
+				return false;
+			}
+			return true;
+		}
+	}
+
+	private record Step(String nameInData, String repeatId, Map<String, String> attributes) {
+
+		boolean matchesAnyName() {
+			return WILDCARD.equals(nameInData);
+		}
+
+		boolean matches(ClientDataChild child) {
+			return nameMatches(child) && repeatIdMatches(child) && attributesMatch(child);
+		}
+
+		private boolean nameMatches(ClientDataChild child) {
+			return matchesAnyName() || nameInData.equals(child.getNameInData());
+		}
+
+		private boolean repeatIdMatches(ClientDataChild child) {
+			return repeatId == null || repeatId.equals(BasicClientDataChildKey.getRepeatId(child));
+		}
+
+		private boolean attributesMatch(ClientDataChild child) {
+			if (attributes.isEmpty()) {
+				return true;
+			}
+			if (!child.hasAttributes()) {
+				return false;
+			}
+			int matchingAttributes = 0;
+			for (ClientDataAttribute attribute : child.getAttributes()) {
+				if (attribute.getValue().equals(attributes.get(attribute.getNameInData()))) {
+					matchingAttributes++;
+				}
+			}
+			return matchingAttributes == attributes.size();
+		}
+	}
+
+	/**
+	 * PathCache is a map of compiled paths in access order, that evicts the least recently used
+	 * path when more than {@link #MAX_CACHED_PATHS} paths are cached. It must be synchronized by
+	 * the caller.
+	 */
+	private static final class PathCache extends LinkedHashMap<String, BasicClientDataPath> {
+		private static final long serialVersionUID = 1L;
+
+		PathCache() {
+			super(16, 0.75f, true);
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Entry<String, BasicClientDataPath> eldest) {
+			return size() > MAX_CACHED_PATHS;
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015, 2016, 2019, 2020, 2022 Uppsala University Library
+ * Copyright 2015, 2016, 2019, 2020, 2022, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -20,10 +20,13 @@ package se.uu.ub.cora.clientbasicdata.data;
 
 import java.text.MessageFormat;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 
@@ -34,24 +37,58 @@ import se.uu.ub.cora.clientdata.ClientDataRecord;
 import se.uu.ub.cora.clientdata.ClientDataRecordGroup;
 import se.uu.ub.cora.clientdata.ClientDataRecordLink;
 
-public final class BasicClientDataRecord implements ClientDataRecord {
+public final class BasicClientDataRecord implements ClientDataRecord, BasicClientDataFreezable {
 	private static final String SEARCH = "search";
 	private ClientDataRecordGroup dataRecordGroup;
-	private Map<ClientAction, ClientActionLink> actions = new EnumMap<>(ClientAction.class);
+	private Map<ClientAction, ClientActionLink> actions;
 	private Set<String> readPermissions = new LinkedHashSet<>();
 	private Set<String> writePermissions = new LinkedHashSet<>();
 	private Map<String, Map<String, String>> protocols = new HashMap<>();
+	private boolean frozen;
+	private final BasicClientDataRecordLazyParts lazyParts;
+	private final Set<ClientAction> decodedActions;
+	private volatile boolean actionLinksDecoded;
+	private volatile boolean permissionsDecoded;
+	private volatile boolean protocolsDecoded;
 
 	public static BasicClientDataRecord withDataRecordGroup(ClientDataRecordGroup dataRecordGroup) {
-		return new BasicClientDataRecord(dataRecordGroup);
+		return new BasicClientDataRecord(dataRecordGroup, null);
 	}
 
-	private BasicClientDataRecord(ClientDataRecordGroup dataRecordGroup) {
+	/**
+	 * withDataRecordGroupAndLazyParts creates a record where action links, permissions and
+	 * protocols are decoded using the entered lazyParts when they are first used. Each action link
+	 * is decoded on its own when it is first asked for, permissions and protocols are decoded as a
+	 * whole.
+	 * <p>
+	 * Decoding is thread safe, so a record can be read from several threads. Errors from decoding
+	 * are thrown from the method that first uses the part.
+	 * 
+	 * @param dataRecordGroup
+	 *            A ClientDataRecordGroup with the data of the record
+	 * @param lazyParts
+	 *            A BasicClientDataRecordLazyParts used to decode the other parts of the record
+	 * @return A BasicClientDataRecord that decodes its parts when first used
+	 */
+	public static BasicClientDataRecord withDataRecordGroupAndLazyParts(
+			ClientDataRecordGroup dataRecordGroup, BasicClientDataRecordLazyParts lazyParts) {
+		return new BasicClientDataRecord(dataRecordGroup, lazyParts);
+	}
+
+	private BasicClientDataRecord(ClientDataRecordGroup dataRecordGroup,
+			BasicClientDataRecordLazyParts lazyParts) {
 		this.dataRecordGroup = dataRecordGroup;
+		this.lazyParts = lazyParts;
+		boolean nothingToDecode = lazyParts == null;
+		decodedActions = nothingToDecode ? null : EnumSet.noneOf(ClientAction.class);
+		actionLinksDecoded = nothingToDecode;
+		permissionsDecoded = nothingToDecode;
+		protocolsDecoded = nothingToDecode;
 	}
 
 	@Override
 	public void setDataRecordGroup(ClientDataRecordGroup dataRecordGroup) {
+		BasicClientDataFreezable.throwErrorIfFrozen(frozen);
 		this.dataRecordGroup = dataRecordGroup;
 
 	}
@@ -63,12 +100,49 @@ public final class BasicClientDataRecord implements ClientDataRecord {
 
 	@Override
 	public void addActionLink(ClientActionLink action) {
+		BasicClientDataFreezable.throwErrorIfFrozen(frozen);
+		if (!actionLinksDecoded) {
+			addActionLinkReplacingLazyActionLink(action);
+		} else {
+			putActionLink(action);
+		}
+	}
+
+	private synchronized void addActionLinkReplacingLazyActionLink(ClientActionLink action) {
+		decodedActions.add(action.getAction());
+		putActionLink(action);
+	}
+
+	private void putActionLink(ClientActionLink action) {
+		if (actions == null) {
+			actions = new EnumMap<>(ClientAction.class);
+		}
 		actions.put(action.getAction(), action);
 	}
 
 	@Override
 	public Optional<ClientActionLink> getActionLink(ClientAction action) {
-		if (actions.containsKey(action)) {
+		if (!actionLinksDecoded) {
+			return getPossiblyDecodingActionLink(action);
+		}
+		return getDecodedActionLink(action);
+	}
+
+	/**
+	 * The action is marked as decoded only after it is decoded, so that an error from decoding is
+	 * thrown again the next time the action link is asked for.
+	 */
+	private synchronized Optional<ClientActionLink> getPossiblyDecodingActionLink(
+			ClientAction action) {
+		if (!decodedActions.contains(action)) {
+			lazyParts.decodeActionLink(action).ifPresent(this::putActionLink);
+			decodedActions.add(action);
+		}
+		return getDecodedActionLink(action);
+	}
+
+	private Optional<ClientActionLink> getDecodedActionLink(ClientAction action) {
+		if (actions != null && actions.containsKey(action)) {
 			return Optional.of(actions.get(action));
 		}
 		return Optional.empty();
@@ -76,43 +150,69 @@ public final class BasicClientDataRecord implements ClientDataRecord {
 
 	@Override
 	public Set<String> getReadPermissions() {
+		possiblyDecodePermissions();
 		return readPermissions;
 	}
 
+	private void possiblyDecodePermissions() {
+		if (!permissionsDecoded) {
+			decodePermissions();
+		}
+	}
+
+	private synchronized void decodePermissions() {
+		if (!permissionsDecoded) {
+			readPermissions.addAll(lazyParts.decodeReadPermissions());
+			writePermissions.addAll(lazyParts.decodeWritePermissions());
+			permissionsDecoded = true;
+		}
+	}
+
 	@Override
 	public Set<String> getWritePermissions() {
+		possiblyDecodePermissions();
 		return writePermissions;
 	}
 
 	@Override
 	public void addReadPermission(String readPermission) {
+		BasicClientDataFreezable.throwErrorIfFrozen(frozen);
+		possiblyDecodePermissions();
 		readPermissions.add(readPermission);
 
 	}
 
 	@Override
 	public void addWritePermission(String writePermission) {
+		BasicClientDataFreezable.throwErrorIfFrozen(frozen);
+		possiblyDecodePermissions();
 		writePermissions.add(writePermission);
 	}
 
 	@Override
 	public void addReadPermissions(Collection<String> readPermissions) {
+		BasicClientDataFreezable.throwErrorIfFrozen(frozen);
+		possiblyDecodePermissions();
 		this.readPermissions.addAll(readPermissions);
 	}
 
 	@Override
 	public boolean hasReadPermissions() {
+		possiblyDecodePermissions();
 		return !this.readPermissions.isEmpty();
 	}
 
 	@Override
 	public void addWritePermissions(Collection<String> writePermissions) {
+		BasicClientDataFreezable.throwErrorIfFrozen(frozen);
+		possiblyDecodePermissions();
 		this.writePermissions.addAll(writePermissions);
 
 	}
 
 	@Override
 	public boolean hasWritePermissions() {
+		possiblyDecodePermissions();
 		return !this.writePermissions.isEmpty();
 	}
 
@@ -166,16 +266,33 @@ public final class BasicClientDataRecord implements ClientDataRecord {
 
 	@Override
 	public boolean hasProtocol(String protocol) {
+		possiblyDecodeProtocols();
 		return protocols.containsKey(protocol);
 	}
 
+	private void possiblyDecodeProtocols() {
+		if (!protocolsDecoded) {
+			decodeProtocols();
+		}
+	}
+
+	private synchronized void decodeProtocols() {
+		if (!protocolsDecoded) {
+			protocols.putAll(lazyParts.decodeProtocols());
+			protocolsDecoded = true;
+		}
+	}
+
 	@Override
 	public void putProtocol(String protocol, Map<String, String> protocolProperties) {
+		BasicClientDataFreezable.throwErrorIfFrozen(frozen);
+		possiblyDecodeProtocols();
 		protocols.put(protocol, protocolProperties);
 	}
 
 	@Override
 	public Map<String, String> getProtocol(String protocol) {
+		possiblyDecodeProtocols();
 		possiblyThrowErrorIfRequestedProtocolIsMissing(protocol);
 		return protocols.get(protocol);
 	}
@@ -192,4 +309,53 @@ public final class BasicClientDataRecord implements ClientDataRecord {
 		return !protocols.containsKey(protocol);
 	}
 
+	@Override
+	public void freeze() {
+		if (frozen) {
+			return;
+		}
+		decodeAllLazyParts();
+		BasicClientDataFreezable.freezeIfPossible(dataRecordGroup);
+		freezeActionLinks();
+		readPermissions = Collections.unmodifiableSet(readPermissions);
+		writePermissions = Collections.unmodifiableSet(writePermissions);
+		protocols = createReadOnlyProtocols();
+		frozen = true;
+	}
+
+	private void decodeAllLazyParts() {
+		possiblyDecodePermissions();
+		possiblyDecodeProtocols();
+		if (!actionLinksDecoded) {
+			decodeAllActionLinks();
+		}
+	}
+
+	private synchronized void decodeAllActionLinks() {
+		for (ClientAction action : ClientAction.values()) {
+			getPossiblyDecodingActionLink(action);
+		}
+		actionLinksDecoded = true;
+	}
+
+	private void freezeActionLinks() {
+		if (actions != null) {
+			actions.values().forEach(BasicClientDataFreezable::freezeIfPossible);
+		}
+	}
+
+	private Map<String, Map<String, String>> createReadOnlyProtocols() {
+		Map<String, Map<String, String>> readOnlyProtocols = new HashMap<>();
+		for (Entry<String, Map<String, String>> protocol : protocols.entrySet()) {
+			readOnlyProtocols.put(protocol.getKey(),
+					Collections.unmodifiableMap(new HashMap<>(protocol.getValue())));
+		}
+		return Collections.unmodifiableMap(readOnlyProtocols);
+	}
+
+	@Override
+	public boolean isFrozen() {
+		return frozen;
+	}
+
 }
@@ -1,6 +1,6 @@
 /*
  * Copyright 2022 Olov McKie
- * Copyright 2022 Uppsala University Library
+ * Copyright 2022, 2026 Uppsala University Library
  * 
  * This file is part of Cora.
  *
@@ -19,6 +19,9 @@
  */
 package se.uu.ub.cora.clientbasicdata.data;
 
+import java.util.Set;
+
+import se.uu.ub.cora.clientdata.ClientDataChild;
 import se.uu.ub.cora.clientdata.ClientDataGroup;
 import se.uu.ub.cora.clientdata.ClientDataRecordGroup;
 import se.uu.ub.cora.clientdata.ClientDataRecordLink;
@@ -30,6 +33,14 @@ public class BasicClientDataRecordGroup extends BasicClientDataGroup
 	private static final String DATA_DIVIDER = "dataDivider";
 	private static final String TYPE = "type";
 	private static final String RECORD_INFO = "recordInfo";
+	private static final Set<String> TYPE_ID_AND_DATA_DIVIDER = Set.of(TYPE, ID, DATA_DIVIDER);
+	private static final BasicClientDataChildFilter TYPE_FILTER = BasicClientDataChildFilter
+			.usingNameInData(TYPE);
+	private static final BasicClientDataChildFilter ID_FILTER = BasicClientDataChildFilter
+			.usingNameInData(ID);
+	private static final BasicClientDataChildFilter DATA_DIVIDER_FILTER = BasicClientDataChildFilter
+			.usingNameInData(DATA_DIVIDER);
+	private RecordInfoView recordInfoView;
 
 	public static BasicClientDataRecordGroup withNameInData(String nameInData) {
 		return new BasicClientDataRecordGroup(nameInData);
@@ -39,22 +50,54 @@ public class BasicClientDataRecordGroup extends BasicClientDataGroup
 		super(nameInData);
 	}
 
+	@Override
+	public BasicClientDataRecordGroup copy() {
+		return (BasicClientDataRecordGroup) super.copy();
+	}
+
+	@Override
+	protected BasicClientDataGroup createEmptyCopy() {
+		return new BasicClientDataRecordGroup(getNameInData());
+	}
+
 	@Override
 	public String getType() {
+		return getRecordInfoView().getTypeLink().getLinkedRecordId();
+	}
+
+	/**
+	 * getRecordInfoView returns the cached view of recordInfo. A frozen record group can be read
+	 * from several threads at the same time, so it gets a new view for each call instead of
+	 * writing to the cache, lookups in a frozen group are cheap as its name index is built when
+	 * it is frozen.
+	 */
+	private RecordInfoView getRecordInfoView() {
+		int modificationCount = getChildrenModificationCount();
+		if (isFrozen()) {
+			return createRecordInfoView(modificationCount);
+		}
+		if (recordInfoView == null || recordInfoView.isOutdated(modificationCount)) {
+			recordInfoView = createRecordInfoView(modificationCount);
+		}
+		return recordInfoView;
+	}
+
+	private RecordInfoView createRecordInfoView(int modificationCount) {
 		ClientDataGroup recordInfo = this.getFirstGroupWithNameInData(RECORD_INFO);
-		ClientDataRecordLink typeLink = (ClientDataRecordLink) recordInfo
-				.getFirstChildWithNameInData(TYPE);
-		return typeLink.getLinkedRecordId();
+		return new RecordInfoView(modificationCount, recordInfo);
 	}
 
 	@Override
 	public void setType(String type) {
+		throwErrorIfFrozen();
 		ensureRecordInfoExists();
-		ClientDataGroup recordInfo = this.getFirstGroupWithNameInData(RECORD_INFO);
-		recordInfo
-				.removeAllChildrenMatchingFilter(BasicClientDataChildFilter.usingNameInData(TYPE));
-		recordInfo.addChild(
-				BasicClientDataRecordLink.usingNameInDataAndTypeAndId(TYPE, "recordType", type));
+		ClientDataGroup recordInfo = getRecordInfoForChange();
+		recordInfo.removeAllChildrenMatchingFilter(TYPE_FILTER);
+		recordInfo.addChild(createTypeLink(type));
+	}
+
+	private BasicClientDataRecordLink createTypeLink(String type) {
+		return BasicClientDataRecordLink.usingNameInDataAndTypeAndId(TYPE, "recordType", type);
 	}
 
 	private void ensureRecordInfoExists() {
@@ -63,36 +106,159 @@ public class BasicClientDataRecordGroup extends BasicClientDataGroup
 		}
 	}
 
+	/**
+	 * getRecordInfoForChange returns recordInfo, replaced by a copy if it is frozen. A recordInfo
+	 * that is not a BasicClientDataGroup can not be frozen, and is changed as it is.
+	 */
+	private ClientDataGroup getRecordInfoForChange() {
+		ClientDataGroup recordInfo = getFirstGroupWithNameInData(RECORD_INFO);
+		if (recordInfo instanceof BasicClientDataGroup basicRecordInfo
+				&& basicRecordInfo.isFrozen()) {
+			return getFirstGroupWithNameInDataForChange(RECORD_INFO);
+		}
+		return recordInfo;
+	}
+
 	@Override
 	public String getId() {
-		ClientDataGroup recordInfo = this.getFirstGroupWithNameInData(RECORD_INFO);
-		return recordInfo.getFirstAtomicValueWithNameInData(ID);
+		return getRecordInfoView().getIdValue();
 	}
 
 	@Override
 	public void setId(String id) {
+		throwErrorIfFrozen();
 		ensureRecordInfoExists();
-		ClientDataGroup recordInfo = this.getFirstGroupWithNameInData(RECORD_INFO);
-		recordInfo.removeAllChildrenMatchingFilter(BasicClientDataChildFilter.usingNameInData(ID));
-		recordInfo.addChild(BasicClientDataAtomic.withNameInDataAndValue(ID, id));
+		ClientDataGroup recordInfo = getRecordInfoForChange();
+		recordInfo.removeAllChildrenMatchingFilter(ID_FILTER);
+		recordInfo.addChild(createId(id));
+	}
+
+	private BasicClientDataAtomic createId(String id) {
+		return BasicClientDataAtomic.withNameInDataAndValue(ID, id);
 	}
 
 	@Override
 	public String getDataDivider() {
-		ClientDataGroup recordInfo = this.getFirstGroupWithNameInData(RECORD_INFO);
-		ClientDataRecordLink typeLink = (ClientDataRecordLink) recordInfo
-				.getFirstChildWithNameInData(DATA_DIVIDER);
-		return typeLink.getLinkedRecordId();
+		return getRecordInfoView().getDataDividerLink().getLinkedRecordId();
 	}
 
 	@Override
 	public void setDataDivider(String dataDivider) {
+		throwErrorIfFrozen();
 		ensureRecordInfoExists();
-		ClientDataGroup recordInfo = this.getFirstGroupWithNameInData(RECORD_INFO);
-		recordInfo.removeAllChildrenMatchingFilter(
-				BasicClientDataChildFilter.usingNameInData(DATA_DIVIDER));
-		recordInfo.addChild(BasicClientDataRecordLink.usingNameInDataAndTypeAndId(DATA_DIVIDER,
-				"system", dataDivider));
+		ClientDataGroup recordInfo = getRecordInfoForChange();
+		recordInfo.removeAllChildrenMatchingFilter(DATA_DIVIDER_FILTER);
+		recordInfo.addChild(createDataDividerLink(dataDivider));
 	}
 
+	private BasicClientDataRecordLink createDataDividerLink(String dataDivider) {
+		return BasicClientDataRecordLink.usingNameInDataAndTypeAndId(DATA_DIVIDER, "system",
+				dataDivider);
+	}
+
+	/**
+	 * setTypeAndIdAndDataDivider sets type, id and dataDivider in recordInfo, using one pass over
+	 * the children of recordInfo to remove any previous values. The result is the same as calling
+	 * {@link #setType(String)}, {@link #setId(String)} and {@link #setDataDivider(String)}.
+	 * 
+	 * @param type
+	 *            A String with the id of the recordType
+	 * @param id
+	 *            A String with the id of the record
+	 * @param dataDivider
+	 *            A String with the id of the system the record belongs to
+	 */
+	public void setTypeAndIdAndDataDivider(String type, String id, String dataDivider) {
+		throwErrorIfFrozen();
+		ensureRecordInfoExists();
+		ClientDataGroup recordInfo = getRecordInfoForChange();
+		removeTypeIdAndDataDivider(recordInfo);
+		recordInfo.addChild(createTypeLink(type));
+		recordInfo.addChild(createId(id));
+		recordInfo.addChild(createDataDividerLink(dataDivider));
+	}
+
+	private void removeTypeIdAndDataDivider(ClientDataGroup recordInfo) {
+		if (recordInfo instanceof BasicClientDataGroup) {
+			recordInfo.getChildren().removeIf(this::isTypeIdOrDataDividerWithoutAttributes);
+		} else {
+			recordInfo.removeAllChildrenMatchingFilter(TYPE_FILTER);
+			recordInfo.removeAllChildrenMatchingFilter(ID_FILTER);
+			recordInfo.removeAllChildrenMatchingFilter(DATA_DIVIDER_FILTER);
+		}
+	}
+
+	private boolean isTypeIdOrDataDividerWithoutAttributes(ClientDataChild child) {
+		return TYPE_ID_AND_DATA_DIVIDER.contains(child.getNameInData()) && !child.hasAttributes();
+	}
+
+	/**
+	 * RecordInfoView caches the recordInfo group and the type, id and dataDivider children found in
+	 * it. The view is replaced when the children of the record group change, and the cached
+	 * children are looked up again when the children of recordInfo change. A recordInfo that is
+	 * not a BasicClientDataGroup can not tell when its children change, so its children are looked
+	 * up on every call.
+	 */
+	private static final class RecordInfoView {
+		private final int recordGroupModificationCount;
+		private static final int NOT_TRACKED = -1;
+		private final ClientDataGroup recordInfo;
+		private int recordInfoModificationCount;
+		private ClientDataRecordLink typeLink;
+		private String idValue;
+		private ClientDataRecordLink dataDividerLink;
+
+		RecordInfoView(int recordGroupModificationCount, ClientDataGroup recordInfo) {
+			this.recordGroupModificationCount = recordGroupModificationCount;
+			this.recordInfo = recordInfo;
+			this.recordInfoModificationCount = getRecordInfoModificationCount();
+		}
+
+		private int getRecordInfoModificationCount() {
+			if (recordInfo instanceof BasicClientDataGroup basicRecordInfo) {
+				return basicRecordInfo.getChildrenModificationCount();
+			}
+			return NOT_TRACKED;
+		}
+
+		boolean isOutdated(int currentRecordGroupModificationCount) {
+			return recordGroupModificationCount != currentRecordGroupModificationCount;
+		}
+
+		ClientDataRecordLink getTypeLink() {
+			possiblyClearCachedChildren();
+			if (typeLink == null) {
+				typeLink = (ClientDataRecordLink) recordInfo.getFirstChildWithNameInData(TYPE);
+			}
+			return typeLink;
+		}
+
+		private void possiblyClearCachedChildren() {
+			int currentModificationCount = getRecordInfoModificationCount();
+			if (currentModificationCount == NOT_TRACKED
+					|| recordInfoModificationCount != currentModificationCount) {
+				typeLink = null;
+				idValue = null;
+				dataDividerLink = null;
+				recordInfoModificationCount = currentModificationCount;
+			}
+		}
+
+		String getIdValue() {
+			possiblyClearCachedChildren();
+			if (idValue == null) {
+				idValue = recordInfo.getFirstAtomicValueWithNameInData(ID);
+			}
+			return idValue;
+		}
+
+		ClientDataRecordLink getDataDividerLink() {
+			possiblyClearCachedChildren();
+			if (dataDividerLink == null) {
+				dataDividerLink = (ClientDataRecordLink) recordInfo
+						.getFirstChildWithNameInData(DATA_DIVIDER);
+			}
+			return dataDividerLink;
+		}
+	}
 }
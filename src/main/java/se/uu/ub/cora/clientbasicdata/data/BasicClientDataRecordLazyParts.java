@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.data;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import se.uu.ub.cora.clientdata.ClientAction;
+import se.uu.ub.cora.clientdata.ClientActionLink;
+
+/**
+ * BasicClientDataRecordLazyParts decodes the action links, permissions and protocols of a
+ * {@link BasicClientDataRecord} when they are first used, instead of when the record is created.
+ * <p>
+ * The record calls the methods at most once for each action, and at most once for permissions and
+ * protocols. Calls are made while holding the lock of the record, one at a time, so
+ * implementations do not need to be thread safe.
+ */
+public interface BasicClientDataRecordLazyParts {
+
+	/**
+	 * decodeActionLink decodes the action link for the entered action
+	 * 
+	 * @param action
+	 *            A ClientAction to decode the action link for
+	 * @return An Optional with the decoded ClientActionLink, or an empty Optional if the record
+	 *         has no action link for the action
+	 */
+	Optional<ClientActionLink> decodeActionLink(ClientAction action);
+
+	/**
+	 * decodeReadPermissions decodes the read permissions of the record
+	 * 
+	 * @return A Set with the read permissions, empty if there are none
+	 */
+	Set<String> decodeReadPermissions();
+
+	/**
+	 * decodeWritePermissions decodes the write permissions of the record
+	 * 
+	 * @return A Set with the write permissions, empty if there are none
+	 */
+	Set<String> decodeWritePermissions();
+
+	/**
+	 * decodeProtocols decodes the other protocols of the record
+	 * 
+	 * @return A Map with the properties of each protocol by the name of the protocol, empty if
+	 *         there are none
+	 */
+	Map<String, Map<String, String>> decodeProtocols();
+}
@@ -33,7 +33,7 @@ public final class BasicClientDataRecordLink extends BasicClientDataGroup
 
 	private static final String LINKED_RECORD_ID = "linkedRecordId";
 	private static final String LINKED_RECORD_TYPE = "linkedRecordType";
-	private Map<ClientAction, ClientActionLink> actions = new EnumMap<>(ClientAction.class);
+	private Map<ClientAction, ClientActionLink> actions;
 
 	private BasicClientDataRecordLink(String nameInData) {
 		super(nameInData);
@@ -70,6 +70,20 @@ public final class BasicClientDataRecordLink extends BasicClientDataGroup
 		return dataRecordLink;
 	}
 
+	@Override
+	public BasicClientDataRecordLink copy() {
+		return (BasicClientDataRecordLink) super.copy();
+	}
+
+	@Override
+	protected BasicClientDataGroup createEmptyCopy() {
+		BasicClientDataRecordLink copy = new BasicClientDataRecordLink(getNameInData());
+		if (actions != null) {
+			copy.actions = new EnumMap<>(actions);
+		}
+		return copy;
+	}
+
 	@Override
 	public boolean hasReadAction() {
 		return getActionLink(ClientAction.READ).isPresent();
@@ -87,15 +101,27 @@ public final class BasicClientDataRecordLink extends BasicClientDataGroup
 
 	@Override
 	public void addActionLink(ClientActionLink actionLink) {
+		throwErrorIfFrozen();
+		if (actions == null) {
+			actions = new EnumMap<>(ClientAction.class);
+		}
 		actions.put(actionLink.getAction(), actionLink);
 	}
 
 	@Override
 	public Optional<ClientActionLink> getActionLink(ClientAction action) {
-		if (actions.containsKey(action)) {
+		if (actions != null && actions.containsKey(action)) {
 			return Optional.of(actions.get(action));
 		}
 		return Optional.empty();
 	}
 
+	@Override
+	public void freeze() {
+		if (actions != null) {
+			actions.values().forEach(BasicClientDataFreezable::freezeIfPossible);
+		}
+		super.freeze();
+	}
+
 }
@@ -21,6 +21,7 @@ package se.uu.ub.cora.clientbasicdata.data;
 import java.util.Collection;
 import java.util.EnumMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 import se.uu.ub.cora.clientdata.ClientAction;
@@ -28,16 +29,18 @@ import se.uu.ub.cora.clientdata.ClientActionLink;
 import se.uu.ub.cora.clientdata.ClientDataAttribute;
 import se.uu.ub.cora.clientdata.ClientDataResourceLink;
 
-public final class BasicClientDataResourceLink implements ClientDataResourceLink {
+public final class BasicClientDataResourceLink
+		implements ClientDataResourceLink, BasicClientDataFreezable {
 
 	private static final String NOT_YET_IMPLEMENTED = "Not yet implemented.";
 
-	private Map<ClientAction, ClientActionLink> actions = new EnumMap<>(ClientAction.class);
+	private Map<ClientAction, ClientActionLink> actions;
 	private String mimeType;
 	private String nameInData;
 	private String repeatId;
 	private String recordType;
 	private String recordId;
+	private boolean frozen;
 
 	public static BasicClientDataResourceLink withNameInDataAndTypeAndIdAndMimeType(String nameInData,
 			String recordType, String recordId, String mimeType) {
@@ -69,12 +72,16 @@ public final class BasicClientDataResourceLink implements ClientDataResourceLink
 
 	@Override
 	public void addActionLink(ClientActionLink actionLink) {
+		BasicClientDataFreezable.throwErrorIfFrozen(frozen);
+		if (actions == null) {
+			actions = new EnumMap<>(ClientAction.class);
+		}
 		actions.put(actionLink.getAction(), actionLink);
 	}
 
 	@Override
 	public Optional<ClientActionLink> getActionLink(ClientAction action) {
-		if (actions.containsKey(action)) {
+		if (actions != null && actions.containsKey(action)) {
 			return Optional.of(actions.get(action));
 		}
 		return Optional.empty();
@@ -82,6 +89,7 @@ public final class BasicClientDataResourceLink implements ClientDataResourceLink
 
 	@Override
 	public void setMimeType(String mimeType) {
+		BasicClientDataFreezable.throwErrorIfFrozen(frozen);
 		this.mimeType = mimeType;
 
 	}
@@ -93,6 +101,7 @@ public final class BasicClientDataResourceLink implements ClientDataResourceLink
 
 	@Override
 	public void setRepeatId(String repeatId) {
+		BasicClientDataFreezable.throwErrorIfFrozen(frozen);
 		this.repeatId = repeatId;
 
 	}
@@ -136,4 +145,57 @@ public final class BasicClientDataResourceLink implements ClientDataResourceLink
 	public Optional<String> getAttributeValue(String nameInData) {
 		throw new UnsupportedOperationException(NOT_YET_IMPLEMENTED);
 	}
+
+	/**
+	 * equals compares resource links by value. Resource links are equal if they have the same
+	 * nameInData, repeatId, type, id and mimeType. Action links are not compared.
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof BasicClientDataResourceLink other)) {
+			return false;
+		}
+		return Objects.equals(nameInData, other.nameInData)
+				&& Objects.equals(repeatId, other.repeatId)
+				&& Objects.equals(recordType, other.recordType)
+				&& Objects.equals(recordId, other.recordId)
+				&& Objects.equals(mimeType, other.mimeType);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(nameInData, repeatId, recordType, recordId, mimeType);
+	}
+
+	/**
+	 * copy returns a copy of this resource link that is not frozen. Action links are shared between
+	 * this resource link and the copy.
+	 * 
+	 * @return A BasicClientDataResourceLink with the same values and action links
+	 */
+	public BasicClientDataResourceLink copy() {
+		BasicClientDataResourceLink copy = new BasicClientDataResourceLink(nameInData, recordType,
+				recordId, mimeType);
+		copy.repeatId = repeatId;
+		if (actions != null) {
+			copy.actions = new EnumMap<>(actions);
+		}
+		return copy;
+	}
+
+	@Override
+	public void freeze() {
+		if (actions != null) {
+			actions.values().forEach(BasicClientDataFreezable::freezeIfPossible);
+		}
+		frozen = true;
+	}
+
+	@Override
+	public boolean isFrozen() {
+		return frozen;
+	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015, 2019 Uppsala University Library
+ * Copyright 2015, 2019, 2026 Uppsala University Library
  * Copyright 2016 Olov McKie
  *
  * This file is part of Cora.
@@ -21,6 +21,7 @@
 package se.uu.ub.cora.clientbasicdata.converter.datatojson;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
 import static org.testng.Assert.assertTrue;
 
 import org.testng.annotations.BeforeMethod;
@@ -32,6 +33,7 @@ import se.uu.ub.cora.clientdata.ClientDataGroup;
 import se.uu.ub.cora.clientdata.converter.ClientDataToJsonConverter;
 import se.uu.ub.cora.clientdata.converter.ClientDataToJsonConverterFactory;
 import se.uu.ub.cora.json.builder.JsonBuilderFactory;
+import se.uu.ub.cora.json.builder.JsonObjectBuilder;
 import se.uu.ub.cora.json.builder.org.OrgJsonBuilderFactoryAdapter;
 
 public class BasicClientDataGroupToJsonConverterTest {
@@ -279,4 +281,28 @@ public class BasicClientDataGroupToJsonConverterTest {
 				.assertMethodWasCalled("hookForSubclassesToImplementExtraConversion");
 	}
 
+	@Test
+	public void testHookForSubclassesIsCalledWithBuilderForConversion() throws Exception {
+		BasicClientDataToJsonConverterForTest dataToJsonConverterForTest = new BasicClientDataToJsonConverterForTest(
+				dataToJsonConverterFactory, factory, dataGroup);
+
+		JsonObjectBuilder builder = dataToJsonConverterForTest.toJsonObjectBuilder();
+
+		dataToJsonConverterForTest.MCR.assertParameters(
+				"hookForSubclassesToImplementExtraConversion", 0, builder);
+	}
+
+	@Test
+	public void testConvertingTwiceCreatesNewBuilderAndSameJson() throws Exception {
+		dataGroup.addAttributeByIdWithValue("attributeNameInData", "attributeValue");
+		dataGroup.addChild(
+				BasicClientDataAtomic.withNameInDataAndValue("atomicNameInData", "atomicValue"));
+		ClientDataToJsonConverter dataToJsonConverter = dataToJsonConverterFactory
+				.factorUsingConvertible(dataGroup);
+
+		assertNotSame(dataToJsonConverter.toJsonObjectBuilder(),
+				dataToJsonConverter.toJsonObjectBuilder());
+		assertEquals(dataToJsonConverter.toJsonCompactFormat(),
+				dataToJsonConverter.toJsonCompactFormat());
+	}
 }
@@ -0,0 +1,339 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.converter.datatojson;
+
+import static org.testng.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.clientbasicdata.data.BasicClientActionLink;
+import se.uu.ub.cora.clientbasicdata.data.BasicClientDataAtomic;
+import se.uu.ub.cora.clientbasicdata.data.BasicClientDataAttribute;
+import se.uu.ub.cora.clientbasicdata.data.BasicClientDataGroup;
+import se.uu.ub.cora.clientbasicdata.data.BasicClientDataList;
+import se.uu.ub.cora.clientbasicdata.data.BasicClientDataRecordLink;
+import se.uu.ub.cora.clientbasicdata.data.BasicClientDataResourceLink;
+import se.uu.ub.cora.clientdata.ClientAction;
+import se.uu.ub.cora.clientdata.ClientDataChild;
+import se.uu.ub.cora.clientdata.ClientConvertible;
+import se.uu.ub.cora.clientdata.converter.ClientDataToJsonConverter;
+import se.uu.ub.cora.json.builder.org.OrgJsonBuilderFactoryAdapter;
+
+public class BasicClientDataJsonWriterTest {
+	private static final String BASE_URL = "https://somesystem.org/rest/records/";
+	private BasicClientDataToJsonConverterFactory converterFactory;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		converterFactory = BasicClientDataToJsonConverterFactory
+				.usingBuilderFactory(new OrgJsonBuilderFactoryAdapter());
+	}
+
+	@Test
+	public void testWriteGroupWithOnlyName() throws Exception {
+		BasicClientDataGroup dataGroup = BasicClientDataGroup.withNameInData("someGroup");
+
+		assertSameAsConverters(dataGroup);
+		assertEquals(writePretty(dataGroup), "{\"name\": \"someGroup\"}");
+	}
+
+	@Test
+	public void testWriteAtomic() throws Exception {
+		BasicClientDataAtomic dataAtomic = BasicClientDataAtomic
+				.withNameInDataAndValueAndRepeatId("someAtomic", "someValue", "1");
+		dataAtomic.addAttributeByIdWithValue("type", "someType");
+
+		assertSameAsConverters(dataAtomic);
+	}
+
+	@Test
+	public void testWriteAtomicWithEmptyRepeatIdAndEmptyValue() throws Exception {
+		BasicClientDataAtomic dataAtomic = BasicClientDataAtomic
+				.withNameInDataAndValueAndRepeatId("someAtomic", "", "");
+
+		assertSameAsConverters(dataAtomic);
+	}
+
+	@Test
+	public void testWriteAttribute() throws Exception {
+		BasicClientDataAttribute attribute = BasicClientDataAttribute
+				.withNameInDataAndValue("type", "someType");
+
+		assertSameAsConverters(attribute);
+	}
+
+	@Test
+	public void testWriteEscapesCharactersAsConverters() throws Exception {
+		BasicClientDataAtomic dataAtomic = BasicClientDataAtomic.withNameInDataAndValue(
+				"some\"Atomic\\", "</tag> \b\t\n\f\r \u0001\u001f\u007f\u0085\u00a0\u2028"
+						+ "\u20ac\u2100 \u00e5\u00e4\u00f6");
+
+		assertSameAsConverters(dataAtomic);
+	}
+
+	@Test
+	public void testWriteNestedGroups() throws Exception {
+		BasicClientDataGroup dataGroup = createNestedGroup();
+
+		assertSameAsConverters(dataGroup);
+	}
+
+	private BasicClientDataGroup createNestedGroup() {
+		BasicClientDataGroup dataGroup = BasicClientDataGroup.withNameInData("someGroup");
+		dataGroup.setRepeatId("0");
+		dataGroup.addAttributeByIdWithValue("type", "someType");
+		dataGroup.addAttributeByIdWithValue("otherType", "someOtherType");
+		dataGroup.addChild(BasicClientDataAtomic.withNameInDataAndValue("title", "someTitle"));
+		BasicClientDataGroup childGroup = BasicClientDataGroup.withNameInData("childGroup");
+		childGroup.addChild(BasicClientDataAtomic.withNameInDataAndValue("id", "someId"));
+		BasicClientDataGroup emptyGroup = BasicClientDataGroup.withNameInData("emptyGroup");
+		emptyGroup.addAttributeByIdWithValue("type", "someType");
+		childGroup.addChild(emptyGroup);
+		dataGroup.addChild(childGroup);
+		dataGroup.addChild(BasicClientDataRecordLink.usingNameInDataAndTypeAndId("someLink",
+				"someType", "someId"));
+		return dataGroup;
+	}
+
+	@Test
+	public void testWriteGroupWithManyAttributesAndChildren() throws Exception {
+		BasicClientDataGroup dataGroup = BasicClientDataGroup.withNameInData("someGroup");
+		for (int i = 0; i < 40; i++) {
+			dataGroup.addAttributeByIdWithValue("attribute" + i, "value" + i);
+			dataGroup.addChild(BasicClientDataAtomic.withNameInDataAndValueAndRepeatId("atomic",
+					"value" + i, String.valueOf(i)));
+		}
+
+		assertSameAsConverters(dataGroup);
+	}
+
+	@Test
+	public void testWriteRecordLinkWithReadAction() throws Exception {
+		BasicClientDataRecordLink recordLink = BasicClientDataRecordLink
+				.usingNameInDataAndTypeAndId("someLink", "someType", "someId");
+		recordLink.addActionLink(BasicClientActionLink.withAction(ClientAction.READ));
+		BasicClientDataGroup dataGroup = BasicClientDataGroup.withNameInData("someGroup");
+		dataGroup.addChild(recordLink);
+
+		assertSameAsConverters(dataGroup);
+		assertSameAsConvertersUsingBaseUrl(dataGroup);
+	}
+
+	@Test
+	public void testWriteResourceLink() throws Exception {
+		BasicClientDataResourceLink resourceLink = BasicClientDataResourceLink
+				.withNameInDataAndTypeAndIdAndMimeType("master", "binary", "someId", "image/png");
+		resourceLink.setRepeatId("1");
+
+		assertSameAsConverters(resourceLink);
+		assertSameAsConvertersUsingBaseUrl(resourceLink);
+	}
+
+	@Test
+	public void testWriteResourceLinkWithReadAction() throws Exception {
+		BasicClientDataResourceLink resourceLink = BasicClientDataResourceLink
+				.withNameInDataAndTypeAndIdAndMimeType("master", "binary", "someId", "image/png");
+		resourceLink.addActionLink(BasicClientActionLink.withAction(ClientAction.READ));
+		BasicClientDataGroup dataGroup = BasicClientDataGroup.withNameInData("someGroup");
+		dataGroup.addChild(resourceLink);
+
+		assertSameAsConverters(dataGroup);
+		assertSameAsConvertersUsingBaseUrl(dataGroup);
+	}
+
+	@Test
+	public void testWriteList() throws Exception {
+		BasicClientDataList dataList = createDataList();
+		dataList.addData(createNestedGroup());
+		dataList.addData(BasicClientDataGroup.withNameInData("otherGroup"));
+
+		assertSameAsConverters(dataList);
+		assertSameAsConvertersUsingBaseUrl(dataList);
+	}
+
+	private BasicClientDataList createDataList() {
+		BasicClientDataList dataList = BasicClientDataList.withContainDataOfType("someType");
+		dataList.setTotalNo("2");
+		dataList.setFromNo("1");
+		dataList.setToNo("2");
+		return dataList;
+	}
+
+	@Test
+	public void testWriteEmptyList() throws Exception {
+		BasicClientDataList dataList = createDataList();
+
+		assertSameAsConverters(dataList);
+	}
+
+	@Test
+	public void testWriteToOutputStreamWritesUtf8() throws Exception {
+		BasicClientDataGroup dataGroup = createNestedGroup();
+		dataGroup.addChild(
+				BasicClientDataAtomic.withNameInDataAndValue("text", "\u00e5\u00e4\u00f6 \u20ac"));
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+		BasicClientDataJsonWriter.usingCompactFormat().write(dataGroup, outputStream);
+
+		String expected = converterFactory.factorUsingConvertible(dataGroup)
+				.toJsonCompactFormat();
+		assertEquals(outputStream.toByteArray(), expected.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testWriterCanBeReused() throws Exception {
+		BasicClientDataJsonWriter writer = BasicClientDataJsonWriter.usingPrettyFormat();
+		BasicClientDataGroup dataGroup = createNestedGroup();
+
+		assertEquals(write(writer, dataGroup), write(writer, dataGroup));
+	}
+
+	@Test
+	public void testWriteGroupWithEveryCombinationOfKeys() throws Exception {
+		for (int presentKeys = 0; presentKeys < 1 << 3; presentKeys++) {
+			for (int numOfAttributes = 1; numOfAttributes <= 3; numOfAttributes++) {
+				BasicClientDataGroup dataGroup = BasicClientDataGroup.withNameInData("someGroup");
+				possiblySetRepeatId(dataGroup, presentKeys, 0);
+				possiblyAddAttributes(dataGroup, presentKeys, 1, numOfAttributes);
+				if (isPresent(presentKeys, 2)) {
+					dataGroup.addChild(
+							BasicClientDataAtomic.withNameInDataAndValue("title", "someTitle"));
+				}
+
+				assertSameAsConverters(dataGroup);
+			}
+		}
+	}
+
+	@Test
+	public void testWriteAtomicWithEveryCombinationOfKeys() throws Exception {
+		for (int presentKeys = 0; presentKeys < 1 << 3; presentKeys++) {
+			for (int numOfAttributes = 1; numOfAttributes <= 3; numOfAttributes++) {
+				String value = isPresent(presentKeys, 0) ? "someValue" : null;
+				BasicClientDataAtomic dataAtomic = BasicClientDataAtomic
+						.withNameInDataAndValue("someAtomic", value);
+				possiblySetRepeatId(dataAtomic, presentKeys, 1);
+				possiblyAddAttributes(dataAtomic, presentKeys, 2, numOfAttributes);
+
+				assertSameAsConverters(dataAtomic);
+			}
+		}
+	}
+
+	@Test
+	public void testWriteRecordLinkWithEveryCombinationOfKeys() throws Exception {
+		for (int presentKeys = 0; presentKeys < 1 << 3; presentKeys++) {
+			BasicClientDataRecordLink recordLink = BasicClientDataRecordLink
+					.usingNameInDataAndTypeAndId("someLink", "someType", "someId");
+			possiblySetRepeatId(recordLink, presentKeys, 0);
+			possiblyAddAttributes(recordLink, presentKeys, 1, 2);
+			if (isPresent(presentKeys, 2)) {
+				recordLink.addActionLink(BasicClientActionLink.withAction(ClientAction.READ));
+			}
+
+			assertSameAsConverters(recordLink);
+			assertSameAsConvertersUsingBaseUrl(recordLink);
+		}
+	}
+
+	@Test
+	public void testWriteResourceLinkWithEveryCombinationOfKeys() throws Exception {
+		for (int presentKeys = 0; presentKeys < 1 << 3; presentKeys++) {
+			String mimeType = isPresent(presentKeys, 0) ? "image/png" : null;
+			BasicClientDataResourceLink resourceLink = BasicClientDataResourceLink
+					.withNameInDataAndTypeAndIdAndMimeType("master", "binary", "someId", mimeType);
+			possiblySetRepeatId(resourceLink, presentKeys, 1);
+			if (isPresent(presentKeys, 2)) {
+				resourceLink.addActionLink(BasicClientActionLink.withAction(ClientAction.READ));
+			}
+
+			assertSameAsConverters(resourceLink);
+			assertSameAsConvertersUsingBaseUrl(resourceLink);
+		}
+	}
+
+	@Test
+	public void testWriteListWithEveryCombinationOfKeys() throws Exception {
+		for (int presentKeys = 0; presentKeys < 1 << 4; presentKeys++) {
+			BasicClientDataList dataList = BasicClientDataList
+					.withContainDataOfType(isPresent(presentKeys, 0) ? "someType" : null);
+			dataList.setTotalNo(isPresent(presentKeys, 1) ? "2" : null);
+			dataList.setFromNo(isPresent(presentKeys, 2) ? "1" : null);
+			dataList.setToNo(isPresent(presentKeys, 3) ? "2" : null);
+			dataList.addData(BasicClientDataGroup.withNameInData("someGroup"));
+
+			assertSameAsConverters(dataList);
+		}
+	}
+
+	private boolean isPresent(int presentKeys, int key) {
+		return (presentKeys & (1 << key)) != 0;
+	}
+
+	private void possiblySetRepeatId(ClientDataChild child, int presentKeys, int key) {
+		if (isPresent(presentKeys, key)) {
+			child.setRepeatId("1");
+		}
+	}
+
+	private void possiblyAddAttributes(ClientDataChild child, int presentKeys, int key,
+			int numOfAttributes) {
+		if (isPresent(presentKeys, key)) {
+			for (int i = 0; i < numOfAttributes; i++) {
+				child.addAttributeByIdWithValue("attribute" + i, "value" + i);
+			}
+		}
+	}
+
+	private void assertSameAsConverters(ClientConvertible convertible) throws IOException {
+		ClientDataToJsonConverter converter = converterFactory.factorUsingConvertible(convertible);
+
+		assertEquals(writePretty(convertible), converter.toJson());
+		assertEquals(write(BasicClientDataJsonWriter.usingCompactFormat(), convertible),
+				converter.toJsonCompactFormat());
+	}
+
+	private String writePretty(ClientConvertible convertible) throws IOException {
+		return write(BasicClientDataJsonWriter.usingPrettyFormat(), convertible);
+	}
+
+	private void assertSameAsConvertersUsingBaseUrl(ClientConvertible convertible)
+			throws IOException {
+		ClientDataToJsonConverter converter = converterFactory
+				.factorUsingBaseUrlAndConvertible(BASE_URL, convertible);
+
+		assertEquals(write(BasicClientDataJsonWriter.usingPrettyFormatAndBaseUrl(BASE_URL),
+				convertible), converter.toJson());
+		assertEquals(write(BasicClientDataJsonWriter.usingCompactFormatAndBaseUrl(BASE_URL),
+				convertible), converter.toJsonCompactFormat());
+	}
+
+	private String write(BasicClientDataJsonWriter writer, ClientConvertible convertible)
+			throws IOException {
+		StringWriter stringWriter = new StringWriter();
+		writer.write(convertible, stringWriter);
+		return stringWriter.toString();
+	}
+}
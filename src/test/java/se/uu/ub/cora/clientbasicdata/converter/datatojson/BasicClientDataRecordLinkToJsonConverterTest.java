@@ -1,5 +1,5 @@
 /*
- * Copyright 2021 Uppsala University Library
+ * Copyright 2021, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -27,6 +27,7 @@ import org.testng.annotations.Test;
 import se.uu.ub.cora.clientbasicdata.data.spy.BasicClientDataRecordLinkOldSpy;
 import se.uu.ub.cora.clientdata.converter.ClientDataToJsonConverter;
 import se.uu.ub.cora.clientdata.converter.ClientDataToJsonConverterFactory;
+import se.uu.ub.cora.json.builder.JsonObjectBuilder;
 
 public class BasicClientDataRecordLinkToJsonConverterTest {
 	BasicClientDataRecordLinkToJsonConverter recordLinkToJsonConverter;
@@ -60,7 +61,7 @@ public class BasicClientDataRecordLinkToJsonConverterTest {
 
 	@Test
 	public void testNoActions() throws Exception {
-		recordLinkToJsonConverter.hookForSubclassesToImplementExtraConversion();
+		callHookUsingBuilderFromBuilderFactory();
 
 		BasicClientJsonObjectBuilderSpy jsonObjectBuilderSpy = (BasicClientJsonObjectBuilderSpy) jsonBuilderFactorySpy.MCR
 				.getReturnValue("createObjectBuilder", 0);
@@ -72,7 +73,7 @@ public class BasicClientDataRecordLinkToJsonConverterTest {
 	public void testActionLinksBuilderAddedToMainBuilder() throws Exception {
 		dataRecordLink.hasReadAction = true;
 
-		recordLinkToJsonConverter.hookForSubclassesToImplementExtraConversion();
+		callHookUsingBuilderFromBuilderFactory();
 
 		BasicClientJsonObjectBuilderSpy mainBuilderSpy = (BasicClientJsonObjectBuilderSpy) jsonBuilderFactorySpy.MCR
 				.getReturnValue("createObjectBuilder", 0);
@@ -83,6 +84,11 @@ public class BasicClientDataRecordLinkToJsonConverterTest {
 
 	}
 
+	private void callHookUsingBuilderFromBuilderFactory() {
+		JsonObjectBuilder mainBuilder = jsonBuilderFactorySpy.createObjectBuilder();
+		recordLinkToJsonConverter.hookForSubclassesToImplementExtraConversion(mainBuilder);
+	}
+
 	private BasicClientJsonObjectBuilderSpy getActionsBuilder() {
 		return (BasicClientJsonObjectBuilderSpy) jsonBuilderFactorySpy.MCR
 				.getReturnValue("createObjectBuilder", 1);
@@ -92,7 +98,7 @@ public class BasicClientDataRecordLinkToJsonConverterTest {
 	public void testActionAddedToActionBuilder() throws Exception {
 		dataRecordLink.hasReadAction = true;
 
-		recordLinkToJsonConverter.hookForSubclassesToImplementExtraConversion();
+		callHookUsingBuilderFromBuilderFactory();
 
 		BasicClientJsonObjectBuilderSpy actionLinksBuilderSpy = getActionsBuilder();
 		BasicClientJsonObjectBuilderSpy internalLinkBuilderSpy = (BasicClientJsonObjectBuilderSpy) jsonBuilderFactorySpy.MCR
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015, 2019, 2021, 2025 Uppsala University Library
+ * Copyright 2015, 2019, 2021, 2025, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -21,24 +21,35 @@ package se.uu.ub.cora.clientbasicdata.converter.datatojson;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import se.uu.ub.cora.clientbasicdata.data.BasicClientActionLink;
 import se.uu.ub.cora.clientbasicdata.data.BasicClientDataAtomic;
 import se.uu.ub.cora.clientbasicdata.data.BasicClientDataAttribute;
 import se.uu.ub.cora.clientbasicdata.data.BasicClientDataGroup;
 import se.uu.ub.cora.clientbasicdata.data.BasicClientDataList;
 import se.uu.ub.cora.clientbasicdata.data.BasicClientDataRecordLink;
 import se.uu.ub.cora.clientbasicdata.data.BasicClientDataResourceLink;
+import se.uu.ub.cora.clientdata.ClientAction;
 import se.uu.ub.cora.clientdata.ClientConvertible;
 import se.uu.ub.cora.clientdata.converter.ClientDataToJsonConverter;
 import se.uu.ub.cora.clientdata.converter.ClientDataToJsonConverterFactory;
 import se.uu.ub.cora.json.builder.JsonBuilderFactory;
+import se.uu.ub.cora.json.builder.org.OrgJsonBuilderFactoryAdapter;
 import se.uu.ub.cora.testutils.mcr.MethodCallRecorder;
 
 public class BasicClientDataToJsonConverterFactoryTest {
@@ -153,17 +164,25 @@ public class BasicClientDataToJsonConverterFactoryTest {
 
 		JsonBuilderFactory jsonBuilderFactory = converter.jsonBuilderFactory;
 		assertSame(jsonBuilderFactory, builderFactory);
-		assertSame(converter.converterFactory, converterFactory);
+		assertFactoryForBaseUrl(converter.converterFactory);
 		assertEquals(converter.baseURL, baseUrl);
 	}
 
+	private void assertFactoryForBaseUrl(ClientDataToJsonConverterFactory factory) {
+		BasicClientDataToJsonConverterFactory factoryForBaseUrl = (BasicClientDataToJsonConverterFactory) factory;
+		assertNotSame(factoryForBaseUrl, converterFactory);
+		assertSame(factoryForBaseUrl.builderFactory, builderFactory);
+		assertEquals(factoryForBaseUrl.baseUrl, baseUrl);
+	}
+
 	@Test
-	public void testRectorDownToRecordLink() {
+	public void testFactorUsingBaseUrlDoesNotChangeFactory() {
 		converterFactory.factorUsingBaseUrlAndConvertible(baseUrl, dataRecordLink);
 		ClientDataToJsonConverter converter = converterFactory
 				.factorUsingConvertible(dataRecordLink);
 
-		assertTrue(converter instanceof BasicClientDataRecordLinkToJsonConverter);
+		assertFalse(converter instanceof BasicClientDataRecordLinkToJsonConverter);
+		assertNull(((BasicClientDataToJsonConverterFactory) converterFactory).baseUrl);
 	}
 
 	@Test
@@ -172,7 +191,7 @@ public class BasicClientDataToJsonConverterFactoryTest {
 				.factorUsingBaseUrlAndConvertible(baseUrl, dataResourceLink);
 
 		assertSame(converter.onlyForTestGetJsonBuilderFactory(), builderFactory);
-		assertSame(converter.onlyForTestGetConverterFactory(), converterFactory);
+		assertFactoryForBaseUrl(converter.onlyForTestGetConverterFactory());
 		assertEquals(converter.onlyForTestGetBaseUrl(), Optional.of(baseUrl));
 	}
 
@@ -214,12 +233,89 @@ public class BasicClientDataToJsonConverterFactoryTest {
 		ClientDataToJsonConverter converter = forTest.factorUsingBaseUrlAndConvertible(baseUrl,
 				dataRecordLink);
 
-		assertEquals(forTest.baseUrl, baseUrl);
+		forTest.MCR.assertParameters("withBaseUrl", 0, baseUrl);
 		forTest.MCR.assertParameters("factorUsingConvertible", 0, dataRecordLink);
 		forTest.MCR.assertReturn("factorUsingConvertible", 0, converter);
 
 	}
 
+	@Test
+	public void testConcurrentConversionsWithDifferentBaseUrlsDoNotAffectEachOther()
+			throws Exception {
+		BasicClientDataToJsonConverterFactory sharedFactory = BasicClientDataToJsonConverterFactory
+				.usingBuilderFactory(new OrgJsonBuilderFactoryAdapter());
+		BasicClientDataGroup dataGroup = createGroupWithLinksWithReadAction();
+		List<String> baseUrls = List.of("https://one.org/rest/", "https://two.org/rest/", "");
+		List<String> expectedJson = createExpectedJsonForEachBaseUrl(dataGroup, baseUrls);
+		List<ClientDataToJsonConverter> sharedConverters = factorConvertersForEachBaseUrl(
+				sharedFactory, dataGroup, baseUrls);
+
+		List<Callable<Boolean>> tasks = new ArrayList<>();
+		for (int i = 0; i < 3000; i++) {
+			int urlIndex = i % baseUrls.size();
+			boolean useSharedConverter = i % 2 == 0;
+			tasks.add(() -> {
+				ClientDataToJsonConverter converter = useSharedConverter
+						? sharedConverters.get(urlIndex)
+						: factorConverter(sharedFactory, baseUrls.get(urlIndex), dataGroup);
+				return expectedJson.get(urlIndex).equals(converter.toJsonCompactFormat());
+			});
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Future<Boolean>> results = executor.invokeAll(tasks);
+		executor.shutdown();
+
+		for (Future<Boolean> result : results) {
+			assertTrue(result.get());
+		}
+		assertNull(sharedFactory.baseUrl);
+	}
+
+	private BasicClientDataGroup createGroupWithLinksWithReadAction() {
+		BasicClientDataGroup dataGroup = BasicClientDataGroup.withNameInData("someGroup");
+		BasicClientDataGroup childGroup = BasicClientDataGroup.withNameInData("childGroup");
+		BasicClientDataRecordLink recordLink = BasicClientDataRecordLink
+				.usingNameInDataAndTypeAndId("someLink", "someType", "someId");
+		recordLink.addActionLink(BasicClientActionLink.withAction(ClientAction.READ));
+		childGroup.addChild(recordLink);
+		dataGroup.addChild(childGroup);
+		BasicClientDataResourceLink resourceLink = BasicClientDataResourceLink
+				.withNameInDataAndTypeAndIdAndMimeType("master", "binary", "someId", "image/png");
+		resourceLink.addActionLink(BasicClientActionLink.withAction(ClientAction.READ));
+		dataGroup.addChild(resourceLink);
+		return dataGroup;
+	}
+
+	private List<String> createExpectedJsonForEachBaseUrl(BasicClientDataGroup dataGroup,
+			List<String> baseUrls) {
+		List<String> expectedJson = new ArrayList<>();
+		for (String url : baseUrls) {
+			BasicClientDataToJsonConverterFactory factory = BasicClientDataToJsonConverterFactory
+					.usingBuilderFactory(new OrgJsonBuilderFactoryAdapter());
+			expectedJson.add(factorConverter(factory, url, dataGroup).toJsonCompactFormat());
+		}
+		return expectedJson;
+	}
+
+	private List<ClientDataToJsonConverter> factorConvertersForEachBaseUrl(
+			BasicClientDataToJsonConverterFactory factory, BasicClientDataGroup dataGroup,
+			List<String> baseUrls) {
+		List<ClientDataToJsonConverter> converters = new ArrayList<>();
+		for (String url : baseUrls) {
+			converters.add(factorConverter(factory, url, dataGroup));
+		}
+		return converters;
+	}
+
+	private ClientDataToJsonConverter factorConverter(
+			BasicClientDataToJsonConverterFactory factory, String baseUrl,
+			ClientConvertible convertible) {
+		if (baseUrl.isEmpty()) {
+			return factory.factorUsingConvertible(convertible);
+		}
+		return factory.factorUsingBaseUrlAndConvertible(baseUrl, convertible);
+	}
+
 	class BasicDataToJsonConverterFactoryForTest extends BasicClientDataToJsonConverterFactory {
 		BasicDataToJsonConverterFactoryForTest() {
 			super(null);
@@ -227,6 +323,13 @@ public class BasicClientDataToJsonConverterFactoryTest {
 
 		MethodCallRecorder MCR = new MethodCallRecorder();
 
+		@Override
+		BasicClientDataToJsonConverterFactory withBaseUrl(String baseUrl) {
+			MCR.addCall("baseUrl", baseUrl);
+			MCR.addReturned(this);
+			return this;
+		}
+
 		@Override
 		public ClientDataToJsonConverter factorUsingConvertible(ClientConvertible convertible) {
 			MCR.addCall("convertible", convertible);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2021 Uppsala University Library
+ * Copyright 2021, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -21,6 +21,7 @@ package se.uu.ub.cora.clientbasicdata.converter.datatojson;
 import se.uu.ub.cora.clientdata.ClientDataGroup;
 import se.uu.ub.cora.clientdata.converter.ClientDataToJsonConverterFactory;
 import se.uu.ub.cora.json.builder.JsonBuilderFactory;
+import se.uu.ub.cora.json.builder.JsonObjectBuilder;
 import se.uu.ub.cora.testutils.mcr.MethodCallRecorder;
 
 /**
@@ -36,7 +37,8 @@ public class BasicClientDataToJsonConverterForTest extends BasicClientDataGroupT
 	}
 
 	@Override
-	void hookForSubclassesToImplementExtraConversion() {
-		MCR.addCall();
+	void hookForSubclassesToImplementExtraConversion(
+			JsonObjectBuilder dataGroupJsonObjectBuilder) {
+		MCR.addCall("dataGroupJsonObjectBuilder", dataGroupJsonObjectBuilder);
 	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2021 Uppsala University Library
+ * Copyright 2021, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -63,6 +63,20 @@ public class BasicClientRecordActionsToJsonConverterTest {
 		builderFactory.MCR.assertNumberOfCallsToMethod("createObjectBuilder", 1);
 	}
 
+	@Test
+	public void testToJsonObjectBuilderTwiceCreatesNewBuilders() {
+		actionsConverterData.actions.add(ClientAction.READ);
+
+		JsonObjectBuilder first = actionsConverter.toJsonObjectBuilder(actionsConverterData);
+		JsonObjectBuilder second = actionsConverter.toJsonObjectBuilder(actionsConverterData);
+
+		builderFactory.MCR.assertNumberOfCallsToMethod("createObjectBuilder", 4);
+		builderFactory.MCR.assertReturn("createObjectBuilder", 0, first);
+		builderFactory.MCR.assertReturn("createObjectBuilder", 2, second);
+		BasicClientJsonObjectBuilderSpy secondBuilder = (BasicClientJsonObjectBuilderSpy) second;
+		secondBuilder.MCR.assertNumberOfCallsToMethod("addKeyJsonObjectBuilder", 1);
+	}
+
 	@Test
 	public void testReadAction() {
 		ClientAction action = ClientAction.READ;
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.converter.jsontodata;
+
+import static org.testng.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+
+import org.testng.annotations.Test;
+
+public class JsonToBasicClientDataByteBufferReaderTest {
+	private static final String TEXT = "abc åäö 😀 end";
+
+	@Test
+	public void testReadAllInSmallParts() throws Exception {
+		JsonToBasicClientDataByteBufferReader reader = createReader(TEXT);
+
+		StringBuilder read = new StringBuilder();
+		char[] chars = new char[3];
+		int numberRead = reader.read(chars, 0, chars.length);
+		while (numberRead != -1) {
+			read.append(chars, 0, numberRead);
+			numberRead = reader.read(chars, 0, chars.length);
+		}
+
+		assertEquals(read.toString(), TEXT);
+		assertEquals(reader.read(chars, 0, chars.length), -1);
+	}
+
+	private JsonToBasicClientDataByteBufferReader createReader(String text) {
+		return JsonToBasicClientDataByteBufferReader
+				.usingByteBuffer(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Test
+	public void testReadUsingOffset() throws Exception {
+		JsonToBasicClientDataByteBufferReader reader = createReader("xyz");
+		char[] chars = new char[5];
+
+		int numberRead = reader.read(chars, 2, 3);
+
+		assertEquals(numberRead, 3);
+		assertEquals(new String(chars, 2, 3), "xyz");
+	}
+
+	@Test
+	public void testReadEmptyBuffer() throws Exception {
+		JsonToBasicClientDataByteBufferReader reader = createReader("");
+
+		assertEquals(reader.read(new char[4], 0, 4), -1);
+	}
+
+	@Test
+	public void testReadFromPositionToLimitWithoutChangingBuffer() throws Exception {
+		ByteBuffer buffer = ByteBuffer.wrap("skip|read|skip".getBytes(StandardCharsets.UTF_8));
+		buffer.position(5).limit(9);
+		JsonToBasicClientDataByteBufferReader reader = JsonToBasicClientDataByteBufferReader
+				.usingByteBuffer(buffer);
+		char[] chars = new char[10];
+
+		int numberRead = reader.read(chars, 0, chars.length);
+
+		assertEquals(new String(chars, 0, numberRead), "read");
+		assertEquals(buffer.position(), 5);
+	}
+
+	@Test(expectedExceptions = CharacterCodingException.class)
+	public void testMalformedInput() throws Exception {
+		JsonToBasicClientDataByteBufferReader reader = JsonToBasicClientDataByteBufferReader
+				.usingByteBuffer(ByteBuffer.wrap(new byte[] { 'a', (byte) 0xc3 }));
+
+		reader.read(new char[4], 0, 4);
+	}
+}
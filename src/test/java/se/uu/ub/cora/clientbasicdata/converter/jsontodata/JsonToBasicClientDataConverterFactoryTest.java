@@ -1,5 +1,5 @@
 /*
- * Copyright 2015, 2023, 2025 Uppsala University Library
+ * Copyright 2015, 2023, 2025, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -24,9 +24,25 @@ import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import se.uu.ub.cora.clientbasicdata.converter.jsontodata.JsonToBasicClientDataShapePlan.Shape;
+
+import se.uu.ub.cora.clientdata.ClientAction;
+import se.uu.ub.cora.clientdata.ClientConvertible;
+import se.uu.ub.cora.clientdata.ClientDataAtomic;
+import se.uu.ub.cora.clientdata.ClientDataGroup;
+import se.uu.ub.cora.clientdata.ClientDataList;
+import se.uu.ub.cora.clientdata.ClientDataRecord;
+import se.uu.ub.cora.clientdata.ClientDataRecordGroup;
+import se.uu.ub.cora.clientdata.ClientDataRecordLink;
+import se.uu.ub.cora.clientdata.ClientDataResourceLink;
 import se.uu.ub.cora.clientdata.converter.JsonToClientDataConverter;
 import se.uu.ub.cora.clientdata.converter.JsonToClientDataConverterFactory;
 import se.uu.ub.cora.json.parser.JsonObject;
@@ -35,6 +51,12 @@ import se.uu.ub.cora.json.parser.JsonParser;
 import se.uu.ub.cora.json.parser.org.OrgJsonParser;
 
 public class JsonToBasicClientDataConverterFactoryTest {
+	private static final String EMPTY_DATA_LIST = """
+			{"dataList":{"fromNo":"0","data":[],"totalNo":"0",\
+			"containDataOfType":"demo","toNo":"0"}}""";
+	private static final String LINK = """
+			{"children":[{"name":"linkedRecordType","value":"system"},\
+			{"name":"linkedRecordId","value":"cora"}],"name":"link"}""";
 	private JsonToClientDataConverterFactory jsonToDataConverterFactory;
 
 	@BeforeMethod
@@ -191,6 +213,84 @@ public class JsonToBasicClientDataConverterFactoryTest {
 				parseToJsonObject(json));
 	}
 
+	@Test
+	public void testFactorDataListConverterWithoutExecutor() {
+		JsonToBasicClientDataListConverter jsonToDataListConverter = (JsonToBasicClientDataListConverter) jsonToDataConverterFactory
+				.factorUsingString(EMPTY_DATA_LIST);
+
+		assertEquals(jsonToDataListConverter.onlyForTestGetExecutor(), null);
+	}
+
+	@Test
+	public void testFactorDataListConverterUsingExecutor() {
+		Executor executor = Runnable::run;
+		jsonToDataConverterFactory = JsonToBasicClientDataConverterFactoryImp
+				.usingExecutorForDataListsOfMinimumSize(executor, 500);
+
+		JsonToBasicClientDataListConverter jsonToDataListConverter = (JsonToBasicClientDataListConverter) jsonToDataConverterFactory
+				.factorUsingString(EMPTY_DATA_LIST);
+
+		assertSame(jsonToDataListConverter.onlyForTestGetConverterFactory(),
+				jsonToDataConverterFactory);
+		assertSame(jsonToDataListConverter.onlyForTestGetExecutor(), executor);
+		assertEquals(jsonToDataListConverter.onlyForTestGetMinimumSizeForParallelDecoding(), 500);
+	}
+
+	@Test
+	public void testOptionsCombineTrustedModeAndExecutor() {
+		List<Runnable> executedTasks = new ArrayList<>();
+		Executor executor = task -> {
+			executedTasks.add(task);
+			task.run();
+		};
+		JsonToBasicClientDataConverterFactoryImp factory = JsonToBasicClientDataConverterFactoryImp
+				.usingOptions(JsonToBasicClientDataConverterOptions.defaultOptions()
+						.withTrustedMode().withExecutorForDataListsOfMinimumSize(executor, 1));
+		String record = """
+				{"record":{"data":{"children":[],"name":"demo"}}}""";
+		String json = """
+				{"dataList":{"fromNo":"1","data":[%s,%s],"totalNo":"2",\
+				"containDataOfType":"demo","toNo":"2","extra":""}}""".formatted(record, record);
+		assertStrictModeFails(json);
+
+		ClientDataList dataList = (ClientDataList) factory.factorUsingString(json).toInstance();
+
+		assertEquals(dataList.getDataList().size(), 2);
+		assertFalse(executedTasks.isEmpty());
+	}
+
+	@Test
+	public void testDefaultOptionsAreNotChangedByWithMethods() {
+		JsonToBasicClientDataConverterOptions defaultOptions = JsonToBasicClientDataConverterOptions
+				.defaultOptions();
+
+		JsonToBasicClientDataConverterOptions trustedOptions = defaultOptions.withTrustedMode();
+
+		assertFalse(defaultOptions.isTrusted());
+		assertTrue(trustedOptions.isTrusted());
+		JsonToBasicClientDataConverterOptions combined = trustedOptions.withShapeLearning()
+				.withLazyRecordParts();
+		assertTrue(combined.isTrusted());
+		assertTrue(combined.usesShapeLearning());
+		assertTrue(combined.usesLazyRecordParts());
+		assertFalse(trustedOptions.usesLazyRecordParts());
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class, expectedExceptionsMessageRegExp = ""
+			+ "A projection can not be combined with lazy record parts.")
+	public void testOptionsRejectProjectionWithLazyRecordParts() {
+		JsonToBasicClientDataConverterOptions.defaultOptions()
+				.withProjection(JsonToBasicClientDataProjection.usingPaths("recordInfo"))
+				.withLazyRecordParts();
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class, expectedExceptionsMessageRegExp = ""
+			+ "A projection can not be combined with lazy record parts.")
+	public void testOptionsRejectLazyRecordPartsWithProjection() {
+		JsonToBasicClientDataConverterOptions.defaultOptions().withLazyRecordParts()
+				.withProjection(JsonToBasicClientDataProjection.usingPaths("recordInfo"));
+	}
+
 	@Test
 	public void testFactorOnJsonStringDataRecordGroup() {
 		String json = """
@@ -633,4 +733,477 @@ public class JsonToBasicClientDataConverterFactoryTest {
 		jsonToDataConverterFactory.factorUsingString(json);
 	}
 
+	@Test
+	public void testTrustedModeGivesSameDataAsStrictMode() {
+		String json = """
+				{"dataList":{"fromNo":"1","data":[{"record":{"data":{"children":[\
+				{"children":[{"children":[{"name":"linkedRecordType","value":"recordType"},\
+				{"name":"linkedRecordId","value":"demo"}],"name":"type"},\
+				{"name":"id","value":"someId"}],"name":"recordInfo"},\
+				{"repeatId":"0","children":[{"name":"linkedRecordType","value":"system"},\
+				{"name":"linkedRecordId","value":"cora"}],"name":"link",\
+				"attributes":{"type":"some"}},\
+				{"children":[{"name":"text","value":"some text","attributes":{"lang":"sv"}}],\
+				"name":"title"}],"name":"demo"}}}],\
+				"totalNo":"1","containDataOfType":"demo","toNo":"1"}}""";
+
+		ClientDataList strict = (ClientDataList) jsonToDataConverterFactory.factorUsingString(json)
+				.toInstance();
+		ClientDataList trusted = (ClientDataList) JsonToBasicClientDataConverterFactoryImp
+				.usingTrustedMode().factorUsingString(json).toInstance();
+
+		assertEquals(trusted.getFromNo(), strict.getFromNo());
+		assertEquals(trusted.getToNo(), strict.getToNo());
+		assertEquals(trusted.getTotalNumberOfTypeInStorage(),
+				strict.getTotalNumberOfTypeInStorage());
+		assertEquals(trusted.getContainDataOfType(), strict.getContainDataOfType());
+		assertEquals(getRecord(trusted).getDataRecordGroup(),
+				getRecord(strict).getDataRecordGroup());
+		ClientDataRecordLink link = (ClientDataRecordLink) getRecord(trusted)
+				.getDataRecordGroup().getChildren().get(1);
+		assertEquals(link.getLinkedRecordId(), "cora");
+	}
+
+	private ClientDataRecord getRecord(ClientDataList dataList) {
+		return (ClientDataRecord) dataList.getDataList().get(0);
+	}
+
+	@Test
+	public void testTrustedModeDoesNotValidateAtomic() {
+		String json = "{\"name\":\"atomicNameInData\",\"value\":\"atomicValue\",\"extra\":\"\"}";
+		assertStrictModeFails(json);
+
+		ClientDataAtomic atomic = (ClientDataAtomic) JsonToBasicClientDataConverterFactoryImp
+				.usingTrustedMode().factorUsingString(json).toInstance();
+
+		assertEquals(atomic.getNameInData(), "atomicNameInData");
+		assertEquals(atomic.getValue(), "atomicValue");
+	}
+
+	private void assertStrictModeFails(String json) {
+		try {
+			jsonToDataConverterFactory.factorUsingString(json).toInstance();
+			throw new AssertionError("Expected JsonParseException");
+		} catch (JsonParseException e) {
+			assertTrue(e.getMessage().startsWith("Error parsing"));
+		}
+	}
+
+	@Test
+	public void testTrustedModeDoesNotValidateChildrenOfLink() {
+		String json = """
+				{"children":[{"name":"linkedRecordType","value":"system"},\
+				{"name":"linkedRecordId","value":"cora"},{"name":"other","value":""}],\
+				"name":"link"}""";
+		assertStrictModeFails(json);
+
+		ClientDataRecordLink link = (ClientDataRecordLink) JsonToBasicClientDataConverterFactoryImp
+				.usingTrustedMode().factorUsingString(json).toInstance();
+
+		assertEquals(link.getChildren().size(), 3);
+	}
+
+	@Test
+	public void testShapeLearningPredictsShapeOfElementSeenBefore() {
+		JsonToBasicClientDataConverterFactoryImp factory = JsonToBasicClientDataConverterFactoryImp
+				.usingShapeLearning();
+
+		JsonToClientDataConverter first = factory.factorUsingString(LINK);
+		JsonToClientDataConverter second = factory.factorUsingString(LINK);
+
+		assertTrue(first instanceof JsonToBasicClientDataRecordLinkConverter);
+		assertTrue(second instanceof JsonToBasicClientDataPredictedShapeConverter);
+		ClientDataRecordLink link = (ClientDataRecordLink) second.toInstance();
+		assertEquals(link.getLinkedRecordId(), "cora");
+	}
+
+	@Test
+	public void testShapeLearningFallsBackWhenShapeDiffers() {
+		JsonToBasicClientDataConverterFactoryImp factory = JsonToBasicClientDataConverterFactoryImp
+				.usingShapeLearning();
+		factory.factorUsingString(LINK);
+		String group = """
+				{"children":[{"name":"linkedRecordType","value":"system"}],"name":"link"}""";
+
+		ClientConvertible converted = factory.factorUsingString(group).toInstance();
+
+		assertFalse(converted instanceof ClientDataRecordLink);
+		assertEquals(((ClientDataGroup) converted).getChildren().size(), 1);
+		assertFalse(factory.factorUsingString(
+				LINK) instanceof JsonToBasicClientDataPredictedShapeConverter);
+	}
+
+	@Test
+	public void testShapeLearningGivesSameErrorAsDefault() {
+		JsonToBasicClientDataConverterFactoryImp factory = JsonToBasicClientDataConverterFactoryImp
+				.usingShapeLearning();
+		factory.factorUsingString(LINK);
+		String invalidLink = """
+				{"children":[{"name":"linkedRecordType","value":"system"},\
+				{"name":"linkedRecordId","value":"cora"}],"name":"link","extra":""}""";
+
+		String expected = getErrorMessage(jsonToDataConverterFactory, invalidLink);
+
+		assertEquals(getErrorMessage(factory, invalidLink), expected);
+	}
+
+	@Test
+	public void testShapeLearningKeepsPredictionAfterInvalidJson() {
+		JsonToBasicClientDataConverterFactoryImp factory = JsonToBasicClientDataConverterFactoryImp
+				.usingShapeLearning();
+		factory.factorUsingString(LINK);
+		String invalidLink = """
+				{"children":[{"name":"linkedRecordType","value":"system"},\
+				{"name":"linkedRecordId","value":"cora"}],"name":"link","extra":""}""";
+
+		getErrorMessage(factory, invalidLink);
+
+		JsonToClientDataConverter converter = factory.factorUsingString(LINK);
+		assertTrue(converter instanceof JsonToBasicClientDataPredictedShapeConverter);
+		ClientDataRecordLink link = (ClientDataRecordLink) converter.toInstance();
+		assertEquals(link.getLinkedRecordId(), "cora");
+	}
+
+	@Test
+	public void testShapeLearningStopsAtFirstChildNotMatchingPrediction() {
+		JsonToBasicClientDataConverterFactoryImp factory = JsonToBasicClientDataConverterFactoryImp
+				.usingShapeLearning();
+		factory.factorUsingString(childrenJson("linkedRecordType", "x"));
+		String link = childrenJson("linkedRecordType", "linkedRecordId", "x");
+
+		ClientConvertible converted = factory.factorUsingString(link).toInstance();
+
+		assertTrue(converted instanceof ClientDataRecordLink);
+		assertEquals(((ClientDataGroup) converted).getChildren().size(), 3);
+	}
+
+	@Test(timeOut = 5000)
+	public void testShapeLearningConvertsDeeplyNestedInvalidJsonOncePerLevel() {
+		JsonToBasicClientDataConverterFactoryImp factory = JsonToBasicClientDataConverterFactoryImp
+				.usingShapeLearning();
+		String validLeaf = """
+				{"name":"leaf","value":"v"}""";
+		String invalidLeaf = """
+				{"name":"leaf","value":"v","extra":""}""";
+		factory.factorUsingString(nestedGroupJson(2, validLeaf)).toInstance();
+		String invalid = nestedGroupJson(40, invalidLeaf);
+
+		String expected = getErrorMessage(jsonToDataConverterFactory, invalid);
+
+		assertEquals(getErrorMessage(factory, invalid), expected);
+	}
+
+	private String nestedGroupJson(int depth, String leaf) {
+		String json = leaf;
+		for (int i = 0; i < depth; i++) {
+			json = "{\"name\":\"level\",\"children\":[" + json + "]}";
+		}
+		return json;
+	}
+
+	private String getErrorMessage(JsonToClientDataConverterFactory factory, String json) {
+		try {
+			factory.factorUsingString(json).toInstance();
+		} catch (JsonParseException e) {
+			return e.getMessage();
+		}
+		throw new AssertionError("Expected JsonParseException");
+	}
+
+	@Test
+	public void testShapeLearningGivesSameDataListAsDefault() {
+		String record = """
+				{"record":{"data":{"children":[{"children":[\
+				{"children":[{"name":"linkedRecordType","value":"recordType"},\
+				{"name":"linkedRecordId","value":"demo"}],"name":"type"},\
+				{"name":"id","value":"%s"}],"name":"recordInfo"},\
+				{"children":[{"name":"linkedRecordType","value":"binary"},\
+				{"name":"linkedRecordId","value":"%s"},{"name":"mimeType","value":"image/png"}],\
+				"name":"master"},\
+				{"children":[{"name":"text","value":"%s"}],"name":"title"}],"name":"demo"}}}""";
+		String json = """
+				{"dataList":{"fromNo":"1","data":[%s,%s,%s],"totalNo":"3",\
+				"containDataOfType":"demo","toNo":"3"}}""".formatted(
+				record.formatted("id1", "binary1", "title1"),
+				record.formatted("id2", "binary2", "title2"),
+				record.formatted("id3", "binary3", "title3"));
+
+		ClientDataList expected = (ClientDataList) jsonToDataConverterFactory
+				.factorUsingString(json).toInstance();
+		ClientDataList learned = (ClientDataList) JsonToBasicClientDataConverterFactoryImp
+				.usingShapeLearning().factorUsingString(json).toInstance();
+
+		for (int i = 0; i < 3; i++) {
+			ClientDataRecordGroup expectedGroup = getRecordGroup(expected, i);
+			ClientDataRecordGroup learnedGroup = getRecordGroup(learned, i);
+			assertEquals(learnedGroup.getId(), expectedGroup.getId());
+			assertEquals(learnedGroup.getChildren().size(), 3);
+			assertTrue(learnedGroup.getChildren().get(1) instanceof ClientDataResourceLink);
+			assertEquals(learnedGroup.getChildren().get(2), expectedGroup.getChildren().get(2));
+		}
+	}
+
+	private ClientDataRecordGroup getRecordGroup(ClientDataList dataList, int index) {
+		return ((ClientDataRecord) dataList.getDataList().get(index)).getDataRecordGroup();
+	}
+
+	@Test
+	public void testProjectionOnlyConvertsSelectedParts() {
+		String json = """
+				{"record":{"data":{"children":[{"children":[\
+				{"children":[{"name":"linkedRecordType","value":"recordType"},\
+				{"name":"linkedRecordId","value":"demo"}],"name":"type"},\
+				{"name":"id","value":"demo1"},{"name":"tsCreated","value":"2026-01-01"}],\
+				"name":"recordInfo","attributes":{"type":"main"}},\
+				{"name":"title","value":"someTitle"},{"name":"abstract","value":"someAbstract"}],\
+				"name":"demo"},\
+				"actionLinks":{"read":{"requestMethod":"GET","rel":"read"},\
+				"delete":{"requestMethod":"DELETE","rel":"delete"}},\
+				"permissions":{"read":["title"],"write":["title"]},\
+				"otherProtocols":{"iiif":{"server":"someServer"}}}}""";
+		JsonToBasicClientDataProjection projection = JsonToBasicClientDataProjection
+				.usingPaths("recordInfo/id", "title", "actionLinks/read", "permissions/read");
+
+		ClientDataRecord dataRecord = (ClientDataRecord) JsonToBasicClientDataConverterFactoryImp
+				.usingProjection(projection).factorUsingString(json).toInstance();
+
+		ClientDataRecordGroup recordGroup = dataRecord.getDataRecordGroup();
+		assertEquals(recordGroup.getNameInData(), "demo");
+		assertEquals(recordGroup.getChildren().size(), 2);
+		ClientDataGroup recordInfo = (ClientDataGroup) recordGroup.getChildren().get(0);
+		assertEquals(recordInfo.getAttribute("type").getValue(), "main");
+		assertEquals(recordInfo.getChildren().size(), 1);
+		assertEquals(recordInfo.getFirstAtomicValueWithNameInData("id"), "demo1");
+		assertEquals(recordGroup.getFirstAtomicValueWithNameInData("title"), "someTitle");
+		assertTrue(dataRecord.getActionLink(ClientAction.READ).isPresent());
+		assertTrue(dataRecord.getActionLink(ClientAction.DELETE).isEmpty());
+		assertEquals(dataRecord.getReadPermissions().size(), 1);
+		assertTrue(dataRecord.getWritePermissions().isEmpty());
+		assertFalse(dataRecord.hasProtocol("iiif"));
+	}
+
+	@Test
+	public void testProjectionConvertsSelectedLinkWhole() {
+		String json = """
+				{"dataList":{"fromNo":"1","data":[{"record":{"data":{"children":[\
+				%s,{"name":"title","value":"someTitle"}],"name":"demo"},\
+				"actionLinks":{}}}],"totalNo":"1","containDataOfType":"demo","toNo":"1"}}"""
+				.formatted(LINK);
+		JsonToBasicClientDataProjection projection = JsonToBasicClientDataProjection
+				.usingPaths("link/linkedRecordId");
+
+		ClientDataList dataList = (ClientDataList) JsonToBasicClientDataConverterFactoryImp
+				.usingProjection(projection).factorUsingString(json).toInstance();
+
+		ClientDataRecordGroup recordGroup = getRecordGroup(dataList, 0);
+		assertEquals(recordGroup.getChildren().size(), 1);
+		ClientDataRecordLink link = (ClientDataRecordLink) recordGroup.getChildren().get(0);
+		assertEquals(link.getLinkedRecordId(), "cora");
+	}
+
+	@Test(expectedExceptions = JsonParseException.class, expectedExceptionsMessageRegExp = ""
+			+ "Error parsing jsonRecord: Error parsing jsonObject: "
+			+ "Group data can only contain keys: name, children and attributes")
+	public void testProjectionValidatesRecordGroup() {
+		String json = """
+				{"record":{"data":{"children":[{"name":"title","value":"someTitle"}],\
+				"name":"demo","extraKey":"someValue"}}}""";
+		JsonToBasicClientDataProjection projection = JsonToBasicClientDataProjection
+				.usingPaths("title");
+
+		JsonToBasicClientDataConverterFactoryImp.usingProjection(projection)
+				.factorUsingString(json).toInstance();
+	}
+
+	@Test(expectedExceptions = JsonParseException.class, expectedExceptionsMessageRegExp = ""
+			+ "Error parsing jsonRecord: Error parsing jsonObject: Error parsing jsonObject: "
+			+ "Group data must contain name and children, and may contain attributes or repeatId")
+	public void testProjectionValidatesSelectedChildGroup() {
+		String json = """
+				{"record":{"data":{"children":[{"name":"recordInfo","extraKey":"someValue",\
+				"children":[{"name":"id","value":"demo1"}]}],"name":"demo"}}}""";
+		JsonToBasicClientDataProjection projection = JsonToBasicClientDataProjection
+				.usingPaths("recordInfo/id");
+
+		JsonToBasicClientDataConverterFactoryImp.usingProjection(projection)
+				.factorUsingString(json).toInstance();
+	}
+
+	@Test
+	public void testProjectionInTrustedModeDoesNotValidate() {
+		String json = """
+				{"record":{"data":{"children":[{"name":"title","value":"someTitle"}],\
+				"name":"demo","extraKey":"someValue"}}}""";
+		JsonToBasicClientDataConverterOptions options = JsonToBasicClientDataConverterOptions
+				.defaultOptions().withTrustedMode()
+				.withProjection(JsonToBasicClientDataProjection.usingPaths("title"));
+
+		ClientDataRecord dataRecord = (ClientDataRecord) JsonToBasicClientDataConverterFactoryImp
+				.usingOptions(options).factorUsingString(json).toInstance();
+
+		assertEquals(dataRecord.getDataRecordGroup().getFirstAtomicValueWithNameInData("title"),
+				"someTitle");
+	}
+
+	@Test
+	public void testLazyRecordPartsGivesSameRecordAsDefault() {
+		String json = """
+				{"record":{"data":{"children":[{"name":"title","value":"someTitle"}],\
+				"name":"demo"},\
+				"actionLinks":{"read":{"requestMethod":"GET","rel":"read",\
+				"url":"https://cora.example.org/rest/record/demo/demo1",\
+				"accept":"application/vnd.cora.record+json"}},\
+				"permissions":{"read":["title"],"write":["title","abstract"]},\
+				"otherProtocols":{"iiif":{"server":"someServer"}}}}""";
+
+		ClientDataRecord expected = (ClientDataRecord) jsonToDataConverterFactory
+				.factorUsingString(json).toInstance();
+		ClientDataRecord lazy = (ClientDataRecord) JsonToBasicClientDataConverterFactoryImp
+				.usingLazyRecordParts().factorUsingString(json).toInstance();
+
+		assertEquals(lazy.getActionLink(ClientAction.READ).get().getURL(),
+				expected.getActionLink(ClientAction.READ).get().getURL());
+		assertTrue(lazy.getActionLink(ClientAction.DELETE).isEmpty());
+		assertEquals(lazy.getReadPermissions(), expected.getReadPermissions());
+		assertEquals(lazy.getWritePermissions(), expected.getWritePermissions());
+		assertEquals(lazy.getProtocol("iiif"), expected.getProtocol("iiif"));
+	}
+
+	@Test
+	public void testLazyRecordPartsWithoutActionLinksPermissionsAndProtocols() {
+		String json = """
+				{"record":{"data":{"children":[],"name":"demo"},"actionLinks":{}}}""";
+
+		ClientDataRecord lazy = (ClientDataRecord) JsonToBasicClientDataConverterFactoryImp
+				.usingLazyRecordParts().factorUsingString(json).toInstance();
+
+		assertTrue(lazy.getActionLink(ClientAction.READ).isEmpty());
+		assertTrue(lazy.getReadPermissions().isEmpty());
+		assertTrue(lazy.getWritePermissions().isEmpty());
+		assertFalse(lazy.hasProtocol("iiif"));
+	}
+
+	@Test
+	public void testLazyRecordPartsReportsErrorOnFirstUse() {
+		String json = """
+				{"record":{"data":{"children":[],"name":"demo"},\
+				"actionLinks":{"read":{"rel":"read"}}}}""";
+		ClientDataRecord lazy = (ClientDataRecord) JsonToBasicClientDataConverterFactoryImp
+				.usingLazyRecordParts().factorUsingString(json).toInstance();
+
+		String expected = getErrorMessage(jsonToDataConverterFactory, json);
+
+		try {
+			lazy.getActionLink(ClientAction.READ);
+			throw new AssertionError("Expected JsonParseException");
+		} catch (JsonParseException e) {
+			assertEquals(e.getMessage(), expected);
+		}
+	}
+
+	@Test
+	public void testUsingJsonParser() {
+		List<String> calledMethods = new ArrayList<>();
+		JsonParser jsonParser = createRecordingJsonParser(calledMethods);
+		JsonToBasicClientDataConverterFactoryImp factory = JsonToBasicClientDataConverterFactoryImp
+				.usingJsonParser(jsonParser);
+
+		ClientDataGroup group = (ClientDataGroup) factory.factorUsingString(LINK).toInstance();
+
+		assertEquals(group.getNameInData(), "link");
+		assertEquals(calledMethods, List.of("parseStringAsObject"));
+		assertSame(factory.getJsonParser(), jsonParser);
+	}
+
+	private JsonParser createRecordingJsonParser(List<String> calledMethods) {
+		JsonParser orgJsonParser = new OrgJsonParser();
+		return (JsonParser) Proxy.newProxyInstance(JsonParser.class.getClassLoader(),
+				new Class<?>[] { JsonParser.class }, (proxy, method, args) -> {
+					calledMethods.add(method.getName());
+					return method.invoke(orgJsonParser, args);
+				});
+	}
+
+	@Test
+	public void testStreamDecoderUsesJsonParserOfFactory() {
+		List<String> calledMethods = new ArrayList<>();
+		JsonToBasicClientDataConverterFactoryImp factory = JsonToBasicClientDataConverterFactoryImp
+				.usingJsonParser(createRecordingJsonParser(calledMethods));
+		String json = """
+				{"dataList":{"fromNo":"1","data":[{"record":{"data":%s,"actionLinks":{}}}],\
+				"totalNo":"1","containDataOfType":"demo","toNo":"1"}}""".formatted(LINK);
+
+		JsonToBasicClientDataStreamDecoder.usingConverterFactory(factory).decode(json.getBytes());
+
+		assertTrue(calledMethods.contains("parseStringAsObject"));
+	}
+
+	@Test
+	public void testDefaultJsonParser() {
+		JsonToBasicClientDataConverterFactoryImp factory = new JsonToBasicClientDataConverterFactoryImp();
+
+		assertTrue(factory.getJsonParser() instanceof OrgJsonParser);
+	}
+
+	@Test
+	public void testUsingJsonParserFromServiceLoaderFallsBackToOrgJsonParser() {
+		JsonToBasicClientDataConverterFactoryImp factory = JsonToBasicClientDataConverterFactoryImp
+				.usingJsonParserFromServiceLoader();
+
+		assertTrue(factory.getJsonParser() instanceof OrgJsonParser);
+		assertSame(factory.getJsonParser(), factory.getJsonParser());
+	}
+
+	@Test
+	public void testActionLinkConverterFactoryIsReusedByFactory() {
+		String json = """
+				{"record":{"data":{"children":[],"name":"demo"},"actionLinks":{}}}""";
+
+		JsonToBasicClientDataRecordConverter first = (JsonToBasicClientDataRecordConverter) jsonToDataConverterFactory
+				.factorUsingString(json);
+		JsonToBasicClientDataRecordConverter second = (JsonToBasicClientDataRecordConverter) jsonToDataConverterFactory
+				.factorUsingString(json);
+
+		assertSame(second.onlyForTestGetActionLinkConverterFactory(),
+				first.onlyForTestGetActionLinkConverterFactory());
+	}
+
+	@Test
+	public void testClassifyChildren() {
+		JsonToBasicClientDataConverterFactoryImp factory = new JsonToBasicClientDataConverterFactoryImp();
+
+		assertEquals(factory.classifyChildren(parseToJsonObject(LINK)), Shape.RECORD_LINK);
+		assertEquals(factory.classifyChildren(parseToJsonObject(childrenJson("recordInfo", "x"))),
+				Shape.RECORD_GROUP);
+		assertEquals(factory.classifyChildren(parseToJsonObject(
+				childrenJson("linkedRecordType", "linkedRecordId", "mimeType"))),
+				Shape.RESOURCE_LINK);
+		assertEquals(factory.classifyChildren(parseToJsonObject(
+				childrenJson("linkedRecordType", "linkedRecordId", "mimeType", "x"))),
+				Shape.RECORD_LINK);
+		assertEquals(factory.classifyChildren(parseToJsonObject(childrenJson("linkedRecordId"))),
+				Shape.GROUP);
+	}
+
+	private String childrenJson(String... childNames) {
+		StringBuilder children = new StringBuilder();
+		for (String childName : childNames) {
+			children.append(children.isEmpty() ? "" : ",");
+			children.append("{\"name\":\"" + childName + "\",\"value\":\"v\"}");
+		}
+		return "{\"name\":\"element\",\"children\":[" + children + "]}";
+	}
+
+	@Test
+	public void testNestedChildrenAreConverted() {
+		String json = """
+				{"name":"group","children":[{"name":"inner","children":[%s]}]}""".formatted(LINK);
+		JsonToBasicClientDataGroupConverter converter = (JsonToBasicClientDataGroupConverter) jsonToDataConverterFactory
+				.factorUsingString(json);
+
+		ClientDataGroup group = (ClientDataGroup) converter.toInstance();
+
+		ClientDataGroup inner = (ClientDataGroup) group.getChildren().get(0);
+		assertTrue(inner.getChildren().get(0) instanceof ClientDataRecordLink);
+	}
 }
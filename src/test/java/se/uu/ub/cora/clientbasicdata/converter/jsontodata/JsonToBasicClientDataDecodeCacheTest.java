@@ -0,0 +1,203 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.converter.jsontodata;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.clientbasicdata.data.BasicClientDataFreezable;
+import se.uu.ub.cora.clientdata.ClientConvertible;
+import se.uu.ub.cora.clientdata.ClientDataGroup;
+import se.uu.ub.cora.clientdata.ClientDataRecord;
+import se.uu.ub.cora.clientdata.ClientDataRecordGroup;
+
+public class JsonToBasicClientDataDecodeCacheTest {
+	private static final String GROUP = """
+			{"name":"%s","children":[{"name":"id","value":"someId"}]}""";
+	private JsonToBasicClientDataDecodeCache cache;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		cache = JsonToBasicClientDataDecodeCache
+				.usingConverterFactoryAndMaxSize(new JsonToBasicClientDataConverterFactoryImp(), 2);
+	}
+
+	@Test
+	public void testSameJsonGivesSameFrozenInstance() {
+		ClientConvertible first = cache.decode(GROUP.formatted("group"));
+		ClientConvertible second = cache.decode(GROUP.formatted("group").getBytes(
+				StandardCharsets.UTF_8));
+
+		assertSame(second, first);
+		assertTrue(((BasicClientDataFreezable) first).isFrozen());
+		assertEquals(((ClientDataGroup) first).getFirstAtomicValueWithNameInData("id"), "someId");
+		assertEquals(cache.getStatistics(),
+				new JsonToBasicClientDataDecodeCacheStatistics(1, 1, 0, 1));
+	}
+
+	@Test
+	public void testSameFrozenRecordCanBeReadByConcurrentHits() throws Exception {
+		String json = createRecordJsonWithManyChildren();
+		ClientDataRecord converted = (ClientDataRecord) cache.decode(json);
+		int expectedHash = getHashOfRecordGroupNotFromCache(json);
+
+		List<Callable<Boolean>> tasks = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			tasks.add(() -> decodeAndReadManyTimes(json, converted, expectedHash));
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			for (Future<Boolean> result : executor.invokeAll(tasks)) {
+				assertTrue(result.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertEquals(cache.getStatistics(),
+				new JsonToBasicClientDataDecodeCacheStatistics(8 * 1000, 1, 0, 1));
+	}
+
+	private String createRecordJsonWithManyChildren() {
+		StringBuilder children = new StringBuilder();
+		for (int i = 0; i < 20; i++) {
+			children.append(",{\"name\":\"child%d\",\"value\":\"value%d\"}".formatted(i, i));
+		}
+		return """
+				{"record":{"data":{"children":[{"children":[\
+				{"children":[{"name":"linkedRecordType","value":"recordType"},\
+				{"name":"linkedRecordId","value":"demo"}],"name":"type"},\
+				{"name":"id","value":"demo1"}],"name":"recordInfo"}%s],"name":"demo"},\
+				"actionLinks":{}}}""".formatted(children);
+	}
+
+	private int getHashOfRecordGroupNotFromCache(String json) {
+		ClientDataRecord notCached = (ClientDataRecord) new JsonToBasicClientDataConverterFactoryImp()
+				.factorUsingString(json).toInstance();
+		return notCached.getDataRecordGroup().hashCode();
+	}
+
+	private boolean decodeAndReadManyTimes(String json, ClientDataRecord expected,
+			int expectedHash) {
+		for (int i = 0; i < 1000; i++) {
+			ClientDataRecord dataRecord = (ClientDataRecord) cache.decode(json);
+			ClientDataRecordGroup recordGroup = dataRecord.getDataRecordGroup();
+			if (dataRecord != expected || recordGroup.hashCode() != expectedHash
+					|| !"demo1".equals(recordGroup.getId())
+					|| !"demo".equals(recordGroup.getType())
+					|| !"value19".equals(recordGroup.getFirstAtomicValueWithNameInData("child19"))
+					|| recordGroup.getChildren().size() != 21) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Test
+	public void testOtherJsonIsConverted() {
+		ClientDataGroup first = (ClientDataGroup) cache.decode(GROUP.formatted("group"));
+		ClientDataGroup second = (ClientDataGroup) cache.decode(GROUP.formatted("other"));
+
+		assertEquals(second.getNameInData(), "other");
+		assertNotSame(second, first);
+		assertEquals(cache.getStatistics(),
+				new JsonToBasicClientDataDecodeCacheStatistics(0, 2, 0, 2));
+	}
+
+	@Test
+	public void testLeastRecentlyUsedIsEvicted() {
+		ClientConvertible first = cache.decode(GROUP.formatted("first"));
+		cache.decode(GROUP.formatted("second"));
+		cache.decode(GROUP.formatted("first"));
+		cache.decode(GROUP.formatted("third"));
+
+		assertSame(cache.decode(GROUP.formatted("first")), first);
+		cache.decode(GROUP.formatted("second"));
+
+		assertEquals(cache.getStatistics(),
+				new JsonToBasicClientDataDecodeCacheStatistics(2, 4, 2, 2));
+	}
+
+	@Test
+	public void testDataListIsNotCached() {
+		String json = """
+				{"dataList":{"fromNo":"0","data":[],"totalNo":"0",\
+				"containDataOfType":"demo","toNo":"0"}}""";
+
+		ClientConvertible first = cache.decode(json);
+		ClientConvertible second = cache.decode(json);
+
+		assertNotSame(second, first);
+		assertEquals(cache.getStatistics(),
+				new JsonToBasicClientDataDecodeCacheStatistics(0, 2, 0, 0));
+	}
+
+	@Test
+	public void testChangedBytesAreNotUsedFromCache() {
+		byte[] bytes = GROUP.formatted("group").getBytes(StandardCharsets.UTF_8);
+		ClientConvertible first = cache.decode(bytes);
+		bytes[10] = 'x';
+
+		assertSame(cache.decode(GROUP.formatted("group")), first);
+	}
+
+	@Test
+	public void testClear() {
+		cache.decode(GROUP.formatted("group"));
+
+		cache.clear();
+
+		assertEquals(cache.getStatistics().size(), 0);
+		assertEquals(cache.getStatistics().misses(), 1);
+	}
+
+	@Test
+	public void testHashDiffersForDifferentLengthsAndTails() {
+		byte[] eight = "12345678".getBytes(StandardCharsets.UTF_8);
+		byte[] nine = "123456789".getBytes(StandardCharsets.UTF_8);
+		byte[] nineOther = "12345678x".getBytes(StandardCharsets.UTF_8);
+
+		assertEquals(JsonToBasicClientDataDecodeCache.hash(nine),
+				JsonToBasicClientDataDecodeCache.hash(nine.clone()));
+		assertNotEquals(JsonToBasicClientDataDecodeCache.hash(eight),
+				JsonToBasicClientDataDecodeCache.hash(nine));
+		assertNotEquals(JsonToBasicClientDataDecodeCache.hash(nine),
+				JsonToBasicClientDataDecodeCache.hash(nineOther));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class, expectedExceptionsMessageRegExp = ""
+			+ "Max size must be at least 1, was: 0")
+	public void testMaxSizeMustBeAtLeastOne() {
+		JsonToBasicClientDataDecodeCache
+				.usingConverterFactoryAndMaxSize(new JsonToBasicClientDataConverterFactoryImp(), 0);
+	}
+}
@@ -2,6 +2,17 @@ package se.uu.ub.cora.clientbasicdata.converter.jsontodata;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -9,6 +20,8 @@ import org.testng.annotations.Test;
 import se.uu.ub.cora.clientdata.ClientConvertible;
 import se.uu.ub.cora.clientdata.ClientData;
 import se.uu.ub.cora.clientdata.ClientDataList;
+import se.uu.ub.cora.clientdata.ClientDataRecord;
+import se.uu.ub.cora.clientdata.converter.JsonToClientDataConverter;
 import se.uu.ub.cora.clientdata.spies.JsonToClientDataConverterFactorySpy;
 import se.uu.ub.cora.clientdata.spies.JsonToClientDataConverterSpy;
 import se.uu.ub.cora.json.parser.JsonObject;
@@ -221,4 +234,156 @@ public class JsonToBasicClientDataListConverterTest {
 				() -> jsonToDataConverter);
 
 	}
+
+	@Test
+	public void testConstructorWithExecutorPassesVariables() throws Exception {
+		JsonObject jsonObject = parseToJsonObject("{\"record\":\"record\"}");
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+
+		toDataListConverter = JsonToBasicClientDataListConverter
+				.usingDataConverterAndJsonObjectAndExecutor(factory, jsonObject, executor, 100);
+
+		assertSame(toDataListConverter.onlyForTestGetConverterFactory(), factory);
+		assertSame(toDataListConverter.onlyForTestGetJsonObject(), jsonObject);
+		assertSame(toDataListConverter.onlyForTestGetExecutor(), executor);
+		assertEquals(toDataListConverter.onlyForTestGetMinimumSizeForParallelDecoding(), 100);
+		executor.shutdown();
+	}
+
+	@Test
+	public void testParallelDecodingKeepsOrderOfRecords() throws Exception {
+		List<String> records = createRecords(50);
+		JsonObject jsonObject = parseToJsonObject(createDataListJson(records));
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+
+		ClientDataList clientDataList = (ClientDataList) JsonToBasicClientDataListConverter
+				.usingDataConverterAndJsonObjectAndExecutor(
+						new JsonToBasicClientDataConverterFactoryImp(), jsonObject, executor, 10)
+				.toInstance();
+		executor.shutdown();
+
+		assertEquals(clientDataList.getDataList().size(), 50);
+		for (int i = 0; i < 50; i++) {
+			ClientDataRecord dataRecord = (ClientDataRecord) clientDataList.getDataList().get(i);
+			assertEquals(dataRecord.getDataRecordGroup().getId(), "record" + i);
+		}
+	}
+
+	private List<String> createRecords(int numberOfRecords) {
+		List<String> records = new ArrayList<>();
+		for (int i = 0; i < numberOfRecords; i++) {
+			records.add(createRecord("record" + i));
+		}
+		return records;
+	}
+
+	private String createRecord(String id) {
+		return """
+				{"record":{"data":{"children":[{"children":[\
+				{"children":[{"name":"linkedRecordType","value":"recordType"},\
+				{"name":"linkedRecordId","value":"demo"}],"name":"type"},\
+				{"name":"id","value":"%s"}],"name":"recordInfo"}],"name":"demo"}}}""".formatted(id);
+	}
+
+	private String createDataListJson(List<String> records) {
+		return """
+				{"dataList": {
+				    "fromNo": "0",
+				    "data": [%s],
+				    "totalNo": "%d",
+				    "containDataOfType": "demo",
+				    "toNo": "%d"
+				  }}""".formatted(String.join(",", records), records.size(), records.size());
+	}
+
+	@Test
+	public void testExecutorOnlyUsedFromMinimumSize() throws Exception {
+		AtomicInteger tasks = new AtomicInteger();
+		JsonToBasicClientDataConverterFactoryImp realFactory = new JsonToBasicClientDataConverterFactoryImp();
+
+		JsonToBasicClientDataListConverter.usingDataConverterAndJsonObjectAndExecutor(realFactory,
+				parseToJsonObject(createDataListJson(createRecords(9))), countingExecutor(tasks),
+				10).toInstance();
+		assertEquals(tasks.get(), 0);
+
+		JsonToBasicClientDataListConverter.usingDataConverterAndJsonObjectAndExecutor(realFactory,
+				parseToJsonObject(createDataListJson(createRecords(10))), countingExecutor(tasks),
+				10).toInstance();
+		assertTrue(tasks.get() > 0);
+	}
+
+	private Executor countingExecutor(AtomicInteger tasks) {
+		return task -> {
+			tasks.incrementAndGet();
+			task.run();
+		};
+	}
+
+	@Test
+	public void testParallelDecodingReportsErrorForFirstFailingRecord() throws Exception {
+		List<String> records = createRecords(40);
+		records.set(10, "{\"record\":{\"notData\":\"\"}}");
+		records.set(30, "{\"record\":{\"data\":{},\"a\":\"\",\"b\":\"\",\"c\":\"\"}}");
+		String json = createDataListJson(records);
+		JsonToBasicClientDataConverterFactoryImp realFactory = new JsonToBasicClientDataConverterFactoryImp();
+		String sequentialMessage = getErrorMessage(JsonToBasicClientDataListConverter
+				.usingDataConverterAndJsonObject(realFactory, parseToJsonObject(json)));
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+
+		String parallelMessage = getErrorMessage(
+				JsonToBasicClientDataListConverter.usingDataConverterAndJsonObjectAndExecutor(
+						realFactory, parseToJsonObject(json), executor, 1));
+		executor.shutdown();
+
+		assertEquals(parallelMessage, sequentialMessage);
+		assertTrue(parallelMessage.endsWith("Record data must contain child with key: data"));
+	}
+
+	@Test
+	public void testChunksAreSizedFromParallelismOfExecutor() throws Exception {
+		AtomicInteger tasks = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>()) {
+			@Override
+			public void execute(Runnable task) {
+				tasks.incrementAndGet();
+				super.execute(task);
+			}
+		};
+
+		JsonToBasicClientDataListConverter.usingDataConverterAndJsonObjectAndExecutor(
+				new JsonToBasicClientDataConverterFactoryImp(),
+				parseToJsonObject(createDataListJson(createRecords(100))), executor, 10)
+				.toInstance();
+		executor.shutdown();
+
+		assertEquals(tasks.get(), 4);
+	}
+
+	@Test(expectedExceptions = StackOverflowError.class, expectedExceptionsMessageRegExp = ""
+			+ "someError")
+	public void testParallelDecodingThrowsErrorAsOnCallingThread() throws Exception {
+		factory.MRV.setDefaultReturnValuesSupplier("factorUsingJsonObject",
+				() -> (JsonToClientDataConverter) () -> {
+					throw new StackOverflowError("someError");
+				});
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+
+		try {
+			JsonToBasicClientDataListConverter.usingDataConverterAndJsonObjectAndExecutor(factory,
+					parseToJsonObject(createDataListJson(createRecords(20))), executor, 1)
+					.toInstance();
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private String getErrorMessage(JsonToBasicClientDataListConverter converter) {
+		try {
+			converter.toInstance();
+		} catch (JsonParseException e) {
+			return e.getMessage();
+		}
+		throw new AssertionError("Expected JsonParseException");
+	}
 }
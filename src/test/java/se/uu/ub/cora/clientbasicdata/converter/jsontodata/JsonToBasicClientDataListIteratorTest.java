@@ -0,0 +1,232 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.converter.jsontodata;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.clientdata.ClientData;
+import se.uu.ub.cora.clientdata.ClientDataRecord;
+import se.uu.ub.cora.json.parser.JsonParseException;
+
+public class JsonToBasicClientDataListIteratorTest {
+	private static final String RECORD = """
+			{"record":{"data":{"children":[{"children":[\
+			{"children":[{"name":"linkedRecordType","value":"recordType"},\
+			{"name":"linkedRecordId","value":"demo"}],"name":"type"},\
+			{"name":"id","value":"%s"}],"name":"recordInfo"}],"name":"demo"}}}""";
+	private static final String DATA_LIST = """
+			{"dataList": {
+			    "totalNo": "3",
+			    "fromNo": "1",
+			    "toNo": "3",
+			    "containDataOfType": "demo",
+			    "data": [%s]
+			  }}""";
+
+	private JsonToBasicClientDataStreamDecoder decoder;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		decoder = JsonToBasicClientDataStreamDecoder
+				.usingConverterFactory(new JsonToBasicClientDataConverterFactoryImp());
+	}
+
+	private JsonToBasicClientDataListIterator createIterator(String json) {
+		return decoder.decodeDataListIncrementally(new StringReader(json));
+	}
+
+	private String createDataListWithRecords(String... ids) {
+		List<String> records = List.of(ids).stream().map(RECORD::formatted).toList();
+		return DATA_LIST.formatted(String.join(",", records));
+	}
+
+	@Test
+	public void testHeaderIsReadBeforeRecords() throws Exception {
+		JsonToBasicClientDataListIterator iterator = createIterator(
+				createDataListWithRecords("record1"));
+
+		assertEquals(iterator.getContainDataOfType(), "demo");
+		assertEquals(iterator.getTotalNumberOfTypeInStorage(), "3");
+		assertEquals(iterator.getFromNo(), "1");
+		assertEquals(iterator.getToNo(), "3");
+	}
+
+	@Test
+	public void testRecordsAreReadInOrder() throws Exception {
+		JsonToBasicClientDataListIterator iterator = createIterator(
+				createDataListWithRecords("record1", "record2", "record3"));
+
+		assertEquals(getId(iterator.next()), "record1");
+		assertTrue(iterator.hasNext());
+		assertTrue(iterator.hasNext());
+		assertEquals(getId(iterator.next()), "record2");
+		assertEquals(getId(iterator.next()), "record3");
+		assertFalse(iterator.hasNext());
+		assertFalse(iterator.hasNext());
+	}
+
+	private String getId(ClientData data) {
+		return ((ClientDataRecord) data).getDataRecordGroup().getId();
+	}
+
+	@Test
+	public void testStreamFromInputStream() throws Exception {
+		String json = createDataListWithRecords("record1", "record2", "record3");
+
+		JsonToBasicClientDataListIterator iterator = decoder.decodeDataListIncrementally(
+				new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+		List<String> ids = iterator.stream().map(this::getId).toList();
+		assertEquals(ids, List.of("record1", "record2", "record3"));
+	}
+
+	@Test
+	public void testEmptyData() throws Exception {
+		JsonToBasicClientDataListIterator iterator = createIterator(DATA_LIST.formatted(""));
+
+		assertFalse(iterator.hasNext());
+	}
+
+	@Test(expectedExceptions = NoSuchElementException.class, expectedExceptionsMessageRegExp = ""
+			+ "No more records in dataList.")
+	public void testNextAfterLastRecord() throws Exception {
+		JsonToBasicClientDataListIterator iterator = createIterator(DATA_LIST.formatted(""));
+
+		iterator.next();
+	}
+
+	@Test(expectedExceptions = JsonParseException.class, expectedExceptionsMessageRegExp = ""
+			+ "Error parsing json: Keys totalNo, fromNo, toNo and containDataOfType must come "
+			+ "before data when reading a dataList incrementally.")
+	public void testDataBeforeHeader() throws Exception {
+		createIterator("""
+				{"dataList":{"data":[],"totalNo":"0","fromNo":"0","toNo":"0",\
+				"containDataOfType":"demo"}}""");
+	}
+
+	@Test(expectedExceptions = JsonParseException.class, expectedExceptionsMessageRegExp = ""
+			+ "Error parsing json: DataList must exist and must be an object.")
+	public void testNotADataList() throws Exception {
+		createIterator(RECORD.formatted("record1"));
+	}
+
+	@Test(expectedExceptions = JsonParseException.class, expectedExceptionsMessageRegExp = ""
+			+ "Error parsing json: It must contains child with key: data, toNo")
+	public void testMissingKeys() throws Exception {
+		createIterator("""
+				{"dataList":{"totalNo":"0","fromNo":"0","containDataOfType":"demo"}}""");
+	}
+
+	@Test(expectedExceptions = JsonParseException.class, expectedExceptionsMessageRegExp = ""
+			+ "Error parsing json: Datalist must have 5 key childs.")
+	public void testUnknownKeyInHeader() throws Exception {
+		createIterator("""
+				{"dataList":{"totalNo":"0","fromNo":"0","other":"0","containDataOfType":"demo",\
+				"toNo":"0","data":[]}}""");
+	}
+
+	@Test(expectedExceptions = JsonParseException.class, expectedExceptionsMessageRegExp = ""
+			+ "Error parsing json: Data in Datalist is not an Array.")
+	public void testDataIsNotAnArray() throws Exception {
+		createIterator(DATA_LIST.replace("[%s]", "\"notAnArray\""));
+	}
+
+	@Test(expectedExceptions = JsonParseException.class, expectedExceptionsMessageRegExp = ""
+			+ "Error parsing json: DataList must have only one key: datalist")
+	public void testExtraKeyAfterDataListIsReportedAtEndOfData() throws Exception {
+		JsonToBasicClientDataListIterator iterator = createIterator(
+				createDataListWithRecords("record1").replaceFirst("}$", ",\"other\":\"\"}"));
+		iterator.next();
+
+		iterator.hasNext();
+	}
+
+	@Test
+	public void testRecordErrorIsReportedWhenRecordIsRead() throws Exception {
+		JsonToBasicClientDataListIterator iterator = createIterator(
+				DATA_LIST.formatted(RECORD.formatted("record1") + ",{\"record\":{}}"));
+
+		assertEquals(getId(iterator.next()), "record1");
+		try {
+			iterator.next();
+			throw new AssertionError("Expected JsonParseException");
+		} catch (JsonParseException e) {
+			assertTrue(e.getMessage().startsWith("Error parsing json: Error parsing jsonRecord: "));
+		}
+	}
+
+	@Test
+	public void testOwnedSourceIsClosedWhenEndOfDataListIsRead() throws Exception {
+		AtomicInteger closeCalls = new AtomicInteger();
+		JsonToBasicClientDataListIterator iterator = createIteratorOwningSource(
+				createDataListWithRecords("record1"), closeCalls);
+
+		iterator.next();
+		assertEquals(closeCalls.get(), 0);
+
+		assertFalse(iterator.hasNext());
+		assertEquals(closeCalls.get(), 1);
+	}
+
+	private JsonToBasicClientDataListIterator createIteratorOwningSource(String json,
+			AtomicInteger closeCalls) {
+		JsonToBasicClientDataTokenReader tokenReader = JsonToBasicClientDataTokenReader
+				.usingReader(new StringReader(json));
+		return JsonToBasicClientDataListIterator.usingDecoderAndTokenReaderOwningSource(decoder,
+				tokenReader, closeCalls::incrementAndGet);
+	}
+
+	@Test
+	public void testOwnedSourceIsClosedWhenStreamIsClosed() throws Exception {
+		AtomicInteger closeCalls = new AtomicInteger();
+		JsonToBasicClientDataListIterator iterator = createIteratorOwningSource(
+				createDataListWithRecords("record1", "record2"), closeCalls);
+
+		try (Stream<ClientData> stream = iterator.stream()) {
+			assertEquals(getId(stream.findFirst().get()), "record1");
+		}
+
+		assertEquals(closeCalls.get(), 1);
+	}
+
+	@Test
+	public void testOwnedSourceIsClosedWhenHeaderCanNotBeRead() throws Exception {
+		AtomicInteger closeCalls = new AtomicInteger();
+
+		try {
+			createIteratorOwningSource("{\"notDataList\":{}}", closeCalls);
+			throw new AssertionError("Expected JsonParseException");
+		} catch (JsonParseException e) {
+			assertEquals(closeCalls.get(), 1);
+		}
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.converter.jsontodata;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+public class JsonToBasicClientDataProjectionTest {
+
+	@Test
+	public void testSelectedChildren() {
+		JsonToBasicClientDataProjection projection = JsonToBasicClientDataProjection
+				.usingPaths("recordInfo/id", "title");
+
+		assertFalse(projection.selectsAll());
+		assertTrue(projection.selectsChild("recordInfo"));
+		assertTrue(projection.selectsChild("title"));
+		assertFalse(projection.selectsChild("abstract"));
+		assertTrue(projection.getProjectionForChild("abstract").isEmpty());
+	}
+
+	@Test
+	public void testProjectionForChild() {
+		JsonToBasicClientDataProjection projection = JsonToBasicClientDataProjection
+				.usingPaths(List.of("recordInfo/id", "recordInfo/type", "title"));
+
+		JsonToBasicClientDataProjection recordInfo = projection.getProjectionForChild("recordInfo")
+				.get();
+		JsonToBasicClientDataProjection title = projection.getProjectionForChild("title").get();
+
+		assertFalse(recordInfo.selectsAll());
+		assertTrue(recordInfo.selectsChild("id"));
+		assertTrue(recordInfo.selectsChild("type"));
+		assertFalse(recordInfo.selectsChild("createdBy"));
+		assertTrue(title.selectsAll());
+		assertTrue(title.selectsChild("anyName"));
+		assertSame(title.getProjectionForChild("anyName").get(), title);
+	}
+
+	@Test
+	public void testShorterPathSelectsAllBelow() {
+		JsonToBasicClientDataProjection projection = JsonToBasicClientDataProjection
+				.usingPaths("recordInfo/id", "recordInfo");
+
+		assertTrue(projection.getProjectionForChild("recordInfo").get().selectsAll());
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class, expectedExceptionsMessageRegExp = ""
+			+ "Invalid projection path: recordInfo//id")
+	public void testEmptyNameInPath() {
+		JsonToBasicClientDataProjection.usingPaths("recordInfo//id");
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class, expectedExceptionsMessageRegExp = ""
+			+ "Invalid projection path: ")
+	public void testEmptyPath() {
+		JsonToBasicClientDataProjection.usingPaths("");
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.converter.jsontodata;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Optional;
+
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.clientbasicdata.converter.jsontodata.JsonToBasicClientDataShapePlan.Shape;
+
+public class JsonToBasicClientDataShapePlanTest {
+	private JsonToBasicClientDataShapePlan plan = JsonToBasicClientDataShapePlan
+			.usingDefaultMaxSize();
+
+	@Test
+	public void testNothingPredictedBeforeLearning() throws Exception {
+		assertTrue(plan.getPredictedShape("link").isEmpty());
+	}
+
+	@Test
+	public void testLearnedShapeIsPredicted() throws Exception {
+		plan.learn("link", Shape.RECORD_LINK);
+		plan.learn("link", Shape.RECORD_LINK);
+
+		assertEquals(plan.getPredictedShape("link"), Optional.of(Shape.RECORD_LINK));
+	}
+
+	@Test
+	public void testNameLearnedWithTwoShapesIsNotPredicted() throws Exception {
+		plan.learn("link", Shape.RECORD_LINK);
+		plan.learn("link", Shape.GROUP);
+		plan.learn("link", Shape.RECORD_LINK);
+
+		assertTrue(plan.getPredictedShape("link").isEmpty());
+	}
+
+	@Test
+	public void testMarkAsVarying() throws Exception {
+		plan.learn("link", Shape.RECORD_LINK);
+
+		plan.markAsVarying("link");
+
+		assertTrue(plan.getPredictedShape("link").isEmpty());
+	}
+
+	@Test
+	public void testNoMoreShapesLearnedWhenFull() throws Exception {
+		plan = JsonToBasicClientDataShapePlan.usingMaxSize(2);
+		plan.learn("one", Shape.GROUP);
+		plan.learn("two", Shape.GROUP);
+
+		plan.learn("three", Shape.GROUP);
+
+		assertEquals(plan.size(), 2);
+		assertTrue(plan.getPredictedShape("three").isEmpty());
+		assertEquals(plan.getPredictedShape("two"), Optional.of(Shape.GROUP));
+	}
+}
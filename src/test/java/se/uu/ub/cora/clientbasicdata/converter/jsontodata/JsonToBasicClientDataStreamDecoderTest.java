@@ -0,0 +1,321 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.converter.jsontodata;
+
+import static org.testng.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.RandomAccessFile;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.clientdata.ClientDataList;
+import se.uu.ub.cora.clientdata.ClientDataRecord;
+import se.uu.ub.cora.clientdata.ClientDataRecordGroup;
+import se.uu.ub.cora.json.parser.JsonParseException;
+
+public class JsonToBasicClientDataStreamDecoderTest {
+	private static final String RECORD = """
+			{"record":{"data":{"children":[{"children":[\
+			{"children":[{"name":"linkedRecordType","value":"recordType"},\
+			{"name":"linkedRecordId","value":"demo"}],"name":"type"},\
+			{"name":"id","value":"%s"}],"name":"recordInfo"},\
+			{"name":"title","value":"some \\"quoted\\" title åäö"}],"name":"demo"}}}""";
+	private static final String DATA_LIST = """
+			{"dataList": {
+			    "totalNo": "2",
+			    "fromNo": "1",
+			    "toNo": "2",
+			    "containDataOfType": "demo",
+			    "data": [%s, %s]
+			  }}""";
+
+	private JsonToBasicClientDataConverterFactoryImp converterFactory;
+	private JsonToBasicClientDataStreamDecoder decoder;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		converterFactory = new JsonToBasicClientDataConverterFactoryImp();
+		decoder = JsonToBasicClientDataStreamDecoder.usingConverterFactory(converterFactory);
+	}
+
+	@Test
+	public void testDecodeDataListGivesSameResultAsConverterFactory() throws Exception {
+		String json = DATA_LIST.formatted(RECORD.formatted("record1"), RECORD.formatted("record2"));
+
+		ClientDataList decoded = (ClientDataList) decoder.decode(new StringReader(json));
+
+		ClientDataList converted = (ClientDataList) converterFactory.factorUsingString(json)
+				.toInstance();
+		assertEquals(decoded.getContainDataOfType(), converted.getContainDataOfType());
+		assertEquals(decoded.getFromNo(), "1");
+		assertEquals(decoded.getToNo(), "2");
+		assertEquals(decoded.getTotalNumberOfTypeInStorage(), "2");
+		assertEquals(decoded.getDataList().size(), 2);
+		assertEquals(getRecordGroup(decoded, 0), getRecordGroup(converted, 0));
+		assertEquals(getRecordGroup(decoded, 1), getRecordGroup(converted, 1));
+		assertEquals(getRecordGroup(decoded, 1).getId(), "record2");
+		assertEquals(getRecordGroup(decoded, 0).getFirstAtomicValueWithNameInData("title"),
+				"some \"quoted\" title åäö");
+	}
+
+	private ClientDataRecordGroup getRecordGroup(ClientDataList dataList, int index) {
+		return ((ClientDataRecord) dataList.getDataList().get(index)).getDataRecordGroup();
+	}
+
+	@Test
+	public void testDecodeDataListFromInputStreamWithDataFirst() throws Exception {
+		String json = """
+				{"dataList":{"data":[%s],"totalNo":"1","fromNo":"1","toNo":"1",\
+				"containDataOfType":"demo"}}""".formatted(RECORD.formatted("record1"));
+
+		ClientDataList decoded = (ClientDataList) decoder
+				.decode(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+		assertEquals(decoded.getContainDataOfType(), "demo");
+		assertEquals(getRecordGroup(decoded, 0).getId(), "record1");
+	}
+
+	@Test
+	public void testDecodeRecordUsesConverterFactory() throws Exception {
+		String json = RECORD.formatted("someId");
+
+		ClientDataRecord decoded = (ClientDataRecord) decoder.decode(new StringReader(json));
+
+		assertEquals(decoded.getDataRecordGroup().getId(), "someId");
+	}
+
+	@Test(expectedExceptions = JsonParseException.class, expectedExceptionsMessageRegExp = ""
+			+ "Error parsing json: DataList must exist and must be an object.")
+	public void testDataListIsNotAnObject() throws Exception {
+		decoder.decode(new StringReader("{\"dataList\":\"dataList\"}"));
+	}
+
+	@Test(expectedExceptions = JsonParseException.class, expectedExceptionsMessageRegExp = ""
+			+ "Error parsing json: "
+			+ "It must contains child with key: fromNo, data, totalNo, containDataOfType, toNo")
+	public void testDataListMissesRequiredKeys() throws Exception {
+		String json = """
+				{"dataList":{
+					"notData1":"notData",
+					"notData2":"notData",
+					"notData3":"notData",
+					"notData4":"notData",
+					"notData5":"notData"}}""";
+		decoder.decode(new StringReader(json));
+	}
+
+	@Test(expectedExceptions = JsonParseException.class, expectedExceptionsMessageRegExp = ""
+			+ "Error parsing json: DataList must have only one key: datalist")
+	public void testOnlyDataListKeyOnFirstLevel() throws Exception {
+		String json = """
+				{"dataList":{
+					"fromNo": "0",
+					"data":"notData",
+					"totalNo":"2",
+					"containDataOfType":"demo",
+					"toNo":"2"},
+					"anotherKey": "anotherKeyValue"}""";
+		decoder.decode(new StringReader(json));
+	}
+
+	@Test(expectedExceptions = JsonParseException.class, expectedExceptionsMessageRegExp = ""
+			+ "Error parsing json: Datalist must have 5 key childs.")
+	public void testOnlyDataListKeyOnSecondLevel() throws Exception {
+		String json = """
+				{"dataList":{
+					"fromNo": "0",
+					"data":"notData",
+					"totalNo":"2",
+					"containDataOfType":"demo",
+					"toNo":"2",
+					"anotherKey": "anotherKeyValue"}}""";
+		decoder.decode(new StringReader(json));
+	}
+
+	@Test(expectedExceptions = JsonParseException.class, expectedExceptionsMessageRegExp = ""
+			+ "Error parsing json: Data in Datalist is not an Array.")
+	public void testDataIsNotAnArray() throws Exception {
+		String json = """
+				{"dataList":{
+					"fromNo": "0",
+					"data":"notAnArray",
+					"totalNo":"2",
+					"containDataOfType":"demo",
+					"toNo":"2"}}""";
+		decoder.decode(new StringReader(json));
+	}
+
+	@Test
+	public void testRecordErrorHasSameMessageAsConverterFactory() throws Exception {
+		String json = DATA_LIST.formatted(RECORD.formatted("record1"),
+				"{\"record\":{\"notData\":{}}}");
+		String expectedMessage = getErrorMessageFromConverterFactory(json);
+
+		try {
+			decoder.decode(new StringReader(json));
+			throw new AssertionError("Expected JsonParseException");
+		} catch (JsonParseException e) {
+			assertEquals(e.getMessage(), expectedMessage);
+		}
+	}
+
+	@Test
+	public void testHeaderValueNotStringHasSameMessageAsConverterFactory() throws Exception {
+		String json = DATA_LIST.replace("\"totalNo\": \"2\"", "\"totalNo\": {}")
+				.formatted(RECORD.formatted("record1"), RECORD.formatted("record2"));
+		String expectedMessage = getErrorMessageFromConverterFactory(json);
+
+		try {
+			decoder.decode(new StringReader(json));
+			throw new AssertionError("Expected JsonParseException");
+		} catch (JsonParseException e) {
+			assertEquals(e.getMessage(), expectedMessage);
+		}
+	}
+
+	private String getErrorMessageFromConverterFactory(String json) {
+		try {
+			converterFactory.factorUsingString(json).toInstance();
+		} catch (JsonParseException e) {
+			return e.getMessage();
+		}
+		throw new AssertionError("Expected JsonParseException");
+	}
+
+	@Test(expectedExceptions = JsonParseException.class, expectedExceptionsMessageRegExp = ""
+			+ "Error parsing json: Unexpected end of json at position 26.")
+	public void testTruncatedJson() throws Exception {
+		decoder.decode(new StringReader("{\"dataList\":{\"fromNo\":\"0\","));
+	}
+
+	@Test
+	public void testDecodeBytes() throws Exception {
+		String json = DATA_LIST.formatted(RECORD.formatted("record1"), RECORD.formatted("record2"));
+
+		ClientDataList decoded = (ClientDataList) decoder
+				.decode(json.getBytes(StandardCharsets.UTF_8));
+
+		assertEquals(getRecordGroup(decoded, 1).getId(), "record2");
+		assertEquals(getRecordGroup(decoded, 0).getFirstAtomicValueWithNameInData("title"),
+				"some \"quoted\" title åäö");
+	}
+
+	@Test
+	public void testDecodeDirectByteBufferDoesNotChangePosition() throws Exception {
+		byte[] bytes = RECORD.formatted("someId").getBytes(StandardCharsets.UTF_8);
+		ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length + 2);
+		buffer.put((byte) ' ').put(bytes).put((byte) ' ');
+		buffer.flip();
+
+		ClientDataRecord decoded = (ClientDataRecord) decoder.decode(buffer);
+
+		assertEquals(decoded.getDataRecordGroup().getId(), "someId");
+		assertEquals(buffer.position(), 0);
+	}
+
+	@Test(expectedExceptions = JsonParseException.class, expectedExceptionsMessageRegExp = ""
+			+ "Error reading json: Input length = 1")
+	public void testDecodeMalformedUtf8() throws Exception {
+		decoder.decode(new byte[] { '{', '"', (byte) 0xff, '"', ':', '1', '}' });
+	}
+
+	@Test
+	public void testDecodeMappedFile() throws Exception {
+		Path file = Files.createTempFile("dataList", ".json");
+		try {
+			Files.writeString(file, DATA_LIST.formatted(RECORD.formatted("record1"),
+					RECORD.formatted("record2")));
+
+			ClientDataList decoded = (ClientDataList) decoder.decode(file);
+
+			assertEquals(decoded.getDataList().size(), 2);
+			assertEquals(getRecordGroup(decoded, 0).getId(), "record1");
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void testDecodeDataListIncrementallyFromMappedFile() throws Exception {
+		Path file = Files.createTempFile("dataList", ".json");
+		try {
+			Files.writeString(file, DATA_LIST.formatted(RECORD.formatted("record1"),
+					RECORD.formatted("record2")));
+
+			JsonToBasicClientDataListIterator iterator = decoder.decodeDataListIncrementally(file);
+
+			assertEquals(iterator.getContainDataOfType(), "demo");
+			List<String> ids = iterator.stream()
+					.map(data -> ((ClientDataRecord) data).getDataRecordGroup().getId()).toList();
+			assertEquals(ids, List.of("record1", "record2"));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test(expectedExceptions = JsonParseException.class, expectedExceptionsMessageRegExp = ""
+			+ "Error reading json: .*")
+	public void testDecodeMissingFile() throws Exception {
+		decoder.decode(Path.of("/nonExistingDirectory/nonExistingFile.json"));
+	}
+
+	@Test
+	public void testDecodeFileTooLargeToMapIsReadThroughBuffer() throws Exception {
+		Path file = createSparseFileLargerThanMaxMappedSize();
+		try {
+			decoder.decode(file);
+			throw new AssertionError("Expected JsonParseException");
+		} catch (JsonParseException e) {
+			assertEquals(e.getMessage(), "Unexpected character '\u0000' at position 0.");
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	private Path createSparseFileLargerThanMaxMappedSize() throws Exception {
+		Path file = Files.createTempFile("large", ".json");
+		try (RandomAccessFile randomAccessFile = new RandomAccessFile(file.toFile(), "rw")) {
+			randomAccessFile
+					.setLength(JsonToBasicClientDataStreamDecoder.MAX_MAPPED_FILE_SIZE + 1);
+		}
+		return file;
+	}
+
+	@Test
+	public void testDecodeDataListIncrementallyFromFileTooLargeToMapIsReadThroughBuffer() throws Exception {
+		Path file = createSparseFileLargerThanMaxMappedSize();
+		try {
+			decoder.decodeDataListIncrementally(file);
+			throw new AssertionError("Expected JsonParseException");
+		} catch (JsonParseException e) {
+			assertEquals(e.getMessage(),
+					"Error parsing json: Unexpected character '\u0000' at position 0.");
+		} finally {
+			Files.delete(file);
+		}
+	}
+}
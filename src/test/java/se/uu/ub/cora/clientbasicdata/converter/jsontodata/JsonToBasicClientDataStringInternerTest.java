@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.converter.jsontodata;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.clientbasicdata.data.BasicClientDataAtomic;
+import se.uu.ub.cora.clientbasicdata.data.BasicClientDataGroup;
+import se.uu.ub.cora.json.parser.JsonObject;
+import se.uu.ub.cora.json.parser.org.OrgJsonParser;
+
+public class JsonToBasicClientDataStringInternerTest {
+
+	@Test
+	public void testInternReturnsFirstStoredInstance() throws Exception {
+		JsonToBasicClientDataStringInterner interner = JsonToBasicClientDataStringInterner
+				.usingMaxSize(10);
+		String first = new String("someName");
+		String second = new String("someName");
+
+		assertSame(interner.intern(first), first);
+		assertSame(interner.intern(second), first);
+		assertEquals(interner.size(), 1);
+	}
+
+	@Test
+	public void testInternNull() throws Exception {
+		JsonToBasicClientDataStringInterner interner = JsonToBasicClientDataStringInterner
+				.usingMaxSize(10);
+
+		assertNull(interner.intern(null));
+	}
+
+	@Test
+	public void testInternDoesNotStoreMoreThanMaxSize() throws Exception {
+		JsonToBasicClientDataStringInterner interner = JsonToBasicClientDataStringInterner
+				.usingMaxSize(1);
+		interner.intern("first");
+		String second = new String("second");
+
+		assertSame(interner.intern(second), second);
+		assertNotSame(interner.intern(new String("second")), second);
+		assertEquals(interner.size(), 1);
+		assertEquals(interner.getMaxSize(), 1);
+	}
+
+	@Test
+	public void testSharedIsPreSeeded() throws Exception {
+		JsonToBasicClientDataStringInterner shared = JsonToBasicClientDataStringInterner
+				.getShared();
+
+		assertSame(JsonToBasicClientDataStringInterner.getShared(), shared);
+		assertTrue(shared.size() > 0);
+		assertSame(shared.intern(new String("recordInfo")), shared.intern("recordInfo"));
+	}
+
+	@Test
+	public void testConvertedAtomicsShareNameInData() throws Exception {
+		String json = "{\"name\":\"linkedRecordType\",\"value\":\"someType\"}";
+
+		BasicClientDataAtomic first = convertAtomic(json);
+		BasicClientDataAtomic second = convertAtomic(json);
+
+		assertSame(first.getNameInData(), second.getNameInData());
+		assertSame(first.getValue(), second.getValue());
+	}
+
+	@Test
+	public void testWellKnownStringsAndMaxSize() throws Exception {
+		JsonToBasicClientDataStringInterner interner = JsonToBasicClientDataStringInterner
+				.usingWellKnownStringsAndMaxSize(1000);
+
+		assertEquals(interner.size(), JsonToBasicClientDataStringInterner.getShared().size());
+		assertEquals(interner.getMaxSize(), 1000);
+		assertSame(interner.intern(new String("recordInfo")), interner.intern("recordInfo"));
+	}
+
+	@Test
+	public void testFactoryUsesInternerFromOptions() throws Exception {
+		JsonToBasicClientDataStringInterner interner = JsonToBasicClientDataStringInterner
+				.usingMaxSize(100);
+		JsonToBasicClientDataConverterFactoryImp factory = JsonToBasicClientDataConverterFactoryImp
+				.usingOptions(JsonToBasicClientDataConverterOptions.defaultOptions()
+						.withStringInterner(interner));
+		String json = "{\"name\":\"groupOnlyInOwnInterner\",\"attributes\":"
+				+ "{\"attributeOnlyInOwnInterner\":\"attributeValue\"},\"children\":"
+				+ "[{\"name\":\"atomicOnlyInOwnInterner\",\"value\":\"atomicValue\"}]}";
+
+		BasicClientDataGroup first = convertUsingFactory(factory, json);
+		BasicClientDataGroup second = convertUsingFactory(factory, json);
+
+		assertSame(factory.getStringInterner(), interner);
+		assertSame(first.getNameInData(), second.getNameInData());
+		assertSame(first.getChildren().get(0).getNameInData(),
+				second.getChildren().get(0).getNameInData());
+		assertEquals(interner.size(), 4);
+		assertFalse(isStoredInSharedInterner("groupOnlyInOwnInterner"));
+		assertFalse(isStoredInSharedInterner("atomicOnlyInOwnInterner"));
+	}
+
+	private BasicClientDataGroup convertUsingFactory(
+			JsonToBasicClientDataConverterFactoryImp factory, String json) {
+		JsonObject jsonObject = new OrgJsonParser().parseStringAsObject(json);
+		return (BasicClientDataGroup) factory.factorUsingJsonObject(jsonObject).toInstance();
+	}
+
+	private boolean isStoredInSharedInterner(String string) {
+		String notStored = new String(string);
+		return JsonToBasicClientDataStringInterner.getShared().intern(notStored) != notStored;
+	}
+
+	@Test
+	public void testDefaultFactoryUsesSharedInterner() throws Exception {
+		JsonToBasicClientDataConverterFactoryImp factory = new JsonToBasicClientDataConverterFactoryImp();
+
+		assertSame(factory.getStringInterner(), JsonToBasicClientDataStringInterner.getShared());
+	}
+
+	private BasicClientDataAtomic convertAtomic(String json) {
+		JsonObject jsonObject = new OrgJsonParser().parseStringAsObject(json);
+		return (BasicClientDataAtomic) JsonToBasicClientDataAtomicConverter
+				.forJsonObject(jsonObject).toInstance();
+	}
+}
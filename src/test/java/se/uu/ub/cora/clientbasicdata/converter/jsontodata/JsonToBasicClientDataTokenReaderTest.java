@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.converter.jsontodata;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.json.parser.JsonParseException;
+
+public class JsonToBasicClientDataTokenReaderTest {
+
+	private JsonToBasicClientDataTokenReader createReader(String json) {
+		return JsonToBasicClientDataTokenReader.usingReader(new StringReader(json));
+	}
+
+	@Test
+	public void testReadKeysAndRawValues() throws Exception {
+		JsonToBasicClientDataTokenReader reader = createReader("""
+				 { "string" : "a \\"b\\" \\u00e5\\n",
+				   "object" : {"key":[1, -2.5e3, true, null, {}]},
+				   "array":[] }""");
+
+		reader.beginObject();
+		assertTrue(reader.hasNext());
+		assertEquals(reader.nextKey(), "string");
+		assertEquals(reader.readString(), "a \"b\" å\n");
+		assertTrue(reader.hasNext());
+		assertEquals(reader.nextKey(), "object");
+		assertEquals(reader.readRawValue(), "{\"key\":[1, -2.5e3, true, null, {}]}");
+		assertTrue(reader.hasNext());
+		assertEquals(reader.nextKey(), "array");
+		assertEquals(reader.peekValueStart(), '[');
+		reader.beginArray();
+		assertFalse(reader.hasNext());
+		reader.endArray();
+		assertFalse(reader.hasNext());
+		reader.endObject();
+		reader.expectEndOfInput();
+	}
+
+	@Test
+	public void testReadLongValueOverBufferBoundary() throws Exception {
+		String longValue = "x".repeat(20_000);
+		JsonToBasicClientDataTokenReader reader = createReader("[\"" + longValue + "\"]");
+
+		reader.beginArray();
+		assertTrue(reader.hasNext());
+
+		assertEquals(reader.readRawValue(), "\"" + longValue + "\"");
+	}
+
+	@Test
+	public void testCaptureIncludesNestedRawValue() throws Exception {
+		JsonToBasicClientDataTokenReader reader = createReader("{\"a\":{\"b\":\"c\"}}");
+
+		reader.startCapture();
+		reader.beginObject();
+		reader.hasNext();
+		reader.nextKey();
+		assertEquals(reader.readRawValue(), "{\"b\":\"c\"}");
+		reader.endObject();
+
+		assertEquals(reader.stopCapture(), "{\"a\":{\"b\":\"c\"}}");
+	}
+
+	@Test(expectedExceptions = JsonParseException.class, expectedExceptionsMessageRegExp = ""
+			+ "Unexpected character '\"' at position 7.")
+	public void testMissingComma() throws Exception {
+		JsonToBasicClientDataTokenReader reader = createReader("{\"a\":1 \"b\":2}");
+		reader.beginObject();
+		reader.hasNext();
+		reader.nextKey();
+		reader.skipValue();
+
+		reader.hasNext();
+	}
+
+	@Test(expectedExceptions = JsonParseException.class, expectedExceptionsMessageRegExp = ""
+			+ "Unexpected character 'x' at position 3.")
+	public void testTrailingCharacters() throws Exception {
+		JsonToBasicClientDataTokenReader reader = createReader("{} x");
+		reader.beginObject();
+		reader.endObject();
+
+		reader.expectEndOfInput();
+	}
+
+	@Test
+	public void testSkipLiteralsAndNumbers() throws Exception {
+		String literals = "[true,false,null,0,-0,12,-0.5,1.25e3,12E+3,1e-2]";
+		JsonToBasicClientDataTokenReader reader = createReader(literals);
+
+		assertEquals(reader.readRawValue(), literals);
+		reader.expectEndOfInput();
+	}
+
+	@DataProvider(name = "invalidLiterals")
+	public Object[][] invalidLiterals() {
+		return new Object[][] { { "[tru]", "Unexpected character ']' at position 4." },
+				{ "[nul,1]", "Unexpected character ',' at position 4." },
+				{ "[abc]", "Unexpected character 'a' at position 1." },
+				{ "[01]", "Unexpected character '1' at position 2." },
+				{ "[-]", "Unexpected character ']' at position 2." },
+				{ "[+1]", "Unexpected character '+' at position 1." },
+				{ "[1.]", "Unexpected character ']' at position 3." },
+				{ "[.5]", "Unexpected character '.' at position 1." },
+				{ "[1e]", "Unexpected character ']' at position 3." },
+				{ "[1e+]", "Unexpected character ']' at position 4." } };
+	}
+
+	@Test(dataProvider = "invalidLiterals")
+	public void testInvalidLiteralsAndNumbers(String json, String expectedMessage)
+			throws Exception {
+		JsonToBasicClientDataTokenReader reader = createReader(json);
+		try {
+			reader.skipValue();
+			fail("Expected JsonParseException");
+		} catch (JsonParseException e) {
+			assertEquals(e.getMessage(), expectedMessage);
+		}
+	}
+
+	@Test
+	public void testReaderReturningNoCharactersIsReadAgain() throws Exception {
+		JsonToBasicClientDataTokenReader reader = JsonToBasicClientDataTokenReader
+				.usingReader(createReaderReturningNoCharactersEveryOtherRead("{\"a\":\"b\"}"));
+
+		reader.beginObject();
+		assertTrue(reader.hasNext());
+		assertEquals(reader.nextKey(), "a");
+		assertEquals(reader.readString(), "b");
+		reader.endObject();
+		reader.expectEndOfInput();
+	}
+
+	private Reader createReaderReturningNoCharactersEveryOtherRead(String json) {
+		return new Reader() {
+			private final Reader reader = new StringReader(json);
+			private boolean returnNoCharacters = true;
+
+			@Override
+			public int read(char[] buffer, int offset, int length) throws IOException {
+				returnNoCharacters = !returnNoCharacters;
+				if (!returnNoCharacters) {
+					return 0;
+				}
+				return reader.read(buffer, offset, 1);
+			}
+
+			@Override
+			public void close() throws IOException {
+				reader.close();
+			}
+		};
+	}
+}
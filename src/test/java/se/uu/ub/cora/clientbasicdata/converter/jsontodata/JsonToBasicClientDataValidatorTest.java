@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.converter.jsontodata;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.List;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class JsonToBasicClientDataValidatorTest {
+	private static final String RECORD = """
+			{"record":{"data":{"children":[{"children":[\
+			{"children":[{"name":"linkedRecordType","value":"recordType"},\
+			{"name":"linkedRecordId","value":"demo"}],"name":"type"},\
+			{"name":"id","value":"demo1"}],"name":"recordInfo"},\
+			{"name":"title","value":"someTitle","attributes":{"lang":"sv"},"repeatId":"0"}],\
+			"name":"demo"},\
+			"actionLinks":{"read":{"requestMethod":"GET","rel":"read",\
+			"url":"https://cora.example.org/rest/record/demo/demo1"}},\
+			"permissions":{"read":["title"],"write":["title"]},\
+			"otherProtocols":{"iiif":{"server":"someServer"}}}}""";
+	private JsonToBasicClientDataValidator validator;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		validator = new JsonToBasicClientDataValidator();
+	}
+
+	@Test
+	public void testValidRecord() {
+		assertTrue(validator.validate(RECORD).isEmpty());
+	}
+
+	@Test
+	public void testValidRecordCanBeConverted() {
+		new JsonToBasicClientDataConverterFactoryImp().factorUsingString(RECORD).toInstance();
+	}
+
+	@Test
+	public void testValidDataList() {
+		String json = """
+				{"dataList":{"fromNo":"1","data":[%s,%s],"totalNo":"2",\
+				"containDataOfType":"demo","toNo":"2"}}""".formatted(RECORD, RECORD);
+
+		assertTrue(validator.validate(json).isEmpty());
+	}
+
+	@Test
+	public void testNotJson() {
+		List<JsonToBasicClientDataValidationError> errors = validator.validate("{\"name\":");
+
+		assertEquals(errors.size(), 1);
+		assertEquals(errors.get(0).path(), "$");
+	}
+
+	@Test
+	public void testAllErrorsAreReportedWithPath() {
+		String json = """
+				{"record":{"data":{"children":[\
+				{"name":"title","value":42},\
+				{"name":"abstract","value":"text","extra":"x"},\
+				{"children":[{"value":"noName"}],"name":"group","attributes":{"type":[]}},\
+				{"name":"empty"}],"name":"demo"},\
+				"permissions":{"read":["title",1]}}}""";
+
+		List<JsonToBasicClientDataValidationError> errors = validator.validate(json);
+
+		assertEquals(errors, List.of(
+				error("$.record.data.children[0].value", "Value must be a String"),
+				error("$.record.data.children[1].extra", "Key is not allowed"),
+				error("$.record.data.children[2].attributes.type", "Value must be a String"),
+				error("$.record.data.children[2].children[0]", "Data must contain key: name"),
+				error("$.record.data.children[3]", "Data must contain key: children or value"),
+				error("$.record.permissions.read[1]", "Value must be a String")));
+	}
+
+	private JsonToBasicClientDataValidationError error(String path, String message) {
+		return new JsonToBasicClientDataValidationError(path, message);
+	}
+
+	@Test
+	public void testDataListErrors() {
+		String json = """
+				{"dataList":{"fromNo":1,"data":[{"record":{"data":"notAnObject"}},"notAnObject"],\
+				"totalNo":"2","toNo":"2"}},"extra":{}}""";
+
+		List<JsonToBasicClientDataValidationError> errors = validator.validate(json);
+
+		assertEquals(errors, List.of(error("$.extra", "Only key dataList is allowed"),
+				error("$.dataList", "Must contain key: containDataOfType"),
+				error("$.dataList.fromNo", "Value must be a String"),
+				error("$.dataList.data[0].record.data", "Value must be an object"),
+				error("$.dataList.data[1]", "Value must be an object")));
+	}
+
+	@Test
+	public void testLinkMayHaveActionLinksButGroupMayNot() {
+		String json = """
+				{"children":[{"children":[{"name":"linkedRecordType","value":"system"},\
+				{"name":"linkedRecordId","value":"cora"}],"name":"link",\
+				"actionLinks":{"read":{"rel":"read","requestMethod":"GET"}}}],\
+				"name":"group","actionLinks":{}}""";
+
+		List<JsonToBasicClientDataValidationError> errors = validator.validate(json);
+
+		assertEquals(errors, List.of(error("$.actionLinks", "Key is not allowed"),
+				error("$.children[0].actionLinks.read", "Must contain key: url")));
+	}
+}
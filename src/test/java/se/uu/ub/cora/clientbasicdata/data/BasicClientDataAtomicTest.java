@@ -21,9 +21,11 @@ package se.uu.ub.cora.clientbasicdata.data;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertTrue;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Optional;
 
 import org.testng.annotations.BeforeMethod;
@@ -140,4 +142,58 @@ public class BasicClientDataAtomicTest {
 		assertTrue(attributeValue.isPresent());
 		assertEquals(attributeValue.get(), "someValue");
 	}
+
+	@Test
+	public void testGetAttributesNoAttributesIsEmpty() throws Exception {
+		assertTrue(dataAtomic.getAttributes().isEmpty());
+	}
+
+	@Test
+	public void testGetAttributesKeepsOrderWhenOverwriting() throws Exception {
+		dataAtomic.addAttributeByIdWithValue("first", "value1");
+		dataAtomic.addAttributeByIdWithValue("second", "value2");
+		dataAtomic.addAttributeByIdWithValue("first", "otherValue1");
+
+		Iterator<ClientDataAttribute> attributes = dataAtomic.getAttributes().iterator();
+		ClientDataAttribute first = attributes.next();
+		assertEquals(first.getNameInData(), "first");
+		assertEquals(first.getValue(), "otherValue1");
+		assertEquals(attributes.next().getNameInData(), "second");
+		assertFalse(attributes.hasNext());
+	}
+
+	@Test
+	public void testEqualsAndHashCodeUsesValues() throws Exception {
+		BasicClientDataAtomic first = createAtomicWithAttributes("first", "second");
+		BasicClientDataAtomic second = createAtomicWithAttributes("second", "first");
+
+		assertEquals(first, second);
+		assertEquals(first.hashCode(), second.hashCode());
+	}
+
+	private BasicClientDataAtomic createAtomicWithAttributes(String... attributeNames) {
+		BasicClientDataAtomic atomic = BasicClientDataAtomic
+				.withNameInDataAndValueAndRepeatId("nameInData", "value", "1");
+		for (String attributeName : attributeNames) {
+			atomic.addAttributeByIdWithValue(attributeName, "someValue");
+		}
+		return atomic;
+	}
+
+	@Test
+	public void testNotEqualAfterChange() throws Exception {
+		BasicClientDataAtomic first = createAtomicWithAttributes("first");
+		BasicClientDataAtomic second = createAtomicWithAttributes("first");
+		int hashBeforeChange = second.hashCode();
+
+		second.setRepeatId("2");
+
+		assertNotEquals(first, second);
+		assertNotEquals(second.hashCode(), hashBeforeChange);
+		second.setRepeatId("1");
+		second.addAttributeByIdWithValue("first", "otherValue");
+		assertNotEquals(first, second);
+		assertNotEquals(first, BasicClientDataAtomic.withNameInDataAndValueAndRepeatId("nameInData",
+				"otherValue", "1"));
+	}
 }
@@ -20,6 +20,9 @@
 package se.uu.ub.cora.clientbasicdata.data;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+
+import java.util.Set;
 
 import org.testng.annotations.Test;
 
@@ -31,4 +34,20 @@ public class BasicClientDataAttributeTest {
 		assertEquals(dataAttribute.getNameInData(), "nameInData");
 		assertEquals(dataAttribute.getValue(), "value");
 	}
+
+	@Test
+	public void testEqualsAndHashCodeUsesValues() throws Exception {
+		BasicClientDataAttribute dataAttribute = BasicClientDataAttribute
+				.withNameInDataAndValue("nameInData", "value");
+		BasicClientDataAttribute sameValues = BasicClientDataAttribute
+				.withNameInDataAndValue("nameInData", "value");
+
+		assertEquals(dataAttribute, sameValues);
+		assertEquals(dataAttribute.hashCode(), sameValues.hashCode());
+		assertEquals(Set.of(dataAttribute, sameValues).size(), 1);
+		assertNotEquals(dataAttribute,
+				BasicClientDataAttribute.withNameInDataAndValue("nameInData", "otherValue"));
+		assertNotEquals(dataAttribute,
+				BasicClientDataAttribute.withNameInDataAndValue("otherNameInData", "value"));
+	}
 }
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.data;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.List;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.clientbasicdata.data.BasicClientDataChange.ChangeType;
+import se.uu.ub.cora.clientdata.ClientDataGroup;
+import se.uu.ub.cora.clientdata.ClientDataMissingException;
+
+public class BasicClientDataChangeSetTest {
+
+	private BasicClientDataRecordGroup original;
+	private BasicClientDataRecordGroup changed;
+
+	@BeforeMethod
+	public void setUp() {
+		original = createBook();
+		changed = createBook();
+	}
+
+	private BasicClientDataRecordGroup createBook() {
+		BasicClientDataRecordGroup book = BasicClientDataRecordGroup.withNameInData("book");
+		book.setTypeAndIdAndDataDivider("book", "someId", "someDataDivider");
+		book.addChild(createTitle("sv", "someTitel"));
+		book.addChild(createTitle("en", "someTitle"));
+		book.addChild(BasicClientDataAtomic.withNameInDataAndValueAndRepeatId("keyword", "one",
+				"0"));
+		return book;
+	}
+
+	private BasicClientDataGroup createTitle(String lang, String value) {
+		BasicClientDataGroup title = BasicClientDataGroup.withNameInData("title");
+		title.addAttributeByIdWithValue("lang", lang);
+		title.addChild(BasicClientDataAtomic.withNameInDataAndValue("mainTitle", value));
+		return title;
+	}
+
+	private ClientDataGroup getTitle(ClientDataGroup book, String lang) {
+		return book.getAllGroupsWithNameInDataAndAttributes("title",
+				BasicClientDataAttribute.withNameInDataAndValue("lang", lang)).iterator().next();
+	}
+
+	@Test
+	public void testCompareEqualTrees() throws Exception {
+		BasicClientDataChangeSet changeSet = BasicClientDataChangeSet.compare(original, changed);
+
+		assertFalse(changeSet.hasChanges());
+		assertTrue(changeSet.getChanges().isEmpty());
+	}
+
+	@Test
+	public void testCompareChangedAtomicValue() throws Exception {
+		changed.setId("someOtherId");
+		ClientDataGroup englishTitle = getTitle(changed, "en");
+		englishTitle.removeFirstChildWithNameInData("mainTitle");
+		englishTitle
+				.addChild(BasicClientDataAtomic.withNameInDataAndValue("mainTitle", "otherTitle"));
+
+		List<BasicClientDataChange> changes = BasicClientDataChangeSet.compare(original, changed)
+				.getChanges();
+
+		assertEquals(changes.size(), 2);
+		assertEquals(changes.get(0).toString(), "REPLACED recordInfo/id");
+		assertEquals(changes.get(1).toString(), "REPLACED title[lang=en]/mainTitle");
+		assertEquals(changes.get(1).getChangeType(), ChangeType.REPLACED);
+	}
+
+	@Test
+	public void testCompareAddedAndRemovedChildren() throws Exception {
+		changed.removeFirstChildWithNameInData("keyword");
+		changed.addChild(BasicClientDataAtomic.withNameInDataAndValueAndRepeatId("keyword", "two",
+				"1"));
+		changed.addChild(createTitle("de", "someTitel"));
+
+		List<BasicClientDataChange> changes = BasicClientDataChangeSet.compare(original, changed)
+				.getChanges();
+
+		assertEquals(changes.size(), 3);
+		assertEquals(changes.get(0).toString(), "REMOVED keyword#0");
+		assertEquals(changes.get(1).toString(), "ADDED keyword#1");
+		assertEquals(changes.get(2).toString(), "ADDED title[lang=de]");
+	}
+
+	@Test
+	public void testApplyToOtherTree() throws Exception {
+		changed.setId("someOtherId");
+		changed.removeFirstChildWithNameInData("keyword");
+		changed.addChild(createTitle("de", "someTitel"));
+		BasicClientDataChangeSet changeSet = BasicClientDataChangeSet.compare(original, changed);
+		BasicClientDataRecordGroup target = createBook();
+
+		changeSet.applyTo(target);
+
+		assertEquals(target, changed);
+		assertFalse(BasicClientDataChangeSet.compare(target, changed).hasChanges());
+		assertEquals(target.getId(), "someOtherId");
+		assertNotSame(getTitle(target, "de"), getTitle(changed, "de"));
+	}
+
+	@Test
+	public void testCompareReorderedChildren() throws Exception {
+		changed = createBookWithEnglishTitleFirst();
+
+		List<BasicClientDataChange> changes = BasicClientDataChangeSet.compare(original, changed)
+				.getChanges();
+
+		assertEquals(changes.size(), 1);
+		assertEquals(changes.get(0).toString(), "MOVED title[lang=en]");
+		assertEquals(changes.get(0).getIndex(), 1);
+	}
+
+	private BasicClientDataRecordGroup createBookWithEnglishTitleFirst() {
+		BasicClientDataRecordGroup book = BasicClientDataRecordGroup.withNameInData("book");
+		book.setTypeAndIdAndDataDivider("book", "someId", "someDataDivider");
+		book.addChild(createTitle("en", "someTitle"));
+		book.addChild(createTitle("sv", "someTitel"));
+		book.addChild(BasicClientDataAtomic.withNameInDataAndValueAndRepeatId("keyword", "one",
+				"0"));
+		return book;
+	}
+
+	@Test
+	public void testApplyToReordersChildren() throws Exception {
+		changed = createBookWithEnglishTitleFirst();
+		BasicClientDataChangeSet changeSet = BasicClientDataChangeSet.compare(original, changed);
+		BasicClientDataRecordGroup target = createBook();
+
+		changeSet.applyTo(target);
+
+		assertEquals(target, changed);
+	}
+
+	@Test
+	public void testApplyToPlacesAddedAndMovedChildrenAtTheirIndex() throws Exception {
+		changed.getChildren().add(1, createTitle("de", "someTitel"));
+		ClientDataGroup swedishTitle = getTitle(changed, "sv");
+		changed.getChildren().remove(swedishTitle);
+		changed.addChild(swedishTitle);
+		BasicClientDataChangeSet changeSet = BasicClientDataChangeSet.compare(original, changed);
+		BasicClientDataRecordGroup target = createBook();
+
+		changeSet.applyTo(target);
+
+		assertEquals(target, changed);
+		assertEquals(changeSet.getChanges().toString(),
+				"[ADDED title[lang=de], MOVED title[lang=sv]]");
+	}
+
+	@Test
+	public void testApplyToCopyOfFrozenTreeCopiesChangedBranchOnly() throws Exception {
+		changed.setId("someOtherId");
+		BasicClientDataChangeSet changeSet = BasicClientDataChangeSet.compare(original, changed);
+		original.freeze();
+		BasicClientDataRecordGroup target = original.copy();
+
+		changeSet.applyTo(target);
+
+		assertEquals(target.getId(), "someOtherId");
+		assertEquals(original.getId(), "someId");
+		assertTrue(target.getFirstGroupWithNameInData("title") == original
+				.getFirstGroupWithNameInData("title"));
+	}
+
+	@Test(expectedExceptions = ClientDataMissingException.class, expectedExceptionsMessageRegExp = ""
+			+ "Child not found for change: REPLACED title\\[lang=en\\]/mainTitle")
+	public void testApplyToTreeMissingChild() throws Exception {
+		ClientDataGroup englishTitle = getTitle(changed, "en");
+		englishTitle.removeFirstChildWithNameInData("mainTitle");
+		englishTitle
+				.addChild(BasicClientDataAtomic.withNameInDataAndValue("mainTitle", "otherTitle"));
+		BasicClientDataChangeSet changeSet = BasicClientDataChangeSet.compare(original, changed);
+		BasicClientDataRecordGroup target = BasicClientDataRecordGroup.withNameInData("book");
+		target.addChild(BasicClientDataGroup.withNameInData("title"));
+
+		changeSet.applyTo(target);
+	}
+}
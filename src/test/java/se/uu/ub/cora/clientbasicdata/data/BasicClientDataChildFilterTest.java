@@ -21,14 +21,21 @@ package se.uu.ub.cora.clientbasicdata.data;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Supplier;
 
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import se.uu.ub.cora.clientdata.ClientDataAttribute;
+import se.uu.ub.cora.clientdata.ClientDataChild;
 import se.uu.ub.cora.clientdata.ClientDataChildFilter;
 import se.uu.ub.cora.clientdata.spies.ClientDataAttributeSpy;
 import se.uu.ub.cora.clientdata.spies.ClientDataChildSpy;
@@ -265,4 +272,125 @@ public class BasicClientDataChildFilterTest {
 		assertTrue(childMatches);
 		assertDataFetchedFromChildOneAttribute();
 	}
+
+	@Test
+	public void filterCanBeReusedForChildrenWithDifferentNumberOfAttributes() throws Exception {
+		filterOnlyNameInData.addAttributeUsingNameInDataAndPossibleValues("attributeOne",
+				Set.of("attributeOneValue"));
+		BasicClientDataAtomic childNoAttributes = BasicClientDataAtomic
+				.withNameInDataAndValue(nameInData, "someValue");
+		BasicClientDataAtomic childTwoAttributes = BasicClientDataAtomic
+				.withNameInDataAndValue(nameInData, "someValue");
+		childTwoAttributes.addAttributeByIdWithValue("attributeOne", "attributeOneValue");
+		childTwoAttributes.addAttributeByIdWithValue("attributeTwo", "attributeTwoValue");
+
+		assertTrue(filterOnlyNameInData.childMatches(childOneAttribute));
+		assertFalse(filterOnlyNameInData.childMatches(childTwoAttributes));
+		assertFalse(filterOnlyNameInData.childMatches(childNoAttributes));
+		assertTrue(filterOnlyNameInData.childMatches(childOneAttribute));
+	}
+
+	@Test
+	public void addingAttributeWithSameNameReplacesPossibleValues() throws Exception {
+		filterOnlyNameInData.addAttributeUsingNameInDataAndPossibleValues("attributeOne",
+				Set.of("NOTattributeOneValue"));
+		filterOnlyNameInData.addAttributeUsingNameInDataAndPossibleValues("attributeOne",
+				Set.of("attributeOneValue"));
+
+		assertTrue(filterOnlyNameInData.childMatches(childOneAttribute));
+	}
+
+	@Test
+	public void repeatedAttributeNameIsCountedForEachAddition() throws Exception {
+		filterOnlyNameInData.addAttributeUsingNameInDataAndPossibleValues("attributeOne",
+				Set.of("NOTattributeOneValue"));
+		filterOnlyNameInData.addAttributeUsingNameInDataAndPossibleValues("attributeOne",
+				Set.of("attributeOneValue"));
+
+		assertFalse(filterOnlyNameInData.childMatches(childOneAttribute));
+		assertFalse(filterOnlyNameInData.childMatches(createChildWithAttributes(
+				createAttribute("attributeOne", "attributeOneValue"),
+				createAttribute("attributeTwo", "attributeTwoValue"))));
+	}
+
+	@Test
+	public void repeatedAttributeNameMergesPossibleValues() throws Exception {
+		filterOnlyNameInData.addAttributeUsingNameInDataAndPossibleValues("attributeOne",
+				Set.of("NOTattributeOneValue"));
+		filterOnlyNameInData.addAttributeUsingNameInDataAndPossibleValues("attributeTwo",
+				Set.of("attributeTwoValue"));
+		filterOnlyNameInData.addAttributeUsingNameInDataAndPossibleValues("attributeOne",
+				Set.of("attributeOneValue"));
+
+		assertFalse(filterOnlyNameInData.childMatches(createChildWithAttributes(
+				createAttribute("attributeOne", "attributeOneValue"),
+				createAttribute("attributeTwo", "attributeTwoValue"))));
+		assertTrue(filterOnlyNameInData.childMatches(createChildWithAttributes(
+				createAttribute("attributeOne", "attributeOneValue"),
+				createAttribute("attributeTwo", "attributeTwoValue"),
+				createAttribute("attributeOne", "NOTattributeOneValue"))));
+	}
+
+	private ClientDataChildSpy createChildWithAttributes(ClientDataAttribute... attributes) {
+		ClientDataChildSpy child = new ClientDataChildSpy();
+		child.MRV.setDefaultReturnValuesSupplier("getNameInData",
+				(Supplier<String>) () -> nameInData);
+		child.MRV.setDefaultReturnValuesSupplier("hasAttributes", (Supplier<Boolean>) () -> true);
+		child.MRV.setDefaultReturnValuesSupplier("getAttributes",
+				(Supplier<List<ClientDataAttribute>>) () -> List.of(attributes));
+		return child;
+	}
+
+	@Test
+	public void possibleValuesCanContainNull() throws Exception {
+		Set<String> possibleValues = new HashSet<>();
+		possibleValues.add(null);
+		possibleValues.add("attributeOneValue");
+		filterOnlyNameInData.addAttributeUsingNameInDataAndPossibleValues("attributeOne",
+				possibleValues);
+
+		assertTrue(filterOnlyNameInData.childMatches(childOneAttribute));
+	}
+
+	@Test
+	public void nullPossibleValuesMatchNoValue() throws Exception {
+		filterOnlyNameInData.addAttributeUsingNameInDataAndPossibleValues("attributeOne", null);
+
+		assertFalse(filterOnlyNameInData.childMatches(childOneAttribute));
+	}
+
+	@Test
+	public void filterCanBeSharedBetweenThreads() throws Exception {
+		filterOnlyNameInData.addAttributeUsingNameInDataAndPossibleValues("attributeOne",
+				Set.of("attributeOneValue"));
+		BasicClientDataAtomic matchingChild = BasicClientDataAtomic
+				.withNameInDataAndValue(nameInData, "someValue");
+		matchingChild.addAttributeByIdWithValue("attributeOne", "attributeOneValue");
+		BasicClientDataAtomic childNoAttributes = BasicClientDataAtomic
+				.withNameInDataAndValue(nameInData, "someValue");
+
+		List<Callable<Boolean>> tasks = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			tasks.add(() -> matchManyTimes(matchingChild, childNoAttributes));
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			for (Future<Boolean> result : executor.invokeAll(tasks)) {
+				assertTrue(result.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private boolean matchManyTimes(ClientDataChild matchingChild,
+			ClientDataChild notMatchingChild) {
+		for (int i = 0; i < 10_000; i++) {
+			if (!filterOnlyNameInData.childMatches(matchingChild)
+					|| filterOnlyNameInData.childMatches(notMatchingChild)) {
+				return false;
+			}
+		}
+		return true;
+	}
 }
@@ -21,15 +21,21 @@ package se.uu.ub.cora.clientbasicdata.data;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
 import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
 
 import org.testng.annotations.BeforeMethod;
@@ -1170,6 +1176,23 @@ public class BasicClientDataGroupTest {
 
 	}
 
+	@Test
+	public void testRemoveChildrenWithTypeAndNameRemovesMatchedInstances() throws Exception {
+		BasicClientDataGroup group = createGroupWithChildren();
+		BasicClientDataGroup equalGroup = createGroupWithChildren();
+		BasicClientDataGroup parent = BasicClientDataGroup.withNameInData("parent");
+		parent.addChild(group);
+		parent.addChild(BasicClientDataAtomic.withNameInDataAndValue("atomic", "value"));
+		parent.addChild(equalGroup);
+
+		boolean removed = parent.removeChildrenWithTypeAndName(ClientDataGroup.class,
+				"someGroup");
+
+		assertTrue(removed);
+		assertEquals(parent.getChildren().size(), 1);
+		assertEquals(parent.getChildren().get(0).getNameInData(), "atomic");
+	}
+
 	@Test
 	public void testGetAttributeValueNoAttribute() throws Exception {
 		Optional<String> attributeValue = defaultDataGroup.getAttributeValue("attributeNameInData");
@@ -1188,4 +1211,376 @@ public class BasicClientDataGroupTest {
 		assertTrue(attributeValue.isPresent());
 		assertEquals(attributeValue.get(), "someValue");
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testLookupsInGroupLargeEnoughForNameIndex() throws Exception {
+		addManyAtomicChildrenToDefaultGroup();
+		BasicClientDataGroup childGroup = BasicClientDataGroup.withNameInData("childGroup");
+		defaultDataGroup.addChild(childGroup);
+
+		assertTrue(defaultDataGroup.containsChildWithNameInData("atomic5"));
+		assertFalse(defaultDataGroup.containsChildWithNameInData("atomicNOT"));
+		assertEquals(defaultDataGroup.getFirstAtomicValueWithNameInData("atomic5"), "value5");
+		assertSame(defaultDataGroup.getFirstGroupWithNameInData("childGroup"), childGroup);
+		assertEquals(defaultDataGroup.getAllChildrenWithNameInData("atomic3").size(), 1);
+		assertTrue(defaultDataGroup.getAllGroupsWithNameInData("atomic3").isEmpty());
+	}
+
+	private void addManyAtomicChildrenToDefaultGroup() {
+		for (int i = 0; i < BasicClientDataGroup.MIN_CHILDREN_FOR_NAME_INDEX; i++) {
+			defaultDataGroup.addChild(
+					BasicClientDataAtomic.withNameInDataAndValue("atomic" + i, "value" + i));
+		}
+	}
+
+	@Test
+	public void testNameIndexUpdatedWhenChildrenAddedAfterLookup() throws Exception {
+		addManyAtomicChildrenToDefaultGroup();
+		assertFalse(defaultDataGroup.containsChildWithNameInData("addedLater"));
+
+		defaultDataGroup
+				.addChild(BasicClientDataAtomic.withNameInDataAndValue("addedLater", "value"));
+		defaultDataGroup.addChildren(List.of(
+				BasicClientDataAtomic.withNameInDataAndValue("addedLater", "otherValue")));
+
+		List<ClientDataAtomic> added = defaultDataGroup
+				.getAllDataAtomicsWithNameInData("addedLater");
+		assertEquals(added.size(), 2);
+		assertEquals(added.get(0).getValue(), "value");
+		assertEquals(added.get(1).getValue(), "otherValue");
+	}
+
+	@Test
+	public void testNameIndexUpdatedWhenChildrenRemoved() throws Exception {
+		addManyAtomicChildrenToDefaultGroup();
+		assertTrue(defaultDataGroup.containsChildWithNameInData("atomic2"));
+
+		defaultDataGroup.removeFirstChildWithNameInData("atomic2");
+		assertFalse(defaultDataGroup.containsChildWithNameInData("atomic2"));
+
+		defaultDataGroup.removeAllChildrenMatchingFilter(
+				BasicClientDataChildFilter.usingNameInData("atomic3"));
+		assertFalse(defaultDataGroup.containsChildWithNameInData("atomic3"));
+		assertTrue(defaultDataGroup.containsChildWithNameInData("atomic4"));
+	}
+
+	@Test
+	public void testNameIndexUpdatedWhenChildrenChangedDirectly() throws Exception {
+		addManyAtomicChildrenToDefaultGroup();
+		assertTrue(defaultDataGroup.containsChildWithNameInData("atomic0"));
+
+		defaultDataGroup.getChildren().set(0,
+				BasicClientDataAtomic.withNameInDataAndValue("replaced", "value"));
+		defaultDataGroup.getChildren()
+				.add(BasicClientDataAtomic.withNameInDataAndValue("addedDirectly", "value"));
+
+		assertFalse(defaultDataGroup.containsChildWithNameInData("atomic0"));
+		assertTrue(defaultDataGroup.containsChildWithNameInData("replaced"));
+		assertTrue(defaultDataGroup.containsChildWithNameInData("addedDirectly"));
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class)
+	public void testCandidateChildrenAreUnmodifiable() throws Exception {
+		defaultDataGroup.getCandidateChildrenForNameInData("atomic0")
+				.add(BasicClientDataAtomic.withNameInDataAndValue("atomic0", "value"));
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class)
+	public void testCandidateChildrenFromNameIndexAreUnmodifiable() throws Exception {
+		addManyAtomicChildrenToDefaultGroup();
+
+		defaultDataGroup.getCandidateChildrenForNameInData("atomic0")
+				.add(BasicClientDataAtomic.withNameInDataAndValue("atomic0", "value"));
+	}
+
+	@Test
+	public void testNameIndexUpdatedWhenChildrenChangedThroughSubList() throws Exception {
+		addManyAtomicChildrenToDefaultGroup();
+		assertTrue(defaultDataGroup.containsChildWithNameInData("atomic1"));
+
+		List<ClientDataChild> subList = defaultDataGroup.getChildren().subList(1, 3);
+		subList.set(0, BasicClientDataAtomic.withNameInDataAndValue("replaced", "value"));
+		assertFalse(defaultDataGroup.containsChildWithNameInData("atomic1"));
+		assertTrue(defaultDataGroup.containsChildWithNameInData("replaced"));
+
+		subList.replaceAll(
+				child -> BasicClientDataAtomic.withNameInDataAndValue("replacedAll", "value"));
+		assertFalse(defaultDataGroup.containsChildWithNameInData("replaced"));
+		assertFalse(defaultDataGroup.containsChildWithNameInData("atomic2"));
+		assertEquals(defaultDataGroup.getAllChildrenWithNameInData("replacedAll").size(), 2);
+	}
+
+	@Test
+	public void testChildrenCanBeReplacedWhileIterating() throws Exception {
+		addManyAtomicChildrenToDefaultGroup();
+		assertTrue(defaultDataGroup.containsChildWithNameInData("atomic0"));
+
+		ListIterator<ClientDataChild> iterator = defaultDataGroup.getChildren().listIterator();
+		while (iterator.hasNext()) {
+			ClientDataChild child = iterator.next();
+			iterator.set(BasicClientDataAtomic
+					.withNameInDataAndValue("replaced" + child.getNameInData(), "value"));
+		}
+
+		assertFalse(defaultDataGroup.containsChildWithNameInData("atomic0"));
+		assertTrue(defaultDataGroup.containsChildWithNameInData("replacedatomic0"));
+	}
+
+	@Test
+	public void testGetAndRemoveAllChildrenMatchingFilterInWideGroup() throws Exception {
+		addManyAtomicChildrenToDefaultGroup();
+		BasicClientDataAtomic withAttribute = BasicClientDataAtomic
+				.withNameInDataAndValue("atomic1", "otherValue");
+		withAttribute.addAttributeByIdWithValue("type", "someType");
+		defaultDataGroup.addChild(withAttribute);
+		BasicClientDataChildFilter filter = BasicClientDataChildFilter.usingNameInData("atomic1");
+		filter.addAttributeUsingNameInDataAndPossibleValues("type", Set.of("someType"));
+
+		List<ClientDataChild> matching = defaultDataGroup.getAllChildrenMatchingFilter(filter);
+
+		assertEquals(matching, List.of(withAttribute));
+		assertFalse(defaultDataGroup.removeAllChildrenMatchingFilter(
+				BasicClientDataChildFilter.usingNameInData("notAChild")));
+		assertTrue(defaultDataGroup.removeAllChildrenMatchingFilter(filter));
+		assertTrue(defaultDataGroup.getAllChildrenMatchingFilter(filter).isEmpty());
+		assertEquals(defaultDataGroup.getAllChildrenMatchingFilter(
+				BasicClientDataChildFilter.usingNameInData("atomic1")).size(), 1);
+	}
+
+	@Test
+	public void testPartitionChildrenUsingFilters() throws Exception {
+		BasicClientDataGroup group = BasicClientDataGroup.withNameInData("someGroup");
+		BasicClientDataAtomic title = BasicClientDataAtomic.withNameInDataAndValue("title",
+				"someTitle");
+		BasicClientDataAtomic note = BasicClientDataAtomic.withNameInDataAndValue("note",
+				"someNote");
+		BasicClientDataAtomic englishName = BasicClientDataAtomic.withNameInDataAndValue("name",
+				"someName");
+		englishName.addAttributeByIdWithValue("lang", "en");
+		BasicClientDataAtomic swedishName = BasicClientDataAtomic.withNameInDataAndValue("name",
+				"someNamn");
+		swedishName.addAttributeByIdWithValue("lang", "sv");
+		group.addChild(title);
+		group.addChild(englishName);
+		group.addChild(note);
+		group.addChild(swedishName);
+		BasicClientDataChildFilter titleFilter = BasicClientDataChildFilter
+				.usingNameInData("title");
+		BasicClientDataChildFilter nameFilter = BasicClientDataChildFilter.usingNameInData("name");
+		nameFilter.addAttributeUsingNameInDataAndPossibleValues("lang", Set.of("en", "sv"));
+		BasicClientDataChildFilter englishNameFilter = BasicClientDataChildFilter
+				.usingNameInData("name");
+		englishNameFilter.addAttributeUsingNameInDataAndPossibleValues("lang", Set.of("en"));
+
+		BasicClientDataChildPartition partition = group.partitionChildrenUsingFilters(titleFilter,
+				nameFilter, englishNameFilter);
+
+		assertEquals(partition.getChildrenMatchingFilter(0), List.of(title));
+		assertEquals(partition.getChildrenMatchingFilter(1), List.of(englishName, swedishName));
+		assertEquals(partition.getChildrenMatchingFilter(2), List.of(englishName));
+		assertEquals(partition.getUnmatchedChildren(), List.of(note));
+	}
+
+	@Test
+	public void testPartitionChildrenUsingNoFilters() throws Exception {
+		BasicClientDataAtomic child = BasicClientDataAtomic.withNameInDataAndValue("atomic",
+				"value");
+		defaultDataGroup.addChild(child);
+
+		BasicClientDataChildPartition partition = ((BasicClientDataGroup) defaultDataGroup)
+				.partitionChildrenUsingFilters();
+
+		assertEquals(partition.getUnmatchedChildren(), List.of(child));
+	}
+
+	@Test
+	public void testCopyNotFrozenGroupCopiesChildren() throws Exception {
+		BasicClientDataGroup group = BasicClientDataGroup.withNameInData("someGroup");
+		group.addAttributeByIdWithValue("type", "someType");
+		group.setRepeatId("1");
+		BasicClientDataAtomic atomic = BasicClientDataAtomic.withNameInDataAndValue("atomic",
+				"value");
+		BasicClientDataGroup childGroup = BasicClientDataGroup.withNameInData("childGroup");
+		childGroup.addChild(BasicClientDataAtomic.withNameInDataAndValue("grandChild", "value"));
+		group.addChild(atomic);
+		group.addChild(childGroup);
+
+		BasicClientDataGroup copy = group.copy();
+
+		assertEquals(copy.getNameInData(), "someGroup");
+		assertEquals(copy.getAttribute("type").getValue(), "someType");
+		assertEquals(copy.getRepeatId(), "1");
+		assertEquals(copy.getChildren().size(), 2);
+		assertNotSame(copy.getChildren().get(0), atomic);
+		assertEquals(copy.getFirstAtomicValueWithNameInData("atomic"), "value");
+		ClientDataGroup copiedChildGroup = copy.getFirstGroupWithNameInData("childGroup");
+		assertNotSame(copiedChildGroup, childGroup);
+		copiedChildGroup.addChild(BasicClientDataAtomic.withNameInDataAndValue("added", "value"));
+		assertEquals(childGroup.getChildren().size(), 1);
+	}
+
+	@Test
+	public void testCopyFrozenGroupSharesChildren() throws Exception {
+		BasicClientDataGroup prototype = BasicClientDataGroup.withNameInData("someGroup");
+		BasicClientDataGroup childGroup = BasicClientDataGroup.withNameInData("childGroup");
+		prototype.addChild(childGroup);
+		prototype.freeze();
+
+		BasicClientDataGroup copy = prototype.copy();
+		copy.addChild(BasicClientDataAtomic.withNameInDataAndValue("added", "value"));
+
+		assertFalse(copy.isFrozen());
+		assertSame(copy.getFirstGroupWithNameInData("childGroup"), childGroup);
+		assertEquals(prototype.getChildren().size(), 1);
+		assertEquals(copy.getChildren().size(), 2);
+	}
+
+	@Test
+	public void testGetFirstGroupWithNameInDataForChangeCopiesFrozenGroup() throws Exception {
+		BasicClientDataGroup prototype = BasicClientDataGroup.withNameInData("someGroup");
+		BasicClientDataGroup childGroup = BasicClientDataGroup.withNameInData("childGroup");
+		BasicClientDataGroup otherChildGroup = BasicClientDataGroup.withNameInData("otherGroup");
+		prototype.addChild(otherChildGroup);
+		prototype.addChild(childGroup);
+		prototype.freeze();
+		BasicClientDataGroup copy = prototype.copy();
+
+		BasicClientDataGroup changeable = copy.getFirstGroupWithNameInDataForChange("childGroup");
+		changeable.addChild(BasicClientDataAtomic.withNameInDataAndValue("added", "value"));
+
+		assertNotSame(changeable, childGroup);
+		assertSame(copy.getChildren().get(1), changeable);
+		assertSame(copy.getFirstGroupWithNameInData("otherGroup"), otherChildGroup);
+		assertFalse(childGroup.hasChildren());
+		assertSame(copy.getFirstGroupWithNameInDataForChange("childGroup"), changeable);
+	}
+
+	@Test
+	public void testEqualsAndHashCodeUsesValues() throws Exception {
+		BasicClientDataGroup first = createGroupWithChildren();
+		BasicClientDataGroup second = createGroupWithChildren();
+
+		assertEquals(first, second);
+		assertEquals(first.hashCode(), second.hashCode());
+		assertNotEquals(first, BasicClientDataRecordGroup.withNameInData("someGroup"));
+	}
+
+	@Test
+	public void testEqualsComparesResourceLinkChildrenByValue() throws Exception {
+		BasicClientDataGroup first = BasicClientDataGroup.withNameInData("someGroup");
+		first.addChild(createResourceLink("someMimeType"));
+		BasicClientDataGroup second = BasicClientDataGroup.withNameInData("someGroup");
+		second.addChild(createResourceLink("someMimeType"));
+		BasicClientDataGroup other = BasicClientDataGroup.withNameInData("someGroup");
+		other.addChild(createResourceLink("otherMimeType"));
+
+		assertEquals(first, second);
+		assertEquals(first.hashCode(), second.hashCode());
+		assertNotEquals(first, other);
+	}
+
+	private BasicClientDataResourceLink createResourceLink(String mimeType) {
+		return BasicClientDataResourceLink.withNameInDataAndTypeAndIdAndMimeType("master",
+				"binary", "someId", mimeType);
+	}
+
+	private BasicClientDataGroup createGroupWithChildren() {
+		BasicClientDataGroup group = BasicClientDataGroup.withNameInData("someGroup");
+		group.addAttributeByIdWithValue("type", "someType");
+		group.addChild(BasicClientDataAtomic.withNameInDataAndValue("atomic", "value"));
+		BasicClientDataGroup childGroup = BasicClientDataGroup.withNameInData("childGroup");
+		childGroup.addChild(BasicClientDataAtomic.withNameInDataAndValue("grandChild", "value"));
+		group.addChild(childGroup);
+		return group;
+	}
+
+	@Test
+	public void testNotEqualWhenDeepChildChanged() throws Exception {
+		BasicClientDataGroup first = createGroupWithChildren();
+		BasicClientDataGroup second = createGroupWithChildren();
+
+		second.getFirstGroupWithNameInData("childGroup")
+				.addChild(BasicClientDataAtomic.withNameInDataAndValue("added", "value"));
+
+		assertNotEquals(first, second);
+		assertNotEquals(first.hashCode(), second.hashCode());
+	}
+
+	@Test
+	public void testFrozenGroupsCanBeUsedAsKeys() throws Exception {
+		BasicClientDataGroup first = createGroupWithChildren();
+		BasicClientDataGroup second = createGroupWithChildren();
+		first.freeze();
+		second.freeze();
+
+		Map<BasicClientDataGroup, String> cache = new HashMap<>();
+		cache.put(first, "cachedValue");
+
+		assertEquals(cache.get(second), "cachedValue");
+		assertEquals(first.hashCode(), createGroupWithChildren().hashCode());
+		assertEquals(first, second);
+	}
+
+	@Test
+	public void testNotFrozenByDefault() throws Exception {
+		assertFalse(((BasicClientDataGroup) defaultDataGroup).isFrozen());
+	}
+
+	@Test
+	public void testFreezeFreezesChildren() throws Exception {
+		BasicClientDataAtomic atomicChild = BasicClientDataAtomic.withNameInDataAndValue("atomic",
+				"value");
+		BasicClientDataGroup groupChild = BasicClientDataGroup.withNameInData("group");
+		defaultDataGroup.addChild(atomicChild);
+		defaultDataGroup.addChild(groupChild);
+
+		((BasicClientDataGroup) defaultDataGroup).freeze();
+
+		assertTrue(((BasicClientDataGroup) defaultDataGroup).isFrozen());
+		assertTrue(atomicChild.isFrozen());
+		assertTrue(groupChild.isFrozen());
+		assertSame(defaultDataGroup.getFirstGroupWithNameInData("group"), groupChild);
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class, expectedExceptionsMessageRegExp = ""
+			+ "Data is frozen and can not be changed.")
+	public void testFrozenAddChildThrowsError() throws Exception {
+		((BasicClientDataGroup) defaultDataGroup).freeze();
+
+		defaultDataGroup.addChild(BasicClientDataAtomic.withNameInDataAndValue("atomic", "value"));
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class)
+	public void testFrozenGetChildrenIsReadOnly() throws Exception {
+		((BasicClientDataGroup) defaultDataGroup).freeze();
+
+		defaultDataGroup.getChildren()
+				.add(BasicClientDataAtomic.withNameInDataAndValue("atomic", "value"));
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class)
+	public void testFrozenAddAttributeThrowsError() throws Exception {
+		((BasicClientDataGroup) defaultDataGroup).freeze();
+
+		defaultDataGroup.addAttributeByIdWithValue("someAttribute", "value");
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class)
+	public void testFrozenRemoveChildThrowsError() throws Exception {
+		defaultDataGroup.addChild(BasicClientDataAtomic.withNameInDataAndValue("atomic", "value"));
+		((BasicClientDataGroup) defaultDataGroup).freeze();
+
+		defaultDataGroup.removeAllChildrenMatchingFilter(
+				BasicClientDataChildFilter.usingNameInData("atomic"));
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class)
+	public void testFrozenAtomicSetRepeatIdThrowsError() throws Exception {
+		BasicClientDataAtomic atomicChild = BasicClientDataAtomic.withNameInDataAndValue("atomic",
+				"value");
+		defaultDataGroup.addChild(atomicChild);
+		((BasicClientDataGroup) defaultDataGroup).freeze();
+
+		atomicChild.setRepeatId("1");
+	}
+}
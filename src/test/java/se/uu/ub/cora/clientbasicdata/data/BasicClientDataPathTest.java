@@ -0,0 +1,224 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.data;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.clientdata.ClientDataChild;
+import se.uu.ub.cora.clientdata.ClientDataMissingException;
+
+public class BasicClientDataPathTest {
+
+	private BasicClientDataRecordGroup recordGroup;
+	private BasicClientDataAtomic authorizedName;
+	private BasicClientDataAtomic alternativeName;
+
+	@BeforeMethod
+	public void setUp() {
+		recordGroup = createRecordGroup("someType", "someId");
+		authorizedName = createName("authorized", "someAuthorizedName", "0");
+		alternativeName = createName("alternative", "someAlternativeName", "1");
+		BasicClientDataGroup authorized = BasicClientDataGroup.withNameInData("name");
+		authorized.addAttributeByIdWithValue("type", "authorized");
+		authorized.addChild(authorizedName);
+		BasicClientDataGroup alternative = BasicClientDataGroup.withNameInData("name");
+		alternative.addAttributeByIdWithValue("type", "alternative");
+		alternative.setRepeatId("1");
+		alternative.addChild(alternativeName);
+		recordGroup.addChild(authorized);
+		recordGroup.addChild(alternative);
+	}
+
+	private BasicClientDataRecordGroup createRecordGroup(String type, String id) {
+		BasicClientDataRecordGroup group = BasicClientDataRecordGroup.withNameInData("book");
+		group.setTypeAndIdAndDataDivider(type, id, "someDataDivider");
+		return group;
+	}
+
+	private BasicClientDataAtomic createName(String type, String value, String repeatId) {
+		BasicClientDataAtomic name = BasicClientDataAtomic.withNameInDataAndValue("value", value);
+		name.addAttributeByIdWithValue("lang", type.equals("authorized") ? "sv" : "en");
+		name.setRepeatId(repeatId);
+		return name;
+	}
+
+	@Test
+	public void testCompileIsCached() throws Exception {
+		BasicClientDataPath path = BasicClientDataPath.compile("recordInfo/type/linkedRecordId");
+
+		assertSame(BasicClientDataPath.compile("recordInfo/type/linkedRecordId"), path);
+		assertEquals(path.getExpression(), "recordInfo/type/linkedRecordId");
+	}
+
+	@Test
+	public void testCompileKeepsRecentlyUsedPathCached() throws Exception {
+		BasicClientDataPath path = BasicClientDataPath.compile("recentlyUsed/value");
+
+		for (int i = 0; i < 2 * BasicClientDataPath.MAX_CACHED_PATHS; i++) {
+			BasicClientDataPath.compile("recentlyUsed/other" + i);
+			assertSame(BasicClientDataPath.compile("recentlyUsed/value"), path);
+		}
+	}
+
+	@Test
+	public void testCompileEvictsLeastRecentlyUsedPath() throws Exception {
+		BasicClientDataPath path = BasicClientDataPath.compile("leastRecentlyUsed/value");
+
+		for (int i = 0; i < BasicClientDataPath.MAX_CACHED_PATHS; i++) {
+			BasicClientDataPath.compile("leastRecentlyUsed/other" + i);
+		}
+
+		BasicClientDataPath compiledAgain = BasicClientDataPath.compile("leastRecentlyUsed/value");
+		assertNotSame(compiledAgain, path);
+		assertEquals(compiledAgain.getExpression(), path.getExpression());
+	}
+
+	@Test(expectedExceptions = ConcurrentModificationException.class)
+	public void testForEachMatchFailsWhenGroupIsChangedDuringEvaluation() throws Exception {
+		BasicClientDataPath.compile("name").forEachMatch(recordGroup,
+				child -> recordGroup.addChild(BasicClientDataGroup.withNameInData("name")));
+	}
+
+	@Test(expectedExceptions = ConcurrentModificationException.class)
+	public void testForEachMatchFailsWhenGroupWithNameIndexIsChangedDuringEvaluation()
+			throws Exception {
+		for (int i = 0; i < BasicClientDataGroup.MIN_CHILDREN_FOR_NAME_INDEX; i++) {
+			recordGroup.addChild(BasicClientDataAtomic.withNameInDataAndValue("other", "value"));
+		}
+
+		BasicClientDataPath.compile("name").forEachMatch(recordGroup,
+				child -> recordGroup.addChild(BasicClientDataGroup.withNameInData("name")));
+	}
+
+	@Test
+	public void testGetFirstAtomicValueFromLink() throws Exception {
+		BasicClientDataPath path = BasicClientDataPath.compile("recordInfo/type/linkedRecordId");
+
+		assertEquals(path.getFirstAtomicValue(recordGroup), "someType");
+	}
+
+	@Test
+	public void testGetFirstAtomicValueUsingAttributePredicate() throws Exception {
+		assertEquals(BasicClientDataPath.compile("name[type=authorized]/value")
+				.getFirstAtomicValue(recordGroup), "someAuthorizedName");
+		assertEquals(BasicClientDataPath.compile("name[type=alternative]/value")
+				.getFirstAtomicValue(recordGroup), "someAlternativeName");
+		assertEquals(BasicClientDataPath.compile("name/value[lang=en]")
+				.getFirstAtomicValue(recordGroup), "someAlternativeName");
+	}
+
+	@Test
+	public void testGetFirstUsingRepeatId() throws Exception {
+		assertSame(BasicClientDataPath.compile("name#1/value").getFirst(recordGroup),
+				alternativeName);
+		assertSame(BasicClientDataPath.compile("name/value#0").getFirst(recordGroup),
+				authorizedName);
+	}
+
+	@Test
+	public void testGetAllMatchesUsingWildcard() throws Exception {
+		List<ClientDataChild> matches = BasicClientDataPath.compile("*/value")
+				.getAllMatches(recordGroup);
+
+		assertEquals(matches, List.of(authorizedName, alternativeName));
+		assertEquals(BasicClientDataPath.compile("recordInfo/*").getAllMatches(recordGroup).size(),
+				3);
+	}
+
+	@Test
+	public void testFindFirstNoMatch() throws Exception {
+		BasicClientDataPath path = BasicClientDataPath.compile("name[type=other]/value");
+
+		assertTrue(path.findFirst(recordGroup).isEmpty());
+		assertTrue(path.getAllMatches(recordGroup).isEmpty());
+	}
+
+	@Test(expectedExceptions = ClientDataMissingException.class, expectedExceptionsMessageRegExp = ""
+			+ "Child not found for path:recordInfo/notAChild")
+	public void testGetFirstNoMatch() throws Exception {
+		BasicClientDataPath.compile("recordInfo/notAChild").getFirst(recordGroup);
+	}
+
+	@Test(expectedExceptions = ClientDataMissingException.class, expectedExceptionsMessageRegExp = ""
+			+ "Atomic value not found for path:recordInfo/type")
+	public void testGetFirstAtomicValueMatchIsNotAtomic() throws Exception {
+		BasicClientDataPath.compile("recordInfo/type").getFirstAtomicValue(recordGroup);
+	}
+
+	@Test
+	public void testPathUsesNameIndexOfWideGroups() throws Exception {
+		for (int i = 0; i < BasicClientDataGroup.MIN_CHILDREN_FOR_NAME_INDEX; i++) {
+			recordGroup.addChild(BasicClientDataAtomic.withNameInDataAndValue("atomic" + i, "" + i));
+		}
+
+		assertEquals(BasicClientDataPath.compile("atomic5").getFirstAtomicValue(recordGroup), "5");
+		assertEquals(BasicClientDataPath.compile("recordInfo/id").getFirstAtomicValue(recordGroup),
+				"someId");
+	}
+
+	@Test
+	public void testForEachMatchInList() throws Exception {
+		BasicClientDataList list = BasicClientDataList.withContainDataOfType("book");
+		list.addData(BasicClientDataRecord.withDataRecordGroup(recordGroup));
+		list.addData(createRecordGroup("otherType", "otherId"));
+		list.addData(BasicClientDataRecord
+				.withDataRecordGroup(createRecordGroup("thirdType", "thirdId")));
+		BasicClientDataPath path = BasicClientDataPath.compile("recordInfo/id");
+
+		List<ClientDataChild> matches = new ArrayList<>();
+		path.forEachMatchInList(list, matches::add);
+
+		assertEquals(matches.size(), 3);
+		assertEquals(path.getAllAtomicValuesInList(list), List.of("someId", "otherId", "thirdId"));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class, expectedExceptionsMessageRegExp = ""
+			+ "Invalid path expression: ")
+	public void testCompileEmptyExpression() throws Exception {
+		BasicClientDataPath.compile("");
+	}
+
+	@Test
+	public void testCompileInvalidExpressions() throws Exception {
+		List<String> invalidExpressions = List.of("recordInfo//id", "recordInfo/", "name[type]",
+				"name[type=a", "name[=a]", "name#", "#1", "name[type=a]x");
+		for (String invalidExpression : invalidExpressions) {
+			assertCompileFails(invalidExpression);
+		}
+	}
+
+	private void assertCompileFails(String invalidExpression) {
+		try {
+			BasicClientDataPath.compile(invalidExpression);
+			throw new AssertionError("Expected compile to fail for: " + invalidExpression);
+		} catch (IllegalArgumentException e) {
+			assertEquals(e.getMessage(), "Invalid path expression: " + invalidExpression);
+		}
+	}
+}
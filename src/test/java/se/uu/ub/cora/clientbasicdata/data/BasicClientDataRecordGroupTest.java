@@ -29,6 +29,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -41,6 +44,7 @@ import se.uu.ub.cora.clientdata.ClientDataGroup;
 import se.uu.ub.cora.clientdata.ClientDataMissingException;
 import se.uu.ub.cora.clientdata.ClientDataRecordGroup;
 import se.uu.ub.cora.clientdata.ClientDataRecordLink;
+import se.uu.ub.cora.clientdata.spies.ClientDataGroupSpy;
 
 public class BasicClientDataRecordGroupTest {
 
@@ -1112,4 +1116,199 @@ public class BasicClientDataRecordGroupTest {
 
 		assertEquals(defaultRecordGroup.getDataDivider(), "someOtherDataDividerId");
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testGetTypeIdAndDataDivider_RecordInfoChildrenReplaced() throws Exception {
+		BasicClientDataGroup recordInfo = createRecordInfoWithTypeIdAndDataDivider("someType",
+				"someId", "someDataDivider");
+		defaultRecordGroup.addChild(recordInfo);
+		assertEquals(defaultRecordGroup.getType(), "someType");
+		assertEquals(defaultRecordGroup.getId(), "someId");
+		assertEquals(defaultRecordGroup.getDataDivider(), "someDataDivider");
+
+		recordInfo.removeFirstChildWithNameInData("id");
+		recordInfo.addChild(BasicClientDataAtomic.withNameInDataAndValue("id", "someOtherId"));
+		recordInfo.getChildren().set(0, BasicClientDataRecordLink
+				.usingNameInDataAndTypeAndId("type", "recordType", "someOtherType"));
+
+		assertEquals(defaultRecordGroup.getType(), "someOtherType");
+		assertEquals(defaultRecordGroup.getId(), "someOtherId");
+		assertEquals(defaultRecordGroup.getDataDivider(), "someDataDivider");
+	}
+
+	private BasicClientDataGroup createRecordInfoWithTypeIdAndDataDivider(String type, String id,
+			String dataDivider) {
+		BasicClientDataGroup recordInfo = BasicClientDataGroup.withNameInData("recordInfo");
+		recordInfo.addChild(
+				BasicClientDataRecordLink.usingNameInDataAndTypeAndId("type", "recordType", type));
+		recordInfo.addChild(BasicClientDataAtomic.withNameInDataAndValue("id", id));
+		recordInfo.addChild(BasicClientDataRecordLink.usingNameInDataAndTypeAndId("dataDivider",
+				"system", dataDivider));
+		return recordInfo;
+	}
+
+	@Test
+	public void testGetTypeIdAndDataDivider_RecordInfoReplaced() throws Exception {
+		defaultRecordGroup.addChild(
+				createRecordInfoWithTypeIdAndDataDivider("someType", "someId", "someDataDivider"));
+		assertEquals(defaultRecordGroup.getId(), "someId");
+
+		defaultRecordGroup.removeFirstChildWithNameInData("recordInfo");
+		defaultRecordGroup.addChild(createRecordInfoWithTypeIdAndDataDivider("someOtherType",
+				"someOtherId", "someOtherDataDivider"));
+
+		assertEquals(defaultRecordGroup.getType(), "someOtherType");
+		assertEquals(defaultRecordGroup.getId(), "someOtherId");
+		assertEquals(defaultRecordGroup.getDataDivider(), "someOtherDataDivider");
+	}
+
+	@Test(expectedExceptions = ClientDataMissingException.class, expectedExceptionsMessageRegExp = ""
+			+ "Group not found for childNameInData:recordInfo")
+	public void testGetType_RecordInfoRemovedAfterRead() throws Exception {
+		defaultRecordGroup.addChild(
+				createRecordInfoWithTypeIdAndDataDivider("someType", "someId", "someDataDivider"));
+		assertEquals(defaultRecordGroup.getType(), "someType");
+
+		defaultRecordGroup.removeFirstChildWithNameInData("recordInfo");
+
+		defaultRecordGroup.getType();
+	}
+
+	@Test
+	public void testSetTypeAndIdAndDataDivider_NoRecordInfo() throws Exception {
+		BasicClientDataRecordGroup recordGroup = BasicClientDataRecordGroup
+				.withNameInData("someDataGroup");
+
+		recordGroup.setTypeAndIdAndDataDivider("someType", "someId", "someDataDivider");
+
+		assertEquals(recordGroup.getType(), "someType");
+		assertEquals(recordGroup.getId(), "someId");
+		assertEquals(recordGroup.getDataDivider(), "someDataDivider");
+		ClientDataGroup recordInfo = recordGroup.getFirstGroupWithNameInData("recordInfo");
+		ClientDataRecordLink typeLink = (ClientDataRecordLink) recordInfo
+				.getFirstChildWithNameInData("type");
+		assertEquals(typeLink.getLinkedRecordType(), "recordType");
+		ClientDataRecordLink dataDividerLink = (ClientDataRecordLink) recordInfo
+				.getFirstChildWithNameInData("dataDivider");
+		assertEquals(dataDividerLink.getLinkedRecordType(), "system");
+	}
+
+	@Test
+	public void testSetTypeAndIdAndDataDivider_ReplacesOnlyTypeIdAndDataDivider()
+			throws Exception {
+		BasicClientDataRecordGroup recordGroup = BasicClientDataRecordGroup
+				.withNameInData("someDataGroup");
+		BasicClientDataGroup recordInfo = createRecordInfoWithTypeIdAndDataDivider("someType",
+				"someId", "someDataDivider");
+		recordInfo.addChild(BasicClientDataAtomic.withNameInDataAndValue("createdBy", "someUser"));
+		BasicClientDataAtomic idWithAttribute = BasicClientDataAtomic
+				.withNameInDataAndValue("id", "idWithAttribute");
+		idWithAttribute.addAttributeByIdWithValue("someAttribute", "someValue");
+		recordInfo.addChild(idWithAttribute);
+		recordGroup.addChild(recordInfo);
+		assertEquals(recordGroup.getId(), "someId");
+
+		recordGroup.setTypeAndIdAndDataDivider("someOtherType", "someOtherId",
+				"someOtherDataDivider");
+
+		assertEquals(recordGroup.getType(), "someOtherType");
+		assertEquals(recordGroup.getDataDivider(), "someOtherDataDivider");
+		List<ClientDataChild> children = recordInfo.getChildren();
+		assertEquals(children.size(), 5);
+		assertEquals(recordInfo.getFirstAtomicValueWithNameInData("createdBy"), "someUser");
+		assertSame(children.get(1), idWithAttribute);
+		assertEquals(((ClientDataAtomic) children.get(3)).getValue(), "someOtherId");
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class, expectedExceptionsMessageRegExp = ""
+			+ "Data is frozen and can not be changed.")
+	public void testSetTypeAndIdAndDataDivider_Frozen() throws Exception {
+		BasicClientDataRecordGroup recordGroup = BasicClientDataRecordGroup
+				.withNameInData("someDataGroup");
+		recordGroup.freeze();
+
+		recordGroup.setTypeAndIdAndDataDivider("someType", "someId", "someDataDivider");
+	}
+
+	@Test
+	public void testGetTypeAndIdAndDataDividerFromFrozenRecordGroupInSeveralThreads()
+			throws Exception {
+		BasicClientDataRecordGroup recordGroup = BasicClientDataRecordGroup
+				.withNameInData("someDataGroup");
+		recordGroup.setTypeAndIdAndDataDivider("someType", "someId", "someDataDivider");
+		recordGroup.freeze();
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<String>> results = new ArrayList<>();
+			for (int i = 0; i < 100; i++) {
+				results.add(executor.submit(() -> recordGroup.getType() + ":"
+						+ recordGroup.getId() + ":" + recordGroup.getDataDivider()));
+			}
+			for (Future<String> result : results) {
+				assertEquals(result.get(), "someType:someId:someDataDivider");
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testCopyFrozenRecordGroupAndChangeRecordInfo() throws Exception {
+		BasicClientDataRecordGroup prototype = BasicClientDataRecordGroup
+				.withNameInData("someDataGroup");
+		prototype.setTypeAndIdAndDataDivider("someType", "someId", "someDataDivider");
+		prototype.freeze();
+
+		BasicClientDataRecordGroup copy = prototype.copy();
+		copy.setId("someOtherId");
+
+		assertEquals(copy.getId(), "someOtherId");
+		assertEquals(copy.getType(), "someType");
+		assertEquals(prototype.getId(), "someId");
+		assertTrue(prototype.getFirstGroupWithNameInData("recordInfo") != copy
+				.getFirstGroupWithNameInData("recordInfo"));
+	}
+
+	@Test
+	public void testSettersChangeRecordInfoThatIsNotBasic() throws Exception {
+		ClientDataGroupSpy recordInfo = new ClientDataGroupSpy();
+		BasicClientDataRecordGroup recordGroup = createRecordGroupWithRecordInfo(recordInfo);
+
+		recordGroup.setType("someType");
+		recordGroup.setId("someId");
+		recordGroup.setDataDivider("someDataDivider");
+		recordGroup.setTypeAndIdAndDataDivider("someType", "someId", "someDataDivider");
+
+		recordInfo.MCR.assertNumberOfCallsToMethod("removeAllChildrenMatchingFilter", 6);
+		recordInfo.MCR.assertNumberOfCallsToMethod("addChild", 6);
+	}
+
+	private BasicClientDataRecordGroup createRecordGroupWithRecordInfo(
+			ClientDataGroup recordInfo) {
+		return new BasicClientDataRecordGroup("someRecordGroup") {
+			@Override
+			public boolean containsChildWithNameInData(String nameInData) {
+				return true;
+			}
+
+			@Override
+			public ClientDataGroup getFirstGroupWithNameInData(String childNameInData) {
+				return recordInfo;
+			}
+		};
+	}
+
+	@Test
+	public void testGettersReadRecordInfoThatIsNotBasicOnEveryCall() throws Exception {
+		ClientDataGroupSpy recordInfo = new ClientDataGroupSpy();
+		recordInfo.MRV.setDefaultReturnValuesSupplier("getFirstAtomicValueWithNameInData",
+				() -> "someId");
+		BasicClientDataRecordGroup recordGroup = createRecordGroupWithRecordInfo(recordInfo);
+
+		assertEquals(recordGroup.getId(), "someId");
+		assertEquals(recordGroup.getId(), "someId");
+
+		recordInfo.MCR.assertNumberOfCallsToMethod("getFirstAtomicValueWithNameInData", 2);
+	}
+}
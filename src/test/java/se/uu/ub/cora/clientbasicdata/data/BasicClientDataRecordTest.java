@@ -1,5 +1,5 @@
 /*
- * Copyright 2015, 2022 Uppsala University Library
+ * Copyright 2015, 2022, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -23,17 +23,24 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Supplier;
 
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import se.uu.ub.cora.clientbasicdata.data.spy.BasicClientDataRecordLazyPartsSpy;
 import se.uu.ub.cora.clientdata.ClientAction;
 import se.uu.ub.cora.clientdata.ClientActionLink;
 import se.uu.ub.cora.clientdata.ClientData;
@@ -346,4 +353,135 @@ public class BasicClientDataRecordTest {
 	public void testGetProtocolDoesNotExist() throws Exception {
 		dataRecord.getProtocol("nonExistingProtocol");
 	}
+
+	@Test
+	public void testLazyActionLinkIsDecodedOnFirstUseOnly() {
+		BasicClientDataRecordLazyPartsSpy lazyParts = new BasicClientDataRecordLazyPartsSpy();
+		ClientActionLinkSpy readLink = new ClientActionLinkSpy();
+		readLink.MRV.setDefaultReturnValuesSupplier("getAction", () -> ClientAction.READ);
+		lazyParts.MRV.setSpecificReturnValuesSupplier("decodeActionLink",
+				() -> Optional.of(readLink), ClientAction.READ);
+		ClientDataRecord lazyRecord = BasicClientDataRecord
+				.withDataRecordGroupAndLazyParts(dataRecordGroup, lazyParts);
+		lazyParts.MCR.assertMethodNotCalled("decodeActionLink");
+
+		assertSame(lazyRecord.getActionLink(ClientAction.READ).get(), readLink);
+		assertSame(lazyRecord.getActionLink(ClientAction.READ).get(), readLink);
+		assertTrue(lazyRecord.getActionLink(ClientAction.DELETE).isEmpty());
+
+		lazyParts.MCR.assertNumberOfCallsToMethod("decodeActionLink", 2);
+		lazyParts.MCR.assertParameters("decodeActionLink", 0, ClientAction.READ);
+		lazyParts.MCR.assertParameters("decodeActionLink", 1, ClientAction.DELETE);
+		lazyParts.MCR.assertMethodNotCalled("decodeReadPermissions");
+		lazyParts.MCR.assertMethodNotCalled("decodeProtocols");
+	}
+
+	@Test
+	public void testErrorDecodingLazyActionLinkIsThrownAgainOnNextUse() {
+		BasicClientDataRecordLazyPartsSpy lazyParts = new BasicClientDataRecordLazyPartsSpy();
+		lazyParts.MRV.setDefaultReturnValuesSupplier("decodeActionLink", () -> {
+			throw new RuntimeException("some decode error");
+		});
+		ClientDataRecord lazyRecord = BasicClientDataRecord
+				.withDataRecordGroupAndLazyParts(dataRecordGroup, lazyParts);
+
+		assertDecodeErrorIsThrown(lazyRecord);
+		assertDecodeErrorIsThrown(lazyRecord);
+
+		lazyParts.MCR.assertNumberOfCallsToMethod("decodeActionLink", 2);
+	}
+
+	private void assertDecodeErrorIsThrown(ClientDataRecord lazyRecord) {
+		try {
+			lazyRecord.getActionLink(ClientAction.READ);
+			fail("An error should have been thrown");
+		} catch (RuntimeException e) {
+			assertEquals(e.getMessage(), "some decode error");
+		}
+	}
+
+	@Test
+	public void testAddedActionLinkReplacesLazyActionLink() {
+		BasicClientDataRecordLazyPartsSpy lazyParts = new BasicClientDataRecordLazyPartsSpy();
+		ClientDataRecord lazyRecord = BasicClientDataRecord
+				.withDataRecordGroupAndLazyParts(dataRecordGroup, lazyParts);
+		ClientActionLinkSpy link = new ClientActionLinkSpy();
+		link.MRV.setDefaultReturnValuesSupplier("getAction", () -> ClientAction.READ);
+
+		lazyRecord.addActionLink(link);
+
+		assertSame(lazyRecord.getActionLink(ClientAction.READ).get(), link);
+		lazyParts.MCR.assertMethodNotCalled("decodeActionLink");
+	}
+
+	@Test
+	public void testLazyPermissionsAreDecodedOnFirstUseOnly() {
+		BasicClientDataRecordLazyPartsSpy lazyParts = new BasicClientDataRecordLazyPartsSpy();
+		lazyParts.MRV.setDefaultReturnValuesSupplier("decodeReadPermissions",
+				() -> Set.of("title"));
+		ClientDataRecord lazyRecord = BasicClientDataRecord
+				.withDataRecordGroupAndLazyParts(dataRecordGroup, lazyParts);
+
+		lazyRecord.addReadPermission("abstract");
+
+		assertEquals(lazyRecord.getReadPermissions(), Set.of("title", "abstract"));
+		assertFalse(lazyRecord.hasWritePermissions());
+		lazyParts.MCR.assertNumberOfCallsToMethod("decodeReadPermissions", 1);
+		lazyParts.MCR.assertNumberOfCallsToMethod("decodeWritePermissions", 1);
+		lazyParts.MCR.assertMethodNotCalled("decodeProtocols");
+	}
+
+	@Test
+	public void testLazyProtocolsAreDecodedOnFirstUseOnly() {
+		BasicClientDataRecordLazyPartsSpy lazyParts = new BasicClientDataRecordLazyPartsSpy();
+		Map<String, Map<String, String>> protocols = Map.of("iiif", createIiifProperties());
+		lazyParts.MRV.setDefaultReturnValuesSupplier("decodeProtocols", () -> protocols);
+		ClientDataRecord lazyRecord = BasicClientDataRecord
+				.withDataRecordGroupAndLazyParts(dataRecordGroup, lazyParts);
+
+		assertTrue(lazyRecord.hasProtocol("iiif"));
+		assertEquals(lazyRecord.getProtocol("iiif"), createIiifProperties());
+		lazyParts.MCR.assertNumberOfCallsToMethod("decodeProtocols", 1);
+	}
+
+	@Test
+	public void testFreezeDecodesAllLazyParts() {
+		BasicClientDataRecordLazyPartsSpy lazyParts = new BasicClientDataRecordLazyPartsSpy();
+		BasicClientDataRecord lazyRecord = BasicClientDataRecord
+				.withDataRecordGroupAndLazyParts(dataRecordGroup, lazyParts);
+
+		lazyRecord.freeze();
+		lazyRecord.getActionLink(ClientAction.READ);
+		lazyRecord.getReadPermissions();
+		lazyRecord.hasProtocol("iiif");
+
+		lazyParts.MCR.assertNumberOfCallsToMethod("decodeActionLink",
+				ClientAction.values().length);
+		lazyParts.MCR.assertNumberOfCallsToMethod("decodeReadPermissions", 1);
+		lazyParts.MCR.assertNumberOfCallsToMethod("decodeProtocols", 1);
+	}
+
+	@Test
+	public void testLazyActionLinkIsDecodedOnceWhenReadFromSeveralThreads() throws Exception {
+		BasicClientDataRecordLazyPartsSpy lazyParts = new BasicClientDataRecordLazyPartsSpy();
+		ClientActionLinkSpy readLink = new ClientActionLinkSpy();
+		readLink.MRV.setDefaultReturnValuesSupplier("getAction", () -> ClientAction.READ);
+		lazyParts.MRV.setDefaultReturnValuesSupplier("decodeActionLink",
+				() -> Optional.of(readLink));
+		ClientDataRecord lazyRecord = BasicClientDataRecord
+				.withDataRecordGroupAndLazyParts(dataRecordGroup, lazyParts);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Optional<ClientActionLink>>> results = new ArrayList<>();
+			for (int i = 0; i < 20; i++) {
+				results.add(executor.submit(() -> lazyRecord.getActionLink(ClientAction.READ)));
+			}
+			for (Future<Optional<ClientActionLink>> result : results) {
+				assertSame(result.get().get(), readLink);
+			}
+		} finally {
+			executor.shutdown();
+		}
+		lazyParts.MCR.assertNumberOfCallsToMethod("decodeActionLink", 1);
+	}
 }
@@ -20,6 +20,7 @@ package se.uu.ub.cora.clientbasicdata.data;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
@@ -148,4 +149,33 @@ public class BasicClientDataResourceLinkTest {
 	public void testAttributeValue() {
 		resourceLink.getAttributeValue("someValue");
 	}
+
+	@Test
+	public void testEqualsAndHashCodeUsesValues() {
+		BasicClientDataResourceLink other = BasicClientDataResourceLink
+				.withNameInDataAndTypeAndIdAndMimeType(SOME_NAME_IN_DATA, "someType", "someId",
+						SOME_MIME_TYPE);
+		other.addActionLink(new ClientActionLinkSpy());
+
+		assertEquals(resourceLink, other);
+		assertEquals(resourceLink.hashCode(), other.hashCode());
+	}
+
+	@Test
+	public void testNotEqualWhenValuesDiffer() {
+		BasicClientDataResourceLink other = resourceLink.copy();
+		other.setRepeatId("1");
+		assertNotEquals(resourceLink, other);
+
+		other = resourceLink.copy();
+		other.setMimeType("otherMimeType");
+		assertNotEquals(resourceLink, other);
+
+		assertNotEquals(resourceLink, BasicClientDataResourceLink
+				.withNameInDataAndTypeAndIdAndMimeType(SOME_NAME_IN_DATA, "someType", "otherId",
+						SOME_MIME_TYPE));
+		assertNotEquals(resourceLink, BasicClientDataResourceLink
+				.withNameInDataAndTypeAndIdAndMimeType("otherName", "someType", "someId",
+						SOME_MIME_TYPE));
+	}
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.clientbasicdata.data.spy;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import se.uu.ub.cora.clientbasicdata.data.BasicClientDataRecordLazyParts;
+import se.uu.ub.cora.clientdata.ClientAction;
+import se.uu.ub.cora.clientdata.ClientActionLink;
+import se.uu.ub.cora.testutils.mcr.MethodCallRecorder;
+import se.uu.ub.cora.testutils.mrv.MethodReturnValues;
+
+public class BasicClientDataRecordLazyPartsSpy implements BasicClientDataRecordLazyParts {
+	public MethodCallRecorder MCR = new MethodCallRecorder();
+	public MethodReturnValues MRV = new MethodReturnValues();
+
+	public BasicClientDataRecordLazyPartsSpy() {
+		MCR.useMRV(MRV);
+		MRV.setDefaultReturnValuesSupplier("decodeActionLink", Optional::empty);
+		MRV.setDefaultReturnValuesSupplier("decodeReadPermissions", Collections::emptySet);
+		MRV.setDefaultReturnValuesSupplier("decodeWritePermissions", Collections::emptySet);
+		MRV.setDefaultReturnValuesSupplier("decodeProtocols", Collections::emptyMap);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public Optional<ClientActionLink> decodeActionLink(ClientAction action) {
+		return (Optional<ClientActionLink>) MCR.addCallAndReturnFromMRV("action", action);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public Set<String> decodeReadPermissions() {
+		return (Set<String>) MCR.addCallAndReturnFromMRV();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public Set<String> decodeWritePermissions() {
+		return (Set<String>) MCR.addCallAndReturnFromMRV();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public Map<String, Map<String, String>> decodeProtocols() {
+		return (Map<String, Map<String, String>>) MCR.addCallAndReturnFromMRV();
+	}
+}